@@ -0,0 +1,93 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.pricing.BulkRepricer;
+import com.github.calhanwynters.model.shared.pricing.RepricingResult;
+import com.github.calhanwynters.model.shared.pricing.VariantSelector;
+import com.github.calhanwynters.model.shared.valueobjects.BusinessId;
+import com.github.calhanwynters.model.shared.valueobjects.PercentageVO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discounts every variant of one business across a catalog: a sequential loop over
+ * {@link Variant#applyDiscount} that rebuilds each matching product, against
+ * {@link BulkRepricer} on one worker and on the common pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkRepricerBenchmark {
+
+    @Param({"100000"})
+    public int catalogSize;
+
+    private final PercentageVO discount = new PercentageVO(new BigDecimal("0.15"));
+    private final BusinessId businessId = new BusinessId("business-1");
+    private final VariantSelector selector = VariantSelector.businessId(businessId)
+            .and(VariantSelector.feature("Size", "M"));
+
+    private List<Product> catalog;
+    private ForkJoinPool singleWorker;
+    private BulkRepricer singleThreaded;
+    private BulkRepricer parallel;
+
+    @Setup
+    public void setUp() {
+        catalog = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            catalog.add(Fixtures.catalogProduct(i));
+        }
+        singleWorker = new ForkJoinPool(1);
+        singleThreaded = new BulkRepricer(singleWorker, BulkRepricer.DEFAULT_LEAF_SIZE);
+        parallel = new BulkRepricer();
+    }
+
+    @TearDown
+    public void tearDown() {
+        singleWorker.close();
+    }
+
+    @Benchmark
+    public List<Product> sequentialLoop() {
+        List<Product> changed = new ArrayList<>();
+        for (Product product : catalog) {
+            Set<Variant> variants = new HashSet<>();
+            boolean matched = false;
+            for (Variant variant : product.variants()) {
+                if (selector.matches(product, variant)) {
+                    variants.add(variant.applyDiscount(discount));
+                    matched = true;
+                } else {
+                    variants.add(variant);
+                }
+            }
+            if (matched) {
+                changed.add(new Product(product.id(), product.businessId(), product.category(),
+                        product.description(), product.gallery(), variants));
+            }
+        }
+        return changed;
+    }
+
+    @Benchmark
+    public RepricingResult repricerSingleWorker() {
+        return singleThreaded.applyDiscount(catalog, selector, discount);
+    }
+
+    @Benchmark
+    public RepricingResult repricerCommonPool() {
+        return parallel.applyDiscount(catalog, selector, discount);
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.infrastructure.persistence.InMemoryProductRepository;
+import com.github.calhanwynters.infrastructure.search.FacetCounts;
+import com.github.calhanwynters.infrastructure.search.FacetQuery;
+import com.github.calhanwynters.infrastructure.search.FacetedSearchIndex;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A storefront filter (two categories, Color=Red, ACTIVE, 20–60 USD) answered by a stream
+ * over {@code findAll()} and by {@link FacetedSearchIndex}, plus facet counts and the cost
+ * of re-indexing one product.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FacetedSearchIndexBenchmark {
+
+    private static final String[] COLORS = {"Red", "Blue", "Green", "Black", "White", "Grey", "Pink", "Navy"};
+    private static final String[] SIZES = {"XS", "S", "M", "L", "XL"};
+    private static final BigDecimal MIN = new BigDecimal("20");
+    private static final BigDecimal MAX = new BigDecimal("60");
+    private static final FeatureInterface RED = new BasicFeature("Color", "Shell color", "Red");
+
+    @Param({"100000"})
+    public int productCount;
+
+    private InMemoryProductRepository repository;
+    private FacetedSearchIndex index;
+    private Product[] products;
+    private FacetQuery query;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryProductRepository();
+        index = new FacetedSearchIndex();
+        products = new Product[productCount];
+        for (int i = 0; i < productCount; i++) {
+            products[i] = product(i);
+            repository.save(products[i]);
+            index.index(products[i]);
+        }
+        query = FacetQuery.category("Category-7").or(FacetQuery.category("Category-8"))
+                .and(FacetQuery.feature("Color", "Red"))
+                .and(FacetQuery.status(VariantStatusEnums.ACTIVE))
+                .and(FacetQuery.price("USD", MIN, MAX));
+    }
+
+    @Benchmark
+    public List<Product> streamFilter() {
+        return repository.findAll().stream()
+                .filter(p -> p.category().equals("Category-7") || p.category().equals("Category-8"))
+                .filter(p -> p.variants().stream().anyMatch(FacetedSearchIndexBenchmark::matches))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Product> indexSearch() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public FacetCounts indexFacetCounts() {
+        return index.facetCounts(FacetQuery.feature("Color", "Red").and(FacetQuery.status(VariantStatusEnums.ACTIVE)));
+    }
+
+    @Benchmark
+    public void indexUpdate() {
+        index.index(products[ThreadLocalRandom.current().nextInt(productCount)]);
+    }
+
+    private static boolean matches(Variant variant) {
+        BigDecimal price = variant.currentPrice().getNumber().numberValue(BigDecimal.class);
+        return variant.status() == VariantStatusEnums.ACTIVE && variant.features().contains(RED)
+                && variant.currentPrice().getCurrency().getCurrencyCode().equals("USD")
+                && price.compareTo(MIN) >= 0 && price.compareTo(MAX) < 0;
+    }
+
+    // 100 categories; two variants per product with a color, a size, a status and a 5–104 USD price
+    private static Product product(int i) {
+        Variant[] variants = new Variant[2];
+        for (int v = 0; v < variants.length; v++) {
+            int n = i * 2 + v;
+            var price = Fixtures.usd(5 + (n * 37) % 100);
+            variants[v] = new Variant(new VariantId("variant-" + n), "SKU-" + n, price, price,
+                    List.of(new BasicFeature("Color", "Shell color", COLORS[n % COLORS.length]),
+                            new BasicFeature("Size", "Garment size", SIZES[(n / 3) % SIZES.length])),
+                    new CareInstructionVO("Machine wash cold"), WeightVO.ofGrams(BigDecimal.valueOf(100 + n % 900)),
+                    VariantStatusEnums.values()[(n / 7) % VariantStatusEnums.values().length]);
+        }
+        return Product.create(new BusinessId("business-" + (i % 10)), "Category-" + (i % 100),
+                new DescriptionVO("Catalog product number " + i),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/" + i + ".jpg"))), Set.of(variants));
+    }
+}
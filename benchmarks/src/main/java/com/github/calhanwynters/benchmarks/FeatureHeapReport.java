@@ -0,0 +1,104 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+
+import javax.money.MonetaryAmount;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap report for feature interning: builds a synthetic catalog of variants twice, once
+ * with every feature string, feature and feature list freshly allocated per variant (what
+ * the decoders produced before {@link FeatureRegistry}) and once through the registry, and
+ * prints the retained heap of each.
+ * <p>
+ * The catalog draws three features per variant from 2,000 definitions over 40 names and
+ * 50 labels. Everything except the features (ids, SKUs, prices, care, weight) is the same
+ * in both runs, so the difference is the feature footprint alone. Retained heap is the
+ * used heap after full collections with the catalog reachable, minus the same figure before it was built.
+ * <p>
+ * {@code java -Xmx3g -XX:+UseSerialGC -cp benchmarks/target/benchmarks.jar com.github.calhanwynters.benchmarks.FeatureHeapReport [variants]}
+ */
+public final class FeatureHeapReport {
+
+    static final int DEFAULT_VARIANTS = 1_000_000;
+    static final int DEFINITIONS = 2_000;
+    static final int LABELS = 50;
+    private static final String[] UNITS = {"cm", "m", "g", "kg"};
+
+    private FeatureHeapReport() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_VARIANTS;
+        MonetaryAmount price = Fixtures.usd(25);
+        CareInstructionVO care = new CareInstructionVO("Machine wash cold");
+        WeightVO weight = WeightVO.ofGrams(BigDecimal.valueOf(250));
+
+        long baseline = usedHeapAfterGc();
+        List<Variant> naive = catalog(count, price, care, weight, null);
+        long naiveBytes = usedHeapAfterGc() - baseline;
+        System.out.println("variants: " + naive.size());
+        naive = null;
+
+        baseline = usedHeapAfterGc();
+        FeatureRegistry registry = new FeatureRegistry();
+        List<Variant> interned = catalog(count, price, care, weight, registry);
+        long internedBytes = usedHeapAfterGc() - baseline;
+
+        System.out.printf("%-28s %,14d B  %6.1f B/variant%n", "fresh features per variant", naiveBytes, (double) naiveBytes / count);
+        System.out.printf("%-28s %,14d B  %6.1f B/variant%n", "FeatureRegistry", internedBytes, (double) internedBytes / count);
+        System.out.printf("saved %,d B (%.1f%%); registry holds %,d strings, %,d features, %,d feature lists for %,d variants%n",
+                naiveBytes - internedBytes, 100.0 * (naiveBytes - internedBytes) / naiveBytes,
+                registry.internedStrings(), registry.internedFeatures(), registry.internedFeatureLists(), interned.size());
+    }
+
+    // A null registry allocates every string, feature and list per variant, like the decoders did
+    static List<Variant> catalog(int count, MonetaryAmount price, CareInstructionVO care, WeightVO weight,
+                                 FeatureRegistry registry) {
+        List<Variant> variants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<FeatureInterface> features = List.of(
+                    feature((i * 7) % DEFINITIONS, registry),
+                    feature((i * 13 + 1) % DEFINITIONS, registry),
+                    feature((i * 31 + 2) % DEFINITIONS, registry));
+            if (registry != null) {
+                features = registry.internAll(features);
+            }
+            variants.add(new Variant(new VariantId("variant-" + i), "SKU-" + i, price, price, features,
+                    care, weight, VariantStatusEnums.ACTIVE));
+        }
+        return variants;
+    }
+
+    // Strings are built per call, as a decoder reading them from bytes would
+    private static FeatureInterface feature(int definition, FeatureRegistry registry) {
+        int group = definition / LABELS;
+        String name = "Feature-" + group;
+        String description = "Description of feature " + group;
+        String label = "Label-" + (definition % LABELS);
+        String unit = new String(UNITS[group % UNITS.length]);
+        return switch (definition % 3) {
+            case 0 -> registry == null ? new BasicFeature(name, description, label)
+                    : registry.basic(name, description, label);
+            case 1 -> registry == null ? new FixedPriceFeature(name, description, label, 1.5 + group)
+                    : registry.fixedPrice(name, description, label, 1.5 + group);
+            default -> registry == null
+                    ? new ScalingPriceFeature(name, description, label, unit, 2.0, 0.5, 100)
+                    : registry.scalingPrice(name, description, label, unit, 2.0, 0.5, 100);
+        };
+    }
+
+    private static long usedHeapAfterGc() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
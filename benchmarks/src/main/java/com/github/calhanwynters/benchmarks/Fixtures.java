@@ -0,0 +1,70 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deterministic domain fixtures shared by the benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static MonetaryAmount usd(double amount) {
+        return Monetary.getDefaultAmountFactory().setCurrency("USD").setNumber(amount).create();
+    }
+
+    static Variant variant(int i) {
+        MonetaryAmount price = usd(10 + (i % 90));
+        return new Variant(
+                new VariantId("variant-" + i),
+                "SKU-" + i,
+                price,
+                price,
+                List.of(new BasicFeature("Size", "Garment size", "M")),
+                new CareInstructionVO("Machine wash cold"),
+                WeightVO.ofGrams(BigDecimal.valueOf(100 + (i % 900))),
+                VariantStatusEnums.ACTIVE
+        );
+    }
+
+    static List<Variant> variants(int count) {
+        List<Variant> variants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            variants.add(variant(i));
+        }
+        return variants;
+    }
+
+    /*** One small product per index, spread over 100 categories, with a single variant SKU-{index}. */
+    static Product catalogProduct(int index) {
+        return Product.create(
+                new BusinessId("business-" + (index % 10)),
+                "Category-" + (index % 100),
+                new DescriptionVO("Catalog product number " + index),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/" + index + ".jpg"))),
+                Set.of(variant(index))
+        );
+    }
+
+    static Product product(int variantCount) {
+        Product product = Product.create(
+                new BusinessId("business-1"),
+                "Apparel",
+                new DescriptionVO("A benchmark product with many variants."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/product.jpg")))
+        );
+        return new Product(product.id(), product.businessId(), product.category(),
+                product.description(), product.gallery(), Set.copyOf(variants(variantCount)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.infrastructure.search.FullTextIndex;
+import com.github.calhanwynters.infrastructure.search.TextHit;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.openjdk.jmh.annotations.*;
+
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 BM25 queries over a synthetic catalog whose descriptions draw about 30 words each
+ * from a 50,000-word Zipf-distributed vocabulary, against a linear substring scan of the
+ * descriptions. Queries combine frequent words (long posting lists), a frequent with a rare
+ * word, and two rare words.
+ * <p>
+ * The 1M-product catalog needs a large heap: {@code -jvmArgsAppend -Xmx4g}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class FullTextIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+    private static final String[] CARE = {"Machine wash cold", "Hand wash only", "Wipe clean with a damp cloth",
+            "Dry clean only", "Do not tumble dry"};
+
+    @Param({"1000000"})
+    public int productCount;
+
+    private FullTextIndex index;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        MonetaryAmount price = Fixtures.usd(25);
+        WeightVO weight = WeightVO.ofGrams(BigDecimal.valueOf(250));
+        GalleryVO gallery = new GalleryVO(Set.of(new ImageUrlVO("https://example.com/product.jpg")));
+        BusinessId business = new BusinessId("business-0");
+        index = new FullTextIndex();
+        products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            Variant variant = new Variant(new VariantId("variant-" + i), "SKU-" + i, price, price, List.of(),
+                    new CareInstructionVO(CARE[i % CARE.length]), weight, VariantStatusEnums.ACTIVE);
+            Product product = Product.create(business, "Category-" + (i % 100),
+                    new DescriptionVO(description(random)), gallery, Set.of(variant));
+            products.add(product);
+            index.index(product);
+        }
+    }
+
+    @Benchmark
+    public List<TextHit> frequentTerms() {
+        return index.search(word(3) + " " + word(12), 10);
+    }
+
+    @Benchmark
+    public List<TextHit> frequentAndRareTerm() {
+        return index.search(word(2) + " " + word(900), 10);
+    }
+
+    @Benchmark
+    public List<TextHit> rareTerms() {
+        return index.search(word(4_000) + " " + word(20_000), 10);
+    }
+
+    @Benchmark
+    public List<TextHit> threeTermQuery() {
+        return index.search(word(1) + " " + word(40) + " " + word(2_500), 10);
+    }
+
+    @Benchmark
+    public List<Product> linearSubstringScan() {
+        String needle = word(900).toLowerCase(Locale.ROOT);
+        List<Product> matches = new ArrayList<>();
+        for (Product product : products) {
+            if (product.description().value().toLowerCase(Locale.ROOT).contains(needle) && matches.size() < 10) {
+                matches.add(product);
+            }
+        }
+        return matches;
+    }
+
+    // About 1/rank of the words are the rank-th most frequent one
+    private static String description(Random random) {
+        StringBuilder text = new StringBuilder("Catalog item");
+        int words = 20 + random.nextInt(20);
+        for (int i = 0; i < words; i++) {
+            int rank = (int) Math.exp(random.nextDouble() * Math.log(VOCABULARY));
+            text.append(' ').append(word(rank));
+        }
+        return text.toString();
+    }
+
+    private static String word(int rank) {
+        return "W" + Integer.toString(rank, 36) + "x";
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.infrastructure.persistence.InMemoryProductRepository;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reference numbers for the in-memory repository, to compare other stores against.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InMemoryProductRepositoryBenchmark {
+
+    @Param({"1000", "100000"})
+    public int productCount;
+
+    private InMemoryProductRepository repository;
+    private ProductId[] ids;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryProductRepository();
+        ids = new ProductId[productCount];
+        for (int i = 0; i < productCount; i++) {
+            Product product = Fixtures.catalogProduct(i);
+            repository.save(product);
+            ids[i] = product.id();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Product> findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Optional<Product> findBySku() {
+        return repository.findBySku("SKU-" + ThreadLocalRandom.current().nextInt(productCount));
+    }
+
+    @Benchmark
+    public Collection<Product> findByCategory() {
+        return repository.findByCategory("Category-7");
+    }
+
+    @Benchmark
+    public void saveExisting() {
+        int i = ThreadLocalRandom.current().nextInt(productCount);
+        Product current = repository.findById(ids[i]).orElseThrow();
+        repository.save(current.changeDescription(current.description()));
+    }
+}
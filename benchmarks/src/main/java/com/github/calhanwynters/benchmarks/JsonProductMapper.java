@@ -0,0 +1,100 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JSON baseline for {@link ProductCodecBenchmark}: products are mapped to plain
+ * records and written with Jackson's reflective record support, the way a REST
+ * layer or document store would persist them.
+ */
+final class JsonProductMapper {
+
+    record ProductJson(String id, String businessId, String category, String description,
+                       List<String> images, List<VariantJson> variants) {
+    }
+
+    record VariantJson(String id, String sku, AmountJson basePrice, AmountJson currentPrice,
+                       List<FeatureJson> features, String careInstructions,
+                       BigDecimal weight, String weightUnit, String status) {
+    }
+
+    record AmountJson(String currency, BigDecimal number) {
+    }
+
+    record FeatureJson(String type, String name, String description, String label, String measurementUnit,
+                       Double fixedPrice, Double baseAmount, Double incrementAmount, Integer maxQuantity) {
+    }
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    byte[] write(Product product) {
+        List<VariantJson> variants = product.variants().stream().map(JsonProductMapper::toJson).toList();
+        List<String> images = product.gallery().images().stream().map(ImageUrlVO::url).toList();
+        return mapper.writeValueAsBytes(new ProductJson(product.id().value(), product.businessId().value(),
+                product.category(), product.description().value(), images, variants));
+    }
+
+    Product read(byte[] json) {
+        ProductJson product = mapper.readValue(json, ProductJson.class);
+        Set<ImageUrlVO> images = new HashSet<>();
+        product.images().forEach(url -> images.add(new ImageUrlVO(url)));
+        Set<Variant> variants = new HashSet<>();
+        product.variants().forEach(variant -> variants.add(fromJson(variant)));
+        return new Product(new ProductId(product.id()), new BusinessId(product.businessId()), product.category(),
+                new DescriptionVO(product.description()), new GalleryVO(images), variants);
+    }
+
+    private static VariantJson toJson(Variant variant) {
+        List<FeatureJson> features = variant.features().stream().map(JsonProductMapper::toJson).toList();
+        return new VariantJson(variant.id().value(), variant.sku(), toJson(variant.basePrice()),
+                toJson(variant.currentPrice()), features, variant.careInstructions().instructions(),
+                variant.weight().amount(), variant.weight().unit().name(), variant.status().name());
+    }
+
+    private static AmountJson toJson(MonetaryAmount amount) {
+        return new AmountJson(amount.getCurrency().getCurrencyCode(), amount.getNumber().numberValue(BigDecimal.class));
+    }
+
+    private static FeatureJson toJson(FeatureInterface feature) {
+        return switch (feature) {
+            case FixedPriceFeature f -> new FeatureJson("fixed", f.name(), f.featureDescription(), f.label(),
+                    null, f.fixedPrice(), null, null, null);
+            case ScalingPriceFeature f -> new FeatureJson("scaling", f.name(), f.featureDescription(), f.label(),
+                    f.measurementUnit(), null, f.baseAmount(), f.incrementAmount(), f.maxQuantity());
+            default -> new FeatureJson("basic", feature.name(), feature.featureDescription(), feature.label(),
+                    null, null, null, null, null);
+        };
+    }
+
+    private static Variant fromJson(VariantJson variant) {
+        List<FeatureInterface> features = variant.features().stream().map(JsonProductMapper::fromJson).toList();
+        return new Variant(new VariantId(variant.id()), variant.sku(), fromJson(variant.basePrice()),
+                fromJson(variant.currentPrice()), features, new CareInstructionVO(variant.careInstructions()),
+                new WeightVO(variant.weight(), WeightVO.WeightUnit.valueOf(variant.weightUnit())),
+                VariantStatusEnums.valueOf(variant.status()));
+    }
+
+    private static MonetaryAmount fromJson(AmountJson amount) {
+        return Monetary.getDefaultAmountFactory().setCurrency(amount.currency()).setNumber(amount.number()).create();
+    }
+
+    private static FeatureInterface fromJson(FeatureJson f) {
+        return switch (f.type()) {
+            case "fixed" -> new FixedPriceFeature(f.name(), f.description(), f.label(), f.fixedPrice());
+            case "scaling" -> new ScalingPriceFeature(f.name(), f.description(), f.label(), f.measurementUnit(),
+                    f.baseAmount(), f.incrementAmount(), f.maxQuantity());
+            default -> new BasicFeature(f.name(), f.description(), f.label());
+        };
+    }
+}
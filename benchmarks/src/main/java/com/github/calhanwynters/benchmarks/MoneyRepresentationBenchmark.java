@@ -0,0 +1,69 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.money.MinorUnitMoney;
+import com.github.calhanwynters.model.shared.valueobjects.PercentageVO;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Variant#applyDiscount} with prices held as Moneta {@link Money},
+ * Moneta {@link FastMoney} and {@link MinorUnitMoney}, for one variant and for
+ * recomputing a price list of 1000 variants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyRepresentationBenchmark {
+
+    public enum AmountType { MONEY, FAST_MONEY, MINOR_UNITS }
+
+    @Param({"MONEY", "FAST_MONEY", "MINOR_UNITS"})
+    public AmountType amountType;
+
+    private final PercentageVO discount = new PercentageVO(new BigDecimal("0.15"));
+    private Variant variant;
+    private List<Variant> priceList;
+
+    @Setup
+    public void setUp() {
+        variant = withPrice(Fixtures.variant(0));
+        priceList = new ArrayList<>();
+        for (Variant v : Fixtures.variants(1000)) {
+            priceList.add(withPrice(v));
+        }
+    }
+
+    @Benchmark
+    public Variant applyDiscount() {
+        return variant.applyDiscount(discount);
+    }
+
+    @Benchmark
+    public void applyDiscountToPriceList(Blackhole blackhole) {
+        for (Variant v : priceList) {
+            blackhole.consume(v.applyDiscount(discount));
+        }
+    }
+
+    private Variant withPrice(Variant v) {
+        BigDecimal number = v.basePrice().getNumber().numberValue(BigDecimal.class).add(new BigDecimal("0.99"));
+        MonetaryAmount price = switch (amountType) {
+            case MONEY -> Money.of(number, "USD");
+            case FAST_MONEY -> FastMoney.of(number, "USD");
+            case MINOR_UNITS -> MinorUnitMoney.of(number, v.basePrice().getCurrency());
+        };
+        return v.changeBasePrice(price);
+    }
+}
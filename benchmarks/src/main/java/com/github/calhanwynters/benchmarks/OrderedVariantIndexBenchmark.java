@@ -0,0 +1,116 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.infrastructure.persistence.InMemoryProductRepository;
+import com.github.calhanwynters.infrastructure.search.PriceIndex;
+import com.github.calhanwynters.infrastructure.search.VariantRef;
+import com.github.calhanwynters.infrastructure.search.WeightIndex;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.openjdk.jmh.annotations.*;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price-range scans and cheapest/heaviest top-N answered by a stream over {@code findAll()}
+ * and by {@link PriceIndex} and {@link WeightIndex}, plus the cost of saving one repriced product.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderedVariantIndexBenchmark {
+
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+    private static final MonetaryAmount MIN = Fixtures.usd(4_000);
+    private static final MonetaryAmount MAX = Fixtures.usd(4_010);
+    private static final Comparator<Variant> BY_PRICE = Comparator.comparing(Variant::currentPrice);
+
+    @Param({"100000"})
+    public int productCount;
+
+    private InMemoryProductRepository repository;
+    private PriceIndex prices;
+    private WeightIndex weights;
+    private Product[] products;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryProductRepository();
+        prices = new PriceIndex();
+        weights = new WeightIndex();
+        products = new Product[productCount];
+        for (int i = 0; i < productCount; i++) {
+            products[i] = product(i);
+            repository.save(products[i]);
+            prices.index(products[i]);
+            weights.index(products[i]);
+        }
+    }
+
+    @Benchmark
+    public List<Variant> streamPriceRange() {
+        return repository.findAll().stream()
+                .flatMap(p -> p.variants().stream())
+                .filter(v -> v.currentPrice().isGreaterThanOrEqualTo(MIN) && v.currentPrice().isLessThan(MAX))
+                .sorted(BY_PRICE)
+                .toList();
+    }
+
+    @Benchmark
+    public List<VariantRef> indexPriceRange() {
+        return prices.between(MIN, MAX, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Variant> streamCheapest() {
+        return repository.findAll().stream()
+                .flatMap(p -> p.variants().stream())
+                .sorted(BY_PRICE)
+                .limit(20)
+                .toList();
+    }
+
+    @Benchmark
+    public List<VariantRef> indexCheapest() {
+        return prices.cheapest(USD, 20);
+    }
+
+    @Benchmark
+    public List<VariantRef> indexHeaviest() {
+        return weights.heaviest(20);
+    }
+
+    @Benchmark
+    public void indexReprice() {
+        Product product = products[ThreadLocalRandom.current().nextInt(productCount)];
+        MonetaryAmount price = Fixtures.usd(1 + ThreadLocalRandom.current().nextInt(9_999));
+        prices.index(product.replaceVariants(v -> v.changeCurrentPrice(price)));
+    }
+
+    // Two variants per product priced 1–10000 USD and weighing 100–99999 g
+    private static Product product(int i) {
+        Variant[] variants = new Variant[2];
+        for (int v = 0; v < variants.length; v++) {
+            int n = i * 2 + v;
+            var price = Fixtures.usd(1 + (n * 7_919L) % 10_000);
+            variants[v] = new Variant(new VariantId("variant-" + n), "SKU-" + n, price, price, List.of(),
+                    new CareInstructionVO("Machine wash cold"),
+                    WeightVO.ofGrams(BigDecimal.valueOf(100 + (n * 104_729L) % 99_900)), VariantStatusEnums.ACTIVE);
+        }
+        return Product.create(new BusinessId("business-" + (i % 10)), "Category-" + (i % 100),
+                new DescriptionVO("Catalog product number " + i),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/" + i + ".jpg"))), Set.of(variants));
+    }
+}
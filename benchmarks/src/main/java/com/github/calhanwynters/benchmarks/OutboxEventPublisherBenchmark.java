@@ -0,0 +1,95 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.infrastructure.events.OutboxEventPublisher;
+import com.github.calhanwynters.model.shared.events.PriceChanged;
+import com.github.calhanwynters.model.shared.events.ProductEvent;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Write-path cost of publishing the events of one repricing (a few PriceChanged events) to
+ * two I/O-bound listeners that wait ~200 µs per call, like a remote cache or search node:
+ * synchronously on the writer's thread, as with plain in-transaction listeners, versus
+ * through the forced file outbox, whose listeners wait once per batch on virtual threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutboxEventPublisherBenchmark {
+
+    private static final long LISTENER_NANOS = 200_000;
+
+    @Param({"4"})
+    public int eventsPerChange;
+
+    private List<ProductEvent> change;
+    private ApplicationEventPublisher synchronous;
+    private OutboxEventPublisher outbox;
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        ProductId productId = ProductId.generate();
+        change = new ArrayList<>();
+        for (int i = 0; i < eventsPerChange; i++) {
+            change.add(new PriceChanged(productId, VariantId.generate(), Fixtures.usd(100), Fixtures.usd(100),
+                    Fixtures.usd(100), Fixtures.usd(80)));
+        }
+        synchronous = event -> {
+            LockSupport.parkNanos(LISTENER_NANOS);
+            LockSupport.parkNanos(LISTENER_NANOS);
+        };
+        directory = Files.createTempDirectory("outbox-benchmark");
+        outbox = OutboxEventPublisher.builder(directory)
+                .listener("search", batch -> LockSupport.parkNanos(LISTENER_NANOS))
+                .listener("cache", batch -> LockSupport.parkNanos(LISTENER_NANOS))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        outbox.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void synchronousListeners() {
+        change.forEach(synchronous::publishEvent);
+    }
+
+    @Benchmark
+    public void outboxPublish() {
+        outbox.publishAll(change);
+    }
+
+    /*** Four writers publishing at once share forced appends. */
+    @Benchmark
+    @Threads(4)
+    public void outboxPublishConcurrent() {
+        outbox.publishAll(change);
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single {@link Product#addVariant} on aggregates of growing size.
+ * Run with {@code -prof gc} and read {@code gc.alloc.rate.norm} for bytes allocated per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductAddVariantBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int variantCount;
+
+    private Product product;
+    private Variant newVariant;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.product(variantCount);
+        newVariant = Fixtures.variant(variantCount);
+    }
+
+    @Benchmark
+    public Product addVariant() {
+        return product.addVariant(newVariant);
+    }
+}
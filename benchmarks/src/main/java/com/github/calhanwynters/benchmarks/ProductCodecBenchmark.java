@@ -0,0 +1,99 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.infrastructure.codec.ProductCodec;
+import com.github.calhanwynters.infrastructure.codec.ProductView;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compact binary codec with a Jackson JSON mapping of the same product,
+ * and a listing row read through {@link ProductView} with one read from a full decode.
+ * Payload sizes are reported by {@link ProductCodecSizeReport}; run with {@code -prof gc} for allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductCodecBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int variantCount;
+
+    private final ProductCodec codec = new ProductCodec();
+    private final JsonProductMapper json = new JsonProductMapper();
+    private Product product;
+    private ByteBuffer encoded;
+    private ByteBuffer encodedDirect;
+    private byte[] encodedJson;
+    private ProductView view;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.product(variantCount);
+        byte[] bytes = codec.encode(product);
+        encoded = ByteBuffer.wrap(bytes);
+        encodedDirect = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        encodedJson = json.write(product);
+        view = codec.newView();
+    }
+
+    @Benchmark
+    public byte[] encodeCodec() {
+        return codec.encode(product);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.write(product);
+    }
+
+    @Benchmark
+    public Product decodeCodec() {
+        return codec.decode(encoded);
+    }
+
+    @Benchmark
+    public Product decodeCodecDirect() {
+        return codec.decode(encodedDirect);
+    }
+
+    @Benchmark
+    public Product decodeJson() {
+        return json.read(encodedJson);
+    }
+
+    // --- Listing Row: id, category, primary image and the active variants' prices ---
+
+    @Benchmark
+    public void listingRowView(Blackhole blackhole) {
+        ProductView row = view.wrap(encodedDirect);
+        blackhole.consume(row.id());
+        blackhole.consume(row.category());
+        blackhole.consume(row.primaryImage());
+        for (int i = 0; i < row.variantCount(); i++) {
+            if (row.isActive(i)) {
+                blackhole.consume(row.currentPrice(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void listingRowDecode(Blackhole blackhole) {
+        Product row = codec.decode(encodedDirect);
+        blackhole.consume(row.id());
+        blackhole.consume(row.category());
+        blackhole.consume(row.gallery().getPrimaryImage());
+        for (Variant variant : row.variants()) {
+            if (variant.isActive()) {
+                blackhole.consume(variant.currentPrice());
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.infrastructure.codec.ProductCodec;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+
+import java.util.Arrays;
+
+/**
+ * Size report for {@link ProductCodecBenchmark}: prints the encoded size of the benchmark's
+ * fixture products in the compact binary codec and in the Jackson JSON mapping, for the same
+ * variant counts the benchmark is parameterised with.
+ * <p>
+ * {@code java -cp benchmarks/target/benchmarks.jar com.github.calhanwynters.benchmarks.ProductCodecSizeReport [variants...]}
+ */
+public final class ProductCodecSizeReport {
+
+    static final int[] DEFAULT_VARIANT_COUNTS = {1, 10, 100};
+
+    private ProductCodecSizeReport() {
+    }
+
+    public static void main(String[] args) {
+        int[] counts = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : DEFAULT_VARIANT_COUNTS;
+        ProductCodec codec = new ProductCodec();
+        JsonProductMapper json = new JsonProductMapper();
+
+        System.out.printf("%-10s %12s %12s %8s%n", "variants", "codec", "JSON", "ratio");
+        for (int count : counts) {
+            Product product = Fixtures.product(count);
+            int codecBytes = codec.encode(product).length;
+            int jsonBytes = json.write(product).length;
+            System.out.printf("%-10d %,10d B %,10d B %7.2fx%n", count, codecBytes, jsonBytes, (double) jsonBytes / codecBytes);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures variant lookups inside a {@link Product} aggregate of growing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductFindVariantBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int variantCount;
+
+    private Product product;
+    private VariantId existingId;
+    private VariantId missingId;
+    private String existingSku;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.product(variantCount);
+        Variant middle = Fixtures.variant(variantCount / 2);
+        existingId = middle.id();
+        existingSku = middle.sku();
+        missingId = new VariantId("missing");
+    }
+
+    @Benchmark
+    public Optional<Variant> findVariantByIdHit() {
+        return product.findVariantById(existingId);
+    }
+
+    @Benchmark
+    public Optional<Variant> findVariantByIdMiss() {
+        return product.findVariantById(missingId);
+    }
+
+    @Benchmark
+    public Optional<Variant> findVariantBySku() {
+        return product.findVariantBySku(existingSku);
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares importing a supplier feed one {@link Product#addVariant} at a time
+ * against collecting it through {@link Product.Builder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductImportBenchmark {
+
+    @Param({"100", "10000"})
+    public int variantCount;
+
+    private Product emptyProduct;
+    private List<Variant> feed;
+
+    @Setup
+    public void setUp() {
+        emptyProduct = Fixtures.product(0);
+        feed = Fixtures.variants(variantCount);
+    }
+
+    @Benchmark
+    public Product addVariantLoop() {
+        Product product = emptyProduct;
+        for (Variant variant : feed) {
+            product = product.addVariant(variant);
+        }
+        return product;
+    }
+
+    @Benchmark
+    public Product builder() {
+        return emptyProduct.toBuilder().addVariants(feed).build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.pricing.ScalingPriceQuoteEngine;
+import com.github.calhanwynters.model.shared.pricing.ScalingPriceTable;
+import com.github.calhanwynters.model.shared.valueobjects.ScalingPriceFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ScalingPriceFeature#calculatePrice} for one quantity
+ * and for a whole quantity selector's worth of quantities, against the
+ * exact {@link ScalingPriceTable} quotes, direct and through the engine cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScalingPriceFeatureBenchmark {
+
+    @Param({"10", "1000"})
+    public int quantityCount;
+
+    private ScalingPriceFeature feature;
+    private int[] quantities;
+    private ScalingPriceTable table;
+    private ScalingPriceQuoteEngine engine;
+    private long[] unscaledPrices;
+
+    @Setup
+    public void setUp() {
+        feature = new ScalingPriceFeature("Length", "Custom cut length", "Length", "cm", 4.99, 0.10, 1000);
+        quantities = new int[quantityCount];
+        for (int i = 0; i < quantityCount; i++) {
+            quantities[i] = i % 1001;
+        }
+        table = ScalingPriceTable.of(feature);
+        engine = new ScalingPriceQuoteEngine();
+        unscaledPrices = new long[quantityCount];
+    }
+
+    @Benchmark
+    public double calculatePrice() {
+        return feature.calculatePrice(250);
+    }
+
+    @Benchmark
+    public double calculatePriceForAllQuantities() {
+        double total = 0;
+        for (int quantity : quantities) {
+            total += feature.calculatePrice(quantity);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal tableCalculatePrice() {
+        return table.calculatePrice(250);
+    }
+
+    @Benchmark
+    public BigDecimal engineCalculatePrice() {
+        return engine.calculatePrice(feature, 250);
+    }
+
+    @Benchmark
+    public BigDecimal[] tableCalculatePrices() {
+        return table.calculatePrices(quantities);
+    }
+
+    @Benchmark
+    public long[] tableCalculateUnscaledPrices() {
+        table.calculateUnscaledPrices(quantities, unscaledPrices);
+        return unscaledPrices;
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.pricing.CartLine;
+import com.github.calhanwynters.model.shared.pricing.CartQuote;
+import com.github.calhanwynters.model.shared.pricing.VariantPriceEvaluator;
+import com.github.calhanwynters.model.shared.pricing.VariantPricePlan;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the sellable price of a variant with fixed and scaling features: the
+ * storefront's instanceof walk over the feature list, against a compiled
+ * {@link VariantPricePlan} and the cached {@link VariantPriceEvaluator}, for one
+ * render and for a 100-line cart.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VariantPriceEvaluatorBenchmark {
+
+    private final Map<String, Integer> quantities = Map.of("Length", 120, "Charms", 3);
+    private Variant variant;
+    private VariantPricePlan plan;
+    private VariantPriceEvaluator evaluator;
+    private List<CartLine> cart;
+
+    @Setup
+    public void setUp() {
+        List<FeatureInterface> features = List.of(
+                new BasicFeature("Color", "Shade", "Red"),
+                new FixedPriceFeature("Gift wrap", "Wrapped in paper", "Wrap", 2.5),
+                new ScalingPriceFeature("Length", "Cut length", "Length", "cm", 1.0, 0.1, 500),
+                new FixedPriceFeature("Engraving", "Laser engraving", "Name", 4.99),
+                new ScalingPriceFeature("Charms", "Extra charms", "Charms", "pcs", 0.0, 1.25, 10));
+        Variant base = Fixtures.variant(0);
+        variant = new Variant(base.id(), base.sku(), base.basePrice(), base.currentPrice(), features,
+                base.careInstructions(), base.weight(), base.status());
+        plan = VariantPricePlan.compile(variant);
+        evaluator = new VariantPriceEvaluator();
+        cart = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            cart.add(new CartLine(variant, Map.of("Length", i, "Charms", i % 10), 1 + i % 3));
+        }
+    }
+
+    @Benchmark
+    public MonetaryAmount instanceofWalk() {
+        return walk(variant, quantities);
+    }
+
+    @Benchmark
+    public MonetaryAmount compiledPlan() {
+        return plan.price(3, 120);
+    }
+
+    @Benchmark
+    public MonetaryAmount evaluatorByName() {
+        return evaluator.price(variant, quantities);
+    }
+
+    @Benchmark
+    public void cartInstanceofWalk(Blackhole blackhole) {
+        MonetaryAmount total = null;
+        for (CartLine line : cart) {
+            MonetaryAmount lineTotal = walk(line.variant(), line.quantityPerFeature()).multiply(line.quantity());
+            total = total == null ? lineTotal : total.add(lineTotal);
+        }
+        blackhole.consume(total);
+    }
+
+    @Benchmark
+    public CartQuote cartEvaluator() {
+        return evaluator.price(cart);
+    }
+
+    // What the storefront did on every render
+    private static MonetaryAmount walk(Variant variant, Map<String, Integer> quantities) {
+        double surcharge = 0;
+        for (FeatureInterface feature : variant.features()) {
+            if (feature instanceof FixedPriceFeature fixed) {
+                surcharge += fixed.getFixedPrice();
+            } else if (feature instanceof ScalingPriceFeature scaling) {
+                surcharge += scaling.calculatePrice(quantities.getOrDefault(scaling.name(), 0));
+            }
+        }
+        MonetaryAmount price = variant.currentPrice();
+        return price.add(price.getFactory().setNumber(BigDecimal.valueOf(surcharge)).create());
+    }
+}
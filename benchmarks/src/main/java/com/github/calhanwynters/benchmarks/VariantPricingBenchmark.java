@@ -0,0 +1,54 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.valueobjects.PercentageVO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Variant#applyDiscount} and {@link Variant#removeDiscount},
+ * both for a single variant and swept across every variant of an aggregate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VariantPricingBenchmark {
+
+    @Param({"10", "1000"})
+    public int variantCount;
+
+    private Variant variant;
+    private List<Variant> variants;
+    private PercentageVO discount;
+
+    @Setup
+    public void setUp() {
+        variant = Fixtures.variant(0);
+        variants = Fixtures.variants(variantCount);
+        discount = new PercentageVO(new BigDecimal("0.15"));
+    }
+
+    @Benchmark
+    public Variant applyDiscount() {
+        return variant.applyDiscount(discount);
+    }
+
+    @Benchmark
+    public Variant removeDiscount() {
+        return variant.removeDiscount();
+    }
+
+    @Benchmark
+    public void applyDiscountToAllVariants(Blackhole blackhole) {
+        for (Variant v : variants) {
+            blackhole.consume(v.applyDiscount(discount));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.enums.WeightUnitEnums;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a shipping-sized batch of fixed-point weights to grams, comparing a per-element
+ * BigDecimal loop with the long[] batch API on the scalar kernel and on the Vector API kernel.
+ * {@code batchVector} only reaches the Vector API kernel when dombusiness1 was installed with
+ * {@code -Pvector}; otherwise it measures the scalar kernel as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeightBatchConversionBenchmark {
+
+    private static final int SCALE = 4;
+
+    @Param({"OUNCE", "KILOGRAM"})
+    public WeightUnitEnums unit;
+
+    @Param({"10000"})
+    public int batchSize;
+
+    private long[] scaled;
+    private long[] out;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        scaled = new long[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            // Up to 1000 units at four decimals, a realistic spread of parcel weights
+            scaled[i] = random.nextLong(10_000_000L);
+        }
+        out = new long[batchSize];
+    }
+
+    @Benchmark
+    public long[] bigDecimalLoop() {
+        for (int i = 0; i < scaled.length; i++) {
+            out[i] = unit.toGrams(BigDecimal.valueOf(scaled[i], SCALE))
+                    .setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+        return out;
+    }
+
+    @Benchmark
+    public long[] batchScalar() {
+        unit.toGrams(scaled, out, SCALE);
+        return out;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public long[] batchVector() {
+        unit.toGrams(scaled, out, SCALE);
+        return out;
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.valueobjects.WeightVO;
+import com.github.calhanwynters.model.shared.valueobjects.WeightVO.WeightUnit;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link WeightVO} arithmetic, unit conversion and comparison,
+ * plus summing the weights of a cart of growing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeightBenchmark {
+
+    @Param({"10", "1000"})
+    public int cartSize;
+
+    private WeightVO grams;
+    private WeightVO ounces;
+    private WeightVO[] cart;
+
+    @Setup
+    public void setUp() {
+        grams = WeightVO.ofGrams(new BigDecimal("500.25"));
+        ounces = WeightVO.ofOunces(new BigDecimal("3.5"));
+        WeightUnit[] units = WeightUnit.values();
+        cart = new WeightVO[cartSize];
+        for (int i = 0; i < cartSize; i++) {
+            // Keep each item small enough that the cart total stays under the maximum weight
+            cart[i] = new WeightVO(BigDecimal.valueOf(1 + (i % 7), 2), units[i % units.length]);
+        }
+    }
+
+    @Benchmark
+    public WeightVO add() {
+        return grams.add(ounces);
+    }
+
+    @Benchmark
+    public WeightVO subtract() {
+        return grams.subtract(ounces);
+    }
+
+    @Benchmark
+    public WeightVO toUnit() {
+        return ounces.toUnit(WeightUnit.KILOGRAM);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return grams.compareTo(ounces);
+    }
+
+    @Benchmark
+    public WeightVO sumCart() {
+        WeightVO total = WeightVO.ofGrams(BigDecimal.ZERO);
+        for (WeightVO weight : cart) {
+            total = total.add(weight);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public WeightVO sumCartBulk() {
+        return WeightVO.sum(Arrays.asList(cart));
+    }
+}
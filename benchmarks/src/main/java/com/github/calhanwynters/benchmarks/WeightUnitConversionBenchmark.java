@@ -0,0 +1,58 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.enums.WeightUnitEnums;
+import com.github.calhanwynters.model.shared.valueobjects.WeightVO;
+import com.github.calhanwynters.model.shared.valueobjects.WeightVO.WeightUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit-to-unit conversion throughput over every source/target pair of both unit types.
+ * Each invocation performs 36 conversions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeightUnitConversionBenchmark {
+
+    private BigDecimal[] values;
+    private WeightVO[] weights;
+
+    @Setup
+    public void setUp() {
+        WeightUnit[] units = WeightUnit.values();
+        values = new BigDecimal[WeightUnitEnums.values().length];
+        weights = new WeightVO[units.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new BigDecimal("12.345").add(BigDecimal.valueOf(i, 2));
+        }
+        for (int i = 0; i < units.length; i++) {
+            weights[i] = new WeightVO(new BigDecimal("3.25").add(BigDecimal.valueOf(i, 3)), units[i]);
+        }
+    }
+
+    @Benchmark
+    public void enumsAllPairs(Blackhole blackhole) {
+        WeightUnitEnums[] units = WeightUnitEnums.values();
+        for (int from = 0; from < units.length; from++) {
+            for (WeightUnitEnums target : units) {
+                blackhole.consume(units[from].convertValueTo(values[from], target));
+            }
+        }
+    }
+
+    @Benchmark
+    public void weightVoAllPairs(Blackhole blackhole) {
+        for (WeightVO weight : weights) {
+            for (WeightUnit target : WeightUnit.values()) {
+                blackhole.consume(weight.toUnit(target));
+            }
+        }
+    }
+}
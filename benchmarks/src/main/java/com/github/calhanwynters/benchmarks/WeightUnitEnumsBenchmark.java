@@ -0,0 +1,46 @@
+package com.github.calhanwynters.benchmarks;
+
+import com.github.calhanwynters.model.shared.enums.WeightUnitEnums;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-unit {@link WeightUnitEnums} conversions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeightUnitEnumsBenchmark {
+
+    @Param({"GRAM", "KILOGRAM", "OUNCE", "POUND", "CARAT", "TROY_OUNCE"})
+    public WeightUnitEnums unit;
+
+    private BigDecimal value;
+    private BigDecimal grams;
+
+    @Setup
+    public void setUp() {
+        value = new BigDecimal("12.345");
+        grams = new BigDecimal("1234.5678");
+    }
+
+    @Benchmark
+    public BigDecimal toGrams() {
+        return unit.toGrams(value);
+    }
+
+    @Benchmark
+    public BigDecimal fromGrams() {
+        return unit.fromGrams(grams);
+    }
+
+    @Benchmark
+    public BigDecimal convertToOunces() {
+        return unit.convertValueTo(value, WeightUnitEnums.OUNCE);
+    }
+}
@@ -1,13 +1,18 @@
 package com.github.calhanwynters.model.shared.aggregates;
 
 import com.github.calhanwynters.model.shared.entities.Variant; // Import the shared interface
+import com.github.calhanwynters.model.shared.events.*;
 import com.github.calhanwynters.model.shared.exceptions.VariantAlreadyExistsException;
 import com.github.calhanwynters.model.shared.valueobjects.*;
+import javax.money.MonetaryAmount;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 /*** Aggregate Root representing a Product in the domain.
  * An immutable record that controls access to its internal components
  * and enforces business invariants.
+ * Behavior methods raise {@link ProductEvent}s through {@link DomainEvents}; the canonical
+ * constructor raises none, so decoding or copying a Product is silent.
  */
 public record Product(
         ProductId id,
@@ -24,8 +29,8 @@ public record Product(
         Objects.requireNonNull(description, "featureDescription must not be null");
         Objects.requireNonNull(gallery, "gallery must not be null");
         Objects.requireNonNull(variants, "variants must not be null");
-        // Ensure the internal collection is deeply immutable
-        variants = Set.copyOf(variants);
+        // Ensure the internal collection is deeply immutable and indexed by VariantId and SKU
+        variants = VariantIndex.of(variants);
     }
 
     // --- Factory Methods ---
@@ -42,7 +47,7 @@ public record Product(
             Set<Variant> initialVariants
     ) {
         // Updated constructor call with businessId as the second argument:
-        return new Product(
+        Product product = new Product(
                 ProductId.generate(),
                 businessId,
                 category,
@@ -50,6 +55,8 @@ public record Product(
                 gallery,
                 initialVariants
         );
+        raiseCreated(product);
+        return product;
     }
 
     /**
@@ -70,15 +77,21 @@ public record Product(
 
     public Product changeDescription(DescriptionVO newDescription) {
         // Corrected to return a new instance with the updated description
-        return new Product(this.id, this.businessId, this.category, newDescription, this.gallery, this.variants);
+        Product changed = new Product(this.id, this.businessId, this.category, newDescription, this.gallery, this.variants);
+        if (DomainEvents.isRecording() && !newDescription.equals(this.description)) {
+            DomainEvents.raise(new DescriptionChanged(this.id, newDescription));
+        }
+        return changed;
     }
 
     public Product addImage(ImageUrlVO newImageUrl) {
-        Set<ImageUrlVO> updatedImages = new HashSet<>(this.gallery.images());
-        updatedImages.add(newImageUrl);
-        GalleryVO updatedGallery = new GalleryVO(updatedImages);
+        GalleryVO updatedGallery = this.gallery.withImage(newImageUrl);
         // Corrected to use the updated gallery
-        return new Product(this.id, this.businessId, this.category, this.description, updatedGallery, this.variants);
+        Product changed = new Product(this.id, this.businessId, this.category, this.description, updatedGallery, this.variants);
+        if (DomainEvents.isRecording()) {
+            DomainEvents.raise(new ImageAdded(this.id, newImageUrl));
+        }
+        return changed;
     }
 
     /*** Adds a new variant to the Product.
@@ -88,27 +101,181 @@ public record Product(
     public Product addVariant(Variant newVariant) {
         Objects.requireNonNull(newVariant, "newVariant must not be null");
 
-        boolean idAlreadyExists = this.variants.stream()
-                .anyMatch(v -> v.id().equals(newVariant.id()));
-
-        if (idAlreadyExists) {
+        if (index().containsId(newVariant.id())) {
             // Throw a specific domain exception that the application service layer can handle
-            throw new VariantAlreadyExistsException("Variant with ID " + newVariant.id().value() + " already exists.");
+            throw new VariantAlreadyExistsException(List.of(newVariant.id()));
         }
 
-        Set<Variant> updatedVariants = new HashSet<>(this.variants);
-        updatedVariants.add(newVariant);
+        // The index is immutable, so the constructor adopts it without copying
+        Product changed = new Product(this.id, this.businessId, this.category, this.description, this.gallery, index().plus(newVariant));
+        if (DomainEvents.isRecording()) {
+            DomainEvents.raise(new VariantAdded(this.id, newVariant.id(), newVariant.sku()));
+        }
+        return changed;
+    }
+
 
-        // Ensure the returned set is immutable
-        return new Product(this.id, this.businessId, this.category, this.description, this.gallery, Set.copyOf(updatedVariants));
+    /**
+     * Adds many variants at once, validating and indexing them in a single pass.
+     * @param newVariants The variants to add.
+     * @return A new Product instance with all variants added.
+     * @throws VariantAlreadyExistsException listing every duplicate VariantId.
+     */
+    public Product withVariants(Collection<? extends Variant> newVariants) {
+        Objects.requireNonNull(newVariants, "newVariants must not be null");
+        return toBuilder().addVariants(newVariants).build();
     }
 
+    /**
+     * Passes every variant through the replacer and keeps the results, e.g. to reprice them.
+     * Only replaced variants are re-indexed, sharing structure with the current index, and only
+     * they are compared to raise {@link PriceChanged}, {@link StatusChanged} and {@link VariantAttributesChanged}.
+     * @param replacer Returns the variant itself to leave it unchanged, or a variant with the same VariantId.
+     * @return A new Product instance, or this one if no variant was replaced.
+     * @throws IllegalArgumentException if a replacement has a different VariantId.
+     */
+    public Product replaceVariants(UnaryOperator<Variant> replacer) {
+        Objects.requireNonNull(replacer, "replacer must not be null");
+        VariantIndex updated = index();
+        List<Variant> replaced = DomainEvents.isRecording() ? new ArrayList<>() : null;
+        for (Variant variant : index()) {
+            Variant replacement = Objects.requireNonNull(replacer.apply(variant), "replacement must not be null");
+            if (replacement != variant) {
+                if (!replacement.id().equals(variant.id())) {
+                    throw new IllegalArgumentException("A replacement must keep the VariantId " + variant.id().value());
+                }
+                updated = updated.replace(replacement);
+                if (replaced != null) {
+                    replaced.add(variant);
+                    replaced.add(replacement);
+                }
+            }
+        }
+        if (updated == index()) {
+            return this;
+        }
+        Product changed = new Product(this.id, this.businessId, this.category, this.description, this.gallery, updated);
+        if (replaced != null) {
+            for (int i = 0; i < replaced.size(); i += 2) {
+                raiseVariantChanges(replaced.get(i), replaced.get(i + 1));
+            }
+        }
+        return changed;
+    }
 
     /*** Finds a variant by its ID.
      * @param variantId The ID to search for.
      * @return An Optional containing the variant, if found within this aggregate.
      */
     public Optional<Variant> findVariantById(VariantId variantId) { // Uses the generic VariantId
-        return this.variants.stream().filter(v -> v.id().equals(variantId)).findFirst();
+        return index().findById(variantId);
+    }
+
+    /*** Finds a variant by its SKU.
+     * @param sku The SKU to search for.
+     * @return An Optional containing the variant, if found within this aggregate.
+     */
+    public Optional<Variant> findVariantBySku(String sku) {
+        return index().findBySku(sku);
+    }
+
+    // --- Builder ---
+
+    /**
+     * Starts a builder for a new Product, intended for bulk imports where
+     * calling {@link #addVariant} per variant would rebuild the aggregate each time.
+     */
+    public static Builder builder(BusinessId businessId, String category, DescriptionVO description, GalleryVO gallery) {
+        return new Builder(ProductId.generate(), businessId, category, description, gallery, VariantIndex.of(Set.of()), true);
+    }
+
+    /*** Starts a builder pre-populated with this Product's state and variants. */
+    public Builder toBuilder() {
+        return new Builder(this.id, this.businessId, this.category, this.description, this.gallery, index(), false);
+    }
+
+    /**
+     * Collects variants mutably and freezes them into an immutable Product once.
+     * Field validation runs a single time in {@link #build()}, and every duplicate
+     * VariantId is reported together in one {@link VariantAlreadyExistsException}.
+     */
+    public static final class Builder {
+        private final ProductId id;
+        private final BusinessId businessId;
+        private final String category;
+        private final DescriptionVO description;
+        private final GalleryVO gallery;
+        private final VariantIndex existingVariants;
+        private final boolean newProduct;
+        private final List<Variant> pendingVariants = new ArrayList<>();
+
+        private Builder(ProductId id, BusinessId businessId, String category, DescriptionVO description,
+                        GalleryVO gallery, VariantIndex existingVariants, boolean newProduct) {
+            this.id = id;
+            this.businessId = businessId;
+            this.category = category;
+            this.description = description;
+            this.gallery = gallery;
+            this.existingVariants = existingVariants;
+            this.newProduct = newProduct;
+        }
+
+        public Builder addVariant(Variant variant) {
+            pendingVariants.add(Objects.requireNonNull(variant, "variant must not be null"));
+            return this;
+        }
+
+        public Builder addVariants(Collection<? extends Variant> variants) {
+            variants.forEach(this::addVariant);
+            return this;
+        }
+
+        /**
+         * Builds the Product, raising {@link ProductCreated} for a new Product or one
+         * {@link VariantAdded} per added variant for an existing one.
+         * @throws VariantAlreadyExistsException listing every VariantId added more than
+         *         once or already present on the Product this builder started from.
+         */
+        public Product build() {
+            Product product = new Product(id, businessId, category, description, gallery,
+                    VariantIndex.merge(existingVariants, pendingVariants));
+            if (newProduct) {
+                raiseCreated(product);
+            } else if (DomainEvents.isRecording()) {
+                pendingVariants.forEach(variant -> DomainEvents.raise(new VariantAdded(id, variant.id(), variant.sku())));
+            }
+            return product;
+        }
+    }
+
+    // --- Events ---
+
+    private static void raiseCreated(Product product) {
+        if (DomainEvents.isRecording()) {
+            DomainEvents.raise(new ProductCreated(product.id, product.businessId, product.category, product.variants.size()));
+        }
+    }
+
+    // Prices compare by value, so a re-scaled but equal amount is not a change
+    private void raiseVariantChanges(Variant before, Variant after) {
+        if (!samePrice(before.basePrice(), after.basePrice()) || !samePrice(before.currentPrice(), after.currentPrice())) {
+            DomainEvents.raise(new PriceChanged(this.id, after.id(), before.basePrice(), after.basePrice(),
+                    before.currentPrice(), after.currentPrice()));
+        }
+        if (before.status() != after.status()) {
+            DomainEvents.raise(new StatusChanged(this.id, after.id(), before.status(), after.status()));
+        }
+        if (!before.sku().equals(after.sku()) || !before.hasSameAttributes(after)) {
+            DomainEvents.raise(new VariantAttributesChanged(this.id, after.id()));
+        }
+    }
+
+    private static boolean samePrice(MonetaryAmount a, MonetaryAmount b) {
+        return a.getCurrency().equals(b.getCurrency()) && a.isEqualTo(b);
+    }
+
+    // The compact constructor guarantees variants is always a VariantIndex
+    private VariantIndex index() {
+        return (VariantIndex) this.variants;
     }
 }
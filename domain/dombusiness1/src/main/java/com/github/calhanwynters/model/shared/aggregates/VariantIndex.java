@@ -0,0 +1,146 @@
+package com.github.calhanwynters.model.shared.aggregates;
+
+import com.github.calhanwynters.model.shared.collections.PersistentHashMap;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.exceptions.VariantAlreadyExistsException;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+
+import java.util.*;
+
+/**
+ * Immutable variant set backing {@link Product#variants()}.
+ * Keeps a VariantId index and a SKU index alongside the set view, so membership
+ * checks and lookups inside the aggregate are effectively O(1). Both indexes are
+ * persistent maps, so {@link #plus} shares structure with the previous index.
+ */
+final class VariantIndex extends AbstractSet<Variant> {
+
+    private static final VariantIndex EMPTY = new VariantIndex(PersistentHashMap.empty(), PersistentHashMap.empty());
+
+    private final PersistentHashMap<VariantId, Variant> byId;
+    private final PersistentHashMap<String, Variant> bySku;
+
+    private VariantIndex(PersistentHashMap<VariantId, Variant> byId, PersistentHashMap<String, Variant> bySku) {
+        this.byId = byId;
+        this.bySku = bySku;
+    }
+
+    /**
+     * Returns the given variants as an index, reusing the instance if it already is one.
+     * @throws VariantAlreadyExistsException listing every VariantId shared by different variants.
+     */
+    static VariantIndex of(Collection<Variant> variants) {
+        if (variants instanceof VariantIndex existing) {
+            return existing;
+        }
+        return merge(EMPTY, variants);
+    }
+
+    /**
+     * Returns a new index containing the base variants plus all additions.
+     * Duplicates are detected in a single pass over the additions, and the
+     * result is frozen once: small batches are added to the base with
+     * structural sharing, large ones rebuild both tries in one bulk pass.
+     * @throws VariantAlreadyExistsException listing every VariantId that occurs
+     *         more than once or already exists in the base index.
+     */
+    static VariantIndex merge(VariantIndex base, Collection<? extends Variant> additions) {
+        if (additions.isEmpty()) {
+            return base;
+        }
+        boolean rebuild = additions.size() >= base.size();
+        int capacity = rebuild ? base.size() + additions.size() : additions.size();
+        Map<VariantId, Variant> byId = HashMap.newHashMap(capacity);
+        Map<String, Variant> bySku = HashMap.newHashMap(capacity);
+        if (rebuild) {
+            byId.putAll(base.byId);
+            bySku.putAll(base.bySku);
+        }
+        Set<VariantId> duplicates = new LinkedHashSet<>();
+        for (Variant variant : additions) {
+            Objects.requireNonNull(variant, "variants must not contain null");
+            boolean duplicate = byId.putIfAbsent(variant.id(), variant) != null
+                    || (!rebuild && base.byId.containsKey(variant.id()));
+            if (duplicate) {
+                duplicates.add(variant.id());
+            } else if (rebuild || !base.bySku.containsKey(variant.sku())) {
+                // The first variant registered under a SKU keeps the SKU index entry
+                bySku.putIfAbsent(variant.sku(), variant);
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new VariantAlreadyExistsException(List.copyOf(duplicates));
+        }
+        if (rebuild) {
+            return new VariantIndex(PersistentHashMap.copyOf(byId), PersistentHashMap.copyOf(bySku));
+        }
+        PersistentHashMap<VariantId, Variant> newById = base.byId;
+        PersistentHashMap<String, Variant> newBySku = base.bySku;
+        for (Variant variant : byId.values()) {
+            newById = newById.plus(variant.id(), variant);
+        }
+        for (Variant variant : bySku.values()) {
+            newBySku = newBySku.plus(variant.sku(), variant);
+        }
+        return new VariantIndex(newById, newBySku);
+    }
+
+    /*** Returns a new index containing this index's variants plus the given one. */
+    VariantIndex plus(Variant variant) {
+        if (byId.containsKey(variant.id())) {
+            throw new VariantAlreadyExistsException(List.of(variant.id()));
+        }
+        PersistentHashMap<String, Variant> newBySku = bySku.containsKey(variant.sku())
+                ? bySku
+                : bySku.plus(variant.sku(), variant);
+        return new VariantIndex(byId.plus(variant.id(), variant), newBySku);
+    }
+
+    /**
+     * Returns a new index with the variant of the same VariantId swapped for the replacement.
+     * @throws IllegalArgumentException if no variant with that VariantId is present.
+     */
+    VariantIndex replace(Variant replacement) {
+        Variant previous = byId.get(replacement.id());
+        if (previous == null) {
+            throw new IllegalArgumentException("Variant " + replacement.id().value() + " is not part of this product");
+        }
+        PersistentHashMap<String, Variant> newBySku = bySku;
+        if (bySku.get(previous.sku()) == previous) {
+            newBySku = newBySku.minus(previous.sku());
+        }
+        if (!newBySku.containsKey(replacement.sku())) {
+            newBySku = newBySku.plus(replacement.sku(), replacement);
+        }
+        return new VariantIndex(byId.plus(replacement.id(), replacement), newBySku);
+    }
+
+    boolean containsId(VariantId id) {
+        return byId.containsKey(id);
+    }
+
+    Optional<Variant> findById(VariantId id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    Optional<Variant> findBySku(String sku) {
+        return Optional.ofNullable(bySku.get(sku));
+    }
+
+    // --- Set view ---
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Variant v && v.equals(byId.get(v.id()));
+    }
+
+    @Override
+    public Iterator<Variant> iterator() {
+        return byId.values().iterator();
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+}
@@ -0,0 +1,521 @@
+package com.github.calhanwynters.model.shared.collections;
+
+import java.util.*;
+
+/**
+ * Immutable hash map implemented as a hash array mapped trie (HAMT).
+ * {@link #plus} and {@link #minus} return a new map that shares every untouched
+ * branch with this one, so an update copies at most one node per trie level
+ * (O(log32 n) allocation) instead of the whole map.
+ * Null keys and null values are not permitted.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    // --- Factory Methods ---
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a persistent copy of the given map, reusing it if it is already persistent.
+     * The trie is built bottom-up in a single pass, allocating each node exactly once.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap<? extends K, ? extends V> persistent) {
+            return (PersistentHashMap<K, V>) persistent;
+        }
+        Object[] keys = new Object[map.size()];
+        Object[] values = new Object[map.size()];
+        int count = 0;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            keys[count] = Objects.requireNonNull(entry.getKey(), "key must not be null");
+            values[count] = Objects.requireNonNull(entry.getValue(), "value must not be null");
+            count++;
+        }
+        return fromArrays(keys, values, count);
+    }
+
+    /**
+     * Bulk-builds a map from parallel key/value arrays. Later entries win over
+     * earlier entries with an equal key. Callers must have rejected nulls.
+     */
+    static <K, V> PersistentHashMap<K, V> fromArrays(Object[] keys, Object[] values, int count) {
+        if (count == 0) {
+            return empty();
+        }
+        int[] hashes = new int[count];
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            hashes[i] = hash(keys[i]);
+            order[i] = i;
+        }
+        int[] size = new int[1];
+        Node root = new BulkBuilder(keys, values, hashes, order).build(0, count, 0, size);
+        return new PersistentHashMap<>(root, size[0]);
+    }
+
+    // --- Persistent Operations ---
+
+    /**
+     * Returns a map with the given mapping added or replaced.
+     * Returns this instance if the key is already mapped to the same value.
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(value, "value must not be null");
+        boolean[] addedLeaf = new boolean[1];
+        Node newRoot = root.assoc(0, hash(key), key, value, addedLeaf);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, addedLeaf[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the given key, or this instance if the key is absent.
+     */
+    public PersistentHashMap<K, V> minus(Object key) {
+        if (key == null) {
+            return this;
+        }
+        Node newRoot = root.without(0, hash(key), key);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    // --- Map Queries ---
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return key == null ? null : (V) root.find(0, hash(key), key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new TrieIterator<>(root, TrieIterator.Mode.ENTRIES);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<K> iterator() {
+                return keyIterator();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new TrieIterator<>(root, TrieIterator.Mode.VALUES);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    Iterator<K> keyIterator() {
+        return new TrieIterator<>(root, TrieIterator.Mode.KEYS);
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int mask(int hash, int shift) {
+        return (hash >>> shift) & 0x1f;
+    }
+
+    private static int bitpos(int hash, int shift) {
+        return 1 << mask(hash, shift);
+    }
+
+    // --- Trie Nodes ---
+
+    /**
+     * A trie node. Nodes store their entries as alternating key/value slots;
+     * a null key slot means the value slot holds a child node.
+     */
+    private sealed interface Node permits BitmapNode, CollisionNode {
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] addedLeaf);
+
+        Node without(int shift, int hash, Object key);
+
+        Object find(int shift, int hash, Object key);
+
+        Object[] slots();
+    }
+
+    private record BitmapNode(int bitmap, Object[] slots) implements Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, Object key, Object value, boolean[] addedLeaf) {
+            int bit = bitpos(hash, shift);
+            int idx = index(bit);
+            if ((bitmap & bit) != 0) {
+                Object existingKey = slots[2 * idx];
+                Object existingValue = slots[2 * idx + 1];
+                if (existingKey == null) {
+                    Node child = ((Node) existingValue).assoc(shift + 5, hash, key, value, addedLeaf);
+                    return child == existingValue ? this : new BitmapNode(bitmap, cloneAndSet(slots, 2 * idx + 1, child));
+                }
+                if (key.equals(existingKey)) {
+                    return value == existingValue ? this : new BitmapNode(bitmap, cloneAndSet(slots, 2 * idx + 1, value));
+                }
+                addedLeaf[0] = true;
+                Node child = createNode(shift + 5, existingKey, existingValue, hash, key, value);
+                Object[] newSlots = cloneAndSet(slots, 2 * idx + 1, child);
+                newSlots[2 * idx] = null;
+                return new BitmapNode(bitmap, newSlots);
+            }
+            addedLeaf[0] = true;
+            Object[] newSlots = new Object[slots.length + 2];
+            System.arraycopy(slots, 0, newSlots, 0, 2 * idx);
+            newSlots[2 * idx] = key;
+            newSlots[2 * idx + 1] = value;
+            System.arraycopy(slots, 2 * idx, newSlots, 2 * (idx + 1), slots.length - 2 * idx);
+            return new BitmapNode(bitmap | bit, newSlots);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int idx = index(bit);
+            Object existingKey = slots[2 * idx];
+            Object existingValue = slots[2 * idx + 1];
+            if (existingKey == null) {
+                Node child = ((Node) existingValue).without(shift + 5, hash, key);
+                if (child == existingValue) {
+                    return this;
+                }
+                if (child != null) {
+                    return new BitmapNode(bitmap, cloneAndSet(slots, 2 * idx + 1, child));
+                }
+            } else if (!key.equals(existingKey)) {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            return new BitmapNode(bitmap ^ bit, removePair(slots, idx));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int idx = index(bit);
+            Object existingKey = slots[2 * idx];
+            Object existingValue = slots[2 * idx + 1];
+            if (existingKey == null) {
+                return ((Node) existingValue).find(shift + 5, hash, key);
+            }
+            return key.equals(existingKey) ? existingValue : null;
+        }
+    }
+
+    /*** Leaf node holding keys whose full 32-bit hashes collide. */
+    private record CollisionNode(int hash, Object[] slots) implements Node {
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (key.equals(slots[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, Object key, Object value, boolean[] addedLeaf) {
+            if (hash != this.hash) {
+                // Push this collision node one level down, next to the new key
+                return new BitmapNode(bitpos(this.hash, shift), new Object[]{null, this})
+                        .assoc(shift, hash, key, value, addedLeaf);
+            }
+            int idx = indexOf(key);
+            if (idx >= 0) {
+                return slots[idx + 1] == value ? this : new CollisionNode(hash, cloneAndSet(slots, idx + 1, value));
+            }
+            addedLeaf[0] = true;
+            Object[] newSlots = Arrays.copyOf(slots, slots.length + 2);
+            newSlots[slots.length] = key;
+            newSlots[slots.length + 1] = value;
+            return new CollisionNode(hash, newSlots);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            int idx = indexOf(key);
+            if (idx < 0) {
+                return this;
+            }
+            if (slots.length == 2) {
+                return null;
+            }
+            return new CollisionNode(hash, removePair(slots, idx / 2));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int idx = indexOf(key);
+            return idx < 0 ? null : slots[idx + 1];
+        }
+    }
+
+    private static Node createNode(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+        int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+        }
+        boolean[] addedLeaf = new boolean[1];
+        return BitmapNode.EMPTY
+                .assoc(shift, hash1, key1, value1, addedLeaf)
+                .assoc(shift, hash2, key2, value2, addedLeaf);
+    }
+
+    private static Object[] cloneAndSet(Object[] array, int i, Object value) {
+        Object[] clone = array.clone();
+        clone[i] = value;
+        return clone;
+    }
+
+    private static Object[] removePair(Object[] array, int pairIndex) {
+        Object[] newArray = new Object[array.length - 2];
+        System.arraycopy(array, 0, newArray, 0, 2 * pairIndex);
+        System.arraycopy(array, 2 * (pairIndex + 1), newArray, 2 * pairIndex, newArray.length - 2 * pairIndex);
+        return newArray;
+    }
+
+    // --- Bulk Construction ---
+
+    /**
+     * Builds a trie bottom-up by bucketing entries on each 5-bit hash chunk
+     * (a counting sort per level), so n entries cost O(n log32 n) work and
+     * each node is allocated once, instead of n path-copying insertions.
+     */
+    private record BulkBuilder(Object[] keys, Object[] values, int[] hashes, int[] order) {
+
+        BitmapNode build(int from, int to, int shift, int[] size) {
+            int[] counts = new int[32];
+            for (int i = from; i < to; i++) {
+                counts[mask(hashes[order[i]], shift)]++;
+            }
+            int[] starts = new int[32];
+            int bitmap = 0;
+            for (int b = 0, offset = from; b < 32; b++) {
+                starts[b] = offset;
+                offset += counts[b];
+                if (counts[b] > 0) {
+                    bitmap |= 1 << b;
+                }
+            }
+            int[] sorted = new int[to - from];
+            int[] cursor = starts.clone();
+            for (int i = from; i < to; i++) {
+                int entry = order[i];
+                sorted[cursor[mask(hashes[entry], shift)]++ - from] = entry;
+            }
+            System.arraycopy(sorted, 0, order, from, sorted.length);
+
+            Object[] slots = new Object[2 * Integer.bitCount(bitmap)];
+            int slot = 0;
+            for (int b = 0; b < 32; b++) {
+                if (counts[b] == 0) {
+                    continue;
+                }
+                int start = starts[b];
+                int end = start + counts[b];
+                if (counts[b] == 1) {
+                    slots[slot] = keys[order[start]];
+                    slots[slot + 1] = values[order[start]];
+                    size[0]++;
+                } else if (sameHash(start, end)) {
+                    Object[] pairs = dedupe(start, end);
+                    if (pairs.length == 2) {
+                        slots[slot] = pairs[0];
+                        slots[slot + 1] = pairs[1];
+                    } else {
+                        slots[slot + 1] = new CollisionNode(hashes[order[start]], pairs);
+                    }
+                    size[0] += pairs.length / 2;
+                } else {
+                    slots[slot + 1] = build(start, end, shift + 5, size);
+                }
+                slot += 2;
+            }
+            return new BitmapNode(bitmap, slots);
+        }
+
+        private boolean sameHash(int from, int to) {
+            int first = hashes[order[from]];
+            for (int i = from + 1; i < to; i++) {
+                if (hashes[order[i]] != first) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Entries are visited in input order, so the last equal key wins
+        private Object[] dedupe(int from, int to) {
+            Object[] pairs = new Object[2 * (to - from)];
+            int length = 0;
+            outer:
+            for (int i = from; i < to; i++) {
+                Object key = keys[order[i]];
+                Object value = values[order[i]];
+                for (int j = 0; j < length; j += 2) {
+                    if (key.equals(pairs[j])) {
+                        pairs[j + 1] = value;
+                        continue outer;
+                    }
+                }
+                pairs[length] = key;
+                pairs[length + 1] = value;
+                length += 2;
+            }
+            return Arrays.copyOf(pairs, length);
+        }
+    }
+
+    // --- Iteration ---
+
+    /*** Depth-first iterator over the trie yielding entries, keys or values. */
+    private static final class TrieIterator<T> implements Iterator<T> {
+        enum Mode { ENTRIES, KEYS, VALUES }
+
+        private final Mode mode;
+        private final Deque<Object[]> stack = new ArrayDeque<>();
+        private final Deque<Integer> positions = new ArrayDeque<>();
+        private Object[] current;
+        private int position;
+        private Object nextKey;
+        private Object nextValue;
+
+        TrieIterator(Node root, Mode mode) {
+            this.mode = mode;
+            this.current = root.slots();
+            advance();
+        }
+
+        private void advance() {
+            nextKey = null;
+            while (current != null) {
+                while (position < current.length) {
+                    Object key = current[position];
+                    Object value = current[position + 1];
+                    position += 2;
+                    if (key != null) {
+                        nextKey = key;
+                        nextValue = value;
+                        return;
+                    }
+                    stack.push(current);
+                    positions.push(position);
+                    current = ((Node) value).slots();
+                    position = 0;
+                }
+                if (stack.isEmpty()) {
+                    current = null;
+                } else {
+                    current = stack.pop();
+                    position = positions.pop();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextKey != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (nextKey == null) {
+                throw new NoSuchElementException();
+            }
+            Object key = nextKey;
+            Object value = nextValue;
+            advance();
+            return (T) switch (mode) {
+                case ENTRIES -> new SimpleImmutableEntry<>(key, value);
+                case KEYS -> key;
+                case VALUES -> value;
+            };
+        }
+    }
+}
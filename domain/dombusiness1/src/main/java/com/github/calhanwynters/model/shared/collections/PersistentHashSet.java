@@ -0,0 +1,79 @@
+package com.github.calhanwynters.model.shared.collections;
+
+import java.util.*;
+
+/**
+ * Immutable hash set backed by a {@link PersistentHashMap}.
+ * {@link #plus} and {@link #minus} share structure with the original set,
+ * so an update allocates O(log32 n) instead of copying every element.
+ * Null elements are not permitted.
+ *
+ * @param <E> the element type
+ */
+public final class PersistentHashSet<E> extends AbstractSet<E> {
+
+    private static final PersistentHashSet<?> EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+    private final PersistentHashMap<E, E> map;
+
+    private PersistentHashSet(PersistentHashMap<E, E> map) {
+        this.map = map;
+    }
+
+    // --- Factory Methods ---
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentHashSet<E> empty() {
+        return (PersistentHashSet<E>) EMPTY;
+    }
+
+    /**
+     * Returns a persistent copy of the given collection, reusing it if it is already persistent.
+     * Duplicate elements are collapsed; the trie is built in a single bottom-up pass.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentHashSet<E> copyOf(Collection<? extends E> elements) {
+        if (elements instanceof PersistentHashSet<? extends E> persistent) {
+            return (PersistentHashSet<E>) persistent;
+        }
+        Object[] array = elements.toArray();
+        for (Object element : array) {
+            Objects.requireNonNull(element, "element must not be null");
+        }
+        return new PersistentHashSet<>(PersistentHashMap.fromArrays(array, array, array.length));
+    }
+
+    // --- Persistent Operations ---
+
+    /*** Returns a set containing this set's elements plus the given one. */
+    public PersistentHashSet<E> plus(E element) {
+        Objects.requireNonNull(element, "element must not be null");
+        if (map.containsKey(element)) {
+            return this;
+        }
+        return new PersistentHashSet<>(map.plus(element, element));
+    }
+
+    /*** Returns a set without the given element, or this instance if it is absent. */
+    public PersistentHashSet<E> minus(Object element) {
+        PersistentHashMap<E, E> newMap = map.minus(element);
+        return newMap == map ? this : new PersistentHashSet<>(newMap);
+    }
+
+    // --- Set Queries ---
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return map.keyIterator();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+}
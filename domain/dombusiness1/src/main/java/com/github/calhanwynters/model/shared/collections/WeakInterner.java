@@ -0,0 +1,112 @@
+package com.github.calhanwynters.model.shared.collections;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe canonicalizing pool: {@link #intern} returns one shared instance for every
+ * group of equal values. The pool only holds its instances weakly, so a canonical value
+ * disappears from the pool once nothing else references it, and an equal value interned
+ * later becomes the new canonical instance.
+ * <p>
+ * Entries are weak references keyed by the referent's hash and equality. Cleared entries
+ * are purged from a reference queue on every call, so the pool never grows beyond the
+ * live canonical values by more than one collection's worth of garbage.
+ *
+ * @param <T> the value type; its equals and hashCode must not change while it is interned
+ */
+public final class WeakInterner<T> {
+
+    private final ConcurrentHashMap<Object, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    /*** Returns the canonical instance equal to {@code value}, making {@code value} canonical if there is none. */
+    public T intern(T value) {
+        Objects.requireNonNull(value, "value must not be null");
+        purgeClearedEntries();
+        Entry<T> existing = entries.get(new Lookup(value, value.hashCode()));
+        if (existing != null) {
+            T canonical = existing.get();
+            if (canonical != null) {
+                return canonical;
+            }
+        }
+        Entry<T> entry = new Entry<>(value, queue);
+        while (true) {
+            Entry<T> previous = entries.putIfAbsent(entry, entry);
+            if (previous == null) {
+                return value;
+            }
+            T canonical = previous.get();
+            if (canonical != null) {
+                return canonical;
+            }
+            // The previous canonical value was collected between lookup and insert; replace its entry
+            entries.remove(previous, previous);
+        }
+    }
+
+    /*** The canonical instance equal to {@code value}, or null if none is pooled; never adds {@code value}. */
+    public T find(T value) {
+        Objects.requireNonNull(value, "value must not be null");
+        Entry<T> existing = entries.get(new Lookup(value, value.hashCode()));
+        return existing == null ? null : existing.get();
+    }
+
+    /*** The number of canonical values currently pooled, including any not yet purged after collection. */
+    public int size() {
+        purgeClearedEntries();
+        return entries.size();
+    }
+
+    private void purgeClearedEntries() {
+        Reference<? extends T> cleared;
+        while ((cleared = queue.poll()) != null) {
+            entries.remove(cleared, cleared);
+        }
+    }
+
+    // --- Keys ---
+
+    // A cleared entry has no referent and is then only equal to itself, so it can still be removed
+    private static final class Entry<T> extends WeakReference<T> {
+
+        private final int hash;
+
+        Entry(T value, ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.hash = value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o == this || o instanceof Entry<?> other && hash == other.hash && sameReferent(get(), other.get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // Strong, short-lived key used for lookups
+    private record Lookup(Object value, int hash) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?> entry && entry.hash == hash && sameReferent(value, entry.get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static boolean sameReferent(Object a, Object b) {
+        return a != null && b != null && (a == b || a.equals(b));
+    }
+}
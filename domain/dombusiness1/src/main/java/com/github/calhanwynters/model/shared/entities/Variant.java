@@ -40,7 +40,7 @@ public record Variant(
      * @param basePrice The initial base monetary amount.
      * @param weight The physical weight of the product.
      * @param careInstructions Specific care instructions for the product.
-     * @param features Optional list of features.
+     * @param features Optional list of features; stored as the canonical list from {@link FeatureRegistry#global()}.
      * @return A new Variant instance initialized as DRAFT.
      */
     public static Variant createDraft(
@@ -60,7 +60,7 @@ public record Variant(
                 generatedSku,
                 basePrice,
                 currentPrice,
-                features,
+                FeatureRegistry.global().internAll(features),
                 careInstructions,
                 weight,
                 VariantStatusEnums.DRAFT
@@ -1,5 +1,9 @@
 package com.github.calhanwynters.model.shared.enums;
 
+import com.github.calhanwynters.model.shared.units.FixedPointConversion;
+import com.github.calhanwynters.model.shared.units.MassUnit;
+import com.github.calhanwynters.model.shared.units.WeightConversions;
+
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
@@ -8,138 +12,35 @@ import java.util.Objects;
 /**
  * A Value Object (VO) enum for handling different weight units and their conversions.
  * It uses BigDecimal for precise arithmetic, suitable for financial or inventory systems.
+ * Factors and conversions come from the shared {@link WeightConversions} engine.
  */
 public enum WeightUnitEnums {
     /** Represents the base unit of a Gram. */
-    GRAM {
-        @Override
-        public BigDecimal toGrams(BigDecimal v) {
-            Objects.requireNonNull(v, "Value must not be null");
-            if (v.signum() < 0) {
-                throw new IllegalArgumentException("Value must not be negative");
-            }
-            return v;
-        }
-
-        @Override
-        public BigDecimal fromGrams(BigDecimal g) {
-            Objects.requireNonNull(g, "Grams must not be null");
-            if (g.signum() < 0) {
-                throw new IllegalArgumentException("Grams must not be negative");
-            }
-            return g;
-        }
-    },
+    GRAM(MassUnit.GRAM),
     /** Represents the unit of a Kilogram (SI unit of mass). */
-    KILOGRAM {
-        @Override
-        public BigDecimal toGrams(BigDecimal v) {
-            Objects.requireNonNull(v, "Value must not be null");
-            if (v.signum() < 0) {
-                throw new IllegalArgumentException("Value must not be negative");
-            }
-            return v.multiply(GRAMS_PER_KILOGRAM, MC);
-        }
-        @Override
-        public BigDecimal fromGrams(BigDecimal g) {
-            Objects.requireNonNull(g, "Grams must not be null");
-            if (g.signum() < 0) {
-                throw new IllegalArgumentException("Grams must not be negative");
-            }
-            return g.divide(GRAMS_PER_KILOGRAM, SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
-        }
-    },
+    KILOGRAM(MassUnit.KILOGRAM),
     /** Represents the unit of an Avoirdupois Ounce (general purpose ounce). */
-    OUNCE {
-        @Override
-        public BigDecimal toGrams(BigDecimal v) {
-            Objects.requireNonNull(v, "Value must not be null");
-            if (v.signum() < 0) {
-                throw new IllegalArgumentException("Value must not be negative");
-            }
-            return v.multiply(GRAMS_PER_OUNCE, MC);
-        }
-
-        @Override
-        public BigDecimal fromGrams(BigDecimal g) {
-            Objects.requireNonNull(g, "Grams must not be null");
-            if (g.signum() < 0) {
-                throw new IllegalArgumentException("Grams must not be negative");
-            }
-            return g.divide(GRAMS_PER_OUNCE, SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
-        }
-    },
+    OUNCE(MassUnit.OUNCE),
     /** Represents the unit of an Avoirdupois Pound (general purpose pound). */
-    POUND {
-        @Override
-        public BigDecimal toGrams(BigDecimal v) {
-            Objects.requireNonNull(v, "Value must not be null");
-            if (v.signum() < 0) {
-                throw new IllegalArgumentException("Value must not be negative");
-            }
-            return v.multiply(GRAMS_PER_POUND, MC);
-        }
-        @Override
-        public BigDecimal fromGrams(BigDecimal g) {
-            Objects.requireNonNull(g, "Grams must not be null");
-            if (g.signum() < 0) {
-                throw new IllegalArgumentException("Grams must not be negative");
-            }
-            return g.divide(GRAMS_PER_POUND, SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
-        }
-    },
+    POUND(MassUnit.POUND),
     /** Represents the unit of a Carat (used for gemstones). */
-    CARAT {
-        @Override
-        public BigDecimal toGrams(BigDecimal v) {
-            Objects.requireNonNull(v, "Value must not be null");
-            if (v.signum() < 0) {
-                throw new IllegalArgumentException("Value must not be negative");
-            }
-            return v.multiply(GRAMS_PER_CARAT, MC);
-        }
-
-        @Override
-        public BigDecimal fromGrams(BigDecimal g) {
-            Objects.requireNonNull(g, "Grams must not be null");
-            if (g.signum() < 0) {
-                throw new IllegalArgumentException("Grams must not be negative");
-            }
-            return g.divide(GRAMS_PER_CARAT, SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
-        }
-    },
+    CARAT(MassUnit.CARAT),
     /** Represents the unit of a Troy Ounce (used for precious metals). */
-    TROY_OUNCE {
-        @Override
-        public BigDecimal toGrams(BigDecimal v) {
-            Objects.requireNonNull(v, "Value must not be null");
-            if (v.signum() < 0) {
-                throw new IllegalArgumentException("Value must not be negative");
-            }
-            return v.multiply(GRAMS_PER_TROY_OUNCE, MC);
-        }
-
-        @Override
-        public BigDecimal fromGrams(BigDecimal g) {
-            Objects.requireNonNull(g, "Grams must not be null");
-            if (g.signum() < 0) {
-                throw new IllegalArgumentException("Grams must not be negative");
-            }
-            return g.divide(GRAMS_PER_TROY_OUNCE, SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
-        }
-    };
-
-    // Constants for conversion factors
-    private static final BigDecimal GRAMS_PER_KILOGRAM = new BigDecimal("1000.0");
-    private static final BigDecimal GRAMS_PER_POUND = new BigDecimal("453.59237");
-    private static final BigDecimal GRAMS_PER_OUNCE = new BigDecimal("28.349523125");
-    private static final BigDecimal GRAMS_PER_CARAT = new BigDecimal("0.2");
-    private static final BigDecimal GRAMS_PER_TROY_OUNCE = new BigDecimal("31.1034768"); // Standard for precious metals
+    TROY_OUNCE(MassUnit.TROY_OUNCE);
 
     // Scale and MathContext for precision
     private static final int SCALE = 8; // Preserves sub-milligram precision (0.00000001 g)
     private static final MathContext MC = new MathContext(16, RoundingMode.HALF_UP);
 
+    private final MassUnit massUnit;
+    // Batch conversion plans, built on first use for each scale
+    private final FixedPointConversion[] toGramsPlans = new FixedPointConversion[FixedPointConversion.MAX_SCALE + 1];
+    private final FixedPointConversion[] fromGramsPlans = new FixedPointConversion[FixedPointConversion.MAX_SCALE + 1];
+
+    WeightUnitEnums(MassUnit massUnit) {
+        this.massUnit = massUnit;
+    }
+
     /**
      * Converts a value in this unit to grams.
      *
@@ -147,7 +48,10 @@ public enum WeightUnitEnums {
      * @return The value in grams.
      * @throws IllegalArgumentException if the value is null or negative.
      */
-    public abstract BigDecimal toGrams(BigDecimal value);
+    public BigDecimal toGrams(BigDecimal value) {
+        requireNonNegative(value, "Value");
+        return WeightConversions.toGrams(massUnit, value, MC);
+    }
 
     /**
      * Converts a value in grams to this unit.
@@ -156,7 +60,50 @@ public enum WeightUnitEnums {
      * @return The value in the current unit, rounded to the defined SCALE.
      * @throws IllegalArgumentException if the grams value is null or negative.
      */
-    public abstract BigDecimal fromGrams(BigDecimal grams);
+    public BigDecimal fromGrams(BigDecimal grams) {
+        requireNonNegative(grams, "Grams");
+        if (this == GRAM) {
+            return grams;
+        }
+        return WeightConversions.convert(MassUnit.GRAM, massUnit, grams, SCALE).stripTrailingZeros();
+    }
+
+    /**
+     * Converts an array of fixed-point values in this unit to grams. Each element is an unscaled
+     * value at {@code scale}, so {@code 12345} at scale 2 means 123.45, and each result equals
+     * {@code toGrams(BigDecimal.valueOf(in, scale)).setScale(scale, HALF_UP)} unscaled.
+     *
+     * @param scaledIn The values in the current unit; none may be negative.
+     * @param scaledOut Receives the values in grams; may be the input array.
+     * @param scale The number of decimal places of both arrays, between 0 and 18.
+     * @throws IllegalArgumentException if a value is negative or the scale or output length is invalid.
+     */
+    public void toGrams(long[] scaledIn, long[] scaledOut, int scale) {
+        FixedPointConversion plan = toGramsPlans[FixedPointConversion.checkScale(scale)];
+        if (plan == null) {
+            plan = this == GRAM ? FixedPointConversion.identity(scale) : FixedPointConversion.multiply(massUnit.gramsPerUnit(), MC, scale);
+            toGramsPlans[scale] = plan;
+        }
+        plan.apply(scaledIn, scaledOut);
+    }
+
+    /**
+     * Converts an array of fixed-point gram values to this unit. Each result equals
+     * {@code fromGrams(BigDecimal.valueOf(in, scale)).setScale(scale, HALF_UP)} unscaled.
+     *
+     * @param scaledIn The values in grams; none may be negative.
+     * @param scaledOut Receives the values in the current unit; may be the input array.
+     * @param scale The number of decimal places of both arrays, between 0 and 18.
+     * @throws IllegalArgumentException if a value is negative or the scale or output length is invalid.
+     */
+    public void fromGrams(long[] scaledIn, long[] scaledOut, int scale) {
+        FixedPointConversion plan = fromGramsPlans[FixedPointConversion.checkScale(scale)];
+        if (plan == null) {
+            plan = this == GRAM ? FixedPointConversion.identity(scale) : FixedPointConversion.divide(massUnit.gramsPerUnit(), SCALE, scale);
+            fromGramsPlans[scale] = plan;
+        }
+        plan.apply(scaledIn, scaledOut);
+    }
 
     /**
      * Converts a given value from the current unit to a specified target unit.
@@ -167,15 +114,21 @@ public enum WeightUnitEnums {
      * @throws IllegalArgumentException if the value is null or negative.
      */
     public BigDecimal convertValueTo(BigDecimal value, WeightUnitEnums targetUnit) {
-        Objects.requireNonNull(value, "Value must not be null");
-        if (value.signum() < 0) {
-            throw new IllegalArgumentException("Value must not be negative");
+        requireNonNegative(value, "Value");
+        if (targetUnit == GRAM) {
+            return toGrams(value);
         }
+        if (this == GRAM) {
+            return targetUnit.fromGrams(value);
+        }
+        // One multiply by the direct unit-to-unit ratio, rounded once to SCALE
+        return WeightConversions.convert(massUnit, targetUnit.massUnit, value, SCALE).stripTrailingZeros();
+    }
 
-        // Convert to intermediate grams using high precision internally
-        BigDecimal grams = this.toGrams(value);
-
-        // Convert from grams to the target unit, applying final rounding/scaling
-        return targetUnit.fromGrams(grams);
+    private static void requireNonNegative(BigDecimal value, String name) {
+        Objects.requireNonNull(value, name + " must not be null");
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
     }
 }
@@ -0,0 +1,14 @@
+package com.github.calhanwynters.model.shared.events;
+
+import com.github.calhanwynters.model.shared.valueobjects.DescriptionVO;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.util.Objects;
+
+public record DescriptionChanged(ProductId productId, DescriptionVO description) implements ProductEvent {
+
+    public DescriptionChanged {
+        Objects.requireNonNull(productId, "productId must not be null");
+        Objects.requireNonNull(description, "description must not be null");
+    }
+}
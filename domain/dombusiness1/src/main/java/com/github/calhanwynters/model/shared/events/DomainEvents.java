@@ -0,0 +1,81 @@
+package com.github.calhanwynters.model.shared.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Collects the {@link ProductEvent}s raised on the current thread while a unit of work runs.
+ * Aggregates stay immutable records, so their behavior methods hand events here instead of
+ * carrying them; outside {@link #record} raising is a no-op and aggregates skip building
+ * events altogether.
+ * <p>
+ * Recordings nest: an inner recording's events also reach the enclosing one, unless the inner
+ * work throws, in which case its events are dropped with the failed change. Work split across
+ * threads records each part with {@link #recordIsolated} and re-raises the collected events
+ * on the thread that owns the recording.
+ */
+public final class DomainEvents {
+
+    private static final ThreadLocal<List<ProductEvent>> RECORDING = new ThreadLocal<>();
+
+    private DomainEvents() {
+    }
+
+    /*** The result of a unit of work and the events it raised, in the order they were raised. */
+    public record Recorded<T>(T result, List<ProductEvent> events) {
+
+        public Recorded {
+            events = List.copyOf(events);
+        }
+    }
+
+    /*** Runs the work on this thread and returns its result with the events raised meanwhile. */
+    public static <T> Recorded<T> record(Supplier<? extends T> work) {
+        return record(work, true);
+    }
+
+    /**
+     * Like {@link #record}, but the events never reach a recording already running on this
+     * thread; for parts of a unit of work whose events the caller re-raises itself.
+     */
+    public static <T> Recorded<T> recordIsolated(Supplier<? extends T> work) {
+        return record(work, false);
+    }
+
+    private static <T> Recorded<T> record(Supplier<? extends T> work, boolean nested) {
+        Objects.requireNonNull(work, "work must not be null");
+        List<ProductEvent> outer = RECORDING.get();
+        List<ProductEvent> events = new ArrayList<>();
+        RECORDING.set(events);
+        T result;
+        try {
+            result = work.get();
+        } finally {
+            if (outer == null) {
+                RECORDING.remove();
+            } else {
+                RECORDING.set(outer);
+            }
+        }
+        if (nested && outer != null) {
+            outer.addAll(events);
+        }
+        return new Recorded<>(result, events);
+    }
+
+    /*** True while a {@link #record} is running on this thread. */
+    public static boolean isRecording() {
+        return RECORDING.get() != null;
+    }
+
+    /*** Adds the event to the current recording, if there is one. */
+    public static void raise(ProductEvent event) {
+        Objects.requireNonNull(event, "event must not be null");
+        List<ProductEvent> events = RECORDING.get();
+        if (events != null) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.calhanwynters.model.shared.events;
+
+import com.github.calhanwynters.model.shared.valueobjects.ImageUrlVO;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.util.Objects;
+
+public record ImageAdded(ProductId productId, ImageUrlVO imageUrl) implements ProductEvent {
+
+    public ImageAdded {
+        Objects.requireNonNull(productId, "productId must not be null");
+        Objects.requireNonNull(imageUrl, "imageUrl must not be null");
+    }
+}
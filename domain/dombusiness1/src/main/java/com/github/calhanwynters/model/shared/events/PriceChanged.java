@@ -0,0 +1,26 @@
+package com.github.calhanwynters.model.shared.events;
+
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+
+import javax.money.MonetaryAmount;
+import java.util.Objects;
+
+/*** A variant's base or current price changed, e.g. by {@code changeBasePrice} or {@code applyDiscount}. */
+public record PriceChanged(
+        ProductId productId,
+        VariantId variantId,
+        MonetaryAmount previousBasePrice,
+        MonetaryAmount basePrice,
+        MonetaryAmount previousCurrentPrice,
+        MonetaryAmount currentPrice) implements ProductEvent {
+
+    public PriceChanged {
+        Objects.requireNonNull(productId, "productId must not be null");
+        Objects.requireNonNull(variantId, "variantId must not be null");
+        Objects.requireNonNull(previousBasePrice, "previousBasePrice must not be null");
+        Objects.requireNonNull(basePrice, "basePrice must not be null");
+        Objects.requireNonNull(previousCurrentPrice, "previousCurrentPrice must not be null");
+        Objects.requireNonNull(currentPrice, "currentPrice must not be null");
+    }
+}
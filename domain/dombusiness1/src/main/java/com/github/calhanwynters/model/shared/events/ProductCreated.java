@@ -0,0 +1,17 @@
+package com.github.calhanwynters.model.shared.events;
+
+import com.github.calhanwynters.model.shared.valueobjects.BusinessId;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.util.Objects;
+
+/*** A new Product was created, together with any initial variants. */
+public record ProductCreated(ProductId productId, BusinessId businessId, String category, int variantCount)
+        implements ProductEvent {
+
+    public ProductCreated {
+        Objects.requireNonNull(productId, "productId must not be null");
+        Objects.requireNonNull(businessId, "businessId must not be null");
+        Objects.requireNonNull(category, "category must not be null");
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.calhanwynters.model.shared.events;
+
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+/**
+ * A fact about one change to a {@link com.github.calhanwynters.model.shared.aggregates.Product},
+ * raised by its behavior methods while a {@link DomainEvents#record} is running. Each event
+ * names exactly what changed, so consumers can update incrementally instead of diffing aggregates.
+ */
+public sealed interface ProductEvent
+        permits ProductCreated, DescriptionChanged, ImageAdded, VariantAdded, PriceChanged, StatusChanged,
+        VariantAttributesChanged {
+
+    ProductId productId();
+}
@@ -0,0 +1,19 @@
+package com.github.calhanwynters.model.shared.events;
+
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+
+import java.util.Objects;
+
+/*** A variant moved through its lifecycle, e.g. by {@code activate} or {@code markAsDiscontinued}. */
+public record StatusChanged(ProductId productId, VariantId variantId, VariantStatusEnums previousStatus,
+                            VariantStatusEnums status) implements ProductEvent {
+
+    public StatusChanged {
+        Objects.requireNonNull(productId, "productId must not be null");
+        Objects.requireNonNull(variantId, "variantId must not be null");
+        Objects.requireNonNull(previousStatus, "previousStatus must not be null");
+        Objects.requireNonNull(status, "status must not be null");
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.calhanwynters.model.shared.events;
+
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+
+import java.util.Objects;
+
+public record VariantAdded(ProductId productId, VariantId variantId, String sku) implements ProductEvent {
+
+    public VariantAdded {
+        Objects.requireNonNull(productId, "productId must not be null");
+        Objects.requireNonNull(variantId, "variantId must not be null");
+        Objects.requireNonNull(sku, "sku must not be null");
+    }
+}
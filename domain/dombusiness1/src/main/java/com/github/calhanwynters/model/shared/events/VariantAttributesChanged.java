@@ -0,0 +1,15 @@
+package com.github.calhanwynters.model.shared.events;
+
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+
+import java.util.Objects;
+
+/*** A variant's SKU, features, care instructions or weight changed; prices and status have their own events. */
+public record VariantAttributesChanged(ProductId productId, VariantId variantId) implements ProductEvent {
+
+    public VariantAttributesChanged {
+        Objects.requireNonNull(productId, "productId must not be null");
+        Objects.requireNonNull(variantId, "variantId must not be null");
+    }
+}
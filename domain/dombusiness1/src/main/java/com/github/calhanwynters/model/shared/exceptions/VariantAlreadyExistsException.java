@@ -1,16 +1,44 @@
 package com.github.calhanwynters.model.shared.exceptions;
 
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * A custom runtime exception to indicate that a variant with a specific ID
  * already exists within a product aggregate boundary.
+ * Bulk operations report every conflicting ID at once through {@link #duplicateIds()}.
  */
 public class VariantAlreadyExistsException extends RuntimeException {
 
+    private final List<VariantId> duplicateIds;
+
     public VariantAlreadyExistsException(String message) {
         super(message);
+        this.duplicateIds = List.of();
     }
 
     public VariantAlreadyExistsException(String message, Throwable cause) {
         super(message, cause);
+        this.duplicateIds = List.of();
+    }
+
+    public VariantAlreadyExistsException(List<VariantId> duplicateIds) {
+        super(messageFor(duplicateIds));
+        this.duplicateIds = List.copyOf(duplicateIds);
+    }
+
+    /*** The conflicting variant IDs, or an empty list if they were not captured. */
+    public List<VariantId> duplicateIds() {
+        return duplicateIds;
+    }
+
+    private static String messageFor(List<VariantId> duplicateIds) {
+        if (duplicateIds.size() == 1) {
+            return "Variant with ID " + duplicateIds.getFirst().value() + " already exists.";
+        }
+        return duplicateIds.size() + " variants already exist: "
+                + duplicateIds.stream().map(VariantId::value).collect(Collectors.joining(", ")) + ".";
     }
 }
@@ -0,0 +1,41 @@
+package com.github.calhanwynters.model.shared.money;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryContextBuilder;
+import java.math.RoundingMode;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A currency with everything {@link MinorUnitMoney} derives from it, looked up once per
+ * currency code and then shared by every amount in that currency.
+ *
+ * @param unit           The currency itself.
+ * @param fractionDigits The number of minor-unit digits, e.g. 2 for USD and 0 for JPY.
+ * @param unitsPerMajor  10^fractionDigits, the number of minor units in one major unit.
+ * @param context        The MonetaryContext reported by amounts in this currency.
+ */
+record CurrencyScale(CurrencyUnit unit, int fractionDigits, long unitsPerMajor, MonetaryContext context) {
+
+    private static final ConcurrentHashMap<String, CurrencyScale> CACHE = new ConcurrentHashMap<>();
+
+    static CurrencyScale of(CurrencyUnit unit) {
+        CurrencyScale cached = CACHE.get(unit.getCurrencyCode());
+        return cached != null ? cached : CACHE.computeIfAbsent(unit.getCurrencyCode(), code -> create(unit));
+    }
+
+    private static CurrencyScale create(CurrencyUnit unit) {
+        // Pseudo-currencies such as XAU report -1; they are held in whole units
+        int digits = Math.max(0, unit.getDefaultFractionDigits());
+        if (digits > MinorUnitMoney.MAX_FRACTION_DIGITS) {
+            throw new IllegalArgumentException("Currency " + unit.getCurrencyCode() + " has too many fraction digits");
+        }
+        MonetaryContext context = MonetaryContextBuilder.of(MinorUnitMoney.class)
+                .setPrecision(19)
+                .setMaxScale(digits)
+                .setFixedScale(true)
+                .set(RoundingMode.HALF_EVEN)
+                .build();
+        return new CurrencyScale(unit, digits, MinorUnitMoney.POWERS_OF_TEN[digits], context);
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.calhanwynters.model.shared.money;
+
+import javax.money.NumberValue;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * The {@link NumberValue} a {@link MinorUnitMoney} reports, backed by a BigDecimal.
+ * Moneta ships its own, but the domain module only depends on the money API.
+ */
+final class DecimalNumberValue extends NumberValue {
+
+    private final BigDecimal value;
+
+    DecimalNumberValue(BigDecimal value) {
+        this.value = Objects.requireNonNull(value, "value must not be null");
+    }
+
+    @Override
+    public Class<?> getNumberType() {
+        return BigDecimal.class;
+    }
+
+    @Override
+    public int getPrecision() {
+        return value.precision();
+    }
+
+    @Override
+    public int getScale() {
+        return value.scale();
+    }
+
+    @Override
+    public int intValueExact() {
+        return value.intValueExact();
+    }
+
+    @Override
+    public long longValueExact() {
+        return value.longValueExact();
+    }
+
+    @Override
+    public double doubleValueExact() {
+        double converted = value.doubleValue();
+        if (Double.isInfinite(converted) || new BigDecimal(converted).compareTo(value) != 0) {
+            throw new ArithmeticException("Not exactly representable as a double: " + value);
+        }
+        return converted;
+    }
+
+    @Override
+    public <T extends Number> T numberValue(Class<T> numberType) {
+        return convert(numberType, false);
+    }
+
+    @Override
+    public <T extends Number> T numberValueExact(Class<T> numberType) {
+        return convert(numberType, true);
+    }
+
+    @Override
+    public NumberValue round(MathContext mathContext) {
+        return new DecimalNumberValue(value.round(mathContext));
+    }
+
+    /*** The fraction digits as a numerator over a power of ten, e.g. 34/100 for 12.34. */
+    @Override
+    public long getAmountFractionNumerator() {
+        return value.scale() <= 0 ? 0 : value.remainder(BigDecimal.ONE).movePointRight(value.scale()).longValueExact();
+    }
+
+    @Override
+    public long getAmountFractionDenominator() {
+        return value.scale() <= 0 ? 1 : BigDecimal.ONE.movePointRight(value.scale()).longValueExact();
+    }
+
+    @Override
+    public int intValue() {
+        return value.intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return value.longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return value.floatValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return value.doubleValue();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DecimalNumberValue other && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+
+    private <T extends Number> T convert(Class<T> numberType, boolean exact) {
+        Objects.requireNonNull(numberType, "numberType must not be null");
+        Number converted;
+        if (numberType == BigDecimal.class || numberType == Number.class) {
+            converted = value;
+        } else if (numberType == BigInteger.class) {
+            converted = exact ? value.toBigIntegerExact() : value.toBigInteger();
+        } else if (numberType == Long.class) {
+            converted = exact ? value.longValueExact() : value.longValue();
+        } else if (numberType == Integer.class) {
+            converted = exact ? value.intValueExact() : value.intValue();
+        } else if (numberType == Short.class) {
+            converted = exact ? value.shortValueExact() : value.shortValue();
+        } else if (numberType == Byte.class) {
+            converted = exact ? value.byteValueExact() : value.byteValue();
+        } else if (numberType == Double.class) {
+            converted = exact ? doubleValueExact() : value.doubleValue();
+        } else if (numberType == Float.class) {
+            float f = value.floatValue();
+            if (exact && (Float.isInfinite(f) || new BigDecimal(f).compareTo(value) != 0)) {
+                throw new ArithmeticException("Not exactly representable as a float: " + value);
+            }
+            converted = f;
+        } else {
+            throw new IllegalArgumentException("Unsupported number type: " + numberType.getName());
+        }
+        return numberType.cast(converted);
+    }
+}
@@ -0,0 +1,395 @@
+package com.github.calhanwynters.model.shared.money;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryAmountFactory;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryException;
+import javax.money.NumberValue;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * A {@link MonetaryAmount} held as a {@code long} count of the currency's minor units,
+ * e.g. 1234 for USD 12.34, with the currency and its scale looked up once and cached.
+ * <p>
+ * Every operation computes the exact result and rounds it once, HALF_EVEN (the rounding
+ * of {@code Monetary.getDefaultRounding()}), to the currency's minor unit. A result that
+ * does not fit a long throws {@link ArithmeticException} rather than wrapping. Multiplying
+ * by a decimal of up to 18 fraction digits, and dividing by an integer, stay in long
+ * arithmetic; everything else goes through {@link BigDecimal} with the same result.
+ * <p>
+ * Amounts mix freely with other implementations such as Moneta's {@code Money} and
+ * {@code FastMoney}: arithmetic and comparisons accept any MonetaryAmount in the same
+ * currency and always return a MinorUnitMoney. Amounts in different currencies
+ * throw {@link MonetaryException}, as Moneta's do.
+ */
+public final class MinorUnitMoney implements MonetaryAmount {
+
+    /*** The most minor-unit digits a currency may have; 10^18 is the largest power of ten that fits a long. */
+    public static final int MAX_FRACTION_DIGITS = 18;
+
+    static final long[] POWERS_OF_TEN = new long[MAX_FRACTION_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_FRACTION_DIGITS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final long minorUnits;
+    private final CurrencyScale currency;
+
+    private MinorUnitMoney(long minorUnits, CurrencyScale currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    // --- Factory Methods ---
+
+    /*** An amount of {@code minorUnits} minor units, e.g. {@code ofMinor(1234, USD)} is USD 12.34. */
+    public static MinorUnitMoney ofMinor(long minorUnits, CurrencyUnit currency) {
+        Objects.requireNonNull(currency, "currency must not be null");
+        return new MinorUnitMoney(minorUnits, CurrencyScale.of(currency));
+    }
+
+    /**
+     * An amount equal to {@code amount}.
+     *
+     * @throws ArithmeticException if the amount has more fraction digits than the currency or does not fit a long.
+     */
+    public static MinorUnitMoney of(BigDecimal amount, CurrencyUnit currency) {
+        Objects.requireNonNull(amount, "amount must not be null");
+        Objects.requireNonNull(currency, "currency must not be null");
+        CurrencyScale scale = CurrencyScale.of(currency);
+        return new MinorUnitMoney(amount.setScale(scale.fractionDigits(), RoundingMode.UNNECESSARY)
+                .unscaledValue().longValueExact(), scale);
+    }
+
+    /**
+     * Converts any MonetaryAmount, e.g. a Moneta {@code Money}, without rounding.
+     *
+     * @throws ArithmeticException if the amount is finer than the currency's minor unit or does not fit a long.
+     */
+    public static MinorUnitMoney from(MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "amount must not be null");
+        if (amount instanceof MinorUnitMoney money) {
+            return money;
+        }
+        return of(toDecimal(amount), amount.getCurrency());
+    }
+
+    public static MinorUnitMoney zero(CurrencyUnit currency) {
+        return ofMinor(0, currency);
+    }
+
+    // --- Accessors ---
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public int fractionDigits() {
+        return currency.fractionDigits();
+    }
+
+    @Override
+    public CurrencyUnit getCurrency() {
+        return currency.unit();
+    }
+
+    @Override
+    public NumberValue getNumber() {
+        return new DecimalNumberValue(decimal());
+    }
+
+    @Override
+    public MonetaryContext getContext() {
+        return currency.context();
+    }
+
+    @Override
+    public MonetaryAmountFactory<MinorUnitMoney> getFactory() {
+        return new MinorUnitMoneyFactory().setAmount(this);
+    }
+
+    // --- Arithmetic ---
+
+    @Override
+    public MinorUnitMoney add(MonetaryAmount amount) {
+        requireSameCurrency(amount);
+        if (amount instanceof MinorUnitMoney other) {
+            return other.minorUnits == 0 ? this : withMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+        }
+        return rounded(decimal().add(toDecimal(amount)));
+    }
+
+    @Override
+    public MinorUnitMoney subtract(MonetaryAmount amount) {
+        requireSameCurrency(amount);
+        if (amount instanceof MinorUnitMoney other) {
+            return other.minorUnits == 0 ? this : withMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+        }
+        return rounded(decimal().subtract(toDecimal(amount)));
+    }
+
+    @Override
+    public MinorUnitMoney multiply(long multiplicand) {
+        return multiplicand == 1 ? this : withMinorUnits(Math.multiplyExact(minorUnits, multiplicand));
+    }
+
+    @Override
+    public MinorUnitMoney multiply(double multiplicand) {
+        return multiply((Number) multiplicand);
+    }
+
+    @Override
+    public MinorUnitMoney multiply(Number multiplicand) {
+        BigDecimal factor = toDecimal(multiplicand);
+        int scale = factor.scale();
+        // A decimal of at most 18 digits has a long unscaled value, so the product is a 128-bit long multiply
+        if (scale >= 0 && scale <= MAX_FRACTION_DIGITS && factor.precision() <= MAX_FRACTION_DIGITS) {
+            long unscaled = scale == 0 ? factor.longValue() : factor.unscaledValue().longValue();
+            long high = Math.multiplyHigh(minorUnits, unscaled);
+            long low = minorUnits * unscaled;
+            if (high == (low >> 63)) {
+                return withMinorUnits(divideHalfEven(low, POWERS_OF_TEN[scale]));
+            }
+        }
+        return rounded(decimal().multiply(factor));
+    }
+
+    @Override
+    public MinorUnitMoney divide(long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (divisor == Long.MIN_VALUE) {
+            return rounded(decimal().divide(BigDecimal.valueOf(divisor), fractionDigits(), RoundingMode.HALF_EVEN));
+        }
+        return divisor == 1 ? this : withMinorUnits(divideHalfEven(minorUnits, divisor));
+    }
+
+    @Override
+    public MinorUnitMoney divide(double divisor) {
+        return divide((Number) divisor);
+    }
+
+    @Override
+    public MinorUnitMoney divide(Number divisor) {
+        BigDecimal value = requireNonZero(toDecimal(divisor));
+        if (value.scale() == 0 && value.precision() <= MAX_FRACTION_DIGITS) {
+            return divide(value.longValue());
+        }
+        return rounded(decimal().divide(value, fractionDigits(), RoundingMode.HALF_EVEN));
+    }
+
+    @Override
+    public MinorUnitMoney remainder(long divisor) {
+        return remainder((Number) divisor);
+    }
+
+    @Override
+    public MinorUnitMoney remainder(double divisor) {
+        return remainder((Number) divisor);
+    }
+
+    @Override
+    public MinorUnitMoney remainder(Number divisor) {
+        return rounded(decimal().remainder(requireNonZero(toDecimal(divisor))));
+    }
+
+    @Override
+    public MinorUnitMoney[] divideAndRemainder(long divisor) {
+        return divideAndRemainder((Number) divisor);
+    }
+
+    @Override
+    public MinorUnitMoney[] divideAndRemainder(double divisor) {
+        return divideAndRemainder((Number) divisor);
+    }
+
+    @Override
+    public MinorUnitMoney[] divideAndRemainder(Number divisor) {
+        BigDecimal[] result = decimal().divideAndRemainder(requireNonZero(toDecimal(divisor)));
+        return new MinorUnitMoney[]{rounded(result[0]), rounded(result[1])};
+    }
+
+    @Override
+    public MinorUnitMoney divideToIntegralValue(long divisor) {
+        return divideToIntegralValue((Number) divisor);
+    }
+
+    @Override
+    public MinorUnitMoney divideToIntegralValue(double divisor) {
+        return divideToIntegralValue((Number) divisor);
+    }
+
+    @Override
+    public MinorUnitMoney divideToIntegralValue(Number divisor) {
+        return rounded(decimal().divideToIntegralValue(requireNonZero(toDecimal(divisor))));
+    }
+
+    @Override
+    public MinorUnitMoney scaleByPowerOfTen(int power) {
+        return power == 0 ? this : rounded(decimal().scaleByPowerOfTen(power));
+    }
+
+    @Override
+    public MinorUnitMoney abs() {
+        return minorUnits >= 0 ? this : negate();
+    }
+
+    @Override
+    public MinorUnitMoney negate() {
+        return withMinorUnits(Math.negateExact(minorUnits));
+    }
+
+    @Override
+    public MinorUnitMoney plus() {
+        return this;
+    }
+
+    /*** The scale is fixed by the currency, so there are never trailing zeros to strip. */
+    @Override
+    public MinorUnitMoney stripTrailingZeros() {
+        return this;
+    }
+
+    // --- Comparison ---
+
+    @Override
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public boolean isGreaterThan(MonetaryAmount amount) {
+        return compareNumber(amount) > 0;
+    }
+
+    @Override
+    public boolean isGreaterThanOrEqualTo(MonetaryAmount amount) {
+        return compareNumber(amount) >= 0;
+    }
+
+    @Override
+    public boolean isLessThan(MonetaryAmount amount) {
+        return compareNumber(amount) < 0;
+    }
+
+    @Override
+    public boolean isLessThanOrEqualTo(MonetaryAmount amount) {
+        return compareNumber(amount) <= 0;
+    }
+
+    @Override
+    public boolean isEqualTo(MonetaryAmount amount) {
+        return compareNumber(amount) == 0;
+    }
+
+    /*** Orders by currency code first and then by value, like Moneta's amounts. */
+    @Override
+    public int compareTo(MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "amount must not be null");
+        int byCurrency = currencyCode().compareTo(amount.getCurrency().getCurrencyCode());
+        return byCurrency != 0 ? byCurrency : compareNumber(amount);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MinorUnitMoney other && minorUnits == other.minorUnits
+                && currencyCode().equals(other.currencyCode());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * currencyCode().hashCode() + Long.hashCode(minorUnits);
+    }
+
+    /*** Formats like Moneta's amounts, e.g. {@code USD 12.34}. */
+    @Override
+    public String toString() {
+        return currencyCode() + " " + decimal().toPlainString();
+    }
+
+    // --- Helpers ---
+
+    BigDecimal decimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits());
+    }
+
+    private String currencyCode() {
+        return currency.unit().getCurrencyCode();
+    }
+
+    private MinorUnitMoney withMinorUnits(long units) {
+        return units == minorUnits ? this : new MinorUnitMoney(units, currency);
+    }
+
+    // The single rounding step for every result computed in BigDecimal
+    private MinorUnitMoney rounded(BigDecimal exact) {
+        return withMinorUnits(exact.setScale(fractionDigits(), RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+    }
+
+    private int compareNumber(MonetaryAmount amount) {
+        requireSameCurrency(amount);
+        if (amount instanceof MinorUnitMoney other) {
+            return Long.compare(minorUnits, other.minorUnits);
+        }
+        return decimal().compareTo(toDecimal(amount));
+    }
+
+    private void requireSameCurrency(MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "amount must not be null");
+        if (!currencyCode().equals(amount.getCurrency().getCurrencyCode())) {
+            throw new MonetaryException("Currency mismatch: " + currencyCode() + "/" + amount.getCurrency().getCurrencyCode());
+        }
+    }
+
+    private static BigDecimal requireNonZero(BigDecimal divisor) {
+        if (divisor.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return divisor;
+    }
+
+    // dividend / divisor rounded HALF_EVEN; divisor is neither 0 nor Long.MIN_VALUE
+    static long divideHalfEven(long dividend, long divisor) {
+        long quotient = Math.divideExact(dividend, divisor);
+        long remainder = dividend - quotient * divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long below = Math.abs(remainder);
+        long above = Math.abs(divisor) - below;
+        if (below > above || (below == above && (quotient & 1) != 0)) {
+            quotient += (dividend ^ divisor) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    static BigDecimal toDecimal(MonetaryAmount amount) {
+        return amount instanceof MinorUnitMoney money ? money.decimal() : amount.getNumber().numberValue(BigDecimal.class);
+    }
+
+    static BigDecimal toDecimal(Number number) {
+        Objects.requireNonNull(number, "number must not be null");
+        return switch (number) {
+            case BigDecimal decimal -> decimal;
+            case Long l -> BigDecimal.valueOf(l);
+            case Integer i -> BigDecimal.valueOf(i);
+            case Short s -> BigDecimal.valueOf(s);
+            case Byte b -> BigDecimal.valueOf(b);
+            case BigInteger integer -> new BigDecimal(integer);
+            case NumberValue value -> value.numberValue(BigDecimal.class);
+            case Double d when d.isNaN() || d.isInfinite() -> throw new ArithmeticException("Number must be finite: " + d);
+            case Float f when f.isNaN() || f.isInfinite() -> throw new ArithmeticException("Number must be finite: " + f);
+            // Decimal string form, so 0.1d stays 0.1 rather than its binary expansion
+            default -> new BigDecimal(number.toString());
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.calhanwynters.model.shared.money;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmountFactory;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryContextBuilder;
+import javax.money.MonetaryException;
+import javax.money.NumberValue;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * {@link MonetaryAmountFactory} for {@link MinorUnitMoney}, so code written against the
+ * money API can create amounts of this type. The scale comes from the currency, so a
+ * context passed to {@link #setContext} is accepted and otherwise ignored.
+ */
+public final class MinorUnitMoneyFactory implements MonetaryAmountFactory<MinorUnitMoney> {
+
+    private static final MonetaryContext DEFAULT_CONTEXT = MonetaryContextBuilder.of(MinorUnitMoney.class)
+            .setPrecision(19)
+            .setMaxScale(MinorUnitMoney.MAX_FRACTION_DIGITS)
+            .setFixedScale(true)
+            .set(RoundingMode.HALF_EVEN)
+            .build();
+
+    private CurrencyUnit currency;
+    private Number number;
+
+    @Override
+    public Class<? extends MinorUnitMoney> getAmountType() {
+        return MinorUnitMoney.class;
+    }
+
+    @Override
+    public MinorUnitMoneyFactory setCurrency(CurrencyUnit currency) {
+        this.currency = Objects.requireNonNull(currency, "currency must not be null");
+        return this;
+    }
+
+    @Override
+    public MinorUnitMoneyFactory setNumber(double number) {
+        this.number = MinorUnitMoney.toDecimal(number);
+        return this;
+    }
+
+    @Override
+    public MinorUnitMoneyFactory setNumber(long number) {
+        this.number = number;
+        return this;
+    }
+
+    @Override
+    public MinorUnitMoneyFactory setNumber(Number number) {
+        this.number = Objects.requireNonNull(number, "number must not be null");
+        return this;
+    }
+
+    @Override
+    public MinorUnitMoneyFactory setContext(MonetaryContext monetaryContext) {
+        Objects.requireNonNull(monetaryContext, "monetaryContext must not be null");
+        return this;
+    }
+
+    /*** The largest amount in the current currency, or in whole units before a currency is set. */
+    @Override
+    public NumberValue getMaxNumber() {
+        return new DecimalNumberValue(BigDecimal.valueOf(Long.MAX_VALUE, fractionDigits()));
+    }
+
+    @Override
+    public NumberValue getMinNumber() {
+        return new DecimalNumberValue(BigDecimal.valueOf(Long.MIN_VALUE, fractionDigits()));
+    }
+
+    @Override
+    public MonetaryContext getDefaultMonetaryContext() {
+        return currency == null ? DEFAULT_CONTEXT : CurrencyScale.of(currency).context();
+    }
+
+    /**
+     * Creates the amount without rounding.
+     *
+     * @throws MonetaryException if the currency or number has not been set.
+     * @throws ArithmeticException if the number is finer than the currency's minor unit or does not fit a long.
+     */
+    @Override
+    public MinorUnitMoney create() {
+        if (currency == null) {
+            throw new MonetaryException("Cannot create a MinorUnitMoney without a currency");
+        }
+        if (number == null) {
+            throw new MonetaryException("Cannot create a MinorUnitMoney without a number");
+        }
+        return MinorUnitMoney.of(MinorUnitMoney.toDecimal(number), currency);
+    }
+
+    private int fractionDigits() {
+        return currency == null ? 0 : CurrencyScale.of(currency).fractionDigits();
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.events.DomainEvents;
+import com.github.calhanwynters.model.shared.events.ProductEvent;
+import com.github.calhanwynters.model.shared.valueobjects.PercentageVO;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Applies one discount to every selected variant across a catalog.
+ * <p>
+ * The discount factor {@code 1 - discount} is computed once per run instead of once per
+ * variant, and each repriced variant gets exactly the price {@link Variant#applyDiscount}
+ * would give it. Products are split into ranges and repriced in parallel on a
+ * {@link ForkJoinPool}; each range builds its own partial summary, and the partials are
+ * merged in input order so the result is the same whatever the parallelism.
+ * <p>
+ * {@link DomainEvents} records per thread, so when the caller is recording, each range
+ * records the events of its own repricing and the merged events are re-raised on the
+ * calling thread, in input order, once the run completes.
+ * <p>
+ * Products are immutable, so the input is never modified; callers persist the returned
+ * products, e.g. through {@code ProductCommandRepository#saveAll}.
+ */
+public class BulkRepricer {
+
+    public static final int DEFAULT_LEAF_SIZE = 512;
+
+    private final ForkJoinPool pool;
+    private final int leafSize;
+
+    public BulkRepricer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_LEAF_SIZE);
+    }
+
+    public BulkRepricer(ForkJoinPool pool, int leafSize) {
+        this.pool = Objects.requireNonNull(pool, "pool must not be null");
+        if (leafSize <= 0) {
+            throw new IllegalArgumentException("leafSize must be positive");
+        }
+        this.leafSize = leafSize;
+    }
+
+    // --- Repricing ---
+
+    /**
+     * Sets the current price of every selected variant to its base price less the discount.
+     *
+     * @param products The catalog to scan.
+     * @param selector Chooses the variants to reprice.
+     * @param discount The discount to apply to each selected variant's base price.
+     * @return The changed products and a summary of the run.
+     */
+    public RepricingResult applyDiscount(Collection<Product> products, VariantSelector selector, PercentageVO discount) {
+        Objects.requireNonNull(products, "products must not be null");
+        Objects.requireNonNull(selector, "selector must not be null");
+        Objects.requireNonNull(discount, "discount must not be null");
+        Product[] catalog = products.toArray(Product[]::new);
+        for (Product product : catalog) {
+            Objects.requireNonNull(product, "products must not contain null");
+        }
+        BigDecimal factor = BigDecimal.ONE.subtract(discount.value());
+        boolean recording = DomainEvents.isRecording();
+        Partial result = pool.invoke(new RepriceTask(catalog, 0, catalog.length, selector, factor, leafSize, recording));
+        result.events.forEach(DomainEvents::raise);
+        return new RepricingResult(result.products, catalog.length, result.variantsMatched, result.variantsChanged,
+                result.reductionByCurrency);
+    }
+
+    // --- Fork/Join ---
+
+    private static final class RepriceTask extends RecursiveTask<Partial> {
+
+        private final Product[] catalog;
+        private final int from;
+        private final int to;
+        private final VariantSelector selector;
+        private final BigDecimal factor;
+        private final int leafSize;
+        private final boolean recordEvents;
+
+        RepriceTask(Product[] catalog, int from, int to, VariantSelector selector, BigDecimal factor, int leafSize,
+                    boolean recordEvents) {
+            this.catalog = catalog;
+            this.from = from;
+            this.to = to;
+            this.selector = selector;
+            this.factor = factor;
+            this.leafSize = leafSize;
+            this.recordEvents = recordEvents;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= leafSize) {
+                Partial partial = new Partial();
+                if (!recordEvents) {
+                    repriceRange(partial);
+                    return partial;
+                }
+                // Isolated, since a leaf may run on the calling thread, whose recording gets the events afterwards
+                partial.events.addAll(DomainEvents.recordIsolated(() -> repriceRange(partial)).events());
+                return partial;
+            }
+            int middle = (from + to) >>> 1;
+            RepriceTask left = new RepriceTask(catalog, from, middle, selector, factor, leafSize, recordEvents);
+            left.fork();
+            Partial right = new RepriceTask(catalog, middle, to, selector, factor, leafSize, recordEvents).compute();
+            return left.join().append(right);
+        }
+
+        private Partial repriceRange(Partial partial) {
+            for (int i = from; i < to; i++) {
+                partial.reprice(catalog[i], selector, factor);
+            }
+            return partial;
+        }
+    }
+
+    // Mutable per-range summary; only ever touched by the task that owns it
+    private static final class Partial {
+
+        private final List<Product> products = new ArrayList<>();
+        private final Map<CurrencyUnit, MonetaryAmount> reductionByCurrency = new HashMap<>();
+        private final List<ProductEvent> events = new ArrayList<>();
+        private int variantsMatched;
+        private int variantsChanged;
+
+        void reprice(Product product, VariantSelector selector, BigDecimal factor) {
+            Product repriced = product.replaceVariants(variant -> {
+                if (!selector.matches(product, variant)) {
+                    return variant;
+                }
+                variantsMatched++;
+                MonetaryAmount price = variant.basePrice().multiply(factor);
+                if (price.equals(variant.currentPrice())) {
+                    return variant;
+                }
+                variantsChanged++;
+                reductionByCurrency.merge(price.getCurrency(), variant.currentPrice().subtract(price), MonetaryAmount::add);
+                return variant.changeCurrentPrice(price);
+            });
+            if (repriced != product) {
+                products.add(repriced);
+            }
+        }
+
+        Partial append(Partial next) {
+            products.addAll(next.products);
+            events.addAll(next.events);
+            next.reductionByCurrency.forEach((currency, amount) -> reductionByCurrency.merge(currency, amount, MonetaryAmount::add));
+            variantsMatched += next.variantsMatched;
+            variantsChanged += next.variantsChanged;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One line of a cart: a variant, the quantity chosen for each of its scaling features,
+ * and how many units of that configuration are bought.
+ */
+public record CartLine(Variant variant, Map<String, Integer> quantityPerFeature, int quantity) {
+
+    public CartLine {
+        Objects.requireNonNull(variant, "variant must not be null");
+        Objects.requireNonNull(quantityPerFeature, "quantityPerFeature must not be null");
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        quantityPerFeature = Map.copyOf(quantityPerFeature);
+    }
+
+    /*** A line for a variant without scaling features, or with all of them at quantity 0. */
+    public static CartLine of(Variant variant, int quantity) {
+        return new CartLine(variant, Map.of(), quantity);
+    }
+}
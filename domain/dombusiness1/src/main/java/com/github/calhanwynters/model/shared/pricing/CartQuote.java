@@ -0,0 +1,23 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The priced cart.
+ *
+ * @param lineTotals The total of each line, unit price times quantity, in cart order.
+ * @param totals     The sum of the line totals per currency.
+ */
+public record CartQuote(List<MonetaryAmount> lineTotals, Map<CurrencyUnit, MonetaryAmount> totals) {
+
+    public CartQuote {
+        Objects.requireNonNull(lineTotals, "lineTotals must not be null");
+        Objects.requireNonNull(totals, "totals must not be null");
+        lineTotals = List.copyOf(lineTotals);
+        totals = Map.copyOf(totals);
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Outcome of a bulk repricing run.
+ *
+ * @param products            The new Product aggregates, in input order, for every product with at least one changed variant.
+ * @param productsScanned     The number of products examined.
+ * @param variantsMatched     The number of variants the selector chose.
+ * @param variantsChanged     The number of matched variants whose current price actually changed.
+ * @param reductionByCurrency The summed drop in current price per currency; negative if prices rose.
+ */
+public record RepricingResult(List<Product> products, int productsScanned, int variantsMatched, int variantsChanged,
+                              Map<CurrencyUnit, MonetaryAmount> reductionByCurrency) {
+
+    public RepricingResult {
+        Objects.requireNonNull(products, "products must not be null");
+        Objects.requireNonNull(reductionByCurrency, "reductionByCurrency must not be null");
+        products = List.copyOf(products);
+        reductionByCurrency = Map.copyOf(reductionByCurrency);
+    }
+
+    public int productsChanged() {
+        return products.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.valueobjects.ScalingPriceFeature;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * Quotes {@link ScalingPriceFeature} prices from {@link ScalingPriceTable}s, building each
+ * feature's table on first use and reusing it for every later quote.
+ * <p>
+ * Tables are cached against the feature instance that first asked for them and dropped
+ * once that instance is no longer reachable, so the cache never outlives the catalog it
+ * serves. Equal features share a table, which is safe because the table only depends on
+ * the feature's amounts and maxQuantity.
+ */
+public class ScalingPriceQuoteEngine {
+
+    private final Map<ScalingPriceFeature, ScalingPriceTable> tables = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public ScalingPriceTable table(ScalingPriceFeature feature) {
+        Objects.requireNonNull(feature, "feature must not be null");
+        return tables.computeIfAbsent(feature, ScalingPriceTable::of);
+    }
+
+    /*** The exact price of a quantity; see {@link ScalingPriceTable#calculatePrice}. */
+    public BigDecimal calculatePrice(ScalingPriceFeature feature, int quantity) {
+        return table(feature).calculatePrice(quantity);
+    }
+
+    /*** Exact prices for a batch of quantities; see {@link ScalingPriceTable#calculatePrices}. */
+    public BigDecimal[] calculatePrices(ScalingPriceFeature feature, int[] quantities) {
+        return table(feature).calculatePrices(quantities);
+    }
+
+    public int cachedTables() {
+        return tables.size();
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.valueobjects.ScalingPriceFeature;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Exact prices of a {@link ScalingPriceFeature}, {@code baseAmount + incrementAmount * quantity},
+ * as fixed-point decimals.
+ * <p>
+ * The feature's double amounts are read as the decimals they print as, so 0.1 is exactly
+ * 0.1 and three increments of it cost exactly 0.3. All prices share one scale, the larger
+ * of the two amounts' scales, and are held as unscaled longs. For a bounded feature with at
+ * most {@link #MAX_TABLE_QUANTITY} units every price is computed up front, so a quote is a
+ * single range check and an array lookup. Unbounded or larger features compute each price
+ * on demand with the same result.
+ */
+public final class ScalingPriceTable {
+
+    /*** The largest maxQuantity whose prices are precomputed; larger features are priced on demand. */
+    public static final int MAX_TABLE_QUANTITY = 1 << 16;
+
+    private final BigDecimal baseAmount;
+    private final BigDecimal incrementAmount;
+    private final int scale;
+    private final int maxQuantity;
+    private final boolean fitsLong;
+    private final long baseUnscaled;
+    private final long incrementUnscaled;
+    private final long[] table;
+
+    private ScalingPriceTable(ScalingPriceFeature feature) {
+        this.baseAmount = exact(feature.baseAmount(), "baseAmount");
+        this.incrementAmount = exact(feature.incrementAmount(), "incrementAmount");
+        this.scale = Math.max(0, Math.max(baseAmount.scale(), incrementAmount.scale()));
+        this.maxQuantity = feature.maxQuantity();
+
+        BigDecimal base = baseAmount.setScale(scale);
+        BigDecimal increment = incrementAmount.setScale(scale);
+        this.fitsLong = base.unscaledValue().bitLength() < 64 && increment.unscaledValue().bitLength() < 64;
+        this.baseUnscaled = fitsLong ? base.unscaledValue().longValue() : 0;
+        this.incrementUnscaled = fitsLong ? increment.unscaledValue().longValue() : 0;
+        // Prices move monotonically from the base, so if the last one fits a long they all do
+        boolean bounded = maxQuantity >= 0 && maxQuantity <= MAX_TABLE_QUANTITY;
+        boolean tableFits = bounded && fitsLong
+                && base.add(increment.multiply(BigDecimal.valueOf(maxQuantity))).unscaledValue().bitLength() < 64;
+        this.table = tableFits ? precompute() : null;
+    }
+
+    /**
+     * Builds the price table for a feature.
+     *
+     * @throws IllegalArgumentException if an amount is NaN or infinite.
+     */
+    public static ScalingPriceTable of(ScalingPriceFeature feature) {
+        Objects.requireNonNull(feature, "feature must not be null");
+        return new ScalingPriceTable(feature);
+    }
+
+    // --- Quotes ---
+
+    /*** The scale shared by every price this table returns. */
+    public int scale() {
+        return scale;
+    }
+
+    public boolean isPrecomputed() {
+        return table != null;
+    }
+
+    /**
+     * The exact price for a quantity.
+     *
+     * @throws IllegalArgumentException if the quantity is negative or above the feature's maxQuantity.
+     */
+    public BigDecimal calculatePrice(int quantity) {
+        if (table != null) {
+            return BigDecimal.valueOf(table[checkTableQuantity(quantity)], scale);
+        }
+        checkQuantity(quantity);
+        if (fitsLong) {
+            long high = Math.multiplyHigh(incrementUnscaled, quantity);
+            long product = incrementUnscaled * quantity;
+            long sum = product + baseUnscaled;
+            // No overflow in the product, and the sum's sign agrees with at least one operand
+            if (high == (product >> 63) && ((product ^ sum) & (baseUnscaled ^ sum)) >= 0) {
+                return BigDecimal.valueOf(sum, scale);
+            }
+        }
+        return baseAmount.add(incrementAmount.multiply(BigDecimal.valueOf(quantity))).setScale(scale);
+    }
+
+    /**
+     * The exact price for a quantity as an unscaled long at {@link #scale()}.
+     *
+     * @throws ArithmeticException if the price does not fit a long.
+     */
+    public long calculateUnscaledPrice(int quantity) {
+        return table != null ? table[checkTableQuantity(quantity)] : calculatePrice(quantity).unscaledValue().longValueExact();
+    }
+
+    /*** Prices every quantity, in order, with the same checks as {@link #calculatePrice}. */
+    public BigDecimal[] calculatePrices(int[] quantities) {
+        Objects.requireNonNull(quantities, "quantities must not be null");
+        BigDecimal[] prices = new BigDecimal[quantities.length];
+        for (int i = 0; i < quantities.length; i++) {
+            prices[i] = calculatePrice(quantities[i]);
+        }
+        return prices;
+    }
+
+    /**
+     * Writes each price as an unscaled long at {@link #scale()} into {@code unscaledPrices},
+     * so a whole quantity selector is priced without allocating.
+     *
+     * @throws IllegalArgumentException if a quantity is out of range or the output array is too short.
+     * @throws ArithmeticException if a price does not fit a long.
+     */
+    public void calculateUnscaledPrices(int[] quantities, long[] unscaledPrices) {
+        Objects.requireNonNull(quantities, "quantities must not be null");
+        Objects.requireNonNull(unscaledPrices, "unscaledPrices must not be null");
+        if (unscaledPrices.length < quantities.length) {
+            throw new IllegalArgumentException("Output array is shorter than the quantities array");
+        }
+        if (table != null) {
+            for (int i = 0; i < quantities.length; i++) {
+                unscaledPrices[i] = table[checkTableQuantity(quantities[i])];
+            }
+            return;
+        }
+        for (int i = 0; i < quantities.length; i++) {
+            unscaledPrices[i] = calculateUnscaledPrice(quantities[i]);
+        }
+    }
+
+    // --- Helpers ---
+
+    private long[] precompute() {
+        long[] prices = new long[maxQuantity + 1];
+        long price = baseUnscaled;
+        prices[0] = price;
+        for (int quantity = 1; quantity <= maxQuantity; quantity++) {
+            price += incrementUnscaled;
+            prices[quantity] = price;
+        }
+        return prices;
+    }
+
+    // One unsigned comparison covers both negative and too-large quantities
+    private int checkTableQuantity(int quantity) {
+        if (Integer.compareUnsigned(quantity, maxQuantity) > 0) {
+            checkQuantity(quantity);
+        }
+        return quantity;
+    }
+
+    // Same checks and messages as ScalingPriceFeature.calculatePrice
+    private void checkQuantity(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity must be non-negative");
+        }
+        if (maxQuantity >= 0 && quantity > maxQuantity) {
+            throw new IllegalArgumentException("Quantity exceeds maximum allowed.");
+        }
+    }
+
+    static BigDecimal exact(double amount, String name) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException(name + " must be finite");
+        }
+        // The shortest decimal that reads back as this double, i.e. the amount as written
+        return BigDecimal.valueOf(amount);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * Computes the sellable price of variants from compiled {@link VariantPricePlan}s.
+ * <p>
+ * Variants are immutable, so a plan compiled for one stays valid for as long as the
+ * variant exists. Plans are cached against the variant in a weak map and dropped with it;
+ * a changed variant (new price, new features) is a new key and compiles a new plan. The
+ * scaling price tables behind the plans come from one {@link ScalingPriceQuoteEngine}, so
+ * variants that share a feature also share its table.
+ */
+public class VariantPriceEvaluator {
+
+    private final ScalingPriceQuoteEngine engine;
+    private final Map<Variant, VariantPricePlan> plans = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public VariantPriceEvaluator() {
+        this(new ScalingPriceQuoteEngine());
+    }
+
+    public VariantPriceEvaluator(ScalingPriceQuoteEngine engine) {
+        this.engine = Objects.requireNonNull(engine, "engine must not be null");
+    }
+
+    public VariantPricePlan plan(Variant variant) {
+        Objects.requireNonNull(variant, "variant must not be null");
+        return plans.computeIfAbsent(variant, v -> VariantPricePlan.compile(v, engine::table));
+    }
+
+    /*** The unit price with every scaling feature at quantity 0. */
+    public MonetaryAmount price(Variant variant) {
+        return plan(variant).price(Map.of());
+    }
+
+    /*** The unit price with the given quantity per scaling feature name. */
+    public MonetaryAmount price(Variant variant, Map<String, Integer> quantityPerFeature) {
+        return plan(variant).price(quantityPerFeature);
+    }
+
+    /**
+     * Prices a whole cart. Each distinct variant instance is looked up in the plan
+     * cache once per call, however many lines refer to it.
+     */
+    public CartQuote price(List<CartLine> cart) {
+        Objects.requireNonNull(cart, "cart must not be null");
+        Map<Variant, VariantPricePlan> cartPlans = new IdentityHashMap<>();
+        List<MonetaryAmount> lineTotals = new ArrayList<>(cart.size());
+        Map<CurrencyUnit, MonetaryAmount> totals = new HashMap<>();
+        for (CartLine line : cart) {
+            Objects.requireNonNull(line, "cart must not contain null lines");
+            VariantPricePlan plan = cartPlans.computeIfAbsent(line.variant(), this::plan);
+            MonetaryAmount lineTotal = plan.price(line.quantityPerFeature()).multiply(line.quantity());
+            lineTotals.add(lineTotal);
+            totals.merge(lineTotal.getCurrency(), lineTotal, MonetaryAmount::add);
+        }
+        return new CartQuote(lineTotals, totals);
+    }
+
+    public int cachedPlans() {
+        return plans.size();
+    }
+}
@@ -0,0 +1,191 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.money.MinorUnitMoney;
+import com.github.calhanwynters.model.shared.valueobjects.FeatureInterface;
+import com.github.calhanwynters.model.shared.valueobjects.FixedPriceFeature;
+import com.github.calhanwynters.model.shared.valueobjects.ScalingPriceFeature;
+
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A variant's sellable price, compiled once from its features:
+ * {@code currentPrice + Σ fixed prices + Σ scaling prices(quantity)}.
+ * <p>
+ * Compiling walks the feature list a single time. Every FixedPriceFeature folds into one
+ * exact surcharge, and every ScalingPriceFeature becomes a {@link ScalingPriceTable}, sorted
+ * by name and then label, with missing names and labels first. Evaluating a price is then one table lookup per scaling feature
+ * and one amount creation, with no instanceof checks. Feature amounts are exact decimals in
+ * the variant's currency and are added to the current price, so a discount on the variant
+ * applies to its base price only, not to feature surcharges. A {@link MinorUnitMoney} price
+ * holds whole minor units, so its total is rounded once, HALF_EVEN, to the currency's minor
+ * unit, as MinorUnitMoney's own arithmetic does; other amount types keep the exact total.
+ */
+public final class VariantPricePlan {
+
+    private static final Comparator<ScalingPriceFeature> FEATURE_ORDER =
+            Comparator.comparing(ScalingPriceFeature::name, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(ScalingPriceFeature::label, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    private final MonetaryAmount currentPrice;
+    private final BigDecimal fixedSurcharge;
+    // currentPrice + fixedSurcharge, the part of every price that no quantity changes
+    private final BigDecimal fixedTotal;
+    private final String[] scalingNames;
+    private final ScalingPriceTable[] scalingTables;
+    private final Set<String> nameSet;
+    // Scaling prices are summed as unscaled longs at this scale before one conversion to BigDecimal
+    private final int scale;
+    private final long[] rescale;
+    private final boolean longPath;
+
+    private VariantPricePlan(Variant variant, Function<ScalingPriceFeature, ScalingPriceTable> tables) {
+        this.currentPrice = variant.currentPrice();
+        BigDecimal fixed = BigDecimal.ZERO;
+        List<ScalingPriceFeature> scaling = new ArrayList<>();
+        for (FeatureInterface feature : variant.features()) {
+            switch (feature) {
+                case FixedPriceFeature f -> fixed = fixed.add(ScalingPriceTable.exact(f.fixedPrice(), "fixedPrice"));
+                case ScalingPriceFeature f -> scaling.add(f);
+                default -> {
+                    // Features without a price leave it unchanged
+                }
+            }
+        }
+        scaling.sort(FEATURE_ORDER);
+        this.fixedSurcharge = fixed;
+        this.fixedTotal = currentPrice.getNumber().numberValue(BigDecimal.class).add(fixed);
+        this.scalingNames = new String[scaling.size()];
+        this.scalingTables = new ScalingPriceTable[scaling.size()];
+        int maxScale = 0;
+        for (int i = 0; i < scaling.size(); i++) {
+            scalingNames[i] = scaling.get(i).name();
+            scalingTables[i] = Objects.requireNonNull(tables.apply(scaling.get(i)), "table must not be null");
+            maxScale = Math.max(maxScale, scalingTables[i].scale());
+        }
+        // Not Set.copyOf, which rejects a feature without a name
+        this.nameSet = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(scalingNames)));
+        this.scale = maxScale;
+        this.rescale = new long[scalingTables.length];
+        boolean allLong = true;
+        for (int i = 0; i < scalingTables.length; i++) {
+            int shift = maxScale - scalingTables[i].scale();
+            // Precomputed tables hold long prices; a shift past 18 digits can never stay in a long
+            allLong &= scalingTables[i].isPrecomputed() && shift <= 18;
+            rescale[i] = shift <= 18 ? BigDecimal.TEN.pow(shift).longValueExact() : 0;
+        }
+        this.longPath = allLong;
+    }
+
+    /*** Compiles a plan, building a fresh table for each scaling feature. */
+    public static VariantPricePlan compile(Variant variant) {
+        return compile(variant, ScalingPriceTable::of);
+    }
+
+    /*** Compiles a plan, taking each scaling feature's table from {@code tables}, e.g. a shared quote engine. */
+    public static VariantPricePlan compile(Variant variant, Function<ScalingPriceFeature, ScalingPriceTable> tables) {
+        Objects.requireNonNull(variant, "variant must not be null");
+        Objects.requireNonNull(tables, "tables must not be null");
+        return new VariantPricePlan(variant, tables);
+    }
+
+    // --- Accessors ---
+
+    /*** The scaling feature names, in the order {@link #price(int...)} expects their quantities. */
+    public List<String> scalingFeatureNames() {
+        return Collections.unmodifiableList(Arrays.asList(scalingNames));
+    }
+
+    public BigDecimal fixedSurcharge() {
+        return fixedSurcharge;
+    }
+
+    // --- Evaluation ---
+
+    /**
+     * The price with one quantity per scaling feature, in {@link #scalingFeatureNames()} order.
+     *
+     * @throws IllegalArgumentException if the number of quantities does not match or a quantity is out of range.
+     */
+    public MonetaryAmount price(int... quantities) {
+        Objects.requireNonNull(quantities, "quantities must not be null");
+        if (quantities.length != scalingTables.length) {
+            throw new IllegalArgumentException("Expected " + scalingTables.length + " quantities but got " + quantities.length);
+        }
+        return withSurcharge(scalingSurcharge(quantities));
+    }
+
+    /**
+     * The price with quantities given by scaling feature name. A feature with no entry is priced
+     * at quantity 0, i.e. its base amount; features sharing a name share the quantity.
+     *
+     * @throws IllegalArgumentException if a name matches no scaling feature or a quantity is out of range.
+     */
+    public MonetaryAmount price(Map<String, Integer> quantityPerFeature) {
+        Objects.requireNonNull(quantityPerFeature, "quantityPerFeature must not be null");
+        for (String name : quantityPerFeature.keySet()) {
+            if (!nameSet.contains(name)) {
+                throw new IllegalArgumentException("Variant has no scaling feature named " + name);
+            }
+        }
+        int[] quantities = new int[scalingNames.length];
+        for (int i = 0; i < scalingNames.length; i++) {
+            Integer quantity = quantityPerFeature.get(scalingNames[i]);
+            quantities[i] = quantity == null ? 0 : quantity;
+        }
+        return withSurcharge(scalingSurcharge(quantities));
+    }
+
+    // --- Helpers ---
+
+    private BigDecimal scalingSurcharge(int[] quantities) {
+        if (!longPath) {
+            return exactSurcharge(quantities);
+        }
+        long sum = 0;
+        for (int i = 0; i < scalingTables.length; i++) {
+            long price = scalingTables[i].calculateUnscaledPrice(quantities[i]);
+            long high = Math.multiplyHigh(price, rescale[i]);
+            long scaled = price * rescale[i];
+            long next = sum + scaled;
+            if (high != (scaled >> 63) || ((sum ^ next) & (scaled ^ next)) < 0) {
+                return exactSurcharge(quantities);
+            }
+            sum = next;
+        }
+        return BigDecimal.valueOf(sum, scale);
+    }
+
+    // Reference path for sums that leave the long range
+    private BigDecimal exactSurcharge(int[] quantities) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < scalingTables.length; i++) {
+            sum = sum.add(scalingTables[i].calculatePrice(quantities[i]));
+        }
+        return sum;
+    }
+
+    private MonetaryAmount withSurcharge(BigDecimal scalingSurcharge) {
+        if (fixedSurcharge.signum() == 0 && scalingSurcharge.signum() == 0) {
+            return currentPrice;
+        }
+        BigDecimal total = fixedTotal.add(scalingSurcharge);
+        if (currentPrice instanceof MinorUnitMoney money) {
+            // Its factory rejects numbers finer than the minor unit instead of rounding them
+            total = total.setScale(money.fractionDigits(), RoundingMode.HALF_EVEN);
+        }
+        return currentPrice.getFactory().setNumber(total).create();
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.BusinessId;
+import com.github.calhanwynters.model.shared.valueobjects.FeatureInterface;
+
+import java.util.Objects;
+
+/**
+ * Chooses the variants a bulk operation applies to. It sees the owning Product as well,
+ * so product-level criteria such as category and BusinessId combine with variant-level ones.
+ */
+@FunctionalInterface
+public interface VariantSelector {
+
+    boolean matches(Product product, Variant variant);
+
+    default VariantSelector and(VariantSelector other) {
+        Objects.requireNonNull(other, "other must not be null");
+        return (product, variant) -> matches(product, variant) && other.matches(product, variant);
+    }
+
+    default VariantSelector or(VariantSelector other) {
+        Objects.requireNonNull(other, "other must not be null");
+        return (product, variant) -> matches(product, variant) || other.matches(product, variant);
+    }
+
+    default VariantSelector negate() {
+        return (product, variant) -> !matches(product, variant);
+    }
+
+    // --- Factory Methods ---
+
+    static VariantSelector all() {
+        return (product, variant) -> true;
+    }
+
+    static VariantSelector category(String category) {
+        Objects.requireNonNull(category, "category must not be null");
+        return (product, variant) -> category.equals(product.category());
+    }
+
+    static VariantSelector businessId(BusinessId businessId) {
+        Objects.requireNonNull(businessId, "businessId must not be null");
+        return (product, variant) -> businessId.equals(product.businessId());
+    }
+
+    static VariantSelector status(VariantStatusEnums status) {
+        Objects.requireNonNull(status, "status must not be null");
+        return (product, variant) -> variant.status() == status;
+    }
+
+    /*** Matches variants with a feature of the given name, whatever its label. */
+    static VariantSelector feature(String name) {
+        Objects.requireNonNull(name, "name must not be null");
+        return (product, variant) -> {
+            for (FeatureInterface feature : variant.features()) {
+                if (name.equals(feature.name())) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /*** Matches variants with a feature of the given name and label, e.g. Color=Red. */
+    static VariantSelector feature(String name, String label) {
+        Objects.requireNonNull(name, "name must not be null");
+        Objects.requireNonNull(label, "label must not be null");
+        return (product, variant) -> {
+            for (FeatureInterface feature : variant.features()) {
+                if (name.equals(feature.name()) && label.equals(feature.label())) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.calhanwynters.model.shared.units;
+
+import java.math.BigInteger;
+
+/**
+ * Division of non-negative longs by a divisor fixed up front, done as a multiply by a
+ * precomputed reciprocal. The reciprocal is {@code floor(2^(64 + shift) / divisor)} with
+ * {@code shift = floor(log2(divisor))}; for any dividend below 2^63 the high half of the
+ * product is the quotient or one less, and one remainder check settles which.
+ */
+record ConstantDivisor(long divisor, long reciprocal, int shift) {
+
+    static ConstantDivisor of(long divisor) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("Divisor must be positive");
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(divisor);
+        if (Long.bitCount(divisor) == 1) {
+            // Powers of two divide by shifting alone; their reciprocal would need 65 bits
+            return new ConstantDivisor(divisor, 0, shift);
+        }
+        long reciprocal = BigInteger.ONE.shiftLeft(64 + shift).divide(BigInteger.valueOf(divisor)).longValue();
+        return new ConstantDivisor(divisor, reciprocal, shift);
+    }
+
+    /*** floor(dividend / divisor) for a non-negative dividend. */
+    long divide(long dividend) {
+        if (reciprocal == 0) {
+            return dividend >>> shift;
+        }
+        long quotient = Math.unsignedMultiplyHigh(dividend, reciprocal) >>> shift;
+        return dividend - quotient * divisor >= divisor ? quotient + 1 : quotient;
+    }
+
+    /*** dividend / divisor rounded HALF_UP, for a non-negative dividend. */
+    long divideHalfUp(long dividend) {
+        long quotient = divide(dividend);
+        long remainder = dividend - quotient * divisor;
+        return remainder >= divisor - remainder ? quotient + 1 : quotient;
+    }
+}
@@ -0,0 +1,265 @@
+package com.github.calhanwynters.model.shared.units;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * A precomputed plan that converts whole arrays of fixed-point values by a constant factor.
+ * Input and output elements are unscaled longs at the same scale, so {@code 12345} at scale 2
+ * stands for 123.45. Every element produces exactly the value of the matching per-element
+ * {@link BigDecimal} operation, rounded HALF_UP to the plan's scale:
+ * <ul>
+ *     <li>{@link #multiply}: {@code value.multiply(factor, mathContext)}</li>
+ *     <li>{@link #divide}: {@code value.divide(factor, intermediateScale, HALF_UP)}</li>
+ *     <li>{@link #identity}: the value itself</li>
+ * </ul>
+ * The fast path is pure long arithmetic and reproduces the intermediate rounding steps of the
+ * BigDecimal operation. Elements too large for it fall back to BigDecimal one at a time.
+ * When the module was built with the {@code vector} profile and the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, whole vectors of in-range elements go through
+ * the JDK Vector API instead of the scalar loop.
+ */
+public final class FixedPointConversion {
+
+    /*** The largest supported scale; 10^18 is the largest power of ten that fits a long. */
+    public static final int MAX_SCALE = 18;
+
+    // Keeps every intermediate value at or below half the long range, so a final +1 from rounding cannot overflow
+    static final long LIMIT = Long.MAX_VALUE / 2;
+    // Largest divisor the vector kernel accepts; keeps its double-precision quotient estimates correctable
+    static final long VECTOR_MAX_DIVISOR = 1L << 40;
+
+    static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+    private static final ConstantDivisor[] POWER_OF_TEN_DIVISORS = new ConstantDivisor[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+        for (int i = 0; i <= MAX_SCALE; i++) {
+            POWER_OF_TEN_DIVISORS[i] = ConstantDivisor.of(POWERS_OF_TEN[i]);
+        }
+    }
+
+    // Converts whole vectors of in-range elements; see FixedPointVectorKernel
+    interface BatchKernel {
+        void apply(FixedPointConversion plan, long[] in, long[] out, int length);
+    }
+
+    private static final BatchKernel VECTOR_KERNEL = loadVectorKernel();
+    static final boolean VECTOR_AVAILABLE = VECTOR_KERNEL != null;
+
+    enum Kind { IDENTITY, MULTIPLY, DIVIDE }
+
+    final Kind kind;
+    final int scale;
+    final long maxFastInput;
+    final boolean vectorizable;
+
+    // MULTIPLY: value * factor, rounded to precision digits (0 = unlimited), then to scale
+    final long factorUnscaled;
+    final int factorScale;
+    final int precision;
+
+    // DIVIDE: (value * numeratorMultiplier) / divisor rounded at intermediateScale, then to scale
+    final long numeratorMultiplier;
+    final long divisor;
+    final int intermediateScale;
+    private final ConstantDivisor divisorReciprocal;
+
+    private final BigDecimal factor;
+    private final MathContext mathContext;
+
+    private FixedPointConversion(Kind kind, int scale, BigDecimal factor, MathContext mathContext, int intermediateScale) {
+        this.kind = kind;
+        this.scale = checkScale(scale);
+        this.factor = factor;
+        this.mathContext = mathContext;
+        this.intermediateScale = intermediateScale;
+        this.precision = mathContext == null ? 0 : mathContext.getPrecision();
+
+        long maxInput = -1;
+        long unscaled = 0;
+        int unscaledScale = 0;
+        long multiplier = 1;
+        long div = 1;
+        boolean vector = false;
+        switch (kind) {
+            case IDENTITY -> maxInput = Long.MAX_VALUE;
+            case MULTIPLY -> {
+                // A limited precision counts digits of the factor's own unscaled value, so only exact products may rescale it
+                BigDecimal normalized = factor.scale() < 0 && mathContext == null ? factor.setScale(0) : factor;
+                if (normalized.scale() >= 0 && normalized.scale() <= MAX_SCALE && normalized.unscaledValue().bitLength() < 63) {
+                    unscaled = normalized.unscaledValue().longValueExact();
+                    unscaledScale = normalized.scale();
+                    maxInput = unscaled == 0 ? Long.MAX_VALUE : LIMIT / unscaled;
+                    vector = POWERS_OF_TEN[unscaledScale] <= VECTOR_MAX_DIVISOR;
+                }
+            }
+            case DIVIDE -> {
+                // value / factor at intermediateScale = round(value * 10^e / unscaledFactor), e = factorScale - scale + intermediateScale
+                BigInteger factorUnscaledBig = factor.unscaledValue();
+                int e = factor.scale() - scale + intermediateScale;
+                BigInteger numeratorBig = e >= 0 ? BigInteger.TEN.pow(e) : BigInteger.ONE;
+                BigInteger divisorBig = e >= 0 ? factorUnscaledBig : factorUnscaledBig.multiply(BigInteger.TEN.pow(-e));
+                BigInteger limit = BigInteger.valueOf(LIMIT);
+                if (numeratorBig.compareTo(limit) <= 0 && divisorBig.compareTo(limit) <= 0
+                        && intermediateScale >= 0 && intermediateScale <= MAX_SCALE) {
+                    multiplier = numeratorBig.longValueExact();
+                    div = divisorBig.longValueExact();
+                    BigInteger max = limit.divide(numeratorBig);
+                    if (scale > intermediateScale) {
+                        // The intermediate quotient is scaled up afterwards, so it must stay within LIMIT / 10^(scale - S)
+                        BigInteger quotientLimit = limit.divide(BigInteger.TEN.pow(scale - intermediateScale)).subtract(BigInteger.ONE);
+                        max = max.min(quotientLimit.multiply(divisorBig).divide(numeratorBig));
+                    }
+                    maxInput = max.signum() < 0 ? -1 : max.longValueExact();
+                    vector = div <= VECTOR_MAX_DIVISOR
+                            && (scale >= intermediateScale || POWERS_OF_TEN[intermediateScale - scale] <= VECTOR_MAX_DIVISOR);
+                }
+            }
+        }
+        this.maxFastInput = maxInput;
+        this.factorUnscaled = unscaled;
+        this.factorScale = unscaledScale;
+        this.numeratorMultiplier = multiplier;
+        this.divisor = div;
+        this.divisorReciprocal = ConstantDivisor.of(div);
+        this.vectorizable = vector && maxInput >= 0 && kind != Kind.IDENTITY;
+    }
+
+    // --- Factories ---
+
+    /*** A plan that copies values unchanged, for units whose conversion is the identity. */
+    public static FixedPointConversion identity(int scale) {
+        return new FixedPointConversion(Kind.IDENTITY, scale, null, null, 0);
+    }
+
+    /*** A plan matching {@code value.multiply(factor, mathContext)}; MathContext.UNLIMITED multiplies exactly. */
+    public static FixedPointConversion multiply(BigDecimal factor, MathContext mathContext, int scale) {
+        Objects.requireNonNull(factor, "Factor must not be null");
+        Objects.requireNonNull(mathContext, "MathContext must not be null");
+        if (factor.signum() < 0) {
+            throw new IllegalArgumentException("Factor must not be negative");
+        }
+        if (mathContext.getPrecision() != 0 && mathContext.getRoundingMode() != RoundingMode.HALF_UP) {
+            throw new IllegalArgumentException("Only HALF_UP rounding is supported");
+        }
+        return new FixedPointConversion(Kind.MULTIPLY, scale, factor, mathContext.getPrecision() == 0 ? null : mathContext, 0);
+    }
+
+    /*** A plan matching {@code value.divide(factor, intermediateScale, HALF_UP)}. */
+    public static FixedPointConversion divide(BigDecimal factor, int intermediateScale, int scale) {
+        Objects.requireNonNull(factor, "Factor must not be null");
+        if (factor.signum() <= 0) {
+            throw new IllegalArgumentException("Factor must be positive");
+        }
+        return new FixedPointConversion(Kind.DIVIDE, scale, factor, null, intermediateScale);
+    }
+
+    /*** Validates a batch scale and returns it, so callers can use it as a plan-cache index. */
+    public static int checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE);
+        }
+        return scale;
+    }
+
+    // --- Conversion ---
+
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Converts {@code scaledIn.length} elements into {@code scaledOut}; the arrays may be the same.
+     *
+     * @throws IllegalArgumentException if an element is negative or the output array is too short.
+     * @throws ArithmeticException if a converted element does not fit a long.
+     */
+    public void apply(long[] scaledIn, long[] scaledOut) {
+        Objects.requireNonNull(scaledIn, "Input array must not be null");
+        Objects.requireNonNull(scaledOut, "Output array must not be null");
+        if (scaledOut.length < scaledIn.length) {
+            throw new IllegalArgumentException("Output array is shorter than the input array");
+        }
+        if (vectorizable && VECTOR_AVAILABLE) {
+            VECTOR_KERNEL.apply(this, scaledIn, scaledOut, scaledIn.length);
+        } else {
+            applyScalar(scaledIn, scaledOut, 0, scaledIn.length);
+        }
+    }
+
+    /*** Converts a single element with the same result as {@link #apply}. */
+    public long apply(long scaledValue) {
+        if (scaledValue < 0) {
+            throw new IllegalArgumentException("Value must not be negative");
+        }
+        if (scaledValue > maxFastInput) {
+            return convertExact(scaledValue);
+        }
+        return switch (kind) {
+            case IDENTITY -> scaledValue;
+            case MULTIPLY -> multiplyFast(scaledValue);
+            case DIVIDE -> divideFast(scaledValue);
+        };
+    }
+
+    void applyScalar(long[] scaledIn, long[] scaledOut, int from, int to) {
+        for (int i = from; i < to; i++) {
+            scaledOut[i] = apply(scaledIn[i]);
+        }
+    }
+
+    private long multiplyFast(long value) {
+        long product = value * factorUnscaled;
+        int dropped = precision == 0 ? 0 : Math.max(0, digits(product) - precision);
+        long rounded = dropped == 0 ? product : POWER_OF_TEN_DIVISORS[dropped].divideHalfUp(product);
+        int remaining = factorScale - dropped;
+        return remaining >= 0 ? POWER_OF_TEN_DIVISORS[remaining].divideHalfUp(rounded) : rounded * POWERS_OF_TEN[-remaining];
+    }
+
+    private long divideFast(long value) {
+        long quotient = divisorReciprocal.divideHalfUp(value * numeratorMultiplier);
+        if (scale >= intermediateScale) {
+            return quotient * POWERS_OF_TEN[scale - intermediateScale];
+        }
+        return POWER_OF_TEN_DIVISORS[intermediateScale - scale].divideHalfUp(quotient);
+    }
+
+    // Reference path for elements outside the long fast path
+    private long convertExact(long value) {
+        BigDecimal decimal = BigDecimal.valueOf(value, scale);
+        BigDecimal converted = switch (kind) {
+            case IDENTITY -> decimal;
+            case MULTIPLY -> mathContext == null ? decimal.multiply(factor) : decimal.multiply(factor, mathContext);
+            case DIVIDE -> decimal.divide(factor, intermediateScale, RoundingMode.HALF_UP);
+        };
+        return converted.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // The kernel is absent unless the vector profile compiled it, and unusable unless the module was added
+    private static BatchKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (BatchKernel) Class.forName(FixedPointConversion.class.getPackageName() + ".FixedPointVectorKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    static int digits(long value) {
+        int digits = 1;
+        while (digits <= MAX_SCALE && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+}
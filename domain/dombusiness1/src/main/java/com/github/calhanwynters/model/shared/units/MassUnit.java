@@ -0,0 +1,28 @@
+package com.github.calhanwynters.model.shared.units;
+
+import java.math.BigDecimal;
+
+/**
+ * The canonical mass units and their gram factors. {@code WeightUnitEnums} and
+ * {@code WeightVO.WeightUnit} both map onto these constants, so every conversion
+ * factor is defined once and shared through {@link WeightConversions}.
+ */
+public enum MassUnit {
+    GRAM(BigDecimal.ONE),
+    KILOGRAM(new BigDecimal("1000.0")),
+    OUNCE(new BigDecimal("28.349523125")),
+    POUND(new BigDecimal("453.59237")),
+    TROY_OUNCE(new BigDecimal("31.1034768")),
+    CARAT(new BigDecimal("0.2"));
+
+    private final BigDecimal gramsPerUnit;
+
+    MassUnit(BigDecimal gramsPerUnit) {
+        this.gramsPerUnit = gramsPerUnit;
+    }
+
+    /*** The number of grams in one of this unit, exactly as written in the unit definition. */
+    public BigDecimal gramsPerUnit() {
+        return gramsPerUnit;
+    }
+}
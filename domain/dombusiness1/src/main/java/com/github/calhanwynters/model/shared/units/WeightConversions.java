@@ -0,0 +1,95 @@
+package com.github.calhanwynters.model.shared.units;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * The single conversion engine behind both weight unit types. It precomputes an N×N matrix
+ * holding the exact direct ratio between every pair of {@link MassUnit}s, reduced to a
+ * fraction {@code multiplier / divisor}. The divisor is applied as a multiply by its
+ * precomputed reciprocal, so a conversion from grams is a multiply rather than a division.
+ * <p>
+ * Conversions round once, HALF_UP, from the exact ratio to the requested scale. Values
+ * whose fixed-point form does not fit a long take an exact BigDecimal path with the same result.
+ * Callers validate their arguments once; the methods here assume non-null, non-negative values.
+ */
+public final class WeightConversions {
+
+    private static final MassUnit[] UNITS = MassUnit.values();
+    private static final Ratio[][] MATRIX = new Ratio[UNITS.length][UNITS.length];
+
+    static {
+        for (MassUnit from : UNITS) {
+            for (MassUnit to : UNITS) {
+                MATRIX[from.ordinal()][to.ordinal()] = Ratio.between(from.gramsPerUnit(), to.gramsPerUnit());
+            }
+        }
+    }
+
+    private WeightConversions() {
+    }
+
+    // --- Conversions ---
+
+    /*** value * gramsPerUnit under the given MathContext, the definition both unit types use for toGrams. */
+    public static BigDecimal toGrams(MassUnit unit, BigDecimal value, MathContext mathContext) {
+        return unit == MassUnit.GRAM ? value : value.multiply(unit.gramsPerUnit(), mathContext);
+    }
+
+    /**
+     * Converts a value between two units, rounded HALF_UP to {@code scale}. Converting from
+     * GRAM gives exactly {@code grams.divide(gramsPerUnit, scale, HALF_UP)}.
+     */
+    public static BigDecimal convert(MassUnit from, MassUnit to, BigDecimal value, int scale) {
+        Ratio ratio = MATRIX[from.ordinal()][to.ordinal()];
+        int shift = scale - value.scale();
+        // The fixed-point form value * 10^scale has at most 18 digits, so it fits a long
+        if (shift >= 0 && value.precision() + shift <= FixedPointConversion.MAX_SCALE) {
+            long scaled = value.movePointRight(scale).longValueExact();
+            if (scaled <= ratio.maxFastInput) {
+                return BigDecimal.valueOf(ratio.divisor.divideHalfUp(scaled * ratio.multiplier), scale);
+            }
+        }
+        return value.multiply(ratio.exactMultiplier).divide(ratio.exactDivisor, scale, RoundingMode.HALF_UP);
+    }
+
+    /*** Converts an unscaled fixed-point value between two units at the same scale, rounded HALF_UP. */
+    public static long convertScaled(MassUnit from, MassUnit to, long scaledValue) {
+        Ratio ratio = MATRIX[from.ordinal()][to.ordinal()];
+        if (scaledValue <= ratio.maxFastInput) {
+            return ratio.divisor.divideHalfUp(scaledValue * ratio.multiplier);
+        }
+        return BigDecimal.valueOf(scaledValue).multiply(ratio.exactMultiplier)
+                .divide(ratio.exactDivisor, 0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // --- Matrix Entries ---
+
+    // from/to reduced to lowest terms; the fast path keeps value * multiplier within FixedPointConversion.LIMIT
+    private record Ratio(long multiplier, ConstantDivisor divisor, long maxFastInput,
+                         BigDecimal exactMultiplier, BigDecimal exactDivisor) {
+
+        static Ratio between(BigDecimal fromGrams, BigDecimal toGrams) {
+            // fromGrams / toGrams = (F * 10^toScale) / (T * 10^fromScale) for unscaled F and T
+            BigInteger numerator = fromGrams.unscaledValue().multiply(BigInteger.TEN.pow(Math.max(0, toGrams.scale())))
+                    .multiply(BigInteger.TEN.pow(Math.max(0, -fromGrams.scale())));
+            BigInteger denominator = toGrams.unscaledValue().multiply(BigInteger.TEN.pow(Math.max(0, fromGrams.scale())))
+                    .multiply(BigInteger.TEN.pow(Math.max(0, -toGrams.scale())));
+            BigInteger gcd = numerator.gcd(denominator);
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+            if (numerator.signum() <= 0 || denominator.signum() <= 0) {
+                throw new IllegalArgumentException("Gram factors must be positive");
+            }
+
+            BigInteger limit = BigInteger.valueOf(FixedPointConversion.LIMIT);
+            boolean fast = numerator.compareTo(limit) <= 0 && denominator.compareTo(limit) <= 0;
+            long multiplier = fast ? numerator.longValueExact() : 1;
+            ConstantDivisor divisor = ConstantDivisor.of(fast ? denominator.longValueExact() : 1);
+            long maxFastInput = fast ? FixedPointConversion.LIMIT / multiplier : -1;
+            return new Ratio(multiplier, divisor, maxFastInput, new BigDecimal(numerator), new BigDecimal(denominator));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.calhanwynters.model.shared.valueobjects;
+
+import com.github.calhanwynters.model.shared.collections.WeakInterner;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Canonicalizes features so a catalog holds each distinct feature, feature list and
+ * feature string once, however many variants use it.
+ * <p>
+ * Catalogs repeat a small set of feature definitions ("Color", "Size", "cm") across
+ * millions of variants, and every decoded variant otherwise carries fresh copies of
+ * them. The registry interns the strings first, then the feature built from the canonical
+ * strings, then the immutable feature list of a variant. All pools hold their values
+ * weakly, so definitions that no variant uses any more are collected.
+ * <p>
+ * Features are immutable records compared by value, so sharing an instance is
+ * indistinguishable from holding an equal copy.
+ */
+public final class FeatureRegistry {
+
+    private static final FeatureRegistry GLOBAL = new FeatureRegistry();
+
+    private final WeakInterner<String> strings = new WeakInterner<>();
+    private final WeakInterner<FeatureInterface> features = new WeakInterner<>();
+    private final WeakInterner<List<FeatureInterface>> featureLists = new WeakInterner<>();
+
+    /*** The process-wide registry used by the Variant factory and the product decoders. */
+    public static FeatureRegistry global() {
+        return GLOBAL;
+    }
+
+    // --- Factory Methods ---
+
+    public BasicFeature basic(String name, String featureDescription, String label) {
+        return (BasicFeature) features.intern(new BasicFeature(intern(name), intern(featureDescription), intern(label)));
+    }
+
+    public FixedPriceFeature fixedPrice(String name, String featureDescription, String label, double fixedPrice) {
+        return (FixedPriceFeature) features.intern(
+                new FixedPriceFeature(intern(name), intern(featureDescription), intern(label), fixedPrice));
+    }
+
+    public ScalingPriceFeature scalingPrice(String name, String featureDescription, String label, String measurementUnit,
+                                            double baseAmount, double incrementAmount, int maxQuantity) {
+        return (ScalingPriceFeature) features.intern(new ScalingPriceFeature(intern(name), intern(featureDescription),
+                intern(label), intern(measurementUnit), baseAmount, incrementAmount, maxQuantity));
+    }
+
+    // --- Interning ---
+
+    /*** The canonical copy of a string; null stays null, since the decoders allow null feature strings. */
+    public String intern(String value) {
+        return value == null ? null : strings.intern(value);
+    }
+
+    /**
+     * The canonical instance of a feature. Known feature types are rebuilt from canonical
+     * strings before interning; other implementations are interned as they are.
+     */
+    public FeatureInterface intern(FeatureInterface feature) {
+        Objects.requireNonNull(feature, "feature must not be null");
+        return switch (feature) {
+            case BasicFeature f -> basic(f.name(), f.featureDescription(), f.label());
+            case FixedPriceFeature f -> fixedPrice(f.name(), f.featureDescription(), f.label(), f.fixedPrice());
+            case ScalingPriceFeature f -> scalingPrice(f.name(), f.featureDescription(), f.label(),
+                    f.measurementUnit(), f.baseAmount(), f.incrementAmount(), f.maxQuantity());
+            default -> features.intern(feature);
+        };
+    }
+
+    /*** The canonical immutable list of canonical features, in the given order. */
+    public List<FeatureInterface> internAll(List<? extends FeatureInterface> featureList) {
+        Objects.requireNonNull(featureList, "featureList must not be null");
+        if (featureList.isEmpty()) {
+            return List.of();
+        }
+        FeatureInterface[] canonical = new FeatureInterface[featureList.size()];
+        for (int i = 0; i < canonical.length; i++) {
+            FeatureInterface feature = Objects.requireNonNull(featureList.get(i), "features must not contain null");
+            // Features from this registry's factories are already canonical and need no rebuild
+            FeatureInterface pooled = features.find(feature);
+            canonical[i] = pooled != null ? pooled : intern(feature);
+        }
+        return featureLists.intern(List.of(canonical));
+    }
+
+    // --- Statistics ---
+
+    public int internedStrings() {
+        return strings.size();
+    }
+
+    public int internedFeatures() {
+        return features.size();
+    }
+
+    public int internedFeatureLists() {
+        return featureLists.size();
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.calhanwynters.model.shared.valueobjects;
 
+import com.github.calhanwynters.model.shared.collections.PersistentHashSet;
+
 import java.util.Objects;
 import java.util.Set;
 
@@ -12,7 +14,14 @@ public record GalleryVO(Set<ImageUrlVO> images) {
         if (images.size() > 15) {
             throw new IllegalArgumentException("A gallery cannot contain more than 15 images.");
         }
-        images = Set.copyOf(images);
+        // Persistent set, so adding an image shares structure instead of copying
+        images = PersistentHashSet.copyOf(images);
+    }
+
+    /*** Returns a new gallery with the given image added. */
+    public GalleryVO withImage(ImageUrlVO image) {
+        Objects.requireNonNull(image, "Image cannot be null");
+        return new GalleryVO(((PersistentHashSet<ImageUrlVO>) images).plus(image));
     }
 
     // Example behavior: get the primary image (assuming the first is primary if using a List)
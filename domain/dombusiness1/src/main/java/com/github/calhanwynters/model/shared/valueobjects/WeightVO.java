@@ -1,33 +1,50 @@
 package com.github.calhanwynters.model.shared.valueobjects;
 
+import com.github.calhanwynters.model.shared.units.FixedPointConversion;
+import com.github.calhanwynters.model.shared.units.MassUnit;
+import com.github.calhanwynters.model.shared.units.WeightConversions;
+
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.Objects;
 
-/*** Domain value object representing a product weight.* This record ensures immutability, validation, and standard weight operations.*/
-public record WeightVO(BigDecimal amount, WeightUnit unit) implements Comparable<WeightVO> {
+/*** Domain value object representing a product weight.* This value object ensures immutability, validation, and standard weight operations.*/
+public final class WeightVO implements Comparable<WeightVO> {
 
     // Centralized constant for maximum allowed weight in grams (e.g., 100 kg)
     private static final BigDecimal MAX_GRAMS = new BigDecimal("100000.0");
+    private static final long MAX_SCALED_GRAMS = MAX_GRAMS.scaleByPowerOfTen(WeightUnit.SCALE).longValueExact();
     private static final String AMOUNT_CANNOT_BE_NULL = "Amount must not be null";
     private static final String UNIT_CANNOT_BE_NULL = "Unit must not be null";
     private static final String AMOUNT_CANNOT_BE_NEGATIVE = "Amount must not be negative";
     private static final String EXCEEDED_MAX_WEIGHT = "Amount exceeds maximum allowed weight";
 
-    // Compact constructor for validation and normalization
-    public WeightVO {
+    private final BigDecimal amount;
+    private final WeightUnit unit;
+    // inGrams() in units of 10^-SCALE grams, so compareTo, add, subtract and sum run on longs;
+    // derived from amount and unit, so not part of equality or toString. The 100 kg cap keeps it below 10^9
+    private final long scaledGrams;
+
+    // Constructor for validation and normalization
+    public WeightVO(BigDecimal amount, WeightUnit unit) {
         Objects.requireNonNull(amount, AMOUNT_CANNOT_BE_NULL);
         Objects.requireNonNull(unit, UNIT_CANNOT_BE_NULL);
         if (amount.signum() < 0) {
             throw new IllegalArgumentException(AMOUNT_CANNOT_BE_NEGATIVE);
         }
         // Normalize the input amount using the unit's defined scale and rounding
-        amount = amount.setScale(WeightUnit.SCALE, WeightUnit.ROUNDING_MODE).stripTrailingZeros();
+        this.amount = amount.setScale(WeightUnit.SCALE, WeightUnit.ROUNDING_MODE).stripTrailingZeros();
+        this.unit = unit;
 
         // Validate total weight against maximum allowed
-        if (unit.toGrams(amount).compareTo(MAX_GRAMS) > 0) {
+        BigDecimal grams = unit.toGrams(this.amount);
+        if (grams.compareTo(MAX_GRAMS) > 0) {
             throw new IllegalArgumentException(EXCEEDED_MAX_WEIGHT);
         }
+        // Rounds exactly as inGrams() reports it, then drops the decimal point
+        this.scaledGrams = grams.setScale(WeightUnit.SCALE, WeightUnit.ROUNDING_MODE)
+                .scaleByPowerOfTen(WeightUnit.SCALE).longValueExact();
     }
 
     // Factory methods
@@ -56,59 +73,111 @@ public record WeightVO(BigDecimal amount, WeightUnit unit) implements Comparable
         return new WeightVO(carats, WeightUnit.CARAT);
     }
 
+    /*** Sums weights on the cached scaled grams, with the same result and limit as chained {@link #add} calls. */
+    public static WeightVO sum(Iterable<WeightVO> weights) {
+        Objects.requireNonNull(weights, "Weights must not be null");
+        long total = 0;
+        for (WeightVO weight : weights) {
+            Objects.requireNonNull(weight, "Other WeightVO must not be null");
+            total += weight.scaledGrams;
+            if (total > MAX_SCALED_GRAMS) {
+                throw new IllegalArgumentException(EXCEEDED_MAX_WEIGHT);
+            }
+        }
+        return fromScaledGrams(total);
+    }
+
+    // --- Accessors ---
+
+    public BigDecimal amount() {
+        return amount;
+    }
+
+    public WeightUnit unit() {
+        return unit;
+    }
+
+    /*** The weight in grams as a long in units of 10^-{@link WeightUnit#SCALE} g; orders exactly as {@link #compareTo}. */
+    public long scaledGrams() {
+        return scaledGrams;
+    }
+
     // Convert to grams
     public BigDecimal inGrams() {
-        return unit.toGrams(amount).setScale(WeightUnit.SCALE, WeightUnit.ROUNDING_MODE).stripTrailingZeros();
+        return BigDecimal.valueOf(scaledGrams, WeightUnit.SCALE).stripTrailingZeros();
     }
 
     /*** Converts this weight value into a new WeightVO represented in the target unit.** @param targetUnit The desired output unit.* @return A new WeightVO in the target unit.*/
     public WeightVO toUnit(WeightUnit targetUnit) {
         if (this.unit.equals(targetUnit)) return this;
-        BigDecimal resultInTargetUnit = targetUnit.fromGrams(this.inGrams());
-        return new WeightVO(resultInTargetUnit, targetUnit);
+        long scaledTarget = WeightConversions.convertScaled(MassUnit.GRAM, targetUnit.massUnit, scaledGrams);
+        return new WeightVO(BigDecimal.valueOf(scaledTarget, WeightUnit.SCALE), targetUnit);
     }
 
     // Domain operations
     public WeightVO add(WeightVO other) {
         Objects.requireNonNull(other, "Other WeightVO must not be null");
-        BigDecimal totalGrams = this.inGrams().add(other.inGrams());
-        if (totalGrams.compareTo(MAX_GRAMS) > 0) {
+        long total = this.scaledGrams + other.scaledGrams;
+        if (total > MAX_SCALED_GRAMS) {
             throw new IllegalArgumentException(EXCEEDED_MAX_WEIGHT);
         }
-        return WeightVO.ofGrams(totalGrams);
+        return fromScaledGrams(total);
     }
 
     public WeightVO subtract(WeightVO other) {
         Objects.requireNonNull(other, "Other WeightVO must not be null");
-        BigDecimal resultGrams = this.inGrams().subtract(other.inGrams());
-        if (resultGrams.signum() < 0) {
+        long result = this.scaledGrams - other.scaledGrams;
+        if (result < 0) {
             throw new IllegalArgumentException("Resulting weight must not be negative");
         }
-        return WeightVO.ofGrams(resultGrams);
+        return fromScaledGrams(result);
     }
 
     @Override
     public int compareTo(WeightVO other) {
-        return this.inGrams().compareTo(other.inGrams());
+        return Long.compare(this.scaledGrams, other.scaledGrams);
+    }
+
+    // Equality, hash code and string form cover amount and unit only, as for a two-component record
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeightVO other && amount.equals(other.amount) && unit == other.unit;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * amount.hashCode() + unit.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "WeightVO[amount=" + amount + ", unit=" + unit + "]";
+    }
+
+    private static WeightVO fromScaledGrams(long scaledGrams) {
+        return new WeightVO(BigDecimal.valueOf(scaledGrams, WeightUnit.SCALE), WeightUnit.GRAM);
     }
 
     /*** Enum for supported weight units using BigDecimal for precision.*/
     public enum WeightUnit {
-        // Added KILOGRAM and POUND
-        GRAM(BigDecimal.ONE),
-        KILOGRAM(new BigDecimal("1000.0")), // 1 kg = 1000 g
-        OUNCE(new BigDecimal("28.349523125")),
-        POUND(new BigDecimal("453.59237")), // 1 lb = 453.59237 g
-        TROY_OUNCE(new BigDecimal("31.1034768")),
-        CARAT(new BigDecimal("0.2"));
+        // Added KILOGRAM and POUND; factors live in MassUnit
+        GRAM(MassUnit.GRAM),
+        KILOGRAM(MassUnit.KILOGRAM), // 1 kg = 1000 g
+        OUNCE(MassUnit.OUNCE),
+        POUND(MassUnit.POUND), // 1 lb = 453.59237 g
+        TROY_OUNCE(MassUnit.TROY_OUNCE),
+        CARAT(MassUnit.CARAT);
 
         public static final int SCALE = 4;
         public static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
 
-        private final BigDecimal gramsPerUnit;
+        private final MassUnit massUnit;
+        // Batch conversion plans, built on first use for each scale
+        private final FixedPointConversion[] toGramsPlans = new FixedPointConversion[FixedPointConversion.MAX_SCALE + 1];
+        private final FixedPointConversion[] fromGramsPlans = new FixedPointConversion[FixedPointConversion.MAX_SCALE + 1];
 
-        WeightUnit(BigDecimal gramsPerUnit) {
-            this.gramsPerUnit = gramsPerUnit;
+        WeightUnit(MassUnit massUnit) {
+            this.massUnit = massUnit;
         }
 
         /*** Converts a value in this unit to grams.** @param value The value in the current unit.* @return The value in grams.*/
@@ -117,7 +186,7 @@ public record WeightVO(BigDecimal amount, WeightUnit unit) implements Comparable
             if (value.signum() < 0) {
                 throw new IllegalArgumentException("Value must not be negative");
             }
-            return value.multiply(gramsPerUnit);
+            return WeightConversions.toGrams(massUnit, value, MathContext.UNLIMITED);
         }
 
         /*** Converts a value in grams to this unit.** @param grams The value in grams.* @return The value in the current unit, rounded to the defined SCALE.*/
@@ -126,7 +195,27 @@ public record WeightVO(BigDecimal amount, WeightUnit unit) implements Comparable
             if (grams.signum() < 0) {
                 throw new IllegalArgumentException("Grams must not be negative");
             }
-            return grams.divide(gramsPerUnit, SCALE, ROUNDING_MODE).stripTrailingZeros();
+            return WeightConversions.convert(MassUnit.GRAM, massUnit, grams, SCALE).stripTrailingZeros();
+        }
+
+        /*** Converts fixed-point values at {@code scale} to grams, matching {@link #toGrams(BigDecimal)} rounded HALF_UP to that scale.*/
+        public void toGrams(long[] scaledIn, long[] scaledOut, int scale) {
+            FixedPointConversion plan = toGramsPlans[FixedPointConversion.checkScale(scale)];
+            if (plan == null) {
+                plan = FixedPointConversion.multiply(massUnit.gramsPerUnit(), MathContext.UNLIMITED, scale);
+                toGramsPlans[scale] = plan;
+            }
+            plan.apply(scaledIn, scaledOut);
+        }
+
+        /*** Converts fixed-point gram values at {@code scale} to this unit, matching {@link #fromGrams(BigDecimal)} rounded HALF_UP to that scale.*/
+        public void fromGrams(long[] scaledIn, long[] scaledOut, int scale) {
+            FixedPointConversion plan = fromGramsPlans[FixedPointConversion.checkScale(scale)];
+            if (plan == null) {
+                plan = FixedPointConversion.divide(massUnit.gramsPerUnit(), SCALE, scale);
+                fromGramsPlans[scale] = plan;
+            }
+            plan.apply(scaledIn, scaledOut);
         }
     }
 }
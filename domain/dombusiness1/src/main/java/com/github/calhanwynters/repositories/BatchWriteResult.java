@@ -0,0 +1,45 @@
+package com.github.calhanwynters.repositories;
+
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outcome of a bulk write on {@link ProductCommandRepository}.
+ * A failing item never aborts the rest of the batch; it is reported here instead.
+ *
+ * @param attempted the number of items submitted
+ * @param batches   the number of batches the items were written in
+ * @param failures  the items that could not be written, in submission order
+ */
+public record BatchWriteResult(int attempted, int batches, List<Failure> failures) {
+
+    /**
+     * A single item that could not be written.
+     *
+     * @param id    the ProductId of the item, or null if the item itself was null
+     * @param cause the exception raised while writing it
+     */
+    public record Failure(ProductId id, RuntimeException cause) {
+        public Failure {
+            Objects.requireNonNull(cause, "cause must not be null");
+        }
+    }
+
+    public BatchWriteResult {
+        if (attempted < 0 || batches < 0) {
+            throw new IllegalArgumentException("attempted and batches must not be negative");
+        }
+        Objects.requireNonNull(failures, "failures must not be null");
+        failures = List.copyOf(failures);
+    }
+
+    public int succeeded() {
+        return attempted - failures.size();
+    }
+
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.calhanwynters.repositories;
+
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Splits a bulk write into batches of a fixed size and reports per-item failures.
+ * <p>
+ * Each batch is handed to the store in one call, so a store pays its transaction
+ * or fsync cost once per batch rather than once per item. If a batch fails as a
+ * whole, its items are replayed one by one to isolate the culprits. Replaying is
+ * safe because save and delete are idempotent: an item that already landed
+ * before the batch failed is simply written again.
+ *
+ * @param <T> the item type, a Product or a ProductId
+ */
+public final class BatchWriter<T> {
+
+    private final int batchSize;
+    private final Function<T, ProductId> idOf;
+    private final Consumer<List<T>> writeBatch;
+    private final Consumer<T> writeOne;
+
+    public BatchWriter(int batchSize, Function<T, ProductId> idOf,
+                       Consumer<List<T>> writeBatch, Consumer<T> writeOne) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        this.idOf = Objects.requireNonNull(idOf, "idOf must not be null");
+        this.writeBatch = Objects.requireNonNull(writeBatch, "writeBatch must not be null");
+        this.writeOne = Objects.requireNonNull(writeOne, "writeOne must not be null");
+    }
+
+    public BatchWriteResult write(Collection<? extends T> items) {
+        Objects.requireNonNull(items, "items must not be null");
+        List<BatchWriteResult.Failure> failures = new ArrayList<>();
+        List<T> batch = new ArrayList<>(Math.min(batchSize, items.size()));
+        int batches = 0;
+        for (T item : items) {
+            batch.add(item);
+            if (batch.size() == batchSize) {
+                flush(batch, failures);
+                batches++;
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, failures);
+            batches++;
+        }
+        return new BatchWriteResult(items.size(), batches, failures);
+    }
+
+    private void flush(List<T> batch, List<BatchWriteResult.Failure> failures) {
+        try {
+            writeBatch.accept(batch);
+        } catch (RuntimeException batchFailure) {
+            for (T item : batch) {
+                try {
+                    writeOne.accept(item);
+                } catch (RuntimeException itemFailure) {
+                    failures.add(new BatchWriteResult.Failure(item == null ? null : idOf.apply(item), itemFailure));
+                }
+            }
+        }
+    }
+}
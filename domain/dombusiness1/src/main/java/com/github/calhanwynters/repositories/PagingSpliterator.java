@@ -0,0 +1,42 @@
+package com.github.calhanwynters.repositories;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Lazily walks a repository page by page, holding at most one page in memory.
+ */
+final class PagingSpliterator extends Spliterators.AbstractSpliterator<Product> {
+
+    private final ProductQueryRepository repository;
+    private final int prefetch;
+    private Iterator<Product> buffer = Collections.emptyIterator();
+    private ProductId cursor;
+    private boolean exhausted;
+
+    PagingSpliterator(ProductQueryRepository repository, int prefetch) {
+        super(Long.MAX_VALUE, ORDERED | NONNULL);
+        this.repository = repository;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Product> action) {
+        while (!buffer.hasNext()) {
+            if (exhausted) {
+                return false;
+            }
+            ProductPage page = repository.findPage(cursor, prefetch);
+            buffer = page.products().iterator();
+            cursor = page.nextCursor();
+            exhausted = !page.hasNext();
+        }
+        action.accept(buffer.next());
+        return true;
+    }
+}
@@ -3,9 +3,37 @@ package com.github.calhanwynters.repositories;
 import com.github.calhanwynters.model.shared.aggregates.Product;
 import com.github.calhanwynters.model.shared.valueobjects.ProductId;
 
+import java.util.Collection;
+import java.util.function.Function;
+
 // Concrete Class belongs in the infrastructure layer.
 
-interface ProductCommandRepository {
+public interface ProductCommandRepository {
+
+    /*** Batch size used by the default bulk operations. */
+    int DEFAULT_BATCH_SIZE = 1_000;
+
     void save(Product product);
     void deleteById(ProductId id);
-}
\ No newline at end of file
+
+    // --- Bulk Operations ---
+
+    /**
+     * Saves all products in batches of {@link #DEFAULT_BATCH_SIZE}.
+     * Items that fail are reported in the result; the remaining items are still written.
+     * Stores with a real per-batch transaction or fsync should override this.
+     */
+    default BatchWriteResult saveAll(Collection<Product> products) {
+        return new BatchWriter<Product>(DEFAULT_BATCH_SIZE, Product::id,
+                batch -> batch.forEach(this::save), this::save).write(products);
+    }
+
+    /**
+     * Deletes all given ids in batches of {@link #DEFAULT_BATCH_SIZE}.
+     * Unknown ids are not failures, matching {@link #deleteById}.
+     */
+    default BatchWriteResult deleteAllById(Collection<ProductId> ids) {
+        return new BatchWriter<ProductId>(DEFAULT_BATCH_SIZE, Function.identity(),
+                batch -> batch.forEach(this::deleteById), this::deleteById).write(ids);
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.calhanwynters.repositories;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One page of a keyset-paginated product scan.
+ * Pages are ordered by {@link #KEY_ORDER}; pass {@link #nextCursor()} back to
+ * {@link ProductQueryRepository#findPage} to continue after the last product.
+ *
+ * @param products   the products of this page, in key order
+ * @param nextCursor the cursor for the next page, or null if this is the last page
+ */
+public record ProductPage(List<Product> products, ProductId nextCursor) {
+
+    /*** The order in which products are paged: by ProductId value. */
+    public static final Comparator<ProductId> KEY_ORDER = Comparator.comparing(ProductId::value);
+
+    public ProductPage {
+        Objects.requireNonNull(products, "products must not be null");
+        products = List.copyOf(products);
+    }
+
+    public static ProductPage last(List<Product> products) {
+        return new ProductPage(products, null);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
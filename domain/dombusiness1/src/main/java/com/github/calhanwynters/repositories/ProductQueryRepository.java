@@ -1,14 +1,69 @@
 package com.github.calhanwynters.repositories;
 
 import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.BusinessId;
 import com.github.calhanwynters.model.shared.valueobjects.ProductId;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 // Concrete Class belongs in the infrastructure layer.
 
-interface ProductQueryRepository {
+public interface ProductQueryRepository {
+    int DEFAULT_PREFETCH = 500;
+
     Optional<Product> findById(ProductId id);
     Collection<Product> findAll();
-}
\ No newline at end of file
+
+    // --- Paging and Streaming ---
+
+    /**
+     * Returns up to {@code limit} products whose ids come strictly after {@code after}
+     * in {@link ProductPage#KEY_ORDER}. Pass null to start from the beginning.
+     * There is no default: serving a page costs O(limit) only from an ordered key index,
+     * and {@link #streamAll} relies on that to run in constant memory.
+     * @throws IllegalArgumentException if {@code limit} is not positive.
+     */
+    ProductPage findPage(ProductId after, int limit);
+
+    /*** Streams every product lazily, fetching {@link #DEFAULT_PREFETCH} products per page. */
+    default Stream<Product> streamAll() {
+        return streamAll(DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Streams every product lazily in key order, holding at most {@code prefetch}
+     * products in memory at a time, so exports run in constant memory.
+     */
+    default Stream<Product> streamAll(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive");
+        }
+        return StreamSupport.stream(new PagingSpliterator(this, prefetch), false);
+    }
+
+    // --- Catalog Queries ---
+    // The defaults scan findAll(); implementations with secondary indexes should override them.
+
+    default Collection<Product> findByBusinessId(BusinessId businessId) {
+        return findAll().stream().filter(p -> p.businessId().equals(businessId)).toList();
+    }
+
+    default Collection<Product> findByCategory(String category) {
+        return findAll().stream().filter(p -> p.category().equals(category)).toList();
+    }
+
+    default Optional<Product> findBySku(String sku) {
+        return findAll().stream().filter(p -> p.findVariantBySku(sku).isPresent()).findFirst();
+    }
+
+    /*** Finds products that have at least one variant in the given status. */
+    default Collection<Product> findByVariantStatus(VariantStatusEnums status) {
+        return findAll().stream()
+                .filter(p -> p.variants().stream().anyMatch(v -> v.status() == status))
+                .toList();
+    }
+}
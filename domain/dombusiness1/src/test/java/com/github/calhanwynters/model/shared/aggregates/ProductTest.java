@@ -1,6 +1,7 @@
 package com.github.calhanwynters.model.shared.aggregates;
 
 import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.exceptions.VariantAlreadyExistsException;
 import com.github.calhanwynters.model.shared.valueobjects.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,11 +9,17 @@ import org.junit.jupiter.api.Test;
 import javax.money.Monetary;
 import javax.money.MonetaryAmount;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 public class ProductTest {
     private Product product;
+    private MonetaryAmount basePrice;
 
     @BeforeEach
     void setUp() {
@@ -24,7 +31,7 @@ public class ProductTest {
         DescriptionVO description = new DescriptionVO("A great product description.");
         GalleryVO gallery = new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image1.jpg")));
 
-        MonetaryAmount basePrice = Monetary.getDefaultAmountFactory().setNumber(100.00).setCurrency("USD").create();
+        basePrice = Monetary.getDefaultAmountFactory().setNumber(100.00).setCurrency("USD").create();
 
         // Create a variant with a valid WeightVO
         Variant variant = Variant.createDraft(
@@ -64,5 +71,137 @@ public class ProductTest {
         }
     }
 
-    // Other test methods...
+    @Test
+    void testAddVariantAndFindById() {
+        Variant newVariant = createVariant();
+        Product updated = product.addVariant(newVariant);
+
+        assertEquals(2, updated.variants().size());
+        assertTrue(updated.variants().contains(newVariant));
+        assertEquals(newVariant, updated.findVariantById(newVariant.id()).orElseThrow());
+        assertEquals(newVariant, updated.findVariantBySku(newVariant.sku()).orElseThrow());
+        // The original aggregate is left untouched
+        assertEquals(1, product.variants().size());
+        assertTrue(product.findVariantById(newVariant.id()).isEmpty());
+    }
+
+    @Test
+    void testAddVariantRejectsDuplicateId() {
+        Variant existing = product.variants().iterator().next();
+        Variant sameId = new Variant(existing.id(), "OTHER-SKU", basePrice, basePrice,
+                Collections.emptyList(), existing.careInstructions(), existing.weight(), existing.status());
+
+        assertThrows(VariantAlreadyExistsException.class, () -> product.addVariant(sameId));
+        assertThrows(VariantAlreadyExistsException.class, () -> product.addVariant(existing));
+    }
+
+    @Test
+    void testConstructorRejectsDifferentVariantsWithSameId() {
+        Variant existing = product.variants().iterator().next();
+        Variant sameId = new Variant(existing.id(), "OTHER-SKU", basePrice, basePrice,
+                Collections.emptyList(), existing.careInstructions(), existing.weight(), existing.status());
+
+        assertThrows(VariantAlreadyExistsException.class, () -> new Product(product.id(), product.businessId(),
+                product.category(), product.description(), product.gallery(), Set.of(existing, sameId)));
+    }
+
+    @Test
+    void testVariantsAreImmutableAndEqualToPlainSets() {
+        Product updated = product.addVariant(createVariant());
+        Set<Variant> copy = new HashSet<>(updated.variants());
+
+        assertEquals(copy, updated.variants());
+        assertEquals(updated.variants(), copy);
+        assertEquals(copy.hashCode(), updated.variants().hashCode());
+        assertEquals(updated, new Product(updated.id(), updated.businessId(), updated.category(),
+                updated.description(), updated.gallery(), copy));
+        assertThrows(UnsupportedOperationException.class, () -> updated.variants().add(createVariant()));
+        assertThrows(UnsupportedOperationException.class, () -> updated.variants().clear());
+    }
+
+    @Test
+    void testFindVariantByUnknownIdIsEmpty() {
+        assertTrue(product.findVariantById(VariantId.generate()).isEmpty());
+        assertTrue(product.findVariantBySku("UNKNOWN").isEmpty());
+    }
+
+    @Test
+    void testBuilderCreatesProductWithAllVariants() {
+        List<Variant> imported = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            imported.add(createVariant());
+        }
+        Product built = Product.builder(product.businessId(), "Apparel", product.description(), product.gallery())
+                .addVariants(imported)
+                .build();
+
+        assertEquals(5_000, built.variants().size());
+        assertEquals(Set.copyOf(imported), built.variants());
+        for (Variant variant : imported) {
+            assertEquals(variant, built.findVariantById(variant.id()).orElseThrow());
+        }
+    }
+
+    @Test
+    void testBuilderReportsEveryDuplicateAtOnce() {
+        Variant first = createVariant();
+        Variant second = createVariant();
+        Product.Builder builder = Product.builder(product.businessId(), "Apparel", product.description(), product.gallery())
+                .addVariant(first)
+                .addVariant(second)
+                .addVariant(createVariant())
+                .addVariant(first)
+                .addVariant(second);
+
+        VariantAlreadyExistsException ex = assertThrows(VariantAlreadyExistsException.class, builder::build);
+        assertEquals(List.of(first.id(), second.id()), ex.duplicateIds());
+        assertTrue(ex.getMessage().contains(first.id().value()));
+        assertTrue(ex.getMessage().contains(second.id().value()));
+    }
+
+    @Test
+    void testWithVariantsAddsToExistingProduct() {
+        Variant existing = product.variants().iterator().next();
+        Variant a = createVariant();
+        Variant b = createVariant();
+
+        Product updated = product.withVariants(List.of(a, b));
+        assertEquals(product.id(), updated.id());
+        assertEquals(Set.of(existing, a, b), updated.variants());
+
+        VariantAlreadyExistsException ex = assertThrows(VariantAlreadyExistsException.class,
+                () -> updated.withVariants(List.of(createVariant(), a, existing)));
+        assertEquals(List.of(a.id(), existing.id()), ex.duplicateIds());
+    }
+
+    @Test
+    void testReplaceVariantsSwapsOnlyChangedVariants() {
+        Variant existing = product.variants().iterator().next();
+        Product withSecond = product.addVariant(createVariant());
+        MonetaryAmount lower = basePrice.divide(2);
+
+        Product repriced = withSecond.replaceVariants(v -> v.id().equals(existing.id()) ? v.changeCurrentPrice(lower) : v);
+        assertEquals(2, repriced.variants().size());
+        assertEquals(lower, repriced.findVariantById(existing.id()).orElseThrow().currentPrice());
+        assertEquals(existing.sku(), repriced.findVariantBySku(existing.sku()).orElseThrow().sku());
+        assertEquals(lower, repriced.findVariantBySku(existing.sku()).orElseThrow().currentPrice());
+
+        assertSame(withSecond, withSecond.replaceVariants(v -> v));
+        assertThrows(IllegalArgumentException.class, () -> withSecond.replaceVariants(v -> createVariant()));
+    }
+
+    @Test
+    void testBuilderValidatesRequiredFields() {
+        Product.Builder builder = Product.builder(null, "Apparel", product.description(), product.gallery());
+        assertThrows(NullPointerException.class, builder::build);
+    }
+
+    private Variant createVariant() {
+        return Variant.createDraft(
+                basePrice,
+                new WeightVO(BigDecimal.valueOf(2), WeightVO.WeightUnit.KILOGRAM),
+                new CareInstructionVO("Hand wash only"),
+                Collections.emptyList()
+        );
+    }
 }
@@ -0,0 +1,138 @@
+package com.github.calhanwynters.model.shared.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    // Key with a controllable hash code, used to force full 32-bit hash collisions
+    private record CollidingKey(String name, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    void plusAndGet() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty()
+                .plus("a", 1)
+                .plus("b", 2);
+        assertEquals(2, map.size());
+        assertEquals(1, map.get("a"));
+        assertEquals(2, map.get("b"));
+        assertNull(map.get("c"));
+        assertTrue(map.containsKey("a"));
+        assertFalse(map.containsKey("c"));
+    }
+
+    @Test
+    void plusLeavesOriginalUntouched() {
+        PersistentHashMap<String, Integer> original = PersistentHashMap.<String, Integer>empty().plus("a", 1);
+        PersistentHashMap<String, Integer> updated = original.plus("a", 2).plus("b", 3);
+        assertEquals(Map.of("a", 1), original);
+        assertEquals(Map.of("a", 2, "b", 3), updated);
+    }
+
+    @Test
+    void plusSameValueReturnsSameInstance() {
+        Integer value = 1000;
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().plus("a", value);
+        assertSame(map, map.plus("a", value));
+    }
+
+    @Test
+    void minusRemovesKey() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty()
+                .plus("a", 1)
+                .plus("b", 2);
+        PersistentHashMap<String, Integer> removed = map.minus("a");
+        assertEquals(Map.of("b", 2), removed);
+        assertEquals(2, map.size());
+        assertSame(removed, removed.minus("missing"));
+        assertTrue(removed.minus("b").isEmpty());
+    }
+
+    @Test
+    void handlesFullHashCollisions() {
+        CollidingKey k1 = new CollidingKey("one", 42);
+        CollidingKey k2 = new CollidingKey("two", 42);
+        CollidingKey k3 = new CollidingKey("three", 42 + (1 << 20));
+        PersistentHashMap<CollidingKey, String> map = PersistentHashMap.<CollidingKey, String>empty()
+                .plus(k1, "1")
+                .plus(k2, "2")
+                .plus(k3, "3");
+        assertEquals(3, map.size());
+        assertEquals("1", map.get(k1));
+        assertEquals("2", map.get(k2));
+        assertEquals("3", map.get(k3));
+
+        PersistentHashMap<CollidingKey, String> removed = map.minus(k1);
+        assertEquals(Map.of(k2, "2", k3, "3"), removed);
+        assertEquals(Map.of(k3, "3"), removed.minus(k2));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(7);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> actual = PersistentHashMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.minus(key);
+            } else {
+                expected.put(key, i);
+                actual = actual.plus(key, i);
+            }
+        }
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.keySet(), actual.keySet());
+    }
+
+    @Test
+    void copyOfReusesPersistentMaps() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.copyOf(Map.of("a", 1, "b", 2));
+        assertEquals(Map.of("a", 1, "b", 2), map);
+        assertSame(map, PersistentHashMap.copyOf(map));
+    }
+
+    @Test
+    void copyOfBuildsLargeMapsInBulk() {
+        Map<Object, Integer> source = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            source.put("key-" + i, i);
+        }
+        // Mix in full-hash collisions so the bulk builder has to emit collision nodes
+        for (int i = 0; i < 10; i++) {
+            source.put(new CollidingKey("c" + i, 99), -i);
+        }
+        PersistentHashMap<Object, Integer> map = PersistentHashMap.copyOf(source);
+        assertEquals(source.size(), map.size());
+        assertEquals(source, map);
+        assertEquals(-3, map.get(new CollidingKey("c3", 99)));
+
+        // A bulk-built trie keeps working with the incremental operations
+        PersistentHashMap<Object, Integer> updated = map.plus("extra", 1).minus("key-7").minus(new CollidingKey("c3", 99));
+        assertEquals(source.size() - 1, updated.size());
+        assertNull(updated.get("key-7"));
+        assertEquals(1, updated.get("extra"));
+    }
+
+    @Test
+    void rejectsNullsAndMutation() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+        assertThrows(NullPointerException.class, () -> map.plus(null, 1));
+        assertThrows(NullPointerException.class, () -> map.plus("a", null));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("a", 1));
+    }
+}
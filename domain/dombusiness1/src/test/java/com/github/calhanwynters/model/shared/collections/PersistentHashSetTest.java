@@ -0,0 +1,49 @@
+package com.github.calhanwynters.model.shared.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashSetTest {
+
+    @Test
+    void plusAndContains() {
+        PersistentHashSet<String> set = PersistentHashSet.<String>empty().plus("a").plus("b");
+        assertEquals(2, set.size());
+        assertTrue(set.contains("a"));
+        assertFalse(set.contains("c"));
+        assertEquals(Set.of("a", "b"), set);
+    }
+
+    @Test
+    void plusExistingElementReturnsSameInstance() {
+        PersistentHashSet<String> set = PersistentHashSet.<String>empty().plus("a");
+        assertSame(set, set.plus("a"));
+    }
+
+    @Test
+    void minusLeavesOriginalUntouched() {
+        PersistentHashSet<String> set = PersistentHashSet.copyOf(List.of("a", "b", "c"));
+        PersistentHashSet<String> removed = set.minus("b");
+        assertEquals(Set.of("a", "c"), removed);
+        assertEquals(Set.of("a", "b", "c"), set);
+        assertSame(removed, removed.minus("missing"));
+    }
+
+    @Test
+    void copyOfDeduplicatesAndReusesPersistentSets() {
+        PersistentHashSet<String> set = PersistentHashSet.copyOf(List.of("a", "a", "b"));
+        assertEquals(2, set.size());
+        assertSame(set, PersistentHashSet.copyOf(set));
+    }
+
+    @Test
+    void rejectsNullsAndMutation() {
+        PersistentHashSet<String> set = PersistentHashSet.empty();
+        assertThrows(NullPointerException.class, () -> set.plus(null));
+        assertThrows(UnsupportedOperationException.class, () -> set.add("a"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.calhanwynters.model.shared.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeakInternerTest {
+
+    @Test
+    void returnsOneInstancePerEqualValue() {
+        WeakInterner<String> interner = new WeakInterner<>();
+        String first = new String("Color");
+        String second = new String("Color");
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertSame(first, interner.find(new String("Color")));
+        assertNull(interner.find("Size"));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void dropsValuesNothingElseReferences() throws InterruptedException {
+        WeakInterner<String> interner = new WeakInterner<>();
+        for (int i = 0; i < 1_000; i++) {
+            interner.intern(new String("transient-" + i));
+        }
+        String kept = interner.intern(new String("kept"));
+
+        for (int attempt = 0; attempt < 50 && interner.size() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(1, interner.size());
+        assertSame(kept, interner.intern(new String("kept")));
+        // A collected value is replaced by the next equal one interned
+        String again = new String("transient-1");
+        assertSame(again, interner.intern(again));
+    }
+
+    @Test
+    void concurrentInternersAgreeOnTheCanonicalInstance() throws Exception {
+        WeakInterner<String> interner = new WeakInterner<>();
+        List<Future<List<String>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    List<String> canonical = new ArrayList<>();
+                    for (int i = 0; i < 500; i++) {
+                        canonical.add(interner.intern(new String("value-" + i)));
+                    }
+                    return canonical;
+                }));
+            }
+            List<String> expected = results.getFirst().get();
+            for (Future<List<String>> result : results) {
+                List<String> actual = result.get();
+                for (int i = 0; i < expected.size(); i++) {
+                    assertSame(expected.get(i), actual.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsNull() {
+        assertThrows(NullPointerException.class, () -> new WeakInterner<String>().intern(null));
+    }
+}
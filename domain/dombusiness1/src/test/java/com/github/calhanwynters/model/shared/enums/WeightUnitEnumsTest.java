@@ -2,6 +2,8 @@ package com.github.calhanwynters.model.shared.enums;
 
 import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -175,4 +177,29 @@ public class WeightUnitEnumsTest {
             }
         }
     }
+
+    @Test
+    public void testBatchConversionsMatchBigDecimal() {
+        Random random = new Random(11);
+        int scale = 4;
+        long[] in = new long[1_000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = random.nextLong(1_000_000_000L);
+        }
+        long[] out = new long[in.length];
+        for (WeightUnitEnums unit : WeightUnitEnums.values()) {
+            unit.toGrams(in, out, scale);
+            for (int i = 0; i < in.length; i++) {
+                BigDecimal expected = unit.toGrams(BigDecimal.valueOf(in[i], scale)).setScale(scale, RoundingMode.HALF_UP);
+                assertEquals(expected, BigDecimal.valueOf(out[i], scale), unit + " toGrams of " + in[i]);
+            }
+            unit.fromGrams(in, out, scale);
+            for (int i = 0; i < in.length; i++) {
+                BigDecimal expected = unit.fromGrams(BigDecimal.valueOf(in[i], scale)).setScale(scale, RoundingMode.HALF_UP);
+                assertEquals(expected, BigDecimal.valueOf(out[i], scale), unit + " fromGrams of " + in[i]);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> WeightUnitEnums.OUNCE.toGrams(new long[]{-1}, new long[1], scale));
+        assertThrows(IllegalArgumentException.class, () -> WeightUnitEnums.OUNCE.fromGrams(in, out, -1));
+    }
 }
@@ -0,0 +1,110 @@
+package com.github.calhanwynters.model.shared.events;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.junit.jupiter.api.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainEventsTest {
+
+    private static final MonetaryAmount PRICE = usd("100");
+    private static final CareInstructionVO CARE = new CareInstructionVO("Wash with cold water");
+    private static final WeightVO WEIGHT = WeightVO.ofGrams(new BigDecimal("500"));
+
+    @Test
+    void productBehaviorRaisesTypedEventsInOrder() {
+        Variant variant = Variant.createDraft(PRICE, WEIGHT, CARE, List.of());
+        Variant added = Variant.createDraft(PRICE, WEIGHT, CARE, List.of());
+        DescriptionVO description = new DescriptionVO("A changed product description.");
+        ImageUrlVO image = new ImageUrlVO("https://example.com/image2.jpg");
+
+        DomainEvents.Recorded<Product> recorded = DomainEvents.record(() -> product(variant)
+                .changeDescription(description)
+                .addImage(image)
+                .addVariant(added)
+                .replaceVariants(v -> v.id().equals(variant.id())
+                        ? v.changeBasePrice(usd("80")).activate() : v));
+        Product product = recorded.result();
+
+        assertEquals(List.of(
+                new ProductCreated(product.id(), product.businessId(), "Electronics", 1),
+                new DescriptionChanged(product.id(), description),
+                new ImageAdded(product.id(), image),
+                new VariantAdded(product.id(), added.id(), added.sku()),
+                new PriceChanged(product.id(), variant.id(), PRICE, usd("80"), PRICE, usd("80")),
+                new StatusChanged(product.id(), variant.id(), VariantStatusEnums.DRAFT, VariantStatusEnums.ACTIVE)
+        ), recorded.events());
+    }
+
+    @Test
+    void onlyChangedVariantsRaiseEvents() {
+        Variant first = Variant.createDraft(PRICE, WEIGHT, CARE, List.of());
+        Variant second = Variant.createDraft(PRICE, WEIGHT, CARE, List.of());
+        Product product = product(first, second);
+
+        List<ProductEvent> events = DomainEvents.record(() -> product.replaceVariants(v -> v.id().equals(second.id())
+                ? new Variant(v.id(), v.sku(), usd("100.00"), v.currentPrice(), v.features(), CARE,
+                        WeightVO.ofGrams(new BigDecimal("600")), v.status())
+                : v)).events();
+        assertEquals(List.of(new VariantAttributesChanged(product.id(), second.id())), events);
+
+        assertTrue(DomainEvents.record(() -> product.replaceVariants(v -> v)).events().isEmpty());
+        assertTrue(DomainEvents.record(() -> product.changeDescription(product.description())).events().isEmpty());
+    }
+
+    @Test
+    void nestedRecordingsReachTheOuterOneUnlessTheyFail() {
+        Product product = product(Variant.createDraft(PRICE, WEIGHT, CARE, List.of()));
+        ImageUrlVO image = new ImageUrlVO("https://example.com/image2.jpg");
+
+        DomainEvents.Recorded<Product> outer = DomainEvents.record(() -> {
+            Product inner = DomainEvents.record(() -> product.addImage(image)).result();
+            assertThrows(IllegalStateException.class, () -> DomainEvents.record(() -> {
+                inner.changeDescription(new DescriptionVO("Dropped with the failed change."));
+                throw new IllegalStateException("rejected");
+            }));
+            return inner;
+        });
+
+        assertEquals(List.of(new ImageAdded(product.id(), image)), outer.events());
+        assertFalse(DomainEvents.isRecording());
+    }
+
+    @Test
+    void isolatedRecordingsKeepTheirEventsFromTheOuterOne() {
+        Product product = product(Variant.createDraft(PRICE, WEIGHT, CARE, List.of()));
+        ImageUrlVO image = new ImageUrlVO("https://example.com/image2.jpg");
+
+        DomainEvents.Recorded<List<ProductEvent>> outer =
+                DomainEvents.record(() -> DomainEvents.recordIsolated(() -> product.addImage(image)).events());
+
+        assertEquals(List.of(new ImageAdded(product.id(), image)), outer.result());
+        assertTrue(outer.events().isEmpty());
+    }
+
+    @Test
+    void behaviorOutsideARecordingRaisesNothing() {
+        assertFalse(DomainEvents.isRecording());
+        Product product = product(Variant.createDraft(PRICE, WEIGHT, CARE, List.of()));
+        DomainEvents.raise(new ImageAdded(product.id(), new ImageUrlVO("https://example.com/image2.jpg")));
+        assertTrue(DomainEvents.record(() -> product).events().isEmpty());
+    }
+
+    private static Product product(Variant... variants) {
+        return Product.create(BusinessId.generate(), "Electronics", new DescriptionVO("A great product description."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image1.jpg"))), Set.of(variants));
+    }
+
+    private static MonetaryAmount usd(String amount) {
+        return Monetary.getDefaultAmountFactory().setCurrency("USD").setNumber(new BigDecimal(amount)).create();
+    }
+}
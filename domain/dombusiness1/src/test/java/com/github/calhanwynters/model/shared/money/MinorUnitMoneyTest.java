@@ -0,0 +1,169 @@
+package com.github.calhanwynters.model.shared.money;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.valueobjects.CareInstructionVO;
+import com.github.calhanwynters.model.shared.valueobjects.PercentageVO;
+import com.github.calhanwynters.model.shared.valueobjects.WeightVO;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinorUnitMoneyTest {
+
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+    private static final CurrencyUnit JPY = Monetary.getCurrency("JPY");
+
+    @Test
+    void holdsAmountsAsMinorUnits() {
+        MinorUnitMoney price = MinorUnitMoney.of(new BigDecimal("12.34"), USD);
+        assertEquals(1234, price.minorUnits());
+        assertEquals(2, price.fractionDigits());
+        assertEquals(USD, price.getCurrency());
+        assertEquals(new BigDecimal("12.34"), price.getNumber().numberValue(BigDecimal.class));
+        assertEquals(price, MinorUnitMoney.ofMinor(1234, USD));
+        assertEquals("USD 12.34", price.toString());
+        assertEquals(0, MinorUnitMoney.of(new BigDecimal("500"), JPY).fractionDigits());
+        assertEquals(500, MinorUnitMoney.of(new BigDecimal("500"), JPY).minorUnits());
+    }
+
+    @Test
+    void conversionsNeverRoundSilently() {
+        assertThrows(ArithmeticException.class, () -> MinorUnitMoney.of(new BigDecimal("1.005"), USD));
+        assertThrows(ArithmeticException.class, () -> MinorUnitMoney.of(new BigDecimal("1E+30"), USD));
+        assertEquals(MinorUnitMoney.ofMinor(1999, USD), MinorUnitMoney.from(Money.of(new BigDecimal("19.990"), "USD")));
+        assertEquals(MinorUnitMoney.ofMinor(1999, USD), MinorUnitMoney.from(FastMoney.of(new BigDecimal("19.99"), "USD")));
+        assertThrows(ArithmeticException.class, () -> MinorUnitMoney.from(Money.of(new BigDecimal("19.995"), "USD")));
+    }
+
+    @Test
+    void multiplyRoundsOnceHalfEvenLikeMonetaDefaultRounding() {
+        Random random = new Random(17);
+        for (int i = 0; i < 5_000; i++) {
+            long cents = random.nextLong(-10_000_000, 10_000_000);
+            BigDecimal factor = BigDecimal.valueOf(random.nextInt(0, 20_000), random.nextInt(0, 7));
+            MonetaryAmount expected = Money.of(BigDecimal.valueOf(cents, 2), "USD").multiply(factor)
+                    .with(Monetary.getDefaultRounding());
+
+            MinorUnitMoney actual = MinorUnitMoney.ofMinor(cents, USD).multiply(factor);
+            assertTrue(actual.isEqualTo(expected), () -> cents + " * " + factor + " gave " + actual + ", expected " + expected);
+        }
+    }
+
+    @Test
+    void multiplyFallsBackToBigDecimalForWideFactors() {
+        MinorUnitMoney amount = MinorUnitMoney.ofMinor(Long.MAX_VALUE / 4, USD);
+        // 2305843009213693951 * 0.5 overflows the long product path and rounds half-even up to ...976
+        assertEquals(MinorUnitMoney.ofMinor(1152921504606846976L, USD), amount.multiply(new BigDecimal("0.5")));
+        assertEquals(MinorUnitMoney.ofMinor(333, USD), MinorUnitMoney.ofMinor(1000, USD).multiply(new BigDecimal("0.3333333333333333333333")));
+        assertEquals(MinorUnitMoney.ofMinor(2000, USD), MinorUnitMoney.ofMinor(1000, USD).multiply(2.0d));
+        assertThrows(ArithmeticException.class, () -> amount.multiply(8));
+        assertThrows(ArithmeticException.class, () -> amount.multiply(new BigDecimal("8.5")));
+        assertThrows(ArithmeticException.class, () -> amount.multiply(Double.NaN));
+    }
+
+    @Test
+    void divideRoundsHalfToEven() {
+        assertEquals(2, MinorUnitMoney.ofMinor(5, USD).divide(2).minorUnits());
+        assertEquals(8, MinorUnitMoney.ofMinor(15, USD).divide(2).minorUnits());
+        assertEquals(-8, MinorUnitMoney.ofMinor(-15, USD).divide(2).minorUnits());
+        assertEquals(-2, MinorUnitMoney.ofMinor(5, USD).divide(-2).minorUnits());
+        assertEquals(33, MinorUnitMoney.ofMinor(100, USD).divide(3).minorUnits());
+        assertEquals(400, MinorUnitMoney.ofMinor(100, USD).divide(new BigDecimal("0.25")).minorUnits());
+        assertEquals(0, MinorUnitMoney.ofMinor(100, USD).divide(Long.MIN_VALUE).minorUnits());
+        assertThrows(ArithmeticException.class, () -> MinorUnitMoney.ofMinor(Long.MIN_VALUE, USD).divide(-1));
+        assertThrows(ArithmeticException.class, () -> MinorUnitMoney.ofMinor(100, USD).divide(0));
+    }
+
+    @Test
+    void remainderAndIntegralDivisionMatchBigDecimal() {
+        MinorUnitMoney amount = MinorUnitMoney.of(new BigDecimal("10.75"), USD);
+        assertEquals(MinorUnitMoney.of(new BigDecimal("0.75"), USD), amount.remainder(2));
+        assertEquals(MinorUnitMoney.of(new BigDecimal("5"), USD), amount.divideToIntegralValue(2));
+        MinorUnitMoney[] parts = amount.divideAndRemainder(new BigDecimal("2.5"));
+        assertEquals(MinorUnitMoney.of(new BigDecimal("4"), USD), parts[0]);
+        assertEquals(MinorUnitMoney.of(new BigDecimal("0.75"), USD), parts[1]);
+        assertEquals(MinorUnitMoney.of(new BigDecimal("1075"), USD), amount.scaleByPowerOfTen(2));
+        assertEquals(MinorUnitMoney.of(new BigDecimal("1.08"), USD), amount.scaleByPowerOfTen(-1));
+    }
+
+    @Test
+    void mixesWithMonetaAmountsOfTheSameCurrency() {
+        MinorUnitMoney price = MinorUnitMoney.ofMinor(1000, USD);
+        assertEquals(MinorUnitMoney.ofMinor(1250, USD), price.add(Money.of(new BigDecimal("2.50"), "USD")));
+        assertEquals(MinorUnitMoney.ofMinor(750, USD), price.subtract(FastMoney.of(new BigDecimal("2.5"), "USD")));
+        // A finer Moneta amount is added exactly, then the sum is rounded once
+        assertEquals(MinorUnitMoney.ofMinor(1000, USD), price.add(Money.of(new BigDecimal("0.005"), "USD")));
+        assertTrue(price.isGreaterThan(Money.of(new BigDecimal("9.999"), "USD")));
+        assertTrue(price.isEqualTo(Money.of(10, "USD")));
+        assertTrue(Money.of(10, "USD").isEqualTo(price));
+        assertThrows(MonetaryException.class, () -> price.add(Money.of(1, "EUR")));
+        assertThrows(MonetaryException.class, () -> price.isLessThan(MinorUnitMoney.ofMinor(1, EUR)));
+    }
+
+    @Test
+    void comparesAndNegates() {
+        MinorUnitMoney small = MinorUnitMoney.ofMinor(-250, USD);
+        MinorUnitMoney large = MinorUnitMoney.ofMinor(900, USD);
+        assertTrue(small.isLessThan(large));
+        assertTrue(large.isGreaterThanOrEqualTo(large));
+        assertEquals(-1, small.signum());
+        assertEquals(MinorUnitMoney.ofMinor(250, USD), small.abs());
+        assertEquals(small, small.negate().negate());
+        assertTrue(MinorUnitMoney.ofMinor(1, EUR).compareTo(large) < 0);
+        assertEquals(large.hashCode(), MinorUnitMoney.ofMinor(900, USD).hashCode());
+        assertThrows(ArithmeticException.class, () -> MinorUnitMoney.ofMinor(Long.MIN_VALUE, USD).negate());
+    }
+
+    @Test
+    void variantPricingKeepsTheMinorUnitRepresentation() {
+        MinorUnitMoney base = MinorUnitMoney.of(new BigDecimal("19.99"), USD);
+        Variant variant = Variant.createDraft(base, WeightVO.ofGrams(new BigDecimal("100")),
+                new CareInstructionVO("Wipe clean"), List.of());
+        PercentageVO discount = new PercentageVO(new BigDecimal("0.15"));
+
+        Variant discounted = variant.applyDiscount(discount);
+        MonetaryAmount expected = Money.of(new BigDecimal("19.99"), "USD")
+                .multiply(BigDecimal.ONE.subtract(discount.value())).with(Monetary.getDefaultRounding());
+        assertInstanceOf(MinorUnitMoney.class, discounted.currentPrice());
+        assertTrue(discounted.currentPrice().isEqualTo(expected));
+        assertEquals(1699, ((MinorUnitMoney) discounted.currentPrice()).minorUnits());
+        assertEquals(base, discounted.removeDiscount().currentPrice());
+    }
+
+    @Test
+    void numberValueReportsFractionAndConversions() {
+        MinorUnitMoney amount = MinorUnitMoney.of(new BigDecimal("-12.34"), USD);
+        assertEquals(-34, amount.getNumber().getAmountFractionNumerator());
+        assertEquals(100, amount.getNumber().getAmountFractionDenominator());
+        assertEquals(-12L, amount.getNumber().longValue());
+        assertEquals(-12.34, amount.getNumber().doubleValue());
+        assertEquals(new BigDecimal("-12.3"), amount.getNumber().round(new java.math.MathContext(3, RoundingMode.HALF_EVEN)).numberValue(BigDecimal.class));
+        assertThrows(ArithmeticException.class, () -> amount.getNumber().numberValueExact(Long.class));
+        assertThrows(ArithmeticException.class, () -> amount.getNumber().doubleValueExact());
+    }
+
+    @Test
+    void factoryCreatesAmountsThroughTheMoneyApi() {
+        MinorUnitMoney amount = new MinorUnitMoneyFactory().setCurrency(EUR).setNumber(3.5).create();
+        assertEquals(MinorUnitMoney.ofMinor(350, EUR), amount);
+        assertEquals(amount, amount.getFactory().create());
+        assertEquals(MinorUnitMoney.ofMinor(700, EUR), amount.getFactory().setNumber(7).create());
+        assertEquals(2, amount.getContext().getMaxScale());
+        assertEquals(MinorUnitMoney.class, amount.getContext().getAmountType());
+        assertEquals(new BigDecimal("92233720368547758.07"), new MinorUnitMoneyFactory().setCurrency(EUR).getMaxNumber().numberValue(BigDecimal.class));
+        assertThrows(MonetaryException.class, () -> new MinorUnitMoneyFactory().setNumber(1).create());
+        assertThrows(ArithmeticException.class, () -> new MinorUnitMoneyFactory().setCurrency(JPY).setNumber(0.5).create());
+    }
+}
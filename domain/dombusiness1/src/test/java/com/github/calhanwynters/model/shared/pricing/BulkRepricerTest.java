@@ -0,0 +1,156 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.events.DomainEvents;
+import com.github.calhanwynters.model.shared.events.PriceChanged;
+import com.github.calhanwynters.model.shared.events.ProductEvent;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.junit.jupiter.api.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkRepricerTest {
+
+    private static final BusinessId SHOP = BusinessId.generate();
+    private static final BusinessId OTHER_SHOP = BusinessId.generate();
+    private static final PercentageVO TEN_PERCENT = new PercentageVO(new BigDecimal("0.10"));
+
+    @Test
+    void repricesSelectedVariantsLikeApplyDiscount() {
+        Variant red = variant("RED", 100, "USD", VariantStatusEnums.ACTIVE, new BasicFeature("Color", "Shade", "Red"));
+        Variant blue = variant("BLUE", 80, "USD", VariantStatusEnums.ACTIVE, new BasicFeature("Color", "Shade", "Blue"));
+        Product shirt = product(SHOP, "Apparel", red, blue);
+
+        RepricingResult result = new BulkRepricer().applyDiscount(List.of(shirt),
+                VariantSelector.feature("Color", "Red"), TEN_PERCENT);
+
+        Product repriced = result.products().getFirst();
+        assertEquals(red.applyDiscount(TEN_PERCENT), repriced.findVariantById(red.id()).orElseThrow());
+        assertEquals(blue, repriced.findVariantById(blue.id()).orElseThrow());
+        assertEquals(shirt.id(), repriced.id());
+    }
+
+    @Test
+    void leavesUnmatchedProductsOutOfTheResult() {
+        Product apparel = product(SHOP, "Apparel", variant("A", 50, "USD", VariantStatusEnums.ACTIVE));
+        Product toys = product(SHOP, "Toys", variant("T", 20, "USD", VariantStatusEnums.ACTIVE));
+
+        RepricingResult result = new BulkRepricer().applyDiscount(List.of(apparel, toys),
+                VariantSelector.category("Apparel"), TEN_PERCENT);
+
+        assertEquals(1, result.productsChanged());
+        assertEquals(apparel.id(), result.products().getFirst().id());
+        assertEquals(2, result.productsScanned());
+    }
+
+    @Test
+    void summarisesMatchesChangesAndReductionPerCurrency() {
+        Variant usd = variant("USD-1", 100, "USD", VariantStatusEnums.ACTIVE);
+        Variant eur = variant("EUR-1", 50, "EUR", VariantStatusEnums.ACTIVE);
+        Variant alreadyDiscounted = variant("USD-2", 40, "USD", VariantStatusEnums.ACTIVE).applyDiscount(TEN_PERCENT);
+        Product product = product(SHOP, "Apparel", usd, eur, alreadyDiscounted);
+
+        RepricingResult result = new BulkRepricer().applyDiscount(List.of(product), VariantSelector.all(), TEN_PERCENT);
+
+        assertEquals(3, result.variantsMatched());
+        assertEquals(2, result.variantsChanged());
+        assertEquals(money(10, "USD"), result.reductionByCurrency().get(Monetary.getCurrency("USD")));
+        assertEquals(money(5, "EUR"), result.reductionByCurrency().get(Monetary.getCurrency("EUR")));
+    }
+
+    @Test
+    void combinesSelectors() {
+        Variant active = variant("ACTIVE", 10, "USD", VariantStatusEnums.ACTIVE);
+        Variant draft = variant("DRAFT", 10, "USD", VariantStatusEnums.DRAFT);
+        Product mine = product(SHOP, "Apparel", active, draft);
+        Product theirs = product(OTHER_SHOP, "Apparel", variant("THEIRS", 10, "USD", VariantStatusEnums.ACTIVE));
+
+        VariantSelector selector = VariantSelector.businessId(SHOP).and(VariantSelector.status(VariantStatusEnums.ACTIVE));
+        RepricingResult result = new BulkRepricer().applyDiscount(List.of(mine, theirs), selector, TEN_PERCENT);
+
+        assertEquals(1, result.variantsMatched());
+        assertEquals(List.of(mine.id()), result.products().stream().map(Product::id).toList());
+
+        VariantSelector either = VariantSelector.status(VariantStatusEnums.DRAFT).or(VariantSelector.businessId(OTHER_SHOP));
+        assertEquals(2, new BulkRepricer().applyDiscount(List.of(mine, theirs), either, TEN_PERCENT).variantsMatched());
+        assertEquals(1, new BulkRepricer().applyDiscount(List.of(mine, theirs), either.negate(), TEN_PERCENT).variantsMatched());
+    }
+
+    @Test
+    void parallelRunMatchesSequentialApplyDiscountInInputOrder() {
+        List<Product> catalog = new ArrayList<>();
+        List<Product> expected = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Product product = product(i % 3 == 0 ? OTHER_SHOP : SHOP, "Bulk",
+                    variant("SKU-" + i, 10 + i, "USD", VariantStatusEnums.ACTIVE),
+                    variant("SKU-D-" + i, 5 + i, "USD", VariantStatusEnums.DRAFT));
+            catalog.add(product);
+            if (i % 3 != 0) {
+                expected.add(product.replaceVariants(v -> v.applyDiscount(TEN_PERCENT)));
+            }
+        }
+
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            RepricingResult result = new BulkRepricer(pool, 16).applyDiscount(catalog, VariantSelector.businessId(SHOP), TEN_PERCENT);
+            assertEquals(expected, result.products());
+            assertEquals(2_000, result.productsScanned());
+            assertEquals(expected.size() * 2, result.variantsChanged());
+        }
+    }
+
+    @Test
+    void parallelRunRaisesEveryPriceChangeOnTheRecordingThread() {
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            catalog.add(product(SHOP, "Bulk", variant("SKU-" + i, 10 + i, "USD", VariantStatusEnums.ACTIVE)));
+        }
+
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            BulkRepricer repricer = new BulkRepricer(pool, 8);
+            DomainEvents.Recorded<RepricingResult> recorded =
+                    DomainEvents.record(() -> repricer.applyDiscount(catalog, VariantSelector.all(), TEN_PERCENT));
+
+            List<ProductId> changed = recorded.result().products().stream().map(Product::id).toList();
+            assertEquals(500, changed.size());
+            assertEquals(changed, recorded.events().stream().map(ProductEvent::productId).toList());
+            assertTrue(recorded.events().stream().allMatch(PriceChanged.class::isInstance));
+            // Outside a recording the tasks record nothing
+            assertEquals(500, repricer.applyDiscount(catalog, VariantSelector.all(), TEN_PERCENT).variantsChanged());
+        }
+    }
+
+    @Test
+    void validatesArguments() {
+        BulkRepricer repricer = new BulkRepricer();
+        assertThrows(IllegalArgumentException.class, () -> new BulkRepricer(ForkJoinPool.commonPool(), 0));
+        assertThrows(NullPointerException.class, () -> repricer.applyDiscount(List.of(), null, TEN_PERCENT));
+        assertThrows(NullPointerException.class, () -> repricer.applyDiscount(Collections.singletonList(null), VariantSelector.all(), TEN_PERCENT));
+        assertTrue(repricer.applyDiscount(List.of(), VariantSelector.all(), TEN_PERCENT).products().isEmpty());
+    }
+
+    private static Product product(BusinessId businessId, String category, Variant... variants) {
+        return Product.create(businessId, category, new DescriptionVO("A product used by repricing tests."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))), Set.of(variants));
+    }
+
+    private static Variant variant(String sku, int price, String currency, VariantStatusEnums status, FeatureInterface... features) {
+        MonetaryAmount amount = money(price, currency);
+        return new Variant(VariantId.generate(), sku, amount, amount, List.of(features),
+                new CareInstructionVO("Wipe clean"), WeightVO.ofGrams(new BigDecimal("250")), status);
+    }
+
+    private static MonetaryAmount money(int amount, String currency) {
+        return Monetary.getDefaultAmountFactory().setCurrency(currency).setNumber(amount).create();
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.valueobjects.ScalingPriceFeature;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalingPriceTableTest {
+
+    @Test
+    void pricesAreExactDecimals() {
+        ScalingPriceTable table = ScalingPriceTable.of(feature(0.0, 0.1, 10));
+
+        // The double formula drifts: 0.1 * 3 is 0.30000000000000004
+        assertNotEquals(0.3, feature(0.0, 0.1, 10).calculatePrice(3));
+        assertEquals(new BigDecimal("0.3"), table.calculatePrice(3));
+        assertEquals(new BigDecimal("1.0"), table.calculatePrice(10));
+        assertTrue(table.isPrecomputed());
+        assertEquals(1, table.scale());
+    }
+
+    @Test
+    void tableMatchesTheExactFormulaForEveryQuantity() {
+        ScalingPriceFeature feature = feature(4.99, 0.07, 1000);
+        ScalingPriceTable table = ScalingPriceTable.of(feature);
+        for (int quantity = 0; quantity <= 1000; quantity++) {
+            BigDecimal expected = new BigDecimal("4.99").add(new BigDecimal("0.07").multiply(BigDecimal.valueOf(quantity)));
+            assertEquals(expected, table.calculatePrice(quantity));
+        }
+    }
+
+    @Test
+    void rejectsQuantitiesOutsideTheFeatureRange() {
+        ScalingPriceTable table = ScalingPriceTable.of(feature(5.0, 2.0, 10));
+        IllegalArgumentException negative = assertThrows(IllegalArgumentException.class, () -> table.calculatePrice(-1));
+        assertTrue(negative.getMessage().contains("Quantity must be non-negative"));
+        IllegalArgumentException tooMany = assertThrows(IllegalArgumentException.class, () -> table.calculatePrice(11));
+        assertTrue(tooMany.getMessage().contains("Quantity exceeds maximum allowed."));
+        assertThrows(IllegalArgumentException.class, () -> table.calculatePrices(new int[]{1, 2, 12}));
+    }
+
+    @Test
+    void unboundedAndOversizedFeaturesArePricedOnDemand() {
+        ScalingPriceTable unbounded = ScalingPriceTable.of(feature(10.0, 1.25, -1));
+        assertFalse(unbounded.isPrecomputed());
+        assertEquals(new BigDecimal("2684354568.75"), unbounded.calculatePrice(Integer.MAX_VALUE));
+
+        ScalingPriceTable oversized = ScalingPriceTable.of(feature(1.0, 0.5, ScalingPriceTable.MAX_TABLE_QUANTITY + 1));
+        assertFalse(oversized.isPrecomputed());
+        assertEquals(new BigDecimal("2.5"), oversized.calculatePrice(3));
+    }
+
+    @Test
+    void pricesBeyondTheLongRangeFallBackToBigDecimal() {
+        ScalingPriceTable table = ScalingPriceTable.of(feature(1e17, 0.01, 100));
+        assertFalse(table.isPrecomputed());
+        assertEquals(new BigDecimal("100000000000000001.00"), table.calculatePrice(100));
+
+        ScalingPriceTable huge = ScalingPriceTable.of(feature(9e16, 9e16, -1));
+        assertEquals(new BigDecimal("9E+16").multiply(BigDecimal.valueOf(1001)).setScale(0), huge.calculatePrice(1000));
+    }
+
+    @Test
+    void batchQuotesMatchSingleQuotes() {
+        ScalingPriceTable table = ScalingPriceTable.of(feature(4.99, 0.1, 1000));
+        int[] quantities = {0, 7, 999, 1000, 7};
+
+        BigDecimal[] prices = table.calculatePrices(quantities);
+        long[] unscaled = new long[quantities.length];
+        table.calculateUnscaledPrices(quantities, unscaled);
+        for (int i = 0; i < quantities.length; i++) {
+            assertEquals(table.calculatePrice(quantities[i]), prices[i]);
+            assertEquals(prices[i], BigDecimal.valueOf(unscaled[i], table.scale()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> table.calculateUnscaledPrices(quantities, new long[2]));
+    }
+
+    @Test
+    void rejectsNonFiniteAmounts() {
+        assertThrows(IllegalArgumentException.class, () -> ScalingPriceTable.of(feature(Double.NaN, 1.0, 10)));
+        assertThrows(IllegalArgumentException.class, () -> ScalingPriceTable.of(feature(1.0, Double.POSITIVE_INFINITY, 10)));
+    }
+
+    @Test
+    void engineBuildsEachTableOnce() {
+        ScalingPriceQuoteEngine engine = new ScalingPriceQuoteEngine();
+        ScalingPriceFeature feature = feature(4.99, 0.1, 1000);
+
+        ScalingPriceTable first = engine.table(feature);
+        assertSame(first, engine.table(feature));
+        assertSame(first, engine.table(feature(4.99, 0.1, 1000)));
+        assertEquals(1, engine.cachedTables());
+        assertEquals(new BigDecimal("5.29"), engine.calculatePrice(feature, 3));
+        assertArrayEquals(new BigDecimal[]{new BigDecimal("4.99"), new BigDecimal("5.09")},
+                engine.calculatePrices(feature, new int[]{0, 1}));
+    }
+
+    private static ScalingPriceFeature feature(double baseAmount, double incrementAmount, int maxQuantity) {
+        return new ScalingPriceFeature("Length", "Custom cut length", "Length", "cm", baseAmount, incrementAmount, maxQuantity);
+    }
+}
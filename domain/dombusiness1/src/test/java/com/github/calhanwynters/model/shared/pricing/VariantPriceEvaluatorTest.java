@@ -0,0 +1,76 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+import javax.money.Monetary;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VariantPriceEvaluatorTest {
+
+    private static final ScalingPriceFeature LENGTH = new ScalingPriceFeature("Length", "Cut length", "Length", "cm", 1.0, 0.1, 100);
+
+    @Test
+    void cachesOnePlanPerVariant() {
+        VariantPriceEvaluator evaluator = new VariantPriceEvaluator();
+        Variant variant = variant(Money.of(10, "USD"), List.of(LENGTH));
+
+        VariantPricePlan plan = evaluator.plan(variant);
+        assertSame(plan, evaluator.plan(variant));
+        assertEquals(1, evaluator.cachedPlans());
+        assertTrue(evaluator.price(variant, Map.of("Length", 5)).isEqualTo(Money.of(new BigDecimal("11.5"), "USD")));
+
+        // A repriced variant is a different key and gets its own plan
+        Variant repriced = variant.changeCurrentPrice(Money.of(8, "USD"));
+        assertNotSame(plan, evaluator.plan(repriced));
+        assertTrue(evaluator.price(repriced).isEqualTo(Money.of(9, "USD")));
+    }
+
+    @Test
+    void variantsSharingAFeatureShareItsTable() {
+        ScalingPriceQuoteEngine engine = new ScalingPriceQuoteEngine();
+        VariantPriceEvaluator evaluator = new VariantPriceEvaluator(engine);
+        evaluator.plan(variant(Money.of(10, "USD"), List.of(LENGTH)));
+        evaluator.plan(variant(Money.of(12, "USD"), List.of(LENGTH)));
+
+        assertEquals(2, evaluator.cachedPlans());
+        assertEquals(1, engine.cachedTables());
+    }
+
+    @Test
+    void pricesWholeCartsWithTotalsPerCurrency() {
+        VariantPriceEvaluator evaluator = new VariantPriceEvaluator();
+        Variant rope = variant(Money.of(10, "USD"), List.of(LENGTH));
+        Variant mug = variant(Money.of(4, "EUR"), List.of(new FixedPriceFeature("Print", "Custom print", "Print", 1.5)));
+
+        CartQuote quote = evaluator.price(List.of(
+                new CartLine(rope, Map.of("Length", 20), 2),
+                CartLine.of(mug, 3),
+                new CartLine(rope, Map.of("Length", 0), 1)));
+
+        assertEquals(3, quote.lineTotals().size());
+        assertTrue(quote.lineTotals().get(0).isEqualTo(Money.of(26, "USD")));
+        assertTrue(quote.lineTotals().get(1).isEqualTo(Money.of(new BigDecimal("16.5"), "EUR")));
+        assertTrue(quote.totals().get(Monetary.getCurrency("USD")).isEqualTo(Money.of(37, "USD")));
+        assertTrue(quote.totals().get(Monetary.getCurrency("EUR")).isEqualTo(Money.of(new BigDecimal("16.5"), "EUR")));
+        assertTrue(evaluator.price(List.of()).totals().isEmpty());
+    }
+
+    @Test
+    void cartLinesValidateTheirQuantity() {
+        Variant variant = variant(Money.of(10, "USD"), List.of());
+        assertThrows(IllegalArgumentException.class, () -> CartLine.of(variant, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VariantPriceEvaluator()
+                .price(List.of(new CartLine(variant, Map.of("Length", 1), 1))));
+    }
+
+    private static Variant variant(Money price, List<FeatureInterface> features) {
+        return Variant.createDraft(price, WeightVO.ofGrams(new BigDecimal("100")), new CareInstructionVO("Wipe clean"), features);
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.calhanwynters.model.shared.pricing;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.money.MinorUnitMoney;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VariantPricePlanTest {
+
+    private static final FeatureInterface GIFT_WRAP = new FixedPriceFeature("Gift wrap", "Wrapped in paper", "Wrap", 2.5);
+    private static final FeatureInterface ENGRAVING = new FixedPriceFeature("Engraving", "Laser engraving", "Name", 0.1);
+    private static final ScalingPriceFeature LENGTH = new ScalingPriceFeature("Length", "Cut length", "Length", "cm", 1.0, 0.1, 100);
+    private static final ScalingPriceFeature CHARMS = new ScalingPriceFeature("Charms", "Extra charms", "Charms", "pcs", 0.0, 0.2, 10);
+
+    @Test
+    void addsFixedAndScalingFeaturesToTheCurrentPrice() {
+        Variant variant = variant(Money.of(new BigDecimal("20.00"), "USD"),
+                List.of(LENGTH, GIFT_WRAP, new BasicFeature("Color", "Shade", "Red"), CHARMS, ENGRAVING));
+        VariantPricePlan plan = VariantPricePlan.compile(variant);
+
+        assertEquals(List.of("Charms", "Length"), plan.scalingFeatureNames());
+        assertEquals(new BigDecimal("2.6"), plan.fixedSurcharge());
+        // 20.00 + 2.5 + 0.1 + (0.2 * 3) + (1.0 + 0.1 * 3), exactly
+        assertTrue(plan.price(3, 3).isEqualTo(Money.of(new BigDecimal("24.50"), "USD")));
+        assertTrue(plan.price(Map.of("Length", 3, "Charms", 3)).isEqualTo(plan.price(3, 3)));
+        // Missing names are priced at quantity 0
+        assertTrue(plan.price(Map.of()).isEqualTo(plan.price(0, 0)));
+    }
+
+    @Test
+    void pricesFollowTheVariantsDiscountAndAmountType() {
+        Variant variant = variant(MinorUnitMoney.of(new BigDecimal("20.00"), Monetary.getCurrency("USD")), List.of(GIFT_WRAP))
+                .applyDiscount(new PercentageVO(new BigDecimal("0.10")));
+        MonetaryAmount price = VariantPricePlan.compile(variant).price();
+
+        assertEquals(MinorUnitMoney.of(new BigDecimal("20.50"), Monetary.getCurrency("USD")), price);
+    }
+
+    @Test
+    void minorUnitPricesRoundSubCentSurchargesHalfEven() {
+        CurrencyUnit usd = Monetary.getCurrency("USD");
+        FeatureInterface sample = new FixedPriceFeature("Sample", "Fabric sample", "Sample", 0.015);
+        ScalingPriceFeature thread = new ScalingPriceFeature("Thread", "Thread", "Thread", "m", 0.0, 0.0025, 10);
+        VariantPricePlan plan = VariantPricePlan.compile(variant(MinorUnitMoney.of(new BigDecimal("20.00"), usd),
+                List.of(sample, thread)));
+
+        // 20.015 and 20.02 + 0.005
+        assertEquals(MinorUnitMoney.of(new BigDecimal("20.02"), usd), plan.price(0));
+        assertEquals(MinorUnitMoney.of(new BigDecimal("20.02"), usd), plan.price(2));
+        // Other amount types keep the exact total
+        assertEquals(0, new BigDecimal("20.015").compareTo(VariantPricePlan.compile(
+                variant(Money.of(20, "USD"), List.of(sample))).price().getNumber().numberValue(BigDecimal.class)));
+    }
+
+    @Test
+    void scalingFeaturesWithoutNameOrLabelSortFirst() {
+        ScalingPriceFeature unnamed = new ScalingPriceFeature(null, "Unnamed", "Unnamed", "pcs", 0.5, 0.0, 10);
+        ScalingPriceFeature unlabelled = new ScalingPriceFeature("Length", "Cut length", null, "cm", 0.25, 0.0, 10);
+        Variant variant = variant(Money.of(10, "USD"), List.of(LENGTH, unlabelled, CHARMS, unnamed));
+        VariantPricePlan plan = VariantPricePlan.compile(variant);
+
+        assertEquals(Arrays.asList(null, "Charms", "Length", "Length"), plan.scalingFeatureNames());
+        // Quantities follow that order: the unlabelled Length (0.25 flat) comes before LENGTH
+        assertTrue(plan.price(0, 1, 0, 2).isEqualTo(Money.of(new BigDecimal("12.15"), "USD")));
+    }
+
+    @Test
+    void variantWithoutPricedFeaturesKeepsItsCurrentPrice() {
+        Variant variant = variant(Money.of(10, "EUR"), List.of(new BasicFeature("Size", "Size", "M")));
+        assertSame(variant.currentPrice(), VariantPricePlan.compile(variant).price());
+    }
+
+    @Test
+    void rejectsMismatchedQuantities() {
+        VariantPricePlan plan = VariantPricePlan.compile(variant(Money.of(10, "USD"), List.of(LENGTH)));
+        assertThrows(IllegalArgumentException.class, () -> plan.price(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> plan.price(101));
+        assertThrows(IllegalArgumentException.class, () -> plan.price(Map.of("Width", 1)));
+    }
+
+    @Test
+    void sumsBeyondTheLongRangeStayExact() {
+        ScalingPriceFeature huge = new ScalingPriceFeature("Bulk", "Bulk", "Bulk", "t", 9e16, 0.01, 10);
+        ScalingPriceFeature fine = new ScalingPriceFeature("Fine", "Fine", "Fine", "g", 0.0, 1e-12, 10);
+        VariantPricePlan plan = VariantPricePlan.compile(variant(Money.of(0, "USD"), List.of(huge, fine)));
+
+        BigDecimal expected = new BigDecimal("90000000000000000.10").add(new BigDecimal("5E-12"));
+        assertEquals(0, expected.compareTo(plan.price(10, 5).getNumber().numberValue(BigDecimal.class)));
+    }
+
+    private static Variant variant(MonetaryAmount price, List<FeatureInterface> features) {
+        return Variant.createDraft(price, WeightVO.ofGrams(new BigDecimal("100")), new CareInstructionVO("Wipe clean"), features);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.calhanwynters.model.shared.units;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstantDivisorTest {
+
+    @Test
+    void matchesLongDivisionForRandomOperands() {
+        Random random = new Random(23);
+        for (int i = 0; i < 2_000; i++) {
+            long divisor = 1 + random.nextLong(1L << (1 + random.nextInt(62)));
+            ConstantDivisor constant = ConstantDivisor.of(divisor);
+            for (int j = 0; j < 50; j++) {
+                long dividend = random.nextLong(Long.MAX_VALUE);
+                assertEquals(dividend / divisor, constant.divide(dividend), dividend + " / " + divisor);
+            }
+            assertEquals(Long.MAX_VALUE / divisor, constant.divide(Long.MAX_VALUE));
+            assertEquals(0, constant.divide(0));
+        }
+    }
+
+    @Test
+    void handlesPowersOfTwoAndExactMultiples() {
+        for (int shift = 0; shift < 63; shift++) {
+            long divisor = 1L << shift;
+            ConstantDivisor constant = ConstantDivisor.of(divisor);
+            assertEquals(Long.MAX_VALUE / divisor, constant.divide(Long.MAX_VALUE));
+            assertEquals(3, constant.divide(3 * divisor));
+        }
+        ConstantDivisor ounces = ConstantDivisor.of(28_349_523_125L);
+        assertEquals(1_000, ounces.divide(28_349_523_125_000L));
+        assertEquals(999, ounces.divide(28_349_523_124_999L));
+    }
+
+    @Test
+    void roundsHalfUp() {
+        ConstantDivisor ten = ConstantDivisor.of(10);
+        assertEquals(1, ten.divideHalfUp(14));
+        assertEquals(2, ten.divideHalfUp(15));
+        assertEquals(2, ten.divideHalfUp(24));
+        ConstantDivisor seven = ConstantDivisor.of(7);
+        assertEquals(2, seven.divideHalfUp(17));
+        assertEquals(3, seven.divideHalfUp(18));
+        assertThrows(IllegalArgumentException.class, () -> ConstantDivisor.of(0));
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.calhanwynters.model.shared.units;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointConversionTest {
+
+    private static final MathContext MC = new MathContext(16, RoundingMode.HALF_UP);
+    private static final List<BigDecimal> FACTORS = List.of(
+            BigDecimal.ONE, new BigDecimal("1000.0"), new BigDecimal("28.349523125"),
+            new BigDecimal("453.59237"), new BigDecimal("31.1034768"), new BigDecimal("0.2"));
+
+    @Test
+    void multiplyMatchesBigDecimalAtEveryScale() {
+        Random random = new Random(3);
+        for (BigDecimal factor : FACTORS) {
+            for (int scale = 0; scale <= FixedPointConversion.MAX_SCALE; scale++) {
+                assertMatches(FixedPointConversion.multiply(factor, MC, scale), v -> v.multiply(factor, MC), random);
+                assertMatches(FixedPointConversion.multiply(factor, MathContext.UNLIMITED, scale), v -> v.multiply(factor), random);
+            }
+        }
+    }
+
+    @Test
+    void divideMatchesBigDecimalAtEveryScale() {
+        Random random = new Random(5);
+        for (BigDecimal factor : FACTORS) {
+            for (int scale = 0; scale <= FixedPointConversion.MAX_SCALE; scale++) {
+                assertMatches(FixedPointConversion.divide(factor, 8, scale), v -> v.divide(factor, 8, RoundingMode.HALF_UP), random);
+                assertMatches(FixedPointConversion.divide(factor, 4, scale), v -> v.divide(factor, 4, RoundingMode.HALF_UP), random);
+            }
+        }
+    }
+
+    @Test
+    void precisionRoundingIsAppliedBeforeTheFinalScale() {
+        // 0.49999999999999999 has 17 digits: rounding to 16 gives 0.5, which then rounds up to 1 at scale 0
+        BigDecimal factor = new BigDecimal("0.49999999999999999");
+        assertEquals(1L, FixedPointConversion.multiply(factor, MC, 0).apply(1L));
+        assertEquals(0L, FixedPointConversion.multiply(factor, MathContext.UNLIMITED, 0).apply(1L));
+        long[] ones = new long[20];
+        Arrays.fill(ones, 1L);
+        long[] out = new long[20];
+        FixedPointConversion.multiply(factor, MC, 0).apply(ones, out);
+        assertTrue(Arrays.stream(out).allMatch(v -> v == 1L));
+    }
+
+    @Test
+    void identityCopiesAndRejectsNegatives() {
+        long[] values = {0, 5, Long.MAX_VALUE};
+        long[] out = new long[3];
+        FixedPointConversion.identity(2).apply(values, out);
+        assertArrayEquals(values, out);
+        assertThrows(IllegalArgumentException.class, () -> FixedPointConversion.identity(2).apply(new long[]{1, -1}, new long[2]));
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        FixedPointConversion plan = FixedPointConversion.multiply(new BigDecimal("0.2"), MC, 4);
+        long[] withNegative = new long[64];
+        withNegative[40] = -1;
+        assertThrows(IllegalArgumentException.class, () -> plan.apply(withNegative, new long[64]));
+        assertThrows(IllegalArgumentException.class, () -> plan.apply(new long[4], new long[3]));
+        assertThrows(IllegalArgumentException.class, () -> FixedPointConversion.multiply(BigDecimal.ONE, MC, 19));
+        assertThrows(IllegalArgumentException.class, () -> FixedPointConversion.divide(BigDecimal.ZERO, 4, 4));
+    }
+
+    @Test
+    void convertsInPlace() {
+        long[] values = {10_000, 20_000, 30_000};
+        FixedPointConversion.multiply(new BigDecimal("1000.0"), MC, 4).apply(values, values);
+        assertArrayEquals(new long[]{10_000_000, 20_000_000, 30_000_000}, values);
+    }
+
+    // Checks the batch call, whichever kernel it picks, and the scalar kernel against the per-element BigDecimal result
+    private static void assertMatches(FixedPointConversion plan, UnaryOperator<BigDecimal> reference, Random random) {
+        int length = 1_003;
+        long[] in = new long[length];
+        long[] expected = new long[length];
+        for (int i = 0; i < length; i++) {
+            long value = sample(random, i);
+            Long converted = convert(reference, value, plan.scale());
+            if (converted == null) {
+                // The result does not fit a long; the conversion rejects those, so leave them out of the sample
+                value = 0;
+                converted = 0L;
+            }
+            in[i] = value;
+            expected[i] = converted;
+        }
+        long[] batch = new long[length];
+        plan.apply(in, batch);
+        long[] scalar = new long[length];
+        plan.applyScalar(in, scalar, 0, length);
+        for (int i = 0; i < length; i++) {
+            if (expected[i] != batch[i] || expected[i] != scalar[i]) {
+                fail("Element " + in[i] + " at scale " + plan.scale() + ": expected " + expected[i]
+                        + " but batch gave " + batch[i] + " and scalar gave " + scalar[i]);
+            }
+        }
+        assertArrayEquals(expected, Arrays.copyOf(batch, length));
+    }
+
+    private static long sample(Random random, int i) {
+        return switch (i % 4) {
+            case 0 -> random.nextLong(1_000_000);
+            case 1 -> random.nextLong(10_000_000_000L);
+            case 2 -> random.nextLong(1L << (10 + random.nextInt(53)));
+            // Values that end in ...5 and ...50 exercise HALF_UP ties
+            default -> random.nextLong(100_000_000L) * 100 + 50;
+        };
+    }
+
+    private static Long convert(UnaryOperator<BigDecimal> reference, long value, int scale) {
+        try {
+            return reference.apply(BigDecimal.valueOf(value, scale)).setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+}
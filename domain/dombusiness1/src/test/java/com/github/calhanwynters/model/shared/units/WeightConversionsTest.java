@@ -0,0 +1,70 @@
+package com.github.calhanwynters.model.shared.units;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightConversionsTest {
+
+    private static final MathContext EXACT = new MathContext(60, RoundingMode.HALF_UP);
+
+    @Test
+    void convertRoundsTheExactRatioOnceForEveryPair() {
+        Random random = new Random(31);
+        for (MassUnit from : MassUnit.values()) {
+            for (MassUnit to : MassUnit.values()) {
+                for (int i = 0; i < 500; i++) {
+                    BigDecimal value = BigDecimal.valueOf(random.nextLong(1_000_000_000_000L), random.nextInt(9));
+                    int scale = 4 + random.nextInt(5);
+                    BigDecimal expected = value.multiply(from.gramsPerUnit())
+                            .divide(to.gramsPerUnit(), EXACT).setScale(scale, RoundingMode.HALF_UP);
+                    assertEquals(expected, WeightConversions.convert(from, to, value, scale), from + " -> " + to + " of " + value);
+                }
+            }
+        }
+    }
+
+    @Test
+    void convertFromGramsMatchesDivision() {
+        Random random = new Random(37);
+        for (MassUnit unit : MassUnit.values()) {
+            for (int i = 0; i < 2_000; i++) {
+                // Include values finer than the target scale and values too large for the long fast path
+                BigDecimal grams = BigDecimal.valueOf(random.nextLong(Long.MAX_VALUE >>> random.nextInt(63)), random.nextInt(12));
+                assertEquals(grams.divide(unit.gramsPerUnit(), 8, RoundingMode.HALF_UP),
+                        WeightConversions.convert(MassUnit.GRAM, unit, grams, 8), unit + " of " + grams);
+            }
+        }
+    }
+
+    @Test
+    void convertScaledMatchesConvert() {
+        Random random = new Random(41);
+        for (MassUnit from : MassUnit.values()) {
+            for (MassUnit to : MassUnit.values()) {
+                for (int i = 0; i < 200; i++) {
+                    long scaled = random.nextLong(Long.MAX_VALUE >>> random.nextInt(63));
+                    BigDecimal expected = WeightConversions.convert(from, to, BigDecimal.valueOf(scaled, 4), 4);
+                    if (expected.unscaledValue().bitLength() > 63) {
+                        assertThrows(ArithmeticException.class, () -> WeightConversions.convertScaled(from, to, scaled));
+                        continue;
+                    }
+                    assertEquals(expected.unscaledValue().longValueExact(), WeightConversions.convertScaled(from, to, scaled));
+                }
+            }
+        }
+    }
+
+    @Test
+    void directRatiosAreExact() {
+        assertEquals(new BigDecimal("16.0000"), WeightConversions.convert(MassUnit.POUND, MassUnit.OUNCE, BigDecimal.ONE, 4));
+        assertEquals(new BigDecimal("5000.0000"), WeightConversions.convert(MassUnit.KILOGRAM, MassUnit.CARAT, BigDecimal.ONE, 4));
+        assertEquals(new BigDecimal("0.0625"), WeightConversions.convert(MassUnit.OUNCE, MassUnit.POUND, BigDecimal.ONE, 4));
+        assertSame(BigDecimal.TEN, WeightConversions.toGrams(MassUnit.GRAM, BigDecimal.TEN, MathContext.DECIMAL32));
+    }
+}
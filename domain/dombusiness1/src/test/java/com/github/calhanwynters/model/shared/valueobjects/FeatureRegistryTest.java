@@ -0,0 +1,71 @@
+package com.github.calhanwynters.model.shared.valueobjects;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureRegistryTest {
+
+    @Test
+    void factoriesShareFeaturesAndTheirStrings() {
+        FeatureRegistry registry = new FeatureRegistry();
+        BasicFeature red = registry.basic(new String("Color"), new String("Shade"), new String("Red"));
+        BasicFeature blue = registry.basic(new String("Color"), new String("Shade"), new String("Blue"));
+
+        assertSame(red, registry.basic(new String("Color"), new String("Shade"), new String("Red")));
+        assertSame(red.name(), blue.name());
+        assertSame(red.featureDescription(), blue.featureDescription());
+        assertEquals(new BasicFeature("Color", "Shade", "Red"), red);
+
+        ScalingPriceFeature length = registry.scalingPrice("Length", "Cut", "Length", new String("cm"), 1.0, 0.1, 10);
+        assertSame(length, registry.scalingPrice("Length", "Cut", "Length", new String("cm"), 1.0, 0.1, 10));
+        assertNotSame(length, registry.scalingPrice("Length", "Cut", "Length", "cm", 1.0, 0.2, 10));
+        assertSame(registry.fixedPrice("Wrap", "Gift", "Wrap", 2.5), registry.fixedPrice("Wrap", "Gift", "Wrap", 2.5));
+    }
+
+    @Test
+    void internCanonicalizesFeaturesBuiltElsewhere() {
+        FeatureRegistry registry = new FeatureRegistry();
+        FeatureInterface canonical = registry.intern(new FixedPriceFeature(new String("Wrap"), "Gift", "Wrap", 2.5));
+        FeatureInterface copy = registry.intern(new FixedPriceFeature(new String("Wrap"), "Gift", "Wrap", 2.5));
+
+        assertSame(canonical, copy);
+        assertSame(registry.intern(new String("Wrap")), canonical.name());
+        assertNull(registry.intern((String) null));
+        // Nulls the decoders tolerate in priced features survive interning
+        ScalingPriceFeature noUnit = new ScalingPriceFeature("Length", "Cut", "Length", null, 1.0, 0.1, 10);
+        assertEquals(noUnit, registry.intern(noUnit));
+    }
+
+    @Test
+    void internAllSharesWholeFeatureLists() {
+        FeatureRegistry registry = new FeatureRegistry();
+        List<FeatureInterface> first = registry.internAll(new ArrayList<>(List.of(
+                new BasicFeature("Color", "Shade", "Red"), new BasicFeature("Size", "Size", "M"))));
+        List<FeatureInterface> second = registry.internAll(List.of(
+                new BasicFeature(new String("Color"), "Shade", "Red"), new BasicFeature("Size", "Size", "M")));
+
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new BasicFeature("A", "B", "C")));
+        assertSame(List.of(), registry.internAll(List.of()));
+        assertEquals(1, registry.internedFeatureLists());
+        assertEquals(2, registry.internedFeatures());
+    }
+
+    @Test
+    void createDraftStoresTheGlobalCanonicalList() {
+        List<FeatureInterface> features = List.of(new BasicFeature("Color", "Shade", "Teal"));
+        Variant a = Variant.createDraft(Money.of(1, "USD"), WeightVO.ofGrams(BigDecimal.ONE), new CareInstructionVO("Dry"), features);
+        Variant b = Variant.createDraft(Money.of(2, "USD"), WeightVO.ofGrams(BigDecimal.ONE), new CareInstructionVO("Dry"),
+                new ArrayList<>(features));
+
+        assertSame(a.features(), b.features());
+        assertSame(FeatureRegistry.global().internAll(features), a.features());
+    }
+}
@@ -59,4 +59,23 @@ class GalleryVOTest {
         assertNotNull(primary);
         assertTrue(images.contains(primary));
     }
-}
\ No newline at end of file
+
+    @Test
+    void withImageReturnsNewGalleryAndKeepsOriginal() {
+        GalleryVO gallery = new GalleryVO(Set.of(new ImageUrlVO("http://a.jpg")));
+        GalleryVO updated = gallery.withImage(new ImageUrlVO("http://b.jpg"));
+        assertEquals(1, gallery.images().size());
+        assertEquals(Set.of(new ImageUrlVO("http://a.jpg"), new ImageUrlVO("http://b.jpg")), updated.images());
+        assertEquals(updated, updated.withImage(new ImageUrlVO("http://b.jpg")), "Adding an existing image is a no-op");
+    }
+
+    @Test
+    void withImageEnforcesMaximum() {
+        Set<ImageUrlVO> fifteen = new HashSet<>();
+        for (int i = 0; i < 15; i++) {
+            fifteen.add(new ImageUrlVO("http://img" + i + ".jpg"));
+        }
+        GalleryVO gallery = new GalleryVO(fifteen);
+        assertThrows(IllegalArgumentException.class, () -> gallery.withImage(new ImageUrlVO("http://img15.jpg")));
+    }
+}
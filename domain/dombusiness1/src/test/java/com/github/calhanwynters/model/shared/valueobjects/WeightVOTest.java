@@ -3,6 +3,10 @@ package com.github.calhanwynters.model.shared.valueobjects;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -153,4 +157,86 @@ public class WeightVOTest {
         WeightVO halfKilo = WeightVO.ofKilograms(new BigDecimal("0.5")); // 500g > ~453g
         assertTrue(halfKilo.compareTo(onePound) > 0, "0.5 KG should be greater than 1 LB");
     }
+
+    @Test
+    public void testScaledArithmeticMatchesBigDecimal() {
+        Random random = new Random(13);
+        WeightVO.WeightUnit[] units = WeightVO.WeightUnit.values();
+        for (int i = 0; i < 5_000; i++) {
+            WeightVO a = randomWeight(random, units);
+            WeightVO b = randomWeight(random, units);
+            BigDecimal gramsA = a.unit().toGrams(a.amount()).setScale(4, RoundingMode.HALF_UP).stripTrailingZeros();
+            BigDecimal gramsB = b.unit().toGrams(b.amount()).setScale(4, RoundingMode.HALF_UP).stripTrailingZeros();
+
+            assertEquals(gramsA, a.inGrams());
+            assertEquals(Integer.signum(gramsA.compareTo(gramsB)), Integer.signum(a.compareTo(b)));
+            assertEquals(WeightVO.ofGrams(gramsA.add(gramsB)), a.add(b));
+            if (gramsA.compareTo(gramsB) >= 0) {
+                assertEquals(WeightVO.ofGrams(gramsA.subtract(gramsB)), a.subtract(b));
+            } else {
+                assertThrows(IllegalArgumentException.class, () -> a.subtract(b));
+            }
+        }
+    }
+
+    @Test
+    public void testSumMatchesChainedAdd() {
+        Random random = new Random(29);
+        List<WeightVO> cart = new ArrayList<>();
+        WeightVO chained = WeightVO.ofGrams(BigDecimal.ZERO);
+        for (int i = 0; i < 200; i++) {
+            WeightVO item = randomWeight(random, WeightVO.WeightUnit.values());
+            cart.add(item);
+            chained = chained.add(item);
+        }
+        assertEquals(chained, WeightVO.sum(cart));
+        assertEquals(WeightVO.ofGrams(BigDecimal.ZERO), WeightVO.sum(List.of()));
+
+        List<WeightVO> tooHeavy = List.of(WeightVO.ofKilograms(new BigDecimal("60")), WeightVO.ofKilograms(new BigDecimal("40.0001")));
+        assertThrows(IllegalArgumentException.class, () -> WeightVO.sum(tooHeavy));
+        assertThrows(IllegalArgumentException.class, () -> tooHeavy.get(0).add(tooHeavy.get(1)));
+        assertEquals(WeightVO.ofKilograms(new BigDecimal("100")).inGrams(),
+                WeightVO.ofKilograms(new BigDecimal("60")).add(WeightVO.ofKilograms(new BigDecimal("40"))).inGrams());
+    }
+
+    @Test
+    public void testEqualityAndStringIgnoreCachedGrams() {
+        WeightVO weight = WeightVO.ofOunces(new BigDecimal("2.50"));
+        assertEquals(weight, new WeightVO(new BigDecimal("2.5"), WeightVO.WeightUnit.OUNCE));
+        assertEquals(weight.hashCode(), new WeightVO(new BigDecimal("2.5"), WeightVO.WeightUnit.OUNCE).hashCode());
+        assertEquals("WeightVO[amount=2.5, unit=OUNCE]", weight.toString());
+        // Same grams in another unit is a different value, though it compares equal
+        WeightVO grams = weight.toUnit(WeightVO.WeightUnit.GRAM);
+        assertNotEquals(weight, grams);
+        assertEquals(0, weight.compareTo(WeightVO.ofGrams(grams.inGrams())));
+        assertEquals(weight.inGrams().movePointRight(4).longValueExact(), weight.scaledGrams());
+    }
+
+    @Test
+    public void testBatchUnitConversionsMatchBigDecimal() {
+        Random random = new Random(17);
+        long[] in = new long[500];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = random.nextLong(1_000_000_000L);
+        }
+        long[] out = new long[in.length];
+        for (WeightVO.WeightUnit unit : WeightVO.WeightUnit.values()) {
+            unit.toGrams(in, out, 4);
+            for (int i = 0; i < in.length; i++) {
+                assertEquals(unit.toGrams(BigDecimal.valueOf(in[i], 4)).setScale(4, RoundingMode.HALF_UP), BigDecimal.valueOf(out[i], 4));
+            }
+            unit.fromGrams(in, out, 4);
+            for (int i = 0; i < in.length; i++) {
+                assertEquals(unit.fromGrams(BigDecimal.valueOf(in[i], 4)).setScale(4, RoundingMode.HALF_UP), BigDecimal.valueOf(out[i], 4));
+            }
+        }
+    }
+
+    private static WeightVO randomWeight(Random random, WeightVO.WeightUnit[] units) {
+        WeightVO.WeightUnit unit = units[random.nextInt(units.length)];
+        // Keep each weight under 400 g so sums of two stay within the maximum
+        BigDecimal grams = BigDecimal.valueOf(random.nextLong(4_000_000), 4);
+        BigDecimal amount = unit.fromGrams(grams).add(BigDecimal.valueOf(random.nextInt(10_000), 8));
+        return new WeightVO(amount, unit);
+    }
 }
@@ -0,0 +1,98 @@
+package com.github.calhanwynters.repositories;
+
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchWriterTest {
+
+    private final List<List<ProductId>> batchCalls = new ArrayList<>();
+    private final List<ProductId> written = new ArrayList<>();
+    private ProductId poisoned;
+
+    @Test
+    void writesItemsInBatchesOfConfiguredSize() {
+        BatchWriter<ProductId> writer = writer(ProductId.generate());
+        List<ProductId> ids = ids(10);
+
+        BatchWriteResult result = writer.write(ids);
+
+        assertTrue(result.isSuccess());
+        assertEquals(10, result.attempted());
+        assertEquals(10, result.succeeded());
+        assertEquals(3, result.batches());
+        assertEquals(List.of(4, 4, 2), batchCalls.stream().map(List::size).toList());
+        assertEquals(ids, written);
+    }
+
+    @Test
+    void failedBatchIsReplayedToIsolateFailingItems() {
+        List<ProductId> ids = ids(8);
+        ProductId poisoned = ids.get(5);
+        BatchWriter<ProductId> writer = writer(poisoned);
+
+        BatchWriteResult result = writer.write(ids);
+
+        assertFalse(result.isSuccess());
+        assertEquals(7, result.succeeded());
+        assertEquals(1, result.failures().size());
+        assertEquals(poisoned, result.failures().getFirst().id());
+        assertInstanceOf(IllegalStateException.class, result.failures().getFirst().cause());
+        // Every healthy item of the failed batch still lands
+        assertTrue(written.containsAll(ids.stream().filter(id -> !id.equals(poisoned)).toList()));
+    }
+
+    @Test
+    void nullItemsAreReportedWithoutId() {
+        List<ProductId> ids = new ArrayList<>(ids(2));
+        ids.add(null);
+        BatchWriteResult result = writer(ProductId.generate()).write(ids);
+
+        assertEquals(1, result.failures().size());
+        assertNull(result.failures().getFirst().id());
+        assertInstanceOf(NullPointerException.class, result.failures().getFirst().cause());
+    }
+
+    @Test
+    void emptyInputWritesNoBatches() {
+        BatchWriteResult result = writer(ProductId.generate()).write(List.of());
+        assertEquals(0, result.batches());
+        assertTrue(batchCalls.isEmpty());
+    }
+
+    @Test
+    void rejectsNonPositiveBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchWriter<ProductId>(0, id -> id, batch -> { }, id -> { }));
+    }
+
+    private BatchWriter<ProductId> writer(ProductId poisoned) {
+        this.poisoned = poisoned;
+        return new BatchWriter<>(4, id -> id, batch -> {
+            batchCalls.add(new ArrayList<>(batch));
+            batch.forEach(this::writeOne);
+        }, this::writeOne);
+    }
+
+    private void writeOne(ProductId id) {
+        if (id == null) {
+            throw new NullPointerException("id must not be null");
+        }
+        if (id.equals(poisoned)) {
+            throw new IllegalStateException("cannot write " + id.value());
+        }
+        written.add(id);
+    }
+
+    private static List<ProductId> ids(int count) {
+        List<ProductId> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(ProductId.generate());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.calhanwynters.repositories;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the default streaming methods against a minimal sorted-map-backed repository.
+ */
+class ProductQueryRepositoryTest {
+
+    private final NavigableMap<ProductId, Product> store = new TreeMap<>(ProductPage.KEY_ORDER);
+    private int findPageCalls;
+
+    private final ProductQueryRepository repository = new ProductQueryRepository() {
+        @Override
+        public Optional<Product> findById(ProductId id) {
+            return Optional.ofNullable(store.get(id));
+        }
+
+        @Override
+        public Collection<Product> findAll() {
+            return List.copyOf(store.values());
+        }
+
+        @Override
+        public ProductPage findPage(ProductId after, int limit) {
+            findPageCalls++;
+            if (limit <= 0) {
+                throw new IllegalArgumentException("limit must be positive");
+            }
+            List<Product> window = (after == null ? store : store.tailMap(after, false)).values().stream()
+                    .limit(limit + 1L)
+                    .toList();
+            if (window.size() <= limit) {
+                return ProductPage.last(window);
+            }
+            List<Product> page = window.subList(0, limit);
+            return new ProductPage(page, page.getLast().id());
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 25; i++) {
+            Product product = Product.create(
+                    BusinessId.generate(),
+                    "Category",
+                    new DescriptionVO("Product used for paging tests."),
+                    new GalleryVO(Set.of(new ImageUrlVO("https://example.com/" + i + ".jpg"))));
+            store.put(product.id(), product);
+        }
+    }
+
+    @Test
+    void streamAllVisitsProductsInKeyOrder() {
+        assertEquals(List.copyOf(store.keySet()), repository.streamAll(10).map(Product::id).toList());
+    }
+
+    @Test
+    void streamAllFetchesOnePageAtATime() {
+        Iterator<Product> iterator = repository.streamAll(10).iterator();
+        iterator.next();
+        assertEquals(1, findPageCalls, "Only the first page should be fetched after the first element");
+
+        int count = 1;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        assertEquals(25, count);
+        assertEquals(3, findPageCalls);
+    }
+
+    @Test
+    void rejectsNonPositivePrefetch() {
+        assertThrows(IllegalArgumentException.class, () -> repository.streamAll(0));
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.calhanwynters.model.shared.units;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.github.calhanwynters.model.shared.units.FixedPointConversion.POWERS_OF_TEN;
+
+/**
+ * Vector API kernel behind {@link FixedPointConversion}. Compiled only by the {@code vector}
+ * build profile and only loaded when the {@code jdk.incubator.vector} module is present.
+ * <p>
+ * There is no packed 64-bit integer division, so each division estimates the quotient
+ * with packed doubles, corrects it with an exact long remainder, and then rounds
+ * HALF_UP on that remainder. A vector that holds a negative or out-of-range element
+ * is handed to the scalar path, which throws or falls back to BigDecimal for that element.
+ */
+final class FixedPointVectorKernel implements FixedPointConversion.BatchKernel {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    // Instantiated reflectively by FixedPointConversion
+    FixedPointVectorKernel() {
+    }
+
+    @Override
+    public void apply(FixedPointConversion plan, long[] in, long[] out, int length) {
+        int upper = LONGS.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += LONGS.length()) {
+            LongVector values = LongVector.fromArray(LONGS, in, i);
+            VectorMask<Long> outOfRange = values.compare(VectorOperators.LT, 0)
+                    .or(values.compare(VectorOperators.GT, plan.maxFastInput));
+            if (outOfRange.anyTrue()) {
+                plan.applyScalar(in, out, i, i + LONGS.length());
+                continue;
+            }
+            LongVector converted = plan.kind == FixedPointConversion.Kind.MULTIPLY ? multiply(plan, values) : divide(plan, values);
+            converted.intoArray(out, i);
+        }
+        plan.applyScalar(in, out, i, length);
+    }
+
+    private static LongVector multiply(FixedPointConversion plan, LongVector values) {
+        LongVector product = values.mul(plan.factorUnscaled);
+        if (plan.precision == 0) {
+            return divideHalfUp(product, LongVector.broadcast(LONGS, POWERS_OF_TEN[plan.factorScale]));
+        }
+        // Round the product to precision digits first, then to the target scale, like multiply(factor, mathContext)
+        LongVector dropDivisor = LongVector.broadcast(LONGS, 1);
+        LongVector scaleDivisor = LongVector.broadcast(LONGS, POWERS_OF_TEN[plan.factorScale]);
+        LongVector scaleMultiplier = LongVector.broadcast(LONGS, 1);
+        for (int dropped = 1; plan.precision + dropped - 1 <= FixedPointConversion.MAX_SCALE; dropped++) {
+            VectorMask<Long> longer = product.compare(VectorOperators.GE, POWERS_OF_TEN[plan.precision + dropped - 1]);
+            if (!longer.anyTrue()) {
+                break;
+            }
+            int remaining = plan.factorScale - dropped;
+            dropDivisor = dropDivisor.blend(POWERS_OF_TEN[dropped], longer);
+            scaleDivisor = scaleDivisor.blend(remaining >= 0 ? POWERS_OF_TEN[remaining] : 1, longer);
+            scaleMultiplier = scaleMultiplier.blend(remaining >= 0 ? 1 : POWERS_OF_TEN[-remaining], longer);
+        }
+        LongVector rounded = divideHalfUp(product, dropDivisor);
+        return divideHalfUp(rounded, scaleDivisor).mul(scaleMultiplier);
+    }
+
+    private static LongVector divide(FixedPointConversion plan, LongVector values) {
+        LongVector quotient = divideHalfUp(values.mul(plan.numeratorMultiplier), LongVector.broadcast(LONGS, plan.divisor));
+        if (plan.scale >= plan.intermediateScale) {
+            return quotient.mul(POWERS_OF_TEN[plan.scale - plan.intermediateScale]);
+        }
+        return divideHalfUp(quotient, LongVector.broadcast(LONGS, POWERS_OF_TEN[plan.intermediateScale - plan.scale]));
+    }
+
+    // Non-negative dividend, divisor in [1, 2^40]; the first estimate is within a few thousand of the quotient
+    private static LongVector divideHalfUp(LongVector dividend, LongVector divisor) {
+        DoubleVector divisorAsDouble = (DoubleVector) divisor.convertShape(VectorOperators.L2D, DOUBLES, 0);
+        LongVector quotient = estimate(dividend, divisorAsDouble);
+        LongVector remainder = dividend.sub(quotient.mul(divisor));
+        // The remainder is small enough to be exact as a double, so the second estimate is off by at most one
+        LongVector correction = estimate(remainder, divisorAsDouble);
+        quotient = quotient.add(correction);
+        remainder = remainder.sub(correction.mul(divisor));
+
+        VectorMask<Long> negative = remainder.compare(VectorOperators.LT, 0);
+        quotient = quotient.sub(1, negative);
+        remainder = remainder.add(divisor, negative);
+        VectorMask<Long> tooLarge = remainder.compare(VectorOperators.GE, divisor);
+        quotient = quotient.add(1, tooLarge);
+        remainder = remainder.sub(divisor, tooLarge);
+
+        VectorMask<Long> roundUp = remainder.compare(VectorOperators.GE, divisor.sub(remainder));
+        return quotient.add(1, roundUp);
+    }
+
+    private static LongVector estimate(LongVector dividend, DoubleVector divisor) {
+        DoubleVector quotient = ((DoubleVector) dividend.convertShape(VectorOperators.L2D, DOUBLES, 0)).div(divisor);
+        return (LongVector) quotient.convertShape(VectorOperators.D2L, LONGS, 0);
+    }
+}
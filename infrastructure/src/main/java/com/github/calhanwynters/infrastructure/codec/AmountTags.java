@@ -0,0 +1,75 @@
+package com.github.calhanwynters.infrastructure.codec;
+
+import com.github.calhanwynters.model.shared.money.MinorUnitMoney;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The closed set of {@link MonetaryAmount} implementations the serializers persist, each
+ * identified by a one-byte tag. Decoding maps a tag to a fixed factory, so a payload can only
+ * ever produce one of these types and never names a class to load.
+ */
+public final class AmountTags {
+
+    public static final byte MONEY = 0;
+    public static final byte FAST_MONEY = 1;
+    public static final byte ROUNDED_MONEY = 2;
+    public static final byte MINOR_UNIT_MONEY = 3;
+
+    // Creates an amount of one implementation type
+    private interface AmountCreator {
+        MonetaryAmount create(BigDecimal number, CurrencyUnit currency);
+    }
+
+    // Indexed by tag; the static factories allocate a fraction of what Monetary's generic factory does
+    private static final List<AmountCreator> CREATORS = List.of(
+            Money::of, FastMoney::of, RoundedMoney::of, MinorUnitMoney::of);
+
+    private AmountTags() {
+    }
+
+    /**
+     * The tag of the amount's implementation type.
+     *
+     * @throws IllegalArgumentException if the type is not one of the supported implementations.
+     */
+    public static byte of(MonetaryAmount amount) {
+        Objects.requireNonNull(amount, "amount must not be null");
+        return switch (amount) {
+            case Money money -> MONEY;
+            case FastMoney money -> FAST_MONEY;
+            case RoundedMoney money -> ROUNDED_MONEY;
+            case MinorUnitMoney money -> MINOR_UNIT_MONEY;
+            default -> throw new IllegalArgumentException(
+                    "Unsupported monetary amount type: " + amount.getClass().getName());
+        };
+    }
+
+    /**
+     * Returns the tag if it is known, so a decoder can reject a payload before reading further.
+     *
+     * @throws IllegalStateException if the tag is unknown.
+     */
+    public static int checkTag(int tag) {
+        if (tag < 0 || tag >= CREATORS.size()) {
+            throw new IllegalStateException("Unknown amount tag: " + tag);
+        }
+        return tag;
+    }
+
+    /**
+     * Creates an amount of the tagged type.
+     *
+     * @throws IllegalStateException if the tag is unknown.
+     */
+    public static MonetaryAmount create(int tag, BigDecimal number, CurrencyUnit currency) {
+        return CREATORS.get(checkTag(tag)).create(number, currency);
+    }
+}
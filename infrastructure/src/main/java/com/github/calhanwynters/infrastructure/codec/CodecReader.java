@@ -0,0 +1,190 @@
+package com.github.calhanwynters.infrastructure.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the {@link ProductCodec} wire format straight out of a {@link ByteBuffer}.
+ * Reads are absolute, so the caller's buffer position is never touched and the
+ * bytes are never copied as a whole. The string table is only indexed up front;
+ * each string is decoded the first time it is read and then shared, so skipped
+ * fields cost no allocation. A reader can be {@linkplain #reset re-pointed} at
+ * another payload to reuse its arrays.
+ */
+final class CodecReader {
+
+    private ByteBuffer buffer;
+    private int position;
+    private int stringCount;
+    private int[] stringStarts = new int[16];
+    private int[] stringLengths = new int[16];
+    private String[] strings = new String[16];
+    private byte[] scratch;
+
+    CodecReader() {
+    }
+
+    CodecReader(ByteBuffer buffer, int expectedVersion) {
+        reset(buffer, expectedVersion);
+    }
+
+    /*** Points the reader at a new payload starting at the buffer's position. */
+    CodecReader reset(ByteBuffer payload, int expectedVersion) {
+        // A view with a fixed byte order, sharing the caller's bytes
+        this.buffer = payload.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.position = payload.position();
+        int version = readByte();
+        if (version != expectedVersion) {
+            throw new IllegalStateException("Unsupported codec version " + version + ", expected " + expectedVersion);
+        }
+        stringCount = readVarInt();
+        if (stringStarts.length < stringCount) {
+            int capacity = Math.max(stringCount, stringStarts.length * 2);
+            stringStarts = new int[capacity];
+            stringLengths = new int[capacity];
+            strings = new String[capacity];
+        } else {
+            Arrays.fill(strings, 0, stringCount, null);
+        }
+        for (int i = 0; i < stringCount; i++) {
+            int length = readVarInt();
+            stringStarts[i] = position;
+            stringLengths[i] = length;
+            position += length;
+        }
+        return this;
+    }
+
+    int position() {
+        return position;
+    }
+
+    void position(int position) {
+        this.position = position;
+    }
+
+    // --- Primitives ---
+
+    int readByte() {
+        return buffer.get(position++);
+    }
+
+    int readVarInt() {
+        int result = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get(position++);
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+    }
+
+    long readVarLong() {
+        long result = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get(position++);
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+    }
+
+    double readDouble() {
+        double value = Double.longBitsToDouble(buffer.getLong(position));
+        position += 8;
+        return value;
+    }
+
+    // --- Strings ---
+
+    /*** Reads a string-table reference; 0 stands for null. */
+    int readStringRef() {
+        return readVarInt();
+    }
+
+    String readString() {
+        return string(readStringRef());
+    }
+
+    String readRequiredString() {
+        String value = readString();
+        if (value == null) {
+            throw new IllegalStateException("Unexpected null string at offset " + position);
+        }
+        return value;
+    }
+
+    String string(int reference) {
+        if (reference == 0) {
+            return null;
+        }
+        int index = reference - 1;
+        String value = strings[index];
+        if (value == null) {
+            value = decode(stringStarts[index], stringLengths[index]);
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    /*** Compares a referenced string with ASCII bytes without decoding it. */
+    boolean stringEquals(int reference, byte[] ascii) {
+        if (reference == 0 || stringLengths[reference - 1] != ascii.length) {
+            return false;
+        }
+        int start = stringStarts[reference - 1];
+        for (int i = 0; i < ascii.length; i++) {
+            if (buffer.get(start + i) != ascii[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decode(int start, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        if (scratch == null || scratch.length < length) {
+            scratch = new byte[Math.max(length, 64)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // --- Decimals ---
+
+    BigDecimal readDecimal() {
+        int header = readVarInt();
+        int scale = unZigZag(header >>> 1);
+        if ((header & 1) == 0) {
+            return BigDecimal.valueOf(unZigZag(readVarLong()), scale);
+        }
+        byte[] bytes = new byte[readVarInt()];
+        buffer.get(position, bytes);
+        position += bytes.length;
+        return new BigDecimal(new BigInteger(bytes), scale);
+    }
+
+    void skipDecimal() {
+        if ((readVarInt() & 1) == 0) {
+            readVarLong();
+        } else {
+            position += readVarInt();
+        }
+    }
+
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
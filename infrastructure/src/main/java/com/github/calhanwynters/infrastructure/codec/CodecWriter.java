@@ -0,0 +1,153 @@
+package com.github.calhanwynters.infrastructure.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Growable output buffer for the {@link ProductCodec} wire format.
+ * Strings are not written inline: each distinct string is added once to a
+ * table that precedes the body, and the body refers to it by index.
+ * Instances are reused per thread and are not thread-safe.
+ */
+final class CodecWriter {
+
+    private byte[] body = new byte[1024];
+    private int position;
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    void reset() {
+        position = 0;
+        stringIndex.clear();
+        strings.clear();
+    }
+
+    // --- Primitives ---
+
+    void writeByte(int value) {
+        ensure(1);
+        body[position++] = (byte) value;
+    }
+
+    void writeVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            body[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        body[position++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            body[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        body[position++] = (byte) value;
+    }
+
+    void writeDouble(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            body[position++] = (byte) (bits >>> shift);
+        }
+    }
+
+    void writeBytes(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, body, position, bytes.length);
+        position += bytes.length;
+    }
+
+    // --- Domain Primitives ---
+
+    /*** Writes a reference into the string table; 0 stands for null. */
+    void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = stringIndex.get(value);
+        if (index == null) {
+            index = strings.size();
+            stringIndex.put(value, index);
+            strings.add(value);
+        }
+        writeVarInt(index + 1);
+    }
+
+    /**
+     * Writes a decimal as its scale and unscaled value. The header varint holds the
+     * zigzag-encoded scale and a flag telling whether the unscaled value fits a long.
+     */
+    void writeDecimal(BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        boolean large = unscaled.bitLength() > 63;
+        writeVarInt(zigZag(value.scale()) << 1 | (large ? 1 : 0));
+        if (large) {
+            byte[] bytes = unscaled.toByteArray();
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        } else {
+            writeVarLong(zigZag(unscaled.longValueExact()));
+        }
+    }
+
+    // --- Output ---
+
+    /*** Returns the version byte, the string table and the body as one array. */
+    byte[] toByteArray(int version) {
+        byte[][] encoded = new byte[strings.size()][];
+        int tableSize = varIntSize(strings.size());
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            tableSize += varIntSize(encoded[i].length) + encoded[i].length;
+        }
+        byte[] out = new byte[1 + tableSize + position];
+        int at = 0;
+        out[at++] = (byte) version;
+        at = putVarInt(out, at, encoded.length);
+        for (byte[] string : encoded) {
+            at = putVarInt(out, at, string.length);
+            System.arraycopy(string, 0, out, at, string.length);
+            at += string.length;
+        }
+        System.arraycopy(body, 0, out, at, position);
+        return out;
+    }
+
+    private void ensure(int bytes) {
+        if (position + bytes > body.length) {
+            body = Arrays.copyOf(body, Math.max(body.length * 2, position + bytes));
+        }
+    }
+
+    private static int putVarInt(byte[] out, int at, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[at++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[at++] = (byte) value;
+        return at;
+    }
+
+    private static int varIntSize(int value) {
+        return (32 - Integer.numberOfLeadingZeros(value | 1) + 6) / 7;
+    }
+
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
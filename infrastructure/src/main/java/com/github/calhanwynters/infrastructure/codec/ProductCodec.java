@@ -0,0 +1,335 @@
+package com.github.calhanwynters.infrastructure.codec;
+
+import com.github.calhanwynters.infrastructure.persistence.ProductSerializer;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Hand-written, versioned binary codec for the product aggregate and its parts.
+ * <p>
+ * Every payload starts with a version byte and a table of the distinct strings it
+ * uses; the body refers to strings by varint index, so repeated feature names,
+ * labels, units and enum names cost one or two bytes each. Lengths, counts and
+ * references are varints. Decimals ({@link WeightVO}, {@link PercentageVO} and amounts)
+ * are written as scale plus unscaled value, and currencies as an index into a fixed
+ * dictionary of common ISO codes, falling back to the string table. Amounts keep their
+ * implementation type through a tag from the closed set in {@link AmountTags}.
+ * <p>
+ * Decoding reads directly from the given {@link ByteBuffer}, heap or mapped, without
+ * copying it first. Decoded features and feature lists are canonicalized through a
+ * {@link FeatureRegistry}. Encoders are reused per thread; the codec itself is thread-safe.
+ */
+public final class ProductCodec implements ProductSerializer {
+
+    /*** Record format used when the codec backs a segment log store. */
+    public static final byte FORMAT = 2;
+
+    /*** Version of the wire layout; bump it whenever the layout changes. */
+    static final int VERSION = 2;
+
+    private static final byte BASIC_FEATURE = 1;
+    private static final byte FIXED_PRICE_FEATURE = 2;
+    private static final byte SCALING_PRICE_FEATURE = 3;
+
+    // Append only: the position of a code is part of the wire format
+    private static final List<String> CURRENCIES = List.of(
+            "USD", "EUR", "JPY", "GBP", "CNY", "AUD", "CAD", "CHF", "HKD", "SGD",
+            "SEK", "KRW", "NOK", "NZD", "INR", "MXN", "TWD", "ZAR", "BRL", "DKK",
+            "PLN", "THB", "ILS", "IDR", "CZK", "AED", "TRY", "HUF", "CLP", "SAR",
+            "PHP", "MYR", "COP", "RON", "ARS", "VND", "EGP", "NGN", "PKR", "QAR");
+    private static final Map<String, Integer> CURRENCY_INDEX = indexOf(CURRENCIES);
+
+    private static final ThreadLocal<CodecWriter> WRITERS = ThreadLocal.withInitial(CodecWriter::new);
+
+    private final FeatureRegistry featureRegistry;
+    private final Map<String, CurrencyUnit> currencies = new ConcurrentHashMap<>();
+
+    public ProductCodec() {
+        this(FeatureRegistry.global());
+    }
+
+    public ProductCodec(FeatureRegistry featureRegistry) {
+        this.featureRegistry = Objects.requireNonNull(featureRegistry, "featureRegistry must not be null");
+    }
+
+    @Override
+    public byte format() {
+        return FORMAT;
+    }
+
+    // --- Public API ---
+
+    @Override
+    public byte[] serialize(Product product) {
+        return encode(product);
+    }
+
+    @Override
+    public Product deserialize(ByteBuffer payload) {
+        return decode(payload);
+    }
+
+    public byte[] encode(Product product) {
+        Objects.requireNonNull(product, "product must not be null");
+        return write(product, this::writeProduct);
+    }
+
+    /*** Decodes a product starting at the buffer's position, leaving the position unchanged. */
+    public Product decode(ByteBuffer buffer) {
+        return readProduct(new CodecReader(buffer, VERSION));
+    }
+
+    /*** Returns a reusable flyweight for reading products lazily; one per thread. */
+    public ProductView newView() {
+        return new ProductView(this);
+    }
+
+    public byte[] encodeVariant(Variant variant) {
+        Objects.requireNonNull(variant, "variant must not be null");
+        return write(variant, this::writeVariant);
+    }
+
+    public Variant decodeVariant(ByteBuffer buffer) {
+        return readVariant(new CodecReader(buffer, VERSION));
+    }
+
+    public byte[] encodePercentage(PercentageVO percentage) {
+        Objects.requireNonNull(percentage, "percentage must not be null");
+        return write(percentage, (out, value) -> out.writeDecimal(value.value()));
+    }
+
+    public PercentageVO decodePercentage(ByteBuffer buffer) {
+        return new PercentageVO(new CodecReader(buffer, VERSION).readDecimal());
+    }
+
+    private static <T> byte[] write(T value, BiConsumer<CodecWriter, T> body) {
+        CodecWriter out = WRITERS.get();
+        out.reset();
+        body.accept(out, value);
+        return out.toByteArray(VERSION);
+    }
+
+    // --- Product ---
+
+    private void writeProduct(CodecWriter out, Product product) {
+        out.writeString(product.id().value());
+        out.writeString(product.businessId().value());
+        out.writeString(product.category());
+        out.writeString(product.description().value());
+        out.writeVarInt(product.gallery().images().size());
+        for (ImageUrlVO image : product.gallery().images()) {
+            out.writeString(image.url());
+        }
+        out.writeVarInt(product.variants().size());
+        for (Variant variant : product.variants()) {
+            writeVariant(out, variant);
+        }
+    }
+
+    Product readProduct(CodecReader in) {
+        ProductId id = new ProductId(in.readRequiredString());
+        BusinessId businessId = new BusinessId(in.readRequiredString());
+        String category = in.readRequiredString();
+        DescriptionVO description = new DescriptionVO(in.readRequiredString());
+        ImageUrlVO[] images = new ImageUrlVO[in.readVarInt()];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = new ImageUrlVO(in.readRequiredString());
+        }
+        Variant[] variants = new Variant[in.readVarInt()];
+        for (int i = 0; i < variants.length; i++) {
+            variants[i] = readVariant(in);
+        }
+        return new Product(id, businessId, category, description,
+                new GalleryVO(asSet(images)), asSet(variants));
+    }
+
+    // --- Variant ---
+
+    private void writeVariant(CodecWriter out, Variant variant) {
+        out.writeString(variant.id().value());
+        out.writeString(variant.sku());
+        writeAmount(out, variant.basePrice());
+        writeAmount(out, variant.currentPrice());
+        out.writeVarInt(variant.features().size());
+        for (FeatureInterface feature : variant.features()) {
+            writeFeature(out, feature);
+        }
+        out.writeString(variant.careInstructions().instructions());
+        out.writeDecimal(variant.weight().amount());
+        out.writeString(variant.weight().unit().name());
+        out.writeString(variant.status().name());
+    }
+
+    Variant readVariant(CodecReader in) {
+        VariantId id = new VariantId(in.readRequiredString());
+        String sku = in.readRequiredString();
+        MonetaryAmount basePrice = readAmount(in);
+        MonetaryAmount currentPrice = readAmount(in);
+        FeatureInterface[] features = new FeatureInterface[in.readVarInt()];
+        for (int i = 0; i < features.length; i++) {
+            features[i] = readFeature(in);
+        }
+        CareInstructionVO careInstructions = new CareInstructionVO(in.readRequiredString());
+        WeightVO weight = new WeightVO(in.readDecimal(), WeightVO.WeightUnit.valueOf(in.readRequiredString()));
+        VariantStatusEnums status = VariantStatusEnums.valueOf(in.readRequiredString());
+        return new Variant(id, sku, basePrice, currentPrice, featureRegistry.internAll(Arrays.asList(features)),
+                careInstructions, weight, status);
+    }
+
+    /**
+     * Skips one variant, recording where its current price starts and the string
+     * references of its SKU and status in {@code positions}: {price, sku, status}.
+     */
+    static void skipVariant(CodecReader in, int[] positions) {
+        in.readStringRef();
+        positions[1] = in.readStringRef();
+        skipAmount(in);
+        positions[0] = in.position();
+        skipAmount(in);
+        int featureCount = in.readVarInt();
+        for (int i = 0; i < featureCount; i++) {
+            skipFeature(in);
+        }
+        in.readStringRef();
+        in.skipDecimal();
+        in.readStringRef();
+        positions[2] = in.readStringRef();
+    }
+
+    // --- Features ---
+
+    private static void writeFeature(CodecWriter out, FeatureInterface feature) {
+        switch (feature) {
+            case BasicFeature basic -> {
+                out.writeByte(BASIC_FEATURE);
+                writeFeatureHeader(out, basic);
+            }
+            case FixedPriceFeature fixed -> {
+                out.writeByte(FIXED_PRICE_FEATURE);
+                writeFeatureHeader(out, fixed);
+                out.writeDouble(fixed.fixedPrice());
+            }
+            case ScalingPriceFeature scaling -> {
+                out.writeByte(SCALING_PRICE_FEATURE);
+                writeFeatureHeader(out, scaling);
+                out.writeString(scaling.measurementUnit());
+                out.writeDouble(scaling.baseAmount());
+                out.writeDouble(scaling.incrementAmount());
+                // Zigzag, since a negative maximum means unbounded
+                out.writeVarInt(CodecWriter.zigZag(scaling.maxQuantity()));
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unsupported feature type: " + feature.getClass().getName());
+        }
+    }
+
+    private static void writeFeatureHeader(CodecWriter out, FeatureInterface feature) {
+        out.writeString(feature.name());
+        out.writeString(feature.featureDescription());
+        out.writeString(feature.label());
+    }
+
+    private FeatureInterface readFeature(CodecReader in) {
+        int tag = in.readByte();
+        String name = in.readString();
+        String featureDescription = in.readString();
+        String label = in.readString();
+        return switch (tag) {
+            case BASIC_FEATURE -> featureRegistry.basic(name, featureDescription, label);
+            case FIXED_PRICE_FEATURE -> featureRegistry.fixedPrice(name, featureDescription, label, in.readDouble());
+            case SCALING_PRICE_FEATURE -> {
+                String measurementUnit = in.readString();
+                double baseAmount = in.readDouble();
+                double incrementAmount = in.readDouble();
+                int maxQuantity = CodecReader.unZigZag(in.readVarInt());
+                yield featureRegistry.scalingPrice(name, featureDescription, label,
+                        measurementUnit, baseAmount, incrementAmount, maxQuantity);
+            }
+            default -> throw new IllegalStateException("Unknown feature tag: " + tag);
+        };
+    }
+
+    private static void skipFeature(CodecReader in) {
+        int tag = in.readByte();
+        in.readStringRef();
+        in.readStringRef();
+        in.readStringRef();
+        switch (tag) {
+            case BASIC_FEATURE -> { }
+            case FIXED_PRICE_FEATURE -> in.position(in.position() + 8);
+            case SCALING_PRICE_FEATURE -> {
+                in.readStringRef();
+                in.position(in.position() + 16);
+                in.readVarInt();
+            }
+            default -> throw new IllegalStateException("Unknown feature tag: " + tag);
+        }
+    }
+
+    // --- Money ---
+
+    static void writeAmount(CodecWriter out, MonetaryAmount amount) {
+        out.writeByte(AmountTags.of(amount));
+        String code = amount.getCurrency().getCurrencyCode();
+        Integer known = CURRENCY_INDEX.get(code);
+        if (known != null) {
+            out.writeVarInt(known);
+        } else {
+            out.writeVarInt(CURRENCIES.size());
+            out.writeString(code);
+        }
+        out.writeDecimal(amount.getNumber().numberValue(BigDecimal.class));
+    }
+
+    MonetaryAmount readAmount(CodecReader in) {
+        int tag = AmountTags.checkTag(in.readByte());
+        int currencyIndex = in.readVarInt();
+        String code = currencyIndex < CURRENCIES.size() ? CURRENCIES.get(currencyIndex) : in.readRequiredString();
+        CurrencyUnit currency = currencies.computeIfAbsent(code, Monetary::getCurrency);
+        return AmountTags.create(tag, in.readDecimal(), currency);
+    }
+
+    private static void skipAmount(CodecReader in) {
+        in.readByte();
+        if (in.readVarInt() >= CURRENCIES.size()) {
+            in.readStringRef();
+        }
+        in.skipDecimal();
+    }
+
+    // --- Helpers ---
+
+    private static Map<String, Integer> indexOf(List<String> values) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            index.put(values.get(i), i);
+        }
+        return Map.copyOf(index);
+    }
+
+    // Set view over decoded elements; the aggregate and GalleryVO copy it into their own structures
+    private static <E> Set<E> asSet(E[] elements) {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<E> iterator() {
+                return Arrays.asList(elements).iterator();
+            }
+
+            @Override
+            public int size() {
+                return elements.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.calhanwynters.infrastructure.codec;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.BusinessId;
+import com.github.calhanwynters.model.shared.valueobjects.DescriptionVO;
+import com.github.calhanwynters.model.shared.valueobjects.ImageUrlVO;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import javax.money.MonetaryAmount;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Flyweight over a {@link ProductCodec} payload that reads fields on demand.
+ * <p>
+ * {@link #wrap} only indexes the payload: it records where each string and each
+ * variant starts, reusing its arrays from the previous payload. Strings are
+ * decoded when first asked for, amounts when {@link #currentPrice} is called,
+ * and a full {@link Product} or {@link Variant} only through {@link #toProduct}
+ * and {@link #variant}. A listing that reads the id, category, primary image and
+ * active prices therefore never builds descriptions, feature lists or variants.
+ * <p>
+ * A view is mutable and not thread-safe; values read from it stay valid after
+ * the view is re-wrapped, but the view must not be used while its buffer changes.
+ */
+public final class ProductView {
+
+    private static final byte[] ACTIVE = VariantStatusEnums.ACTIVE.name().getBytes(StandardCharsets.US_ASCII);
+
+    private final ProductCodec codec;
+    private final CodecReader reader = new CodecReader();
+    private final int[] scratch = new int[3];
+    private boolean wrapped;
+
+    private int idRef;
+    private int businessIdRef;
+    private int categoryRef;
+    private int descriptionRef;
+    private int imageCount;
+    private int primaryImageRef;
+    private int bodyStart;
+    private int variantCount;
+    private int[] variantStarts = new int[8];
+    private int[] priceStarts = new int[8];
+    private int[] skuRefs = new int[8];
+    private int[] statusRefs = new int[8];
+
+    ProductView(ProductCodec codec) {
+        this.codec = codec;
+    }
+
+    /*** Points the view at a payload starting at the buffer's position and returns it. */
+    public ProductView wrap(ByteBuffer payload) {
+        Objects.requireNonNull(payload, "payload must not be null");
+        reader.reset(payload, ProductCodec.VERSION);
+        bodyStart = reader.position();
+        idRef = reader.readStringRef();
+        businessIdRef = reader.readStringRef();
+        categoryRef = reader.readStringRef();
+        descriptionRef = reader.readStringRef();
+        imageCount = reader.readVarInt();
+        for (int i = 0; i < imageCount; i++) {
+            int ref = reader.readStringRef();
+            if (i == 0) {
+                primaryImageRef = ref;
+            }
+        }
+        variantCount = reader.readVarInt();
+        if (variantStarts.length < variantCount) {
+            int capacity = Math.max(variantCount, variantStarts.length * 2);
+            variantStarts = Arrays.copyOf(variantStarts, capacity);
+            priceStarts = Arrays.copyOf(priceStarts, capacity);
+            skuRefs = Arrays.copyOf(skuRefs, capacity);
+            statusRefs = Arrays.copyOf(statusRefs, capacity);
+        }
+        for (int i = 0; i < variantCount; i++) {
+            variantStarts[i] = reader.position();
+            ProductCodec.skipVariant(reader, scratch);
+            priceStarts[i] = scratch[0];
+            skuRefs[i] = scratch[1];
+            statusRefs[i] = scratch[2];
+        }
+        wrapped = true;
+        return this;
+    }
+
+    // --- Product Fields ---
+
+    public ProductId id() {
+        return new ProductId(string(idRef));
+    }
+
+    public BusinessId businessId() {
+        return new BusinessId(string(businessIdRef));
+    }
+
+    public String category() {
+        return string(categoryRef);
+    }
+
+    public DescriptionVO description() {
+        return new DescriptionVO(string(descriptionRef));
+    }
+
+    public int imageCount() {
+        checkWrapped();
+        return imageCount;
+    }
+
+    /*** The first image of the gallery, matching {@code GalleryVO.getPrimaryImage()} of the decoded product. */
+    public ImageUrlVO primaryImage() {
+        return new ImageUrlVO(string(primaryImageRef));
+    }
+
+    // --- Variant Fields ---
+
+    public int variantCount() {
+        checkWrapped();
+        return variantCount;
+    }
+
+    public String sku(int variant) {
+        return string(skuRefs[checkVariant(variant)]);
+    }
+
+    public VariantStatusEnums status(int variant) {
+        return VariantStatusEnums.valueOf(string(statusRefs[checkVariant(variant)]));
+    }
+
+    /*** Checks the status without decoding any string. */
+    public boolean isActive(int variant) {
+        return reader.stringEquals(statusRefs[checkVariant(variant)], ACTIVE);
+    }
+
+    public MonetaryAmount currentPrice(int variant) {
+        reader.position(priceStarts[checkVariant(variant)]);
+        return codec.readAmount(reader);
+    }
+
+    // --- Materialization ---
+
+    public Variant variant(int variant) {
+        reader.position(variantStarts[checkVariant(variant)]);
+        return codec.readVariant(reader);
+    }
+
+    public Product toProduct() {
+        checkWrapped();
+        reader.position(bodyStart);
+        return codec.readProduct(reader);
+    }
+
+    private String string(int reference) {
+        checkWrapped();
+        return reader.string(reference);
+    }
+
+    private int checkVariant(int variant) {
+        checkWrapped();
+        Objects.checkIndex(variant, variantCount);
+        return variant;
+    }
+
+    private void checkWrapped() {
+        if (!wrapped) {
+            throw new IllegalStateException("No payload wrapped yet");
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable, append-only event log behind an {@link OutboxEventPublisher}, split into segment
+ * files named after the sequence number of their first record.
+ * <p>
+ * Records are laid out back to back as
+ * {@code [int length][int crc][long sequence][long publishedAt][payload]}, where {@code length}
+ * covers everything after the checksum. Sequence numbers start at 1 and have no gaps.
+ * {@link #append} writes a whole batch into one segment and forces it once before the records
+ * become readable, so a reader never sees an event that a crash could still lose. On open, every segment is
+ * scanned and the last one is truncated after its final intact record.
+ * <p>
+ * Each listener's progress is a checkpoint file holding the last sequence it completed,
+ * replaced atomically. Sealed segments are deleted once every listener has completed them.
+ * Appends are serialized by a lock; reads are positional and need none.
+ */
+final class EventOutbox implements AutoCloseable {
+
+    /*** A record read back from the log. */
+    record StoredEvent(long sequence, long publishedAt, byte[] payload) {
+    }
+
+    /*** A reader's position; owned by one thread. */
+    static final class Cursor {
+        private Segment segment;
+        private long position;
+        private long nextSequence;
+
+        private Cursor(long nextSequence) {
+            this.nextSequence = nextSequence;
+        }
+
+        long nextSequence() {
+            return nextSequence;
+        }
+    }
+
+    private static final String PREFIX = "outbox-";
+    private static final String SUFFIX = ".log";
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final int HEADER = 4 + 4;
+    private static final int FIXED_BODY = 8 + 8;
+
+    private static final class Segment {
+        private final long firstSequence;
+        private final Path path;
+        private final FileChannel channel;
+        // Guarded by writeLock
+        private long size;
+        // Bytes forced to disk and visible to readers
+        private volatile long durableSize;
+        private volatile boolean sealed;
+
+        private Segment(long firstSequence, Path path, FileChannel channel, long size) {
+            this.firstSequence = firstSequence;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+            this.durableSize = size;
+        }
+    }
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private volatile long lastSequence;
+
+    EventOutbox(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        recover();
+    }
+
+    // --- Recovery ---
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(EventOutbox::isSegmentFile).sorted(Comparator.comparingLong(EventOutbox::idOf)).toList();
+            }
+            for (Path file : files) {
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                Segment segment = new Segment(idOf(file), file, channel, 0);
+                long end = scan(segment);
+                if (end < channel.size()) {
+                    // A torn append; later records would follow it unseen
+                    channel.truncate(end);
+                    channel.force(true);
+                }
+                segment.size = end;
+                segment.durableSize = end;
+                segment.sealed = true;
+                segments.put(segment.firstSequence, segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open event outbox in " + directory, e);
+        }
+        if (segments.isEmpty()) {
+            segments.put(1L, createSegment(1));
+        }
+        Segment active = segments.lastEntry().getValue();
+        active.sealed = false;
+        // The active segment may still be empty after a roll
+        lastSequence = Math.max(lastSequence, active.firstSequence - 1);
+    }
+
+    // Visits the intact records of a segment, tracking the last sequence; returns the end of the last one
+    private long scan(Segment segment) throws IOException {
+        long position = 0;
+        long expected = segment.firstSequence;
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        while (true) {
+            header.clear();
+            if (!readFully(segment.channel, header, position)) {
+                return position;
+            }
+            int bodyLength = header.getInt(0);
+            if (bodyLength < FIXED_BODY || position + HEADER + bodyLength > segment.channel.size()) {
+                return position;
+            }
+            ByteBuffer body = ByteBuffer.allocate(bodyLength);
+            readFully(segment.channel, body, position + HEADER);
+            if (header.getInt(4) != checksum(body) || body.getLong(0) != expected) {
+                return position;
+            }
+            lastSequence = expected++;
+            position += HEADER + bodyLength;
+        }
+    }
+
+    // --- Writing ---
+
+    /**
+     * Appends the payloads as consecutive records, forces them to disk and only then makes
+     * them readable. Returns the sequence number of the last record.
+     * <p>
+     * A batch never spans segments: if it does not fit in the active segment, the log rolls
+     * before anything is written, and a failed append leaves no part of the batch readable, then
+     * or after a restart.
+     */
+    long append(List<byte[]> payloads, long publishedAt) {
+        writeLock.lock();
+        try {
+            long sequence = lastSequence;
+            ByteBuffer batch = encode(payloads, sequence, publishedAt);
+            Segment active = segments.lastEntry().getValue();
+            if (active.size > 0 && active.size + batch.remaining() > segmentSize) {
+                active = roll(active, sequence + 1);
+            }
+            try {
+                write(active, batch);
+                force(active);
+            } catch (RuntimeException e) {
+                discardUndurable(active, e);
+                throw e;
+            }
+            active.durableSize = active.size;
+            lastSequence = sequence + payloads.size();
+            return lastSequence;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Lays out the batch's records back to back, numbered after lastSequence
+    private static ByteBuffer encode(List<byte[]> payloads, long lastSequence, long publishedAt) {
+        long length = 0;
+        for (byte[] payload : payloads) {
+            length += HEADER + FIXED_BODY + payload.length;
+        }
+        ByteBuffer batch = ByteBuffer.allocate(Math.toIntExact(length));
+        long sequence = lastSequence;
+        for (byte[] payload : payloads) {
+            int bodyLength = FIXED_BODY + payload.length;
+            int start = batch.position();
+            batch.putInt(bodyLength).putInt(0).putLong(++sequence).putLong(publishedAt).put(payload);
+            batch.putInt(start + 4, checksum(batch.slice(start + HEADER, bodyLength)));
+        }
+        return batch.flip();
+    }
+
+    // Cuts off a failed batch, so neither a restart nor a shorter next append can surface a stale record of it
+    private static void discardUndurable(Segment segment, RuntimeException failure) {
+        segment.size = segment.durableSize;
+        try {
+            segment.channel.truncate(segment.durableSize);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    // The active segment holds only durable records here, so sealing it publishes nothing new
+    private Segment roll(Segment active, long firstSequence) {
+        Segment rolled = createSegment(firstSequence);
+        // Sealed before the next segment is visible, so a reader at the end of it knows to move on
+        active.sealed = true;
+        segments.put(firstSequence, rolled);
+        return rolled;
+    }
+
+    private void write(Segment segment, ByteBuffer record) {
+        try {
+            while (record.hasRemaining()) {
+                segment.size += segment.channel.write(record, segment.size);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to " + segment.path, e);
+        }
+    }
+
+    private static void force(Segment segment) {
+        try {
+            segment.channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot force " + segment.path, e);
+        }
+    }
+
+    private Segment createSegment(long firstSequence) {
+        Path path = directory.resolve(PREFIX + String.format("%019d", firstSequence) + SUFFIX);
+        try {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(firstSequence, path, channel, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create outbox segment " + path, e);
+        }
+    }
+
+    // --- Reading ---
+
+    /*** Sequence number of the last durable record, or 0 if nothing was ever appended. */
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    /*** A cursor positioned at the first record after {@code sequence}. */
+    Cursor cursorAfter(long sequence) {
+        return new Cursor(sequence + 1);
+    }
+
+    /*** Reads up to {@code max} durable records at the cursor and moves it past them. */
+    List<StoredEvent> read(Cursor cursor, int max) {
+        List<StoredEvent> events = new ArrayList<>(Math.min(max, 64));
+        if (cursor.nextSequence > lastSequence) {
+            return events;
+        }
+        if (cursor.segment == null) {
+            Map.Entry<Long, Segment> start = segments.floorEntry(cursor.nextSequence);
+            cursor.segment = start != null ? start.getValue() : segments.firstEntry().getValue();
+            cursor.position = 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        try {
+            while (events.size() < max) {
+                Segment segment = cursor.segment;
+                if (cursor.position + HEADER > segment.durableSize) {
+                    Map.Entry<Long, Segment> next = segments.higherEntry(segment.firstSequence);
+                    if (!segment.sealed || next == null) {
+                        break;
+                    }
+                    cursor.segment = next.getValue();
+                    cursor.position = 0;
+                    continue;
+                }
+                header.clear();
+                readFully(segment.channel, header, cursor.position);
+                int bodyLength = header.getInt(0);
+                ByteBuffer body = ByteBuffer.allocate(bodyLength);
+                if (!readFully(segment.channel, body, cursor.position + HEADER) || header.getInt(4) != checksum(body)) {
+                    throw new IllegalStateException("Corrupt outbox record at " + cursor.position + " in " + segment.path);
+                }
+                cursor.position += HEADER + bodyLength;
+                long sequence = body.getLong(0);
+                // A cursor resuming inside a segment skips what its listener already completed
+                if (sequence < cursor.nextSequence) {
+                    continue;
+                }
+                byte[] payload = new byte[bodyLength - FIXED_BODY];
+                body.get(FIXED_BODY, payload);
+                events.add(new StoredEvent(sequence, body.getLong(8), payload));
+                cursor.nextSequence = sequence + 1;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read event outbox in " + directory, e);
+        }
+        return events;
+    }
+
+    // --- Checkpoints and retention ---
+
+    /*** The last sequence the listener completed, or -1 if it has no checkpoint yet. */
+    long checkpoint(String listener) {
+        Path path = directory.resolve(listener + CHECKPOINT_SUFFIX);
+        try {
+            if (!Files.exists(path)) {
+                return -1;
+            }
+            return ByteBuffer.wrap(Files.readAllBytes(path)).getLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read checkpoint " + path, e);
+        }
+    }
+
+    /*** Durably records that the listener completed every record up to {@code sequence}. */
+    void saveCheckpoint(String listener, long sequence) {
+        Path path = directory.resolve(listener + CHECKPOINT_SUFFIX);
+        Path temporary = directory.resolve(listener + CHECKPOINT_SUFFIX + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer value = ByteBuffer.allocate(8).putLong(0, sequence);
+            while (value.hasRemaining()) {
+                channel.write(value);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint " + temporary, e);
+        }
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replace checkpoint " + path, e);
+        }
+    }
+
+    /*** Deletes the sealed segments whose records all have a sequence of at most {@code completed}. */
+    void release(long completed) {
+        writeLock.lock();
+        try {
+            while (true) {
+                Map.Entry<Long, Segment> first = segments.firstEntry();
+                Map.Entry<Long, Segment> second = segments.higherEntry(first.getKey());
+                if (second == null || second.getKey() - 1 > completed) {
+                    return;
+                }
+                segments.remove(first.getKey());
+                Segment segment = first.getValue();
+                segment.channel.close();
+                Files.deleteIfExists(segment.path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete outbox segment in " + directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close event outbox in " + directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // --- Files ---
+
+    private static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long idOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // Returns false if the file ends before the buffer is full
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private static int checksum(ByteBuffer body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+}
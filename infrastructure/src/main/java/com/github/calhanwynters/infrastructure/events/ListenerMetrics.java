@@ -0,0 +1,35 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Delivery statistics of one {@link OutboxListener}.
+ *
+ * @param listener          the name the listener was registered under
+ * @param deliveredSequence sequence number of the last event the listener completed
+ * @param lag               events published but not yet completed by the listener
+ * @param lagAge            time since the oldest of those events was published, zero when caught up
+ * @param deliveredEvents   events completed since the publisher started
+ * @param deliveredBatches  batches completed since the publisher started
+ * @param failedAttempts    batch deliveries that threw and were retried
+ * @param undecodableEvents stored events skipped because their payload could not be decoded
+ * @param eventsPerSecond   average delivery rate since the publisher started; sample
+ *                          {@code deliveredEvents} for a rate over a chosen window
+ */
+public record ListenerMetrics(
+        String listener,
+        long deliveredSequence,
+        long lag,
+        Duration lagAge,
+        long deliveredEvents,
+        long deliveredBatches,
+        long failedAttempts,
+        long undecodableEvents,
+        double eventsPerSecond) {
+
+    public ListenerMetrics {
+        Objects.requireNonNull(listener, "listener must not be null");
+        Objects.requireNonNull(lagAge, "lagAge must not be null");
+    }
+}
@@ -0,0 +1,445 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import com.github.calhanwynters.model.shared.events.ProductEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Asynchronous {@link ApplicationEventPublisher} for {@link ProductEvent}s backed by a durable
+ * file outbox, so slow listeners never hold up the write path.
+ * <p>
+ * {@link #publishAll} returns once the events are forced to the {@link EventOutbox}. Concurrent
+ * publishers are group-committed: whoever takes the commit lock appends everything queued so
+ * far in one forced write. Each registered {@link OutboxListener} then reads the outbox on its
+ * own virtual thread, in batches of up to {@code batchSize} events, and checkpoints after every
+ * batch it completes. A failing batch is retried with exponential backoff, so one slow or
+ * broken listener only lags behind without affecting the others. A record that cannot be
+ * decoded is skipped rather than retried, and counted in the listener's metrics.
+ * <p>
+ * After a restart every listener resumes after its checkpoint, which makes delivery at least
+ * once. A listener registered for the first time starts with the events published after it.
+ * {@link #metrics()} reports lag and throughput per listener.
+ */
+public final class OutboxEventPublisher implements ApplicationEventPublisher, AutoCloseable {
+
+    private static final Pattern LISTENER_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+
+    // Queued by a publisher; done and failure are guarded by commitLock
+    private static final class PendingAppend {
+        private final List<byte[]> payloads;
+        private boolean done;
+        private RuntimeException failure;
+
+        private PendingAppend(List<byte[]> payloads) {
+            this.payloads = payloads;
+        }
+    }
+
+    private final EventOutbox outbox;
+    private final ProductEventCodec codec = new ProductEventCodec();
+    private final int batchSize;
+    private final long retryDelayNanos;
+    private final long maxRetryDelayNanos;
+    private final ConcurrentLinkedQueue<PendingAppend> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    // Signalled whenever events are appended or a listener completes a batch
+    private final ReentrantLock signalLock = new ReentrantLock();
+    private final Condition changed = signalLock.newCondition();
+    private final List<Dispatcher> dispatchers = new ArrayList<>();
+    private final long startedAt = System.nanoTime();
+    private volatile boolean closed;
+
+    private OutboxEventPublisher(Builder builder) {
+        this.outbox = new EventOutbox(builder.directory, builder.segmentSize);
+        this.batchSize = builder.batchSize;
+        this.retryDelayNanos = builder.retryDelay.toNanos();
+        this.maxRetryDelayNanos = builder.maxRetryDelay.toNanos();
+        builder.listeners.forEach((name, listener) -> dispatchers.add(new Dispatcher(name, listener)));
+        dispatchers.forEach(Dispatcher::start);
+    }
+
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    // --- Publishing ---
+
+    /**
+     * Stores a single {@link ProductEvent}.
+     * @throws IllegalArgumentException if the event is not a ProductEvent.
+     */
+    @Override
+    public void publishEvent(Object event) {
+        Objects.requireNonNull(event, "event must not be null");
+        if (!(event instanceof ProductEvent productEvent)) {
+            throw new IllegalArgumentException("The outbox only stores ProductEvents, not " + event.getClass().getName());
+        }
+        publishAll(List.of(productEvent));
+    }
+
+    /*** Durably stores the events in order and wakes the listeners; returns once a crash can no longer lose them. */
+    public void publishAll(Collection<? extends ProductEvent> events) {
+        Objects.requireNonNull(events, "events must not be null");
+        if (closed) {
+            throw new IllegalStateException("Outbox publisher is closed");
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        List<byte[]> payloads = new ArrayList<>(events.size());
+        for (ProductEvent event : events) {
+            payloads.add(codec.encode(Objects.requireNonNull(event, "event must not be null")));
+        }
+        PendingAppend append = new PendingAppend(payloads);
+        pending.add(append);
+        commitLock.lock();
+        try {
+            if (!append.done) {
+                commitPending();
+            }
+            if (append.failure != null) {
+                throw append.failure;
+            }
+        } finally {
+            commitLock.unlock();
+        }
+        signal();
+    }
+
+    // Caller holds commitLock; appends every queued batch, its own included, in one forced write
+    private void commitPending() {
+        List<PendingAppend> group = new ArrayList<>();
+        List<byte[]> payloads = new ArrayList<>();
+        for (PendingAppend next; (next = pending.poll()) != null; ) {
+            group.add(next);
+            payloads.addAll(next.payloads);
+        }
+        RuntimeException failure = null;
+        try {
+            outbox.append(payloads, System.currentTimeMillis());
+            if (dispatchers.isEmpty()) {
+                outbox.release(outbox.lastSequence());
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (PendingAppend append : group) {
+            append.done = true;
+            append.failure = failure;
+        }
+    }
+
+    // --- Delivery ---
+
+    /**
+     * Waits until every listener has completed the events published before this call.
+     * @return false if the timeout elapsed first.
+     */
+    public boolean awaitDelivery(Duration timeout) throws InterruptedException {
+        long target = outbox.lastSequence();
+        long nanos = timeout.toNanos();
+        signalLock.lock();
+        try {
+            while (dispatchers.stream().anyMatch(dispatcher -> dispatcher.deliveredSequence < target)) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = changed.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    private void signal() {
+        signalLock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    private long minDeliveredSequence() {
+        long min = Long.MAX_VALUE;
+        for (Dispatcher dispatcher : dispatchers) {
+            min = Math.min(min, dispatcher.deliveredSequence);
+        }
+        return min;
+    }
+
+    /**
+     * Feeds one listener. Only its own virtual thread writes the fields; the volatile ones are
+     * read by {@link #metrics()} and {@link #awaitDelivery}.
+     */
+    private final class Dispatcher implements Runnable {
+        private final String name;
+        private final OutboxListener listener;
+        private EventOutbox.Cursor cursor;
+        private Thread thread;
+        private volatile long deliveredSequence;
+        private volatile long deliveredEvents;
+        private volatile long deliveredBatches;
+        private volatile long failedAttempts;
+        private volatile long undecodableEvents;
+        // Publication time of the oldest event read but not yet completed, or 0
+        private volatile long pendingSince;
+
+        private Dispatcher(String name, OutboxListener listener) {
+            this.name = name;
+            this.listener = listener;
+            long checkpoint = outbox.checkpoint(name);
+            if (checkpoint < 0) {
+                checkpoint = outbox.lastSequence();
+                outbox.saveCheckpoint(name, checkpoint);
+            }
+            this.deliveredSequence = checkpoint;
+            this.cursor = outbox.cursorAfter(checkpoint);
+        }
+
+        private void start() {
+            thread = Thread.ofVirtual().name("outbox-" + name).start(this);
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                try {
+                    List<EventOutbox.StoredEvent> stored = outbox.read(cursor, batchSize);
+                    if (stored.isEmpty()) {
+                        awaitEvents();
+                        continue;
+                    }
+                    pendingSince = stored.getFirst().publishedAt();
+                    List<ProductEvent> events = decode(stored);
+                    if (!events.isEmpty() && !deliver(events)) {
+                        return;
+                    }
+                    long last = stored.getLast().sequence();
+                    outbox.saveCheckpoint(name, last);
+                    deliveredSequence = last;
+                    if (!events.isEmpty()) {
+                        deliveredEvents += events.size();
+                        deliveredBatches++;
+                    }
+                    pendingSince = 0;
+                    outbox.release(minDeliveredSequence());
+                    signal();
+                } catch (RuntimeException e) {
+                    // Reading or checkpointing failed: start again from the last checkpoint
+                    failedAttempts++;
+                    cursor = outbox.cursorAfter(deliveredSequence);
+                    if (!pause(retryDelayNanos)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        /*
+         * A record that passed the outbox checksum but does not decode was written by an encoder
+         * this codec does not understand, and retrying cannot change that. It is skipped and
+         * counted, so the listener's checkpoint and the outbox segments keep moving.
+         */
+        private List<ProductEvent> decode(List<EventOutbox.StoredEvent> stored) {
+            List<ProductEvent> events = new ArrayList<>(stored.size());
+            for (EventOutbox.StoredEvent event : stored) {
+                try {
+                    events.add(codec.decode(event.payload()));
+                } catch (RuntimeException e) {
+                    undecodableEvents++;
+                }
+            }
+            return events;
+        }
+
+        // Retries the batch until it is delivered; false if the publisher closed first
+        private boolean deliver(List<ProductEvent> events) {
+            long delay = retryDelayNanos;
+            while (!closed) {
+                try {
+                    listener.onEvents(events);
+                    return true;
+                } catch (Exception e) {
+                    failedAttempts++;
+                    if (!pause(delay)) {
+                        return false;
+                    }
+                    delay = Math.min(delay * 2, maxRetryDelayNanos);
+                }
+            }
+            return false;
+        }
+
+        private void awaitEvents() {
+            signalLock.lock();
+            try {
+                while (!closed && outbox.lastSequence() < cursor.nextSequence()) {
+                    changed.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                signalLock.unlock();
+            }
+        }
+
+        // Sleeps for the delay unless the publisher closes; returns false once it is closed
+        private boolean pause(long nanos) {
+            signalLock.lock();
+            try {
+                long remaining = nanos;
+                while (!closed && remaining > 0) {
+                    remaining = changed.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                signalLock.unlock();
+            }
+            return !closed;
+        }
+
+        private ListenerMetrics metrics(long lastSequence, long now, double elapsedSeconds) {
+            long delivered = deliveredSequence;
+            long lag = Math.max(0, lastSequence - delivered);
+            long since = pendingSince;
+            Duration lagAge = lag == 0 || since == 0 ? Duration.ZERO : Duration.ofMillis(Math.max(0, now - since));
+            long events = deliveredEvents;
+            return new ListenerMetrics(name, delivered, lag, lagAge, events, deliveredBatches, failedAttempts,
+                    undecodableEvents, elapsedSeconds > 0 ? events / elapsedSeconds : 0.0);
+        }
+    }
+
+    // --- Statistics ---
+
+    /*** Lag and throughput of every listener, in registration order. */
+    public List<ListenerMetrics> metrics() {
+        long lastSequence = outbox.lastSequence();
+        long now = System.currentTimeMillis();
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+        return dispatchers.stream().map(dispatcher -> dispatcher.metrics(lastSequence, now, elapsedSeconds)).toList();
+    }
+
+    /*** Sequence number of the last stored event. */
+    public long lastSequence() {
+        return outbox.lastSequence();
+    }
+
+    /*** Number of outbox segment files still held for listeners that have not completed them. */
+    public int segmentCount() {
+        return outbox.segmentCount();
+    }
+
+    /**
+     * Stops the listeners and closes the outbox. A batch a listener is still handling is not
+     * checkpointed and will be delivered again after a restart.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        signal();
+        try {
+            for (Dispatcher dispatcher : dispatchers) {
+                dispatcher.thread.join(TimeUnit.SECONDS.toMillis(10));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        commitLock.lock();
+        try {
+            outbox.close();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    // --- Builder ---
+
+    public static final class Builder {
+        private final Path directory;
+        private final Map<String, OutboxListener> listeners = new LinkedHashMap<>();
+        private int batchSize = 256;
+        private long segmentSize = 16L * 1024 * 1024;
+        private Duration retryDelay = Duration.ofMillis(100);
+        private Duration maxRetryDelay = Duration.ofSeconds(30);
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "directory must not be null");
+        }
+
+        /**
+         * Registers a listener under a stable name, which keys its checkpoint across restarts.
+         * @throws IllegalArgumentException if the name is taken or not made of letters, digits, '.', '_' and '-'.
+         */
+        public Builder listener(String name, OutboxListener listener) {
+            Objects.requireNonNull(name, "name must not be null");
+            Objects.requireNonNull(listener, "listener must not be null");
+            if (!LISTENER_NAME.matcher(name).matches()) {
+                throw new IllegalArgumentException("Invalid listener name: " + name);
+            }
+            if (listeners.putIfAbsent(name, listener) != null) {
+                throw new IllegalArgumentException("Duplicate listener name: " + name);
+            }
+            return this;
+        }
+
+        /*** Maximum number of events handed to a listener at once; defaults to 256. */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /*** Size at which the outbox rolls to a new segment file; defaults to 16 MiB. */
+        public Builder segmentSize(long segmentSize) {
+            if (segmentSize < 1024) {
+                throw new IllegalArgumentException("segmentSize must be at least 1024 bytes");
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /*** Delay before the first retry of a failed batch, doubled per further failure up to {@link #maxRetryDelay}. */
+        public Builder retryDelay(Duration retryDelay) {
+            this.retryDelay = positive(retryDelay, "retryDelay");
+            return this;
+        }
+
+        /*** Upper bound of the retry backoff; defaults to 30 s. */
+        public Builder maxRetryDelay(Duration maxRetryDelay) {
+            this.maxRetryDelay = positive(maxRetryDelay, "maxRetryDelay");
+            return this;
+        }
+
+        /*** Opens or recovers the outbox and starts one virtual thread per listener. */
+        public OutboxEventPublisher build() {
+            if (maxRetryDelay.compareTo(retryDelay) < 0) {
+                throw new IllegalArgumentException("maxRetryDelay must not be shorter than retryDelay");
+            }
+            return new OutboxEventPublisher(this);
+        }
+
+        private static Duration positive(Duration duration, String name) {
+            Objects.requireNonNull(duration, name + " must not be null");
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return duration;
+        }
+    }
+}
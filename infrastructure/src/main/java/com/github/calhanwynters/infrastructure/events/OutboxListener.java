@@ -0,0 +1,17 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import com.github.calhanwynters.model.shared.events.ProductEvent;
+
+import java.util.List;
+
+/**
+ * Consumer of the events stored in an {@link OutboxEventPublisher}, called with batches in
+ * publication order on the listener's own virtual thread. A batch counts as delivered once
+ * the call returns; if it throws, the same batch is retried. Delivery is at least once, so
+ * after a crash the last batch may arrive again and handlers must tolerate repeats.
+ */
+@FunctionalInterface
+public interface OutboxListener {
+
+    void onEvents(List<ProductEvent> events) throws Exception;
+}
@@ -0,0 +1,122 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import com.github.calhanwynters.infrastructure.codec.AmountTags;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.events.*;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.io.*;
+import java.math.BigDecimal;
+
+/**
+ * Binary form of a {@link ProductEvent} in an {@link EventOutbox} record: a tag byte for the
+ * event type followed by its fields. Monetary amounts keep their implementation type through
+ * the {@link AmountTags} tag byte, as in {@code ProductCodec}. Thread-safe.
+ */
+final class ProductEventCodec {
+
+    private static final byte PRODUCT_CREATED = 1;
+    private static final byte DESCRIPTION_CHANGED = 2;
+    private static final byte IMAGE_ADDED = 3;
+    private static final byte VARIANT_ADDED = 4;
+    private static final byte PRICE_CHANGED = 5;
+    private static final byte STATUS_CHANGED = 6;
+    private static final byte VARIANT_ATTRIBUTES_CHANGED = 7;
+
+    // --- Encoding ---
+
+    byte[] encode(ProductEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            switch (event) {
+                case ProductCreated created -> {
+                    out.writeByte(PRODUCT_CREATED);
+                    out.writeUTF(created.productId().value());
+                    out.writeUTF(created.businessId().value());
+                    out.writeUTF(created.category());
+                    out.writeInt(created.variantCount());
+                }
+                case DescriptionChanged changed -> {
+                    out.writeByte(DESCRIPTION_CHANGED);
+                    out.writeUTF(changed.productId().value());
+                    out.writeUTF(changed.description().value());
+                }
+                case ImageAdded added -> {
+                    out.writeByte(IMAGE_ADDED);
+                    out.writeUTF(added.productId().value());
+                    out.writeUTF(added.imageUrl().url());
+                }
+                case VariantAdded added -> {
+                    out.writeByte(VARIANT_ADDED);
+                    writeIds(out, added.productId(), added.variantId());
+                    out.writeUTF(added.sku());
+                }
+                case PriceChanged changed -> {
+                    out.writeByte(PRICE_CHANGED);
+                    writeIds(out, changed.productId(), changed.variantId());
+                    writeAmount(out, changed.previousBasePrice());
+                    writeAmount(out, changed.basePrice());
+                    writeAmount(out, changed.previousCurrentPrice());
+                    writeAmount(out, changed.currentPrice());
+                }
+                case StatusChanged changed -> {
+                    out.writeByte(STATUS_CHANGED);
+                    writeIds(out, changed.productId(), changed.variantId());
+                    out.writeUTF(changed.previousStatus().name());
+                    out.writeUTF(changed.status().name());
+                }
+                case VariantAttributesChanged changed -> {
+                    out.writeByte(VARIANT_ATTRIBUTES_CHANGED);
+                    writeIds(out, changed.productId(), changed.variantId());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode event " + event, e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeIds(DataOutputStream out, ProductId productId, VariantId variantId) throws IOException {
+        out.writeUTF(productId.value());
+        out.writeUTF(variantId.value());
+    }
+
+    private static void writeAmount(DataOutputStream out, MonetaryAmount amount) throws IOException {
+        out.writeByte(AmountTags.of(amount));
+        out.writeUTF(amount.getCurrency().getCurrencyCode());
+        out.writeUTF(amount.getNumber().numberValue(BigDecimal.class).toString());
+    }
+
+    // --- Decoding ---
+
+    ProductEvent decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte tag = in.readByte();
+            return switch (tag) {
+                case PRODUCT_CREATED -> new ProductCreated(new ProductId(in.readUTF()), new BusinessId(in.readUTF()),
+                        in.readUTF(), in.readInt());
+                case DESCRIPTION_CHANGED -> new DescriptionChanged(new ProductId(in.readUTF()), new DescriptionVO(in.readUTF()));
+                case IMAGE_ADDED -> new ImageAdded(new ProductId(in.readUTF()), new ImageUrlVO(in.readUTF()));
+                case VARIANT_ADDED -> new VariantAdded(new ProductId(in.readUTF()), new VariantId(in.readUTF()), in.readUTF());
+                case PRICE_CHANGED -> new PriceChanged(new ProductId(in.readUTF()), new VariantId(in.readUTF()),
+                        readAmount(in), readAmount(in), readAmount(in), readAmount(in));
+                case STATUS_CHANGED -> new StatusChanged(new ProductId(in.readUTF()), new VariantId(in.readUTF()),
+                        VariantStatusEnums.valueOf(in.readUTF()), VariantStatusEnums.valueOf(in.readUTF()));
+                case VARIANT_ATTRIBUTES_CHANGED -> new VariantAttributesChanged(new ProductId(in.readUTF()),
+                        new VariantId(in.readUTF()));
+                default -> throw new IllegalStateException("Unknown event tag: " + tag);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode event", e);
+        }
+    }
+
+    private static MonetaryAmount readAmount(DataInputStream in) throws IOException {
+        int tag = AmountTags.checkTag(in.readByte());
+        String currency = in.readUTF();
+        BigDecimal number = new BigDecimal(in.readUTF());
+        return AmountTags.create(tag, number, Monetary.getCurrency(currency));
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.events.DomainEvents;
+import com.github.calhanwynters.model.shared.events.ProductEvent;
+import com.github.calhanwynters.repositories.ProductCommandRepository;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Hands the {@link ProductEvent}s a change raised to Spring's {@link ApplicationEventPublisher},
+ * which calls its listeners synchronously on the publishing thread. Nothing records these
+ * publications: the project only includes spring-modulith-starter-core, so there is no event
+ * publication registry until an events persistence starter such as spring-modulith-starter-jdbc
+ * is added, and an event whose listener fails is not redelivered.
+ * <p>
+ * The save and the publication are two separate writes, so {@link #saveChange} orders them by
+ * what the sink can guarantee. Events always keep the order they were raised in, and a change
+ * that throws publishes nothing.
+ * <ul>
+ *   <li>With an {@link ApplicationEventPublisher}, events are published after the Product was
+ *   saved, so listeners only see saved changes. A save that throws publishes nothing, but a
+ *   crash between the save and the publication loses the events: at most once.</li>
+ *   <li>With an {@link OutboxEventPublisher}, the events of a change are forced to the outbox in
+ *   a single append before the Product is saved, and listeners run asynchronously. A saved change
+ *   therefore always has its events: at least once. If the save throws or the process dies after
+ *   the append, the events are still delivered although the Product was not stored. Listeners
+ *   must tolerate such phantom events, e.g. by reloading the Product by id instead of trusting
+ *   the event's values.</li>
+ * </ul>
+ */
+public final class ProductEventPublisher {
+
+    private final Consumer<List<? extends ProductEvent>> sink;
+    // True when the sink is durable, so events are stored before the Product rather than after it
+    private final boolean publishBeforeSave;
+
+    public ProductEventPublisher(ApplicationEventPublisher publisher) {
+        Objects.requireNonNull(publisher, "publisher must not be null");
+        this.sink = events -> events.forEach(publisher::publishEvent);
+        this.publishBeforeSave = false;
+    }
+
+    public ProductEventPublisher(OutboxEventPublisher outbox) {
+        Objects.requireNonNull(outbox, "outbox must not be null");
+        this.sink = outbox::publishAll;
+        this.publishBeforeSave = true;
+    }
+
+    /**
+     * Runs the change while recording its events, then saves the Product it returns and publishes
+     * the events, in the order and with the guarantee described on this class.
+     * @param change Builds the new Product, e.g. {@code () -> product.replaceVariants(v -> v.activate())}.
+     * @return The saved Product.
+     */
+    public Product saveChange(ProductCommandRepository repository, Supplier<Product> change) {
+        Objects.requireNonNull(repository, "repository must not be null");
+        DomainEvents.Recorded<Product> recorded = DomainEvents.record(change);
+        Product product = Objects.requireNonNull(recorded.result(), "change must return a product");
+        if (publishBeforeSave) {
+            publish(recorded.events());
+            repository.save(product);
+        } else {
+            repository.save(product);
+            publish(recorded.events());
+        }
+        return product;
+    }
+
+    public void publish(List<? extends ProductEvent> events) {
+        Objects.requireNonNull(events, "events must not be null");
+        sink.accept(events);
+    }
+}
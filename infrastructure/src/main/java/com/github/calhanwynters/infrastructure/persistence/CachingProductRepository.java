@@ -0,0 +1,469 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.BusinessId;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.repositories.BatchWriteResult;
+import com.github.calhanwynters.repositories.ProductCommandRepository;
+import com.github.calhanwynters.repositories.ProductPage;
+import com.github.calhanwynters.repositories.ProductQueryRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through cache for {@link ProductQueryRepository#findById}.
+ * Products are immutable, so cached instances are shared with callers as-is.
+ * <p>
+ * Eviction follows W-TinyLFU. New products enter a small LRU window (1% of the
+ * maximum weight). Products leaving the window must beat the main region's
+ * LRU victim on estimated access frequency, taken from a {@link FrequencySketch},
+ * to be admitted. The main region is a segmented LRU whose protected segment
+ * holds 80% of its weight and keeps products that were hit more than once.
+ * A product weighs its variant count plus its gallery size.
+ * <p>
+ * Cache hits are lock-free. Their bookkeeping takes the policy lock only if it
+ * is uncontended and is otherwise dropped, as a lossy read buffer would be.
+ * Writes through {@link #save} and {@link #deleteById} invalidate the product;
+ * a load that raced with a write to the same product is not cached. Each miss
+ * holds a load token for its ProductId that only an invalidation of that id
+ * revokes, so writes to other products do not discard it.
+ * All other queries go straight to the delegate.
+ */
+public final class CachingProductRepository implements ProductCommandRepository, ProductQueryRepository {
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits        lookups answered from the cache
+     * @param misses      lookups that went to the delegate
+     * @param evictions   products dropped to stay within the maximum weight
+     * @param expirations products dropped because they outlived the TTL
+     */
+    public record Stats(long hits, long misses, long evictions, long expirations) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+    }
+
+    private enum Region { WINDOW, PROBATION, PROTECTED }
+
+    private static final class Node {
+        final ProductId key;
+        final Product value;
+        final int weight;
+        final long writtenAt;
+        Region region;
+        Node prev;
+        Node next;
+
+        Node(ProductId key, Product value, int weight, long writtenAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    // Intrusive doubly linked LRU list; the head is the least recently used node
+    private static final class AccessOrder {
+        Node head;
+        Node tail;
+        long weight;
+
+        void addLast(Node node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        void remove(Node node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void moveToLast(Node node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    private final ProductQueryRepository queries;
+    private final ProductCommandRepository commands;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<ProductId, Node> data = new ConcurrentHashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessOrder window = new AccessOrder();
+    private final AccessOrder probation = new AccessOrder();
+    private final AccessOrder protectedSegment = new AccessOrder();
+    // Token per ProductId with a load in flight; invalidate() removes it so that a racing load is not cached
+    private final ConcurrentHashMap<ProductId, Object> loads = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private CachingProductRepository(Builder builder) {
+        this.queries = builder.queries;
+        this.commands = builder.commands;
+        this.maximumWeight = builder.maximumWeight;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * 0.8);
+        this.ttlNanos = builder.expireAfterWrite == null ? Long.MAX_VALUE : builder.expireAfterWrite.toNanos();
+        this.ticker = builder.ticker;
+        this.sketch = new FrequencySketch(maximumWeight);
+    }
+
+    /*** Decorates a store that implements both repository interfaces, such as {@link InMemoryProductRepository}. */
+    public static <R extends ProductQueryRepository & ProductCommandRepository> Builder builder(R repository) {
+        return new Builder(repository, repository);
+    }
+
+    public static Builder builder(ProductQueryRepository queries, ProductCommandRepository commands) {
+        return new Builder(queries, commands);
+    }
+
+    // --- Command Side ---
+
+    @Override
+    public void save(Product product) {
+        Objects.requireNonNull(product, "product must not be null");
+        try {
+            commands.save(product);
+        } finally {
+            invalidate(product.id());
+        }
+    }
+
+    @Override
+    public void deleteById(ProductId id) {
+        Objects.requireNonNull(id, "id must not be null");
+        try {
+            commands.deleteById(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public BatchWriteResult saveAll(Collection<Product> products) {
+        try {
+            return commands.saveAll(products);
+        } finally {
+            products.stream().filter(Objects::nonNull).forEach(product -> invalidate(product.id()));
+        }
+    }
+
+    @Override
+    public BatchWriteResult deleteAllById(Collection<ProductId> ids) {
+        try {
+            return commands.deleteAllById(ids);
+        } finally {
+            ids.stream().filter(Objects::nonNull).forEach(this::invalidate);
+        }
+    }
+
+    /*** Drops the cached copy of a product, if any. */
+    public void invalidate(ProductId id) {
+        policyLock.lock();
+        try {
+            loads.remove(id);
+            Node node = data.remove(id);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // --- Query Side ---
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        Objects.requireNonNull(id, "id must not be null");
+        Node node = data.get(id);
+        if (node != null) {
+            if (!isExpired(node)) {
+                hits.increment();
+                recordHit(node);
+                return Optional.of(node.value);
+            }
+            expire(node);
+        }
+        misses.increment();
+        // Concurrent misses of one product share a token; a write in between revokes it for all of them
+        Object token = loads.computeIfAbsent(id, key -> new Object());
+        try {
+            Optional<Product> loaded = queries.findById(id);
+            loaded.ifPresentOrElse(product -> admit(product, token), () -> recordMiss(id));
+            return loaded;
+        } finally {
+            loads.remove(id, token);
+        }
+    }
+
+    @Override
+    public Collection<Product> findAll() {
+        return queries.findAll();
+    }
+
+    @Override
+    public ProductPage findPage(ProductId after, int limit) {
+        return queries.findPage(after, limit);
+    }
+
+    @Override
+    public Collection<Product> findByBusinessId(BusinessId businessId) {
+        return queries.findByBusinessId(businessId);
+    }
+
+    @Override
+    public Collection<Product> findByCategory(String category) {
+        return queries.findByCategory(category);
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return queries.findBySku(sku);
+    }
+
+    @Override
+    public Collection<Product> findByVariantStatus(VariantStatusEnums status) {
+        return queries.findByVariantStatus(status);
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    /*** Number of cached products. */
+    public int size() {
+        return data.size();
+    }
+
+    /*** Combined weight of the cached products. */
+    public long weightedSize() {
+        policyLock.lock();
+        try {
+            return window.weight + probation.weight + protectedSegment.weight;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // --- Policy ---
+
+    private static int weigh(Product product) {
+        return Math.max(1, product.variants().size() + product.gallery().images().size());
+    }
+
+    private boolean isExpired(Node node) {
+        return ticker.getAsLong() - node.writtenAt >= ttlNanos;
+    }
+
+    private void expire(Node node) {
+        policyLock.lock();
+        try {
+            if (data.remove(node.key, node)) {
+                unlink(node);
+                expirations.increment();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void recordHit(Node node) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(node.key);
+            if (node.region == null) {
+                return;
+            }
+            switch (node.region) {
+                case WINDOW -> window.moveToLast(node);
+                case PROTECTED -> protectedSegment.moveToLast(node);
+                case PROBATION -> {
+                    probation.remove(node);
+                    node.region = Region.PROTECTED;
+                    protectedSegment.addLast(node);
+                    demoteProtectedOverflow();
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void recordMiss(ProductId id) {
+        policyLock.lock();
+        try {
+            sketch.increment(id);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void admit(Product product, Object token) {
+        int weight = weigh(product);
+        if (weight > maximumWeight) {
+            recordMiss(product.id());
+            return;
+        }
+        Node node = new Node(product.id(), product, weight, ticker.getAsLong());
+        policyLock.lock();
+        try {
+            sketch.increment(node.key);
+            // Checked under the lock, which invalidate() also takes, so a concurrent write wins
+            if (loads.get(node.key) != token) {
+                return;
+            }
+            Node previous = data.put(node.key, node);
+            if (previous != null) {
+                unlink(previous);
+            }
+            node.region = Region.WINDOW;
+            window.addLast(node);
+            evictWindowOverflow();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // Moves window overflow into probation, letting each candidate compete with the main region's victim
+    private void evictWindowOverflow() {
+        while (window.weight > windowMaximum) {
+            Node candidate = window.head;
+            window.remove(candidate);
+            candidate.region = Region.PROBATION;
+            probation.addLast(candidate);
+            evictMainOverflow(candidate);
+        }
+    }
+
+    private void evictMainOverflow(Node candidate) {
+        while (window.weight + probation.weight + protectedSegment.weight > maximumWeight) {
+            Node victim = probation.head != candidate ? probation.head : protectedSegment.head;
+            if (candidate == null || victim == null) {
+                evict(victim != null ? victim : candidate);
+                candidate = null;
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evict(victim);
+            } else {
+                evict(candidate);
+                candidate = null;
+            }
+        }
+    }
+
+    private void demoteProtectedOverflow() {
+        while (protectedSegment.weight > protectedMaximum && protectedSegment.head != null) {
+            Node demoted = protectedSegment.head;
+            protectedSegment.remove(demoted);
+            demoted.region = Region.PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    private void evict(Node node) {
+        if (node == null) {
+            return;
+        }
+        data.remove(node.key, node);
+        unlink(node);
+        evictions.increment();
+    }
+
+    private void unlink(Node node) {
+        if (node.region == null) {
+            return;
+        }
+        switch (node.region) {
+            case WINDOW -> window.remove(node);
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> protectedSegment.remove(node);
+        }
+        node.region = null;
+    }
+
+    // --- Builder ---
+
+    public static final class Builder {
+        private final ProductQueryRepository queries;
+        private final ProductCommandRepository commands;
+        private long maximumWeight = 100_000;
+        private Duration expireAfterWrite;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder(ProductQueryRepository queries, ProductCommandRepository commands) {
+            this.queries = Objects.requireNonNull(queries, "queries must not be null");
+            this.commands = Objects.requireNonNull(commands, "commands must not be null");
+        }
+
+        /*** Maximum combined weight of cached products; defaults to 100,000. */
+        public Builder maximumWeight(long maximumWeight) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("maximumWeight must be positive");
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /*** Time after which a cached product is reloaded; products never expire by default. */
+        public Builder expireAfterWrite(Duration expireAfterWrite) {
+            Objects.requireNonNull(expireAfterWrite, "expireAfterWrite must not be null");
+            if (expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+                throw new IllegalArgumentException("expireAfterWrite must be positive");
+            }
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /*** Nanosecond time source, replaceable for tests. */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker, "ticker must not be null");
+            return this;
+        }
+
+        public CachingProductRepository build() {
+            return new CachingProductRepository(this);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.infrastructure.codec.AmountTags;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.money.MinorUnitMoney;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Straightforward {@link ProductSerializer} built on {@link DataOutputStream}.
+ * Strings are written as modified UTF-8 and numbers as their decimal text, which
+ * keeps the format easy to inspect at the cost of size.
+ * Monetary amounts keep their implementation type, so a Money stays a Money: an empty type
+ * name followed by a tag from {@link AmountTags}. Records written before the tag stored the
+ * class name instead; those names are mapped onto the same closed set, never loaded.
+ * Decoded features come from a {@link FeatureRegistry}, so equal features share one instance.
+ */
+public final class DataStreamProductSerializer implements ProductSerializer {
+
+    public static final byte FORMAT = 1;
+
+    private static final byte BASIC_FEATURE = 1;
+    private static final byte FIXED_PRICE_FEATURE = 2;
+    private static final byte SCALING_PRICE_FEATURE = 3;
+
+    // Type names of the amounts in records written before the tag; no class is ever loaded by name
+    private static final Map<String, Byte> LEGACY_AMOUNT_TYPES = Map.of(
+            Money.class.getName(), AmountTags.MONEY,
+            FastMoney.class.getName(), AmountTags.FAST_MONEY,
+            RoundedMoney.class.getName(), AmountTags.ROUNDED_MONEY,
+            MinorUnitMoney.class.getName(), AmountTags.MINOR_UNIT_MONEY);
+
+    private final FeatureRegistry featureRegistry;
+
+    public DataStreamProductSerializer() {
+        this(FeatureRegistry.global());
+    }
+
+    public DataStreamProductSerializer(FeatureRegistry featureRegistry) {
+        this.featureRegistry = Objects.requireNonNull(featureRegistry, "featureRegistry must not be null");
+    }
+
+    @Override
+    public byte format() {
+        return FORMAT;
+    }
+
+    // --- Encoding ---
+
+    @Override
+    public byte[] serialize(Product product) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(product.id().value());
+            out.writeUTF(product.businessId().value());
+            out.writeUTF(product.category());
+            out.writeUTF(product.description().value());
+            out.writeInt(product.gallery().images().size());
+            for (ImageUrlVO image : product.gallery().images()) {
+                out.writeUTF(image.url());
+            }
+            out.writeInt(product.variants().size());
+            for (Variant variant : product.variants()) {
+                writeVariant(out, variant);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeVariant(DataOutputStream out, Variant variant) throws IOException {
+        out.writeUTF(variant.id().value());
+        out.writeUTF(variant.sku());
+        writeAmount(out, variant.basePrice());
+        writeAmount(out, variant.currentPrice());
+        out.writeInt(variant.features().size());
+        for (FeatureInterface feature : variant.features()) {
+            writeFeature(out, feature);
+        }
+        out.writeUTF(variant.careInstructions().instructions());
+        out.writeUTF(variant.weight().amount().toString());
+        out.writeUTF(variant.weight().unit().name());
+        out.writeUTF(variant.status().name());
+    }
+
+    private static void writeAmount(DataOutputStream out, MonetaryAmount amount) throws IOException {
+        // No legacy record has an empty type name, so it marks a tagged amount
+        out.writeUTF("");
+        out.writeByte(AmountTags.of(amount));
+        out.writeUTF(amount.getCurrency().getCurrencyCode());
+        out.writeUTF(amount.getNumber().numberValue(BigDecimal.class).toString());
+    }
+
+    private static void writeFeature(DataOutputStream out, FeatureInterface feature) throws IOException {
+        switch (feature) {
+            case BasicFeature basic -> {
+                out.writeByte(BASIC_FEATURE);
+                writeFeatureHeader(out, basic);
+            }
+            case FixedPriceFeature fixed -> {
+                out.writeByte(FIXED_PRICE_FEATURE);
+                writeFeatureHeader(out, fixed);
+                out.writeDouble(fixed.fixedPrice());
+            }
+            case ScalingPriceFeature scaling -> {
+                out.writeByte(SCALING_PRICE_FEATURE);
+                writeFeatureHeader(out, scaling);
+                writeNullableUTF(out, scaling.measurementUnit());
+                out.writeDouble(scaling.baseAmount());
+                out.writeDouble(scaling.incrementAmount());
+                out.writeInt(scaling.maxQuantity());
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unsupported feature type: " + feature.getClass().getName());
+        }
+    }
+
+    private static void writeFeatureHeader(DataOutputStream out, FeatureInterface feature) throws IOException {
+        writeNullableUTF(out, feature.name());
+        writeNullableUTF(out, feature.featureDescription());
+        writeNullableUTF(out, feature.label());
+    }
+
+    // Only BasicFeature validates its strings, so the priced features may carry nulls
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    // --- Decoding ---
+
+    @Override
+    public Product deserialize(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            ProductId id = new ProductId(in.readUTF());
+            BusinessId businessId = new BusinessId(in.readUTF());
+            String category = in.readUTF();
+            DescriptionVO description = new DescriptionVO(in.readUTF());
+            int imageCount = in.readInt();
+            List<ImageUrlVO> images = new ArrayList<>(imageCount);
+            for (int i = 0; i < imageCount; i++) {
+                images.add(new ImageUrlVO(in.readUTF()));
+            }
+            int variantCount = in.readInt();
+            List<Variant> variants = new ArrayList<>(variantCount);
+            for (int i = 0; i < variantCount; i++) {
+                variants.add(readVariant(in));
+            }
+            return new Product(id, businessId, category, description, new GalleryVO(Set.copyOf(images)),
+                    Set.copyOf(variants));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Variant readVariant(DataInputStream in) throws IOException {
+        VariantId id = new VariantId(in.readUTF());
+        String sku = in.readUTF();
+        MonetaryAmount basePrice = readAmount(in);
+        MonetaryAmount currentPrice = readAmount(in);
+        int featureCount = in.readInt();
+        FeatureInterface[] features = new FeatureInterface[featureCount];
+        for (int i = 0; i < featureCount; i++) {
+            features[i] = readFeature(in);
+        }
+        CareInstructionVO careInstructions = new CareInstructionVO(in.readUTF());
+        WeightVO weight = new WeightVO(new BigDecimal(in.readUTF()), WeightVO.WeightUnit.valueOf(in.readUTF()));
+        VariantStatusEnums status = VariantStatusEnums.valueOf(in.readUTF());
+        return new Variant(id, sku, basePrice, currentPrice, featureRegistry.internAll(Arrays.asList(features)), careInstructions, weight, status);
+    }
+
+    private static MonetaryAmount readAmount(DataInputStream in) throws IOException {
+        String typeName = in.readUTF();
+        int tag = typeName.isEmpty() ? AmountTags.checkTag(in.readByte()) : legacyAmountTag(typeName);
+        CurrencyUnit currency = Monetary.getCurrency(in.readUTF());
+        BigDecimal number = new BigDecimal(in.readUTF());
+        return AmountTags.create(tag, number, currency);
+    }
+
+    private FeatureInterface readFeature(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        String name = readNullableUTF(in);
+        String featureDescription = readNullableUTF(in);
+        String label = readNullableUTF(in);
+        return switch (tag) {
+            case BASIC_FEATURE -> featureRegistry.basic(name, featureDescription, label);
+            case FIXED_PRICE_FEATURE -> featureRegistry.fixedPrice(name, featureDescription, label, in.readDouble());
+            case SCALING_PRICE_FEATURE -> featureRegistry.scalingPrice(name, featureDescription, label,
+                    readNullableUTF(in), in.readDouble(), in.readDouble(), in.readInt());
+            default -> throw new IllegalStateException("Unknown feature tag: " + tag);
+        };
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static int legacyAmountTag(String typeName) {
+        Byte tag = LEGACY_AMOUNT_TYPES.get(typeName);
+        if (tag == null) {
+            throw new IllegalStateException("Unknown monetary amount type: " + typeName);
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+/**
+ * Count-min sketch with 4-bit counters, used as the TinyLFU frequency filter.
+ * Each long packs sixteen counters; every key maps to four of them and its
+ * estimated frequency is the smallest. Once the number of recorded accesses
+ * reaches ten times the capacity, all counters are halved so the sketch tracks
+ * recent popularity rather than all-time totals.
+ * <p>
+ * Not thread-safe; callers synchronize externally.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0x97cb3127L, 0xab6c5c4bL, 0x9e3779b9L, 0x2f0b3d69L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long capacity) {
+        int size = (int) Math.min(1L << 24, Math.max(16, Long.highestOneBit(Math.max(1, capacity) - 1) << 1));
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * size);
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            int slot = slot(hash, i);
+            int count = (int) ((table[slot >>> 4] >>> ((slot & 15) << 2)) & 15L);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int slot = slot(hash, i);
+            int index = slot >>> 4;
+            int offset = (slot & 15) << 2;
+            if (((table[index] >>> offset) & 15L) < 15L) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    // Halves every counter, aging out keys that were popular in the past
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    // Picks one of the sixteen counters in one of the table's longs for the i-th hash function
+    private int slot(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) (((h >>> 4) & tableMask) << 4 | (h & 15));
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 17;
+        h *= 0xed5ad4bb;
+        h ^= h >>> 11;
+        return h;
+    }
+}
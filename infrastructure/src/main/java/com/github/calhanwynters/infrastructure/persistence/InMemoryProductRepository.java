@@ -0,0 +1,216 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.BusinessId;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.repositories.BatchWriteResult;
+import com.github.calhanwynters.repositories.BatchWriter;
+import com.github.calhanwynters.repositories.ProductCommandRepository;
+import com.github.calhanwynters.repositories.ProductPage;
+import com.github.calhanwynters.repositories.ProductQueryRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent in-memory implementation of both product repositories.
+ * Products live in a {@link ConcurrentHashMap}; secondary indexes map each
+ * BusinessId, category, SKU and variant status to the ids of matching products,
+ * and a {@link ConcurrentSkipListSet} of ids serves keyset pagination.
+ * <p>
+ * Writes for the same ProductId are serialized by {@link ConcurrentHashMap#compute},
+ * which also keeps the index updates for that product atomic per index key.
+ * Reads never lock. Because an index may briefly lag the primary map while a
+ * write is in flight, every indexed read re-checks the product it resolves.
+ * <p>
+ * Bulk writes are split into batches of a configurable size. Each batch is
+ * validated before any of it is applied, so a bad item fails its batch up front
+ * and the batch is replayed item by item to report exactly which items failed.
+ */
+public class InMemoryProductRepository implements ProductCommandRepository, ProductQueryRepository {
+
+    private final int batchSize;
+    private final ConcurrentHashMap<ProductId, Product> products = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<ProductId> orderedIds = new ConcurrentSkipListSet<>(ProductPage.KEY_ORDER);
+    private final ConcurrentHashMap<BusinessId, Set<ProductId>> byBusinessId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<ProductId>> byCategory = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<ProductId>> bySku = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<VariantStatusEnums, Set<ProductId>> byStatus = new ConcurrentHashMap<>();
+
+    public InMemoryProductRepository() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    public InMemoryProductRepository(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    // --- Command Side ---
+
+    @Override
+    public void save(Product product) {
+        Objects.requireNonNull(product, "product must not be null");
+        products.compute(product.id(), (id, previous) -> {
+            if (previous != null) {
+                unindex(previous);
+            } else {
+                orderedIds.add(id);
+            }
+            index(product);
+            return product;
+        });
+    }
+
+    @Override
+    public void deleteById(ProductId id) {
+        Objects.requireNonNull(id, "id must not be null");
+        products.computeIfPresent(id, (key, previous) -> {
+            unindex(previous);
+            orderedIds.remove(key);
+            return null;
+        });
+    }
+
+    @Override
+    public BatchWriteResult saveAll(Collection<Product> products) {
+        return new BatchWriter<Product>(batchSize, Product::id, batch -> {
+            batch.forEach(product -> Objects.requireNonNull(product, "product must not be null"));
+            batch.forEach(this::save);
+        }, this::save).write(products);
+    }
+
+    @Override
+    public BatchWriteResult deleteAllById(Collection<ProductId> ids) {
+        return new BatchWriter<ProductId>(batchSize, Function.identity(), batch -> {
+            batch.forEach(id -> Objects.requireNonNull(id, "id must not be null"));
+            batch.forEach(this::deleteById);
+        }, this::deleteById).write(ids);
+    }
+
+    // --- Query Side ---
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return Optional.ofNullable(products.get(id));
+    }
+
+    @Override
+    public Collection<Product> findAll() {
+        return List.copyOf(products.values());
+    }
+
+    @Override
+    public ProductPage findPage(ProductId after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        NavigableSet<ProductId> remaining = after == null ? orderedIds : orderedIds.tailSet(after, false);
+        List<Product> page = new ArrayList<>(Math.min(limit, 1024));
+        ProductId lastId = null;
+        for (ProductId id : remaining) {
+            if (page.size() == limit) {
+                // Another product follows the full page, so hand out a cursor
+                return new ProductPage(page, lastId);
+            }
+            Product product = products.get(id);
+            if (product != null) {
+                page.add(product);
+                lastId = id;
+            }
+        }
+        return ProductPage.last(page);
+    }
+
+    @Override
+    public Collection<Product> findByBusinessId(BusinessId businessId) {
+        return resolve(byBusinessId.get(businessId), p -> p.businessId().equals(businessId));
+    }
+
+    @Override
+    public Collection<Product> findByCategory(String category) {
+        return resolve(byCategory.get(category), p -> p.category().equals(category));
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return resolve(bySku.get(sku), p -> p.findVariantBySku(sku).isPresent()).stream().findFirst();
+    }
+
+    @Override
+    public Collection<Product> findByVariantStatus(VariantStatusEnums status) {
+        return resolve(byStatus.get(status), p -> hasStatus(p, status));
+    }
+
+    public int count() {
+        return products.size();
+    }
+
+    // --- Index Maintenance ---
+
+    private void index(Product product) {
+        ProductId id = product.id();
+        add(byBusinessId, product.businessId(), id);
+        add(byCategory, product.category(), id);
+        for (Variant variant : product.variants()) {
+            add(bySku, variant.sku(), id);
+            add(byStatus, variant.status(), id);
+        }
+    }
+
+    private void unindex(Product product) {
+        ProductId id = product.id();
+        remove(byBusinessId, product.businessId(), id);
+        remove(byCategory, product.category(), id);
+        for (Variant variant : product.variants()) {
+            remove(bySku, variant.sku(), id);
+            remove(byStatus, variant.status(), id);
+        }
+    }
+
+    // Adds and removals run inside compute so an emptied set is never dropped while another writer is adding to it
+    private static <K> void add(ConcurrentHashMap<K, Set<ProductId>> index, K key, ProductId id) {
+        index.compute(key, (k, ids) -> {
+            Set<ProductId> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            result.add(id);
+            return result;
+        });
+    }
+
+    private static <K> void remove(ConcurrentHashMap<K, Set<ProductId>> index, K key, ProductId id) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private List<Product> resolve(Set<ProductId> ids, Predicate<Product> stillMatches) {
+        if (ids == null) {
+            return List.of();
+        }
+        List<Product> result = new ArrayList<>(ids.size());
+        for (ProductId id : ids) {
+            Product product = products.get(id);
+            if (product != null && stillMatches.test(product)) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    private static boolean hasStatus(Product product, VariantStatusEnums status) {
+        for (Variant variant : product.variants()) {
+            if (variant.status() == status) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped file of a {@link SegmentLogProductRepository}.
+ * <p>
+ * Records are laid out back to back:
+ * {@code [int length][int crc][byte type][byte format][short keyLength][key][payload]},
+ * where {@code length} covers everything after the checksum. The file is
+ * pre-sized and zero-filled, so a zero length marks the end of the written data.
+ * <p>
+ * Appends are done by a single writer. Readers use absolute slices of the
+ * mapping and never move its position, so they need no locking.
+ */
+final class LogSegment {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER = 4 + 4;
+    private static final int FIXED_BODY = 1 + 1 + 2;
+
+    /**
+     * A record found while scanning a segment.
+     *
+     * @param offset   position of the record in the segment
+     * @param size     total size of the record including its header
+     * @param type     {@link #PUT} or {@link #DELETE}
+     * @param key      the ProductId value
+     */
+    record Entry(int offset, int size, byte type, String key) {
+    }
+
+    private final long id;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+
+    private LogSegment(long id, Path path, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    static LogSegment create(Path directory, long id, int capacity) {
+        Path path = directory.resolve(fileName(id));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new LogSegment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create segment " + path, e);
+        }
+    }
+
+    static LogSegment open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new LogSegment(idOf(path), path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open segment " + path, e);
+        }
+    }
+
+    static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static long idOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String fileName(long id) {
+        return PREFIX + String.format("%012d", id) + SUFFIX;
+    }
+
+    static int recordSize(byte[] key, int payloadLength) {
+        return HEADER + FIXED_BODY + key.length + payloadLength;
+    }
+
+    // --- Writing ---
+
+    boolean hasRoom(int recordSize) {
+        return writePosition + recordSize <= buffer.capacity();
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    /*** Appends a record and returns its offset; the caller checks {@link #hasRoom} first. */
+    int append(byte type, byte format, byte[] key, byte[] payload) {
+        int offset = writePosition;
+        int bodyLength = FIXED_BODY + key.length + payload.length;
+        int body = offset + HEADER;
+        buffer.put(body, type);
+        buffer.put(body + 1, format);
+        buffer.putShort(body + 2, (short) key.length);
+        buffer.put(body + FIXED_BODY, key);
+        buffer.put(body + FIXED_BODY + key.length, payload);
+        buffer.putInt(offset + 4, checksum(body, bodyLength));
+        // The length goes last, so a torn write never looks like a complete record
+        buffer.putInt(offset, bodyLength);
+        writePosition = offset + HEADER + bodyLength;
+        return offset;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /*** Deletes the file. The mapping stays readable until it is garbage collected. */
+    void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete segment " + path, e);
+        }
+    }
+
+    // --- Reading ---
+
+    long id() {
+        return id;
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    byte format(int offset) {
+        return buffer.get(offset + HEADER + 1);
+    }
+
+    /*** Returns a read-only view of the payload of the record at the given offset. */
+    ByteBuffer payload(int offset) {
+        int bodyLength = buffer.getInt(offset);
+        int keyLength = buffer.getShort(offset + HEADER + 2);
+        int payloadStart = offset + HEADER + FIXED_BODY + keyLength;
+        return buffer.slice(payloadStart, offset + HEADER + bodyLength - payloadStart).asReadOnlyBuffer();
+    }
+
+    /**
+     * Visits every intact record from the start of the segment and positions the
+     * writer after the last one. Scanning stops at the first zero length or
+     * checksum mismatch, which is where an interrupted append left off.
+     */
+    void recover(Consumer<Entry> visitor) {
+        int offset = 0;
+        while (offset + HEADER + FIXED_BODY <= buffer.capacity()) {
+            int bodyLength = buffer.getInt(offset);
+            if (bodyLength < FIXED_BODY || offset + HEADER + bodyLength > buffer.capacity()) {
+                break;
+            }
+            int body = offset + HEADER;
+            if (buffer.getInt(offset + 4) != checksum(body, bodyLength)) {
+                break;
+            }
+            byte[] key = new byte[buffer.getShort(body + 2)];
+            buffer.get(body + FIXED_BODY, key);
+            visitor.accept(new Entry(offset, HEADER + bodyLength, buffer.get(body), new String(key, StandardCharsets.UTF_8)));
+            offset = body + bodyLength;
+        }
+        writePosition = offset;
+        if (offset + 4 <= buffer.capacity()) {
+            // Clear the start of a torn record so later appends are not mistaken for it
+            buffer.putInt(offset, 0);
+        }
+    }
+
+    private int checksum(int from, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(from, length));
+        return (int) crc.getValue();
+    }
+}
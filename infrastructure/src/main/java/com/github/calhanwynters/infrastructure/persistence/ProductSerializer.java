@@ -0,0 +1,21 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts products to and from the payload of a {@link SegmentLogProductRepository} record.
+ * Every record stores the {@link #format()} of the serializer that wrote it,
+ * so a store can tell which encoding it is reading.
+ */
+public interface ProductSerializer {
+
+    /*** Identifier of the encoding, written next to every record. */
+    byte format();
+
+    byte[] serialize(Product product);
+
+    /*** Decodes a product from the remaining bytes of the buffer. */
+    Product deserialize(ByteBuffer payload);
+}
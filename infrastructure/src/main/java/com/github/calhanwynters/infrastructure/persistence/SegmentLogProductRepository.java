@@ -0,0 +1,404 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.infrastructure.codec.ProductCodec;
+import com.github.calhanwynters.infrastructure.codec.ProductView;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.repositories.BatchWriteResult;
+import com.github.calhanwynters.repositories.BatchWriter;
+import com.github.calhanwynters.repositories.ProductCommandRepository;
+import com.github.calhanwynters.repositories.ProductPage;
+import com.github.calhanwynters.repositories.ProductQueryRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Embedded product store for nodes without an external database.
+ * <p>
+ * Every save appends the serialized product to a memory-mapped, append-only
+ * segment log ({@link LogSegment}); a delete appends a tombstone. An in-memory
+ * index maps each ProductId to the location of its latest version and is rebuilt
+ * on startup by scanning the segments in order, stopping at the first torn
+ * record. {@link #compact()} rewrites the live versions held in sealed segments
+ * and deletes those segments, reclaiming the space of superseded versions.
+ * <p>
+ * Records are written with the configured {@link ProductSerializer}, by default the
+ * compact {@link ProductCodec}. Records written by the other built-in serializer
+ * stay readable, so existing stores can switch formats without a migration.
+ * <p>
+ * Writes are serialized by a single lock. A {@link #save} is forced to disk before
+ * it returns; {@link #saveAll} and {@link #deleteAllById} force once per batch.
+ * Reads take no lock: they follow the index straight into the mapping.
+ * The catalog queries use the scanning defaults of {@link ProductQueryRepository};
+ * {@link #forEachView} lists products without decoding them fully.
+ */
+public final class SegmentLogProductRepository implements ProductCommandRepository, ProductQueryRepository {
+
+    private record Location(LogSegment segment, int offset, int size) {
+    }
+
+    private static final byte[] NO_PAYLOAD = new byte[0];
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int batchSize;
+    private final ProductSerializer serializer;
+    private final Map<Byte, ProductSerializer> readers = new HashMap<>();
+    private final ProductCodec codec = new ProductCodec();
+    private final ConcurrentSkipListMap<ProductId, Location> index = new ConcurrentSkipListMap<>(ProductPage.KEY_ORDER);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock; the last segment is the active one
+    private final List<LogSegment> segments = new ArrayList<>();
+    private long liveBytes;
+    private long usedBytes;
+
+    private SegmentLogProductRepository(Builder builder) {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.batchSize = builder.batchSize;
+        this.serializer = builder.serializer;
+        for (ProductSerializer reader : List.of(new DataStreamProductSerializer(), codec, serializer)) {
+            readers.put(reader.format(), reader);
+        }
+        recover();
+    }
+
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    // --- Recovery ---
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(LogSegment::isSegmentFile)
+                        .sorted(Comparator.comparingLong(LogSegment::idOf))
+                        .toList();
+            }
+            for (Path file : files) {
+                LogSegment segment = LogSegment.open(file);
+                segment.recover(entry -> replay(segment, entry));
+                usedBytes += segment.writePosition();
+                segments.add(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open product store in " + directory, e);
+        }
+        if (segments.isEmpty()) {
+            segments.add(LogSegment.create(directory, 1, segmentSize));
+        }
+    }
+
+    private void replay(LogSegment segment, LogSegment.Entry entry) {
+        ProductId id = new ProductId(entry.key());
+        Location previous = entry.type() == LogSegment.PUT
+                ? index.put(id, new Location(segment, entry.offset(), entry.size()))
+                : index.remove(id);
+        if (previous != null) {
+            liveBytes -= previous.size();
+        }
+        if (entry.type() == LogSegment.PUT) {
+            liveBytes += entry.size();
+        }
+    }
+
+    // --- Command Side ---
+
+    @Override
+    public void save(Product product) {
+        Objects.requireNonNull(product, "product must not be null");
+        byte[] payload = serializer.serialize(product);
+        writeLock.lock();
+        try {
+            put(product.id(), payload).force();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(ProductId id) {
+        Objects.requireNonNull(id, "id must not be null");
+        writeLock.lock();
+        try {
+            LogSegment written = delete(id);
+            if (written != null) {
+                written.force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchWriteResult saveAll(Collection<Product> products) {
+        return new BatchWriter<Product>(batchSize, Product::id, batch -> {
+            List<byte[]> payloads = new ArrayList<>(batch.size());
+            for (Product product : batch) {
+                payloads.add(serializer.serialize(Objects.requireNonNull(product, "product must not be null")));
+            }
+            writeLock.lock();
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    put(batch.get(i).id(), payloads.get(i));
+                }
+                active().force();
+            } finally {
+                writeLock.unlock();
+            }
+        }, this::save).write(products);
+    }
+
+    @Override
+    public BatchWriteResult deleteAllById(Collection<ProductId> ids) {
+        return new BatchWriter<ProductId>(batchSize, Function.identity(), batch -> {
+            batch.forEach(id -> Objects.requireNonNull(id, "id must not be null"));
+            writeLock.lock();
+            try {
+                batch.forEach(this::delete);
+                active().force();
+            } finally {
+                writeLock.unlock();
+            }
+        }, this::deleteById).write(ids);
+    }
+
+    // Callers hold writeLock
+    private LogSegment put(ProductId id, byte[] payload) {
+        byte[] key = id.value().getBytes(StandardCharsets.UTF_8);
+        int size = LogSegment.recordSize(key, payload.length);
+        LogSegment segment = segmentWithRoom(size);
+        int offset = segment.append(LogSegment.PUT, serializer.format(), key, payload);
+        Location previous = index.put(id, new Location(segment, offset, size));
+        usedBytes += size;
+        liveBytes += size - (previous == null ? 0 : previous.size());
+        return segment;
+    }
+
+    // Unknown ids need no tombstone; returns the segment written to, or null
+    private LogSegment delete(ProductId id) {
+        if (!index.containsKey(id)) {
+            return null;
+        }
+        byte[] key = id.value().getBytes(StandardCharsets.UTF_8);
+        int size = LogSegment.recordSize(key, 0);
+        LogSegment segment = segmentWithRoom(size);
+        segment.append(LogSegment.DELETE, serializer.format(), key, NO_PAYLOAD);
+        Location previous = index.remove(id);
+        usedBytes += size;
+        liveBytes -= previous.size();
+        return segment;
+    }
+
+    private LogSegment active() {
+        return segments.getLast();
+    }
+
+    private LogSegment segmentWithRoom(int recordSize) {
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException(
+                    "Record of " + recordSize + " bytes exceeds the segment size of " + segmentSize + " bytes");
+        }
+        LogSegment active = active();
+        if (active.hasRoom(recordSize)) {
+            return active;
+        }
+        active.force();
+        LogSegment rolled = LogSegment.create(directory, active.id() + 1, segmentSize);
+        segments.add(rolled);
+        return rolled;
+    }
+
+    // --- Compaction ---
+
+    /**
+     * Copies the live versions held in sealed segments to the end of the log and
+     * deletes those segments. Tombstones in them are dropped as well, since no
+     * older segment remains that they would have to mask. Writers wait while this runs.
+     *
+     * @return the number of bytes reclaimed
+     */
+    public long compact() {
+        writeLock.lock();
+        try {
+            List<LogSegment> sealed = List.copyOf(segments.subList(0, segments.size() - 1));
+            if (sealed.isEmpty()) {
+                return 0;
+            }
+            long before = usedBytes;
+            Set<LogSegment> compacted = Collections.newSetFromMap(new IdentityHashMap<>());
+            compacted.addAll(sealed);
+            for (Map.Entry<ProductId, Location> entry : index.entrySet()) {
+                if (compacted.contains(entry.getValue().segment())) {
+                    rewrite(entry.getKey(), entry.getValue());
+                }
+            }
+            active().force();
+            // Oldest first, so a crash part way through never leaves a tombstone behind without its target
+            for (LogSegment segment : sealed) {
+                segment.delete();
+                segments.remove(segment);
+                usedBytes -= segment.writePosition();
+            }
+            return before - usedBytes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rewrite(ProductId id, Location location) {
+        ByteBuffer source = location.segment().payload(location.offset());
+        byte[] payload = new byte[source.remaining()];
+        source.get(payload);
+        byte[] key = id.value().getBytes(StandardCharsets.UTF_8);
+        LogSegment segment = segmentWithRoom(location.size());
+        int offset = segment.append(LogSegment.PUT, location.segment().format(location.offset()), key, payload);
+        index.put(id, new Location(segment, offset, location.size()));
+        usedBytes += location.size();
+    }
+
+    // --- Query Side ---
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        Location location = index.get(id);
+        return location == null ? Optional.empty() : Optional.of(read(location));
+    }
+
+    @Override
+    public Collection<Product> findAll() {
+        List<Product> products = new ArrayList<>(index.size());
+        for (Location location : index.values()) {
+            products.add(read(location));
+        }
+        return products;
+    }
+
+    @Override
+    public ProductPage findPage(ProductId after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        NavigableMap<ProductId, Location> remaining = after == null ? index : index.tailMap(after, false);
+        List<Product> page = new ArrayList<>(Math.min(limit, 1024));
+        ProductId lastId = null;
+        for (Map.Entry<ProductId, Location> entry : remaining.entrySet()) {
+            if (page.size() == limit) {
+                return new ProductPage(page, lastId);
+            }
+            page.add(read(entry.getValue()));
+            lastId = entry.getKey();
+        }
+        return ProductPage.last(page);
+    }
+
+    /**
+     * Visits every product in key order through a single reused {@link ProductView}
+     * over the mapped bytes, for listings that need only a few fields per product.
+     * The view must not be kept beyond the callback.
+     */
+    public void forEachView(Consumer<ProductView> action) {
+        Objects.requireNonNull(action, "action must not be null");
+        ProductView view = codec.newView();
+        for (Location location : index.values()) {
+            action.accept(view.wrap(viewPayload(location)));
+        }
+    }
+
+    // Records in another format are re-encoded, which costs a full decode
+    private ByteBuffer viewPayload(Location location) {
+        if (location.segment().format(location.offset()) == ProductCodec.FORMAT) {
+            return location.segment().payload(location.offset());
+        }
+        return ByteBuffer.wrap(codec.encode(read(location)));
+    }
+
+    private Product read(Location location) {
+        byte format = location.segment().format(location.offset());
+        ProductSerializer reader = readers.get(format);
+        if (reader == null) {
+            throw new IllegalStateException("No serializer for record format " + format);
+        }
+        return reader.deserialize(location.segment().payload(location.offset()));
+    }
+
+    // --- Statistics ---
+
+    public int count() {
+        return index.size();
+    }
+
+    public int segmentCount() {
+        writeLock.lock();
+        try {
+            return segments.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /*** Share of the written bytes that belong to superseded versions and tombstones. */
+    public double garbageRatio() {
+        writeLock.lock();
+        try {
+            return usedBytes == 0 ? 0.0 : 1.0 - (double) liveBytes / usedBytes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // --- Builder ---
+
+    public static final class Builder {
+        private final Path directory;
+        private int segmentSize = 64 * 1024 * 1024;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private ProductSerializer serializer = new ProductCodec();
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "directory must not be null");
+        }
+
+        /*** Size of each mapped segment file; defaults to 64 MiB. */
+        public Builder segmentSize(int segmentSize) {
+            if (segmentSize < 1024) {
+                throw new IllegalArgumentException("segmentSize must be at least 1024 bytes");
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /*** Number of products written per forced batch in {@link #saveAll}. */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder serializer(ProductSerializer serializer) {
+            this.serializer = Objects.requireNonNull(serializer, "serializer must not be null");
+            return this;
+        }
+
+        /*** Opens the store, creating the directory or recovering existing segments. */
+        public SegmentLogProductRepository build() {
+            return new SegmentLogProductRepository(this);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.repositories.BatchWriteResult;
+import com.github.calhanwynters.repositories.ProductCommandRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Write-behind decorator that coalesces repeated writes of the same product.
+ * <p>
+ * {@link #save} and {@link #deleteById} only record the latest intended state per
+ * ProductId. A dedicated scheduler thread flushes the buffer once per window
+ * through the delegate's batch operations, so a product saved hundreds of
+ * times within a window reaches the store once. Flushes are serialized, which
+ * keeps the writes for a given product in order.
+ * <p>
+ * The buffer holds at most {@code maxPending} distinct products; what happens
+ * when it is full is decided by the {@link OverflowPolicy}. Failed items of a
+ * flush are not retried here but handed to the {@code onFlush} hook together
+ * with the rest of the batch result. A background flush that throws, for example
+ * from {@code onFlush}, is counted in {@link #flushErrorCount()} and the scheduler
+ * keeps running.
+ * <p>
+ * Writes accepted before {@link #close} returns are flushed by it; writes arriving
+ * afterwards fail with an {@link IllegalStateException}.
+ * <p>
+ * Reads against the backing store only observe a write once it has been flushed.
+ */
+public final class WriteBehindProductRepository implements ProductCommandRepository, AutoCloseable {
+
+    /*** What a writer does when the buffer already holds {@code maxPending} products. */
+    public enum OverflowPolicy {
+        /*** Trigger an asynchronous flush and wait for room. */
+        BLOCK,
+        /*** Flush the buffer on the calling thread, then continue. */
+        CALLER_RUNS,
+        /*** Fail the write with an {@link IllegalStateException}. */
+        REJECT
+    }
+
+    // A pending write; a null product marks a delete
+    private record PendingWrite(ProductId id, Product product) {
+    }
+
+    private final ProductCommandRepository delegate;
+    private final OverflowPolicy overflowPolicy;
+    private final Consumer<BatchWriteResult> onFlush;
+    private final ConcurrentHashMap<ProductId, PendingWrite> pending = new ConcurrentHashMap<>();
+    // One permit per distinct product in the buffer
+    private final Semaphore capacity;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Writers hold the read side while buffering, so close() cannot slip in between their closed check and put
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService scheduler;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder flushErrors = new LongAdder();
+    private boolean closed;
+
+    private WriteBehindProductRepository(Builder builder) {
+        this.delegate = builder.delegate;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.onFlush = builder.onFlush;
+        this.capacity = new Semaphore(builder.maxPending);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("product-write-behind").daemon().factory());
+        long windowNanos = builder.window.toNanos();
+        scheduler.scheduleWithFixedDelay(this::scheduledFlush, windowNanos, windowNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static Builder builder(ProductCommandRepository delegate) {
+        return new Builder(delegate);
+    }
+
+    // --- Command Side ---
+
+    @Override
+    public void save(Product product) {
+        Objects.requireNonNull(product, "product must not be null");
+        enqueue(new PendingWrite(product.id(), product));
+    }
+
+    @Override
+    public void deleteById(ProductId id) {
+        Objects.requireNonNull(id, "id must not be null");
+        enqueue(new PendingWrite(id, null));
+    }
+
+    private void enqueue(PendingWrite write) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-behind repository is closed");
+            }
+            buffer(write);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void buffer(PendingWrite write) {
+        received.increment();
+        // Fast path: the product is already buffered, so it only needs its latest state swapped in
+        if (pending.replace(write.id(), write) != null) {
+            coalesced.increment();
+            return;
+        }
+        acquireCapacity();
+        if (pending.put(write.id(), write) != null) {
+            // Another writer buffered the same product in the meantime and already holds its permit
+            capacity.release();
+            coalesced.increment();
+        }
+    }
+
+    private void acquireCapacity() {
+        if (capacity.tryAcquire()) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case REJECT -> throw new IllegalStateException("Write-behind buffer is full");
+            case CALLER_RUNS -> flush();
+            case BLOCK -> requestFlush();
+        }
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for write-behind capacity", e);
+        }
+    }
+
+    // --- Flushing ---
+
+    /**
+     * Writes every buffered product to the delegate on the calling thread.
+     * Returns the combined result of the delegate's batch operations.
+     */
+    public BatchWriteResult flush() {
+        flushLock.lock();
+        try {
+            List<Product> saves = new ArrayList<>();
+            List<ProductId> deletes = new ArrayList<>();
+            for (ProductId id : pending.keySet()) {
+                PendingWrite write = pending.remove(id);
+                if (write == null) {
+                    continue;
+                }
+                capacity.release();
+                if (write.product() != null) {
+                    saves.add(write.product());
+                } else {
+                    deletes.add(id);
+                }
+            }
+            if (saves.isEmpty() && deletes.isEmpty()) {
+                return new BatchWriteResult(0, 0, List.of());
+            }
+            BatchWriteResult saved = write(saves, delegate::saveAll, Product::id);
+            BatchWriteResult deleted = write(deletes, delegate::deleteAllById, id -> id);
+            List<BatchWriteResult.Failure> failures = new ArrayList<>(saved.failures());
+            failures.addAll(deleted.failures());
+            BatchWriteResult result = new BatchWriteResult(
+                    saved.attempted() + deleted.attempted(), saved.batches() + deleted.batches(), failures);
+            flushed.add(result.succeeded());
+            onFlush.accept(result);
+            return result;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // A delegate that throws instead of reporting failures still must not lose the drained writes silently
+    private static <T> BatchWriteResult write(List<T> items, Function<List<T>, BatchWriteResult> operation,
+                                              Function<T, ProductId> idOf) {
+        if (items.isEmpty()) {
+            return new BatchWriteResult(0, 0, List.of());
+        }
+        try {
+            return operation.apply(items);
+        } catch (RuntimeException e) {
+            return new BatchWriteResult(items.size(), 1,
+                    items.stream().map(item -> new BatchWriteResult.Failure(idOf.apply(item), e)).toList());
+        }
+    }
+
+    // close() waits for buffering writers before stopping the scheduler, so this only falls back defensively
+    private void requestFlush() {
+        try {
+            scheduler.execute(this::scheduledFlush);
+        } catch (RejectedExecutionException e) {
+            flush();
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Keep the scheduler alive; failures of individual writes reach onFlush, everything else is counted
+            flushErrors.increment();
+        }
+    }
+
+    /**
+     * Rejects further writes, stops the scheduler and flushes whatever is still
+     * buffered on the calling thread.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // --- Statistics ---
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /*** Writes accepted by {@link #save} and {@link #deleteById}. */
+    public long receivedCount() {
+        return received.sum();
+    }
+
+    /*** Writes that replaced an already buffered write of the same product. */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /*** Writes that reached the delegate successfully. */
+    public long flushedCount() {
+        return flushed.sum();
+    }
+
+    /*** Background flushes that ended with an exception instead of a batch result. */
+    public long flushErrorCount() {
+        return flushErrors.sum();
+    }
+
+    // --- Builder ---
+
+    public static final class Builder {
+        private final ProductCommandRepository delegate;
+        private Duration window = Duration.ofMillis(100);
+        private int maxPending = 10_000;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private Consumer<BatchWriteResult> onFlush = result -> { };
+
+        private Builder(ProductCommandRepository delegate) {
+            this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        }
+
+        /*** How long writes are coalesced before a flush; defaults to 100 ms. */
+        public Builder window(Duration window) {
+            Objects.requireNonNull(window, "window must not be null");
+            if (window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("window must be positive");
+            }
+            this.window = window;
+            return this;
+        }
+
+        /*** Maximum number of distinct products held in the buffer; defaults to 10,000. */
+        public Builder maxPending(int maxPending) {
+            if (maxPending <= 0) {
+                throw new IllegalArgumentException("maxPending must be positive");
+            }
+            this.maxPending = maxPending;
+            return this;
+        }
+
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy must not be null");
+            return this;
+        }
+
+        /*** Called after every non-empty flush, on the flushing thread. */
+        public Builder onFlush(Consumer<BatchWriteResult> onFlush) {
+            this.onFlush = Objects.requireNonNull(onFlush, "onFlush must not be null");
+            return this;
+        }
+
+        public WriteBehindProductRepository build() {
+            return new WriteBehindProductRepository(this);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Facet counts for the variants matching a {@link FacetQuery}: for every facet value, how
+ * many of the matching variants also carry it. Values with no matching variant are left out.
+ *
+ * @param total      the number of matching variants
+ * @param categories counts per category
+ * @param features   counts per feature name, then per label
+ * @param statuses   counts per variant status
+ * @param prices     counts per currency, one entry per non-empty price bucket in ascending order
+ */
+public record FacetCounts(int total,
+                          Map<String, Integer> categories,
+                          Map<String, Map<String, Integer>> features,
+                          Map<VariantStatusEnums, Integer> statuses,
+                          Map<String, List<PriceBucketCount>> prices) {
+
+    /**
+     * The number of matching variants priced within one bucket.
+     *
+     * @param min   inclusive lower bound, or null for the first bucket
+     * @param max   exclusive upper bound, or null for the last bucket
+     * @param count the number of matching variants in the bucket
+     */
+    public record PriceBucketCount(BigDecimal min, BigDecimal max, int count) {
+    }
+
+    public FacetCounts {
+        Objects.requireNonNull(categories, "categories must not be null");
+        Objects.requireNonNull(features, "features must not be null");
+        Objects.requireNonNull(statuses, "statuses must not be null");
+        Objects.requireNonNull(prices, "prices must not be null");
+    }
+}
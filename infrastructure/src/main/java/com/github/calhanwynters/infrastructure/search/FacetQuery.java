@@ -0,0 +1,119 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A filter over the variants of a {@link FacetedSearchIndex}. Terms match a single facet
+ * value; {@link And} and {@link Or} combine them into any boolean expression, so a storefront
+ * query such as "Color is Red or Blue, in stock, under 50 EUR" reads
+ * <pre>{@code
+ * FacetQuery.feature("Color", "Red").or(FacetQuery.feature("Color", "Blue"))
+ *         .and(FacetQuery.status(VariantStatusEnums.ACTIVE))
+ *         .and(FacetQuery.price("EUR", null, new BigDecimal("50")))
+ * }</pre>
+ * Terms are evaluated per variant, so every term of an {@link And} must hold for the same variant.
+ */
+public sealed interface FacetQuery {
+
+    /*** Matches every indexed variant. */
+    record All() implements FacetQuery {
+    }
+
+    /*** Matches the variants of products in a category. */
+    record Category(String category) implements FacetQuery {
+        public Category {
+            Objects.requireNonNull(category, "category must not be null");
+        }
+    }
+
+    /*** Matches variants with a feature of the given name and, unless the label is null, that label. */
+    record Feature(String name, String label) implements FacetQuery {
+        public Feature {
+            Objects.requireNonNull(name, "name must not be null");
+        }
+    }
+
+    record Status(VariantStatusEnums status) implements FacetQuery {
+        public Status {
+            Objects.requireNonNull(status, "status must not be null");
+        }
+    }
+
+    /**
+     * Matches variants whose current price is in {@code [min, max)} in the given currency.
+     * A null bound leaves that side open.
+     */
+    record PriceRange(String currency, BigDecimal min, BigDecimal max) implements FacetQuery {
+        public PriceRange {
+            Objects.requireNonNull(currency, "currency must not be null");
+            if (min != null && max != null && min.compareTo(max) > 0) {
+                throw new IllegalArgumentException("min must not be greater than max");
+            }
+        }
+
+        boolean contains(BigDecimal price) {
+            return (min == null || price.compareTo(min) >= 0) && (max == null || price.compareTo(max) < 0);
+        }
+    }
+
+    record And(List<FacetQuery> queries) implements FacetQuery {
+        public And {
+            queries = List.copyOf(queries);
+        }
+    }
+
+    record Or(List<FacetQuery> queries) implements FacetQuery {
+        public Or {
+            queries = List.copyOf(queries);
+        }
+    }
+
+    // --- Factory Methods ---
+
+    static FacetQuery all() {
+        return new All();
+    }
+
+    static FacetQuery category(String category) {
+        return new Category(category);
+    }
+
+    static FacetQuery feature(String name, String label) {
+        return new Feature(name, label);
+    }
+
+    /*** Matches variants that have a feature of the given name, whatever its label. */
+    static FacetQuery hasFeature(String name) {
+        return new Feature(name, null);
+    }
+
+    static FacetQuery status(VariantStatusEnums status) {
+        return new Status(status);
+    }
+
+    static FacetQuery price(String currency, BigDecimal min, BigDecimal max) {
+        return new PriceRange(currency, min, max);
+    }
+
+    static FacetQuery allOf(FacetQuery... queries) {
+        return new And(List.of(queries));
+    }
+
+    static FacetQuery anyOf(FacetQuery... queries) {
+        return new Or(List.of(queries));
+    }
+
+    // --- Combinators ---
+
+    default FacetQuery and(FacetQuery other) {
+        return allOf(this, other);
+    }
+
+    default FacetQuery or(FacetQuery other) {
+        return anyOf(this, other);
+    }
+}
@@ -0,0 +1,375 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.infrastructure.search.FacetCounts.PriceBucketCount;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.FeatureInterface;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Faceted search over the variants of a catalog: category, feature name and label
+ * (Color=Red), variant status and current-price range.
+ * <p>
+ * Every indexed variant gets a dense int document id, and every facet value keeps a
+ * {@link RoaringBitmap} of the variants carrying it. A {@link FacetQuery} is answered by
+ * intersecting and uniting those bitmaps, and facet counts are intersection cardinalities,
+ * so neither touches a product that does not match. Prices are bucketed per currency by
+ * {@link PriceBuckets}; a range query unites the buckets it covers and checks exact prices
+ * only in the two buckets it cuts through, and inside an {@link FacetQuery.And} only for
+ * the variants its other terms kept.
+ * <p>
+ * Updates are incremental: re-indexing a product clears the bits of its previous variants
+ * and frees their document ids for reuse, which keeps the bitmaps dense. Queries share a
+ * read lock and updates take the write lock, so a query never sees half a product.
+ */
+public final class FacetedSearchIndex implements ProductIndex {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final PriceBuckets priceBuckets;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<ProductId, int[]> docsByProduct = new HashMap<>();
+    private Product[] docProducts = new Product[64];
+    private Variant[] docVariants = new Variant[64];
+    private BigDecimal[] docPrices = new BigDecimal[64];
+    private int[] freeDocs = new int[16];
+    private int freeCount;
+    private int nextDoc;
+
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<String, RoaringBitmap> byFeatureName = new HashMap<>();
+    private final Map<String, Map<String, RoaringBitmap>> byFeatureLabel = new HashMap<>();
+    private final Map<VariantStatusEnums, RoaringBitmap> byStatus = new EnumMap<>(VariantStatusEnums.class);
+    private final Map<String, RoaringBitmap[]> byPriceBucket = new HashMap<>();
+
+    public FacetedSearchIndex() {
+        this(PriceBuckets.DEFAULT);
+    }
+
+    public FacetedSearchIndex(PriceBuckets priceBuckets) {
+        this.priceBuckets = Objects.requireNonNull(priceBuckets, "priceBuckets must not be null");
+    }
+
+    // --- Updates ---
+
+    @Override
+    public void index(Product product) {
+        Objects.requireNonNull(product, "product must not be null");
+        lock.writeLock().lock();
+        try {
+            unindex(product.id());
+            int[] docs = new int[product.variants().size()];
+            int i = 0;
+            for (Variant variant : product.variants()) {
+                docs[i++] = add(product, variant);
+            }
+            docsByProduct.put(product.id(), docs);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(ProductId id) {
+        Objects.requireNonNull(id, "id must not be null");
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- Queries ---
+
+    /*** Products with at least one matching variant, in no particular order. */
+    public List<Product> search(FacetQuery query) {
+        Objects.requireNonNull(query, "query must not be null");
+        lock.readLock().lock();
+        try {
+            List<Product> products = new ArrayList<>();
+            Set<ProductId> seen = new HashSet<>();
+            evaluate(query).forEach(doc -> {
+                Product product = docProducts[doc];
+                if (seen.add(product.id())) {
+                    products.add(product);
+                }
+            });
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*** The matching variants, in no particular order. */
+    public List<Variant> searchVariants(FacetQuery query) {
+        Objects.requireNonNull(query, "query must not be null");
+        lock.readLock().lock();
+        try {
+            List<Variant> variants = new ArrayList<>();
+            evaluate(query).forEach(doc -> variants.add(docVariants[doc]));
+            return variants;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*** The number of matching variants. */
+    public int count(FacetQuery query) {
+        Objects.requireNonNull(query, "query must not be null");
+        lock.readLock().lock();
+        try {
+            return evaluate(query).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*** Counts per facet value among the variants matching a query; use {@link FacetQuery#all()} for the whole catalog. */
+    public FacetCounts facetCounts(FacetQuery query) {
+        Objects.requireNonNull(query, "query must not be null");
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = evaluate(query);
+            Map<String, Integer> categories = countEach(byCategory, matches);
+            Map<String, Map<String, Integer>> features = new TreeMap<>();
+            byFeatureLabel.forEach((name, labels) -> {
+                Map<String, Integer> counts = countEach(labels, matches);
+                if (!counts.isEmpty()) {
+                    features.put(name, counts);
+                }
+            });
+            Map<VariantStatusEnums, Integer> statuses = new EnumMap<>(VariantStatusEnums.class);
+            byStatus.forEach((status, docs) -> putIfPositive(statuses, status, RoaringBitmap.andCardinality(matches, docs)));
+            Map<String, List<PriceBucketCount>> prices = new TreeMap<>();
+            byPriceBucket.forEach((currency, buckets) -> {
+                List<PriceBucketCount> counts = new ArrayList<>();
+                for (int bucket = 0; bucket < buckets.length; bucket++) {
+                    int count = buckets[bucket] == null ? 0 : RoaringBitmap.andCardinality(matches, buckets[bucket]);
+                    if (count > 0) {
+                        counts.add(new PriceBucketCount(priceBuckets.lowerBound(bucket), priceBuckets.upperBound(bucket), count));
+                    }
+                }
+                if (!counts.isEmpty()) {
+                    prices.put(currency, List.copyOf(counts));
+                }
+            });
+            return new FacetCounts(matches.cardinality(), Collections.unmodifiableMap(categories),
+                    Collections.unmodifiableMap(features), Collections.unmodifiableMap(statuses),
+                    Collections.unmodifiableMap(prices));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*** Number of indexed products. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*** Number of indexed variants. */
+    public int variantCount() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Evaluation ---
+
+    private RoaringBitmap evaluate(FacetQuery query) {
+        return evaluate(query, live);
+    }
+
+    // The result is exact within candidates and may hold other documents, which the caller's
+    // And removes. May return a live bitmap of the index; callers only read it, under the read lock.
+    private RoaringBitmap evaluate(FacetQuery query, RoaringBitmap candidates) {
+        return switch (query) {
+            case FacetQuery.All all -> live;
+            case FacetQuery.Category category -> byCategory.getOrDefault(category.category(), EMPTY);
+            case FacetQuery.Feature feature -> feature.label() == null
+                    ? byFeatureName.getOrDefault(feature.name(), EMPTY)
+                    : byFeatureLabel.getOrDefault(feature.name(), Map.of()).getOrDefault(feature.label(), EMPTY);
+            case FacetQuery.Status status -> byStatus.getOrDefault(status.status(), EMPTY);
+            case FacetQuery.PriceRange range -> evaluatePriceRange(range, candidates);
+            case FacetQuery.And and -> {
+                // Price ranges go last, so their exact checks only see documents the other terms kept
+                RoaringBitmap result = candidates;
+                for (FacetQuery part : and.queries()) {
+                    if (!(part instanceof FacetQuery.PriceRange) && !result.isEmpty()) {
+                        result = RoaringBitmap.and(result, evaluate(part, result));
+                    }
+                }
+                for (FacetQuery part : and.queries()) {
+                    if (part instanceof FacetQuery.PriceRange && !result.isEmpty()) {
+                        result = RoaringBitmap.and(result, evaluate(part, result));
+                    }
+                }
+                yield result;
+            }
+            case FacetQuery.Or or -> {
+                RoaringBitmap result = EMPTY;
+                for (FacetQuery part : or.queries()) {
+                    result = RoaringBitmap.or(result, evaluate(part, candidates));
+                }
+                yield result;
+            }
+        };
+    }
+
+    private RoaringBitmap evaluatePriceRange(FacetQuery.PriceRange range, RoaringBitmap candidates) {
+        RoaringBitmap[] buckets = byPriceBucket.get(range.currency());
+        if (buckets == null) {
+            return EMPTY;
+        }
+        int first = range.min() == null ? 0 : priceBuckets.bucketOf(range.min());
+        int last = range.max() == null ? buckets.length - 1 : priceBuckets.bucketOf(range.max());
+        if (range.max() != null && last > 0 && priceBuckets.lowerBound(last).compareTo(range.max()) == 0) {
+            // max is exclusive, so a bucket starting exactly at max holds nothing in range
+            last--;
+        }
+        RoaringBitmap result = EMPTY;
+        for (int bucket = first; bucket <= last; bucket++) {
+            RoaringBitmap docs = buckets[bucket];
+            if (docs == null) {
+                continue;
+            }
+            BigDecimal lower = priceBuckets.lowerBound(bucket);
+            BigDecimal upper = priceBuckets.upperBound(bucket);
+            boolean covered = (range.min() == null || (lower != null && lower.compareTo(range.min()) >= 0))
+                    && (range.max() == null || (upper != null && upper.compareTo(range.max()) <= 0));
+            if (covered) {
+                result = RoaringBitmap.or(result, docs);
+            } else {
+                RoaringBitmap partial = new RoaringBitmap();
+                (candidates == live ? docs : RoaringBitmap.and(docs, candidates)).forEach(doc -> {
+                    if (range.contains(docPrices[doc])) {
+                        partial.add(doc);
+                    }
+                });
+                result = RoaringBitmap.or(result, partial);
+            }
+        }
+        return result;
+    }
+
+    private static <K> Map<K, Integer> countEach(Map<K, RoaringBitmap> bitmaps, RoaringBitmap matches) {
+        Map<K, Integer> counts = new TreeMap<>();
+        bitmaps.forEach((key, docs) -> putIfPositive(counts, key, RoaringBitmap.andCardinality(matches, docs)));
+        return counts;
+    }
+
+    private static <K> void putIfPositive(Map<K, Integer> counts, K key, int count) {
+        if (count > 0) {
+            counts.put(key, count);
+        }
+    }
+
+    // --- Document Bookkeeping ---
+
+    private int add(Product product, Variant variant) {
+        int doc = freeCount > 0 ? freeDocs[--freeCount] : nextDoc++;
+        if (doc == docProducts.length) {
+            docProducts = Arrays.copyOf(docProducts, doc * 2);
+            docVariants = Arrays.copyOf(docVariants, doc * 2);
+            docPrices = Arrays.copyOf(docPrices, doc * 2);
+        }
+        BigDecimal price = variant.currentPrice().getNumber().numberValue(BigDecimal.class);
+        docProducts[doc] = product;
+        docVariants[doc] = variant;
+        docPrices[doc] = price;
+
+        live.add(doc);
+        byCategory.computeIfAbsent(product.category(), key -> new RoaringBitmap()).add(doc);
+        byStatus.computeIfAbsent(variant.status(), key -> new RoaringBitmap()).add(doc);
+        for (FeatureInterface feature : variant.features()) {
+            if (feature.name() == null) {
+                continue;
+            }
+            byFeatureName.computeIfAbsent(feature.name(), key -> new RoaringBitmap()).add(doc);
+            if (feature.label() != null) {
+                byFeatureLabel.computeIfAbsent(feature.name(), key -> new HashMap<>())
+                        .computeIfAbsent(feature.label(), key -> new RoaringBitmap()).add(doc);
+            }
+        }
+        RoaringBitmap[] buckets = byPriceBucket.computeIfAbsent(
+                variant.currentPrice().getCurrency().getCurrencyCode(), key -> new RoaringBitmap[priceBuckets.count()]);
+        int bucket = priceBuckets.bucketOf(price);
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new RoaringBitmap();
+        }
+        buckets[bucket].add(doc);
+        return doc;
+    }
+
+    private void unindex(ProductId id) {
+        int[] docs = docsByProduct.remove(id);
+        if (docs == null) {
+            return;
+        }
+        for (int doc : docs) {
+            removeDoc(doc);
+        }
+    }
+
+    // Clears the bits of a document and drops facet values no variant carries any more
+    private void removeDoc(int doc) {
+        Product product = docProducts[doc];
+        Variant variant = docVariants[doc];
+        live.remove(doc);
+        clear(byCategory, product.category(), doc);
+        clear(byStatus, variant.status(), doc);
+        for (FeatureInterface feature : variant.features()) {
+            if (feature.name() == null) {
+                continue;
+            }
+            clear(byFeatureName, feature.name(), doc);
+            Map<String, RoaringBitmap> labels = byFeatureLabel.get(feature.name());
+            if (feature.label() != null && labels != null) {
+                clear(labels, feature.label(), doc);
+                if (labels.isEmpty()) {
+                    byFeatureLabel.remove(feature.name());
+                }
+            }
+        }
+        String currency = variant.currentPrice().getCurrency().getCurrencyCode();
+        RoaringBitmap[] buckets = byPriceBucket.get(currency);
+        int bucket = priceBuckets.bucketOf(docPrices[doc]);
+        buckets[bucket].remove(doc);
+        if (buckets[bucket].isEmpty()) {
+            buckets[bucket] = null;
+            if (Arrays.stream(buckets).allMatch(Objects::isNull)) {
+                byPriceBucket.remove(currency);
+            }
+        }
+
+        docProducts[doc] = null;
+        docVariants[doc] = null;
+        docPrices[doc] = null;
+        if (freeCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+        }
+        freeDocs[freeCount++] = doc;
+    }
+
+    private static <K> void clear(Map<K, RoaringBitmap> bitmaps, K key, int doc) {
+        RoaringBitmap docs = bitmaps.get(key);
+        if (docs != null && docs.remove(doc) && docs.isEmpty()) {
+            bitmaps.remove(key);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Full-text search over product descriptions and variant care instructions, ranked by BM25.
+ * <p>
+ * Text is split into terms by {@link TextTokenizer}. Each term keeps a {@link PostingList}
+ * of the documents containing it, compressed as varint document deltas with block skip
+ * data. A product is one document; its text is the description followed by the distinct
+ * care instructions of its variants.
+ * <p>
+ * Queries match any of their terms and return the {@code limit} best products from a
+ * bounded heap. Evaluation walks the posting lists document by document with MaxScore
+ * pruning: once the heap is full, the lists whose combined best-case score cannot beat
+ * its weakest hit only score documents found through the other lists, and skip to them
+ * block by block instead of decoding every posting.
+ * <p>
+ * Posting lists only grow, so documents get ascending ids. Re-indexing a product deletes
+ * its old document and appends a new one; deleted documents are skipped by queries and
+ * reclaimed by rebuilding the postings once they outnumber the live ones. Queries share a
+ * read lock and updates take the write lock.
+ */
+public final class FullTextIndex implements ProductIndex {
+
+    /*** BM25 term-frequency saturation. */
+    static final double K1 = 1.2;
+    /*** BM25 document-length normalization. */
+    static final double B = 0.75;
+    // Deleted documents tolerated before a rebuild is considered
+    private static final int MIN_DELETED_FOR_REBUILD = 1024;
+
+    private static final class Term {
+        final PostingList postings = new PostingList();
+        int liveDocs;
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Term> terms = new HashMap<>();
+    private final Map<ProductId, Integer> docByProduct = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private Product[] docProducts = new Product[64];
+    private int[] docLengths = new int[64];
+    private int nextDoc;
+    private int liveDocs;
+    private long totalLength;
+
+    // --- Updates ---
+
+    @Override
+    public void index(Product product) {
+        Objects.requireNonNull(product, "product must not be null");
+        lock.writeLock().lock();
+        try {
+            delete(product.id());
+            append(product);
+            rebuildIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(ProductId id) {
+        Objects.requireNonNull(id, "id must not be null");
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            rebuildIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- Queries ---
+
+    /**
+     * The {@code limit} products that score highest for any of the query's terms, best first;
+     * equal scores keep the order in which the products were indexed.
+     */
+    public List<TextHit> search(String query, int limit) {
+        Objects.requireNonNull(query, "query must not be null");
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        Set<String> queryTerms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            List<TermScorer> scorers = new ArrayList<>();
+            for (String text : queryTerms) {
+                Term term = terms.get(text);
+                if (term != null && term.liveDocs > 0) {
+                    double idf = Math.log(1 + (liveDocs - term.liveDocs + 0.5) / (term.liveDocs + 0.5));
+                    scorers.add(new TermScorer(term.postings.cursor(), idf));
+                }
+            }
+            if (scorers.isEmpty()) {
+                return List.of();
+            }
+            return topHits(scorers, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*** Number of indexed products. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Scoring ---
+
+    private record TermScorer(PostingList.Cursor cursor, double idf) {
+        double maxScore() {
+            return idf * (K1 + 1);
+        }
+    }
+
+    private List<TextHit> topHits(List<TermScorer> scorers, int limit) {
+        // Ascending best-case score; upper[i] bounds a document that only lists 0..i contain
+        scorers.sort(Comparator.comparingDouble(TermScorer::maxScore));
+        int n = scorers.size();
+        PostingList.Cursor[] cursors = new PostingList.Cursor[n];
+        double[] idfs = new double[n];
+        double[] upper = new double[n];
+        for (int i = 0; i < n; i++) {
+            cursors[i] = scorers.get(i).cursor();
+            idfs[i] = scorers.get(i).idf();
+            upper[i] = (i == 0 ? 0 : upper[i - 1]) + scorers.get(i).maxScore();
+            cursors[i].next();
+        }
+        double lengthBase = K1 * (1 - B);
+        double lengthScale = K1 * B * liveDocs / totalLength;
+
+        HitHeap heap = new HitHeap(Math.min(limit, liveDocs));
+        int firstEssential = 0;
+        while (true) {
+            int doc = PostingList.NO_MORE_DOCS;
+            for (int i = firstEssential; i < n; i++) {
+                doc = Math.min(doc, cursors[i].doc());
+            }
+            if (doc == PostingList.NO_MORE_DOCS) {
+                break;
+            }
+            double norm = lengthBase + lengthScale * docLengths[doc];
+            double score = 0;
+            for (int i = firstEssential; i < n; i++) {
+                if (cursors[i].doc() == doc) {
+                    score += termScore(idfs[i], cursors[i].frequency(), norm);
+                    cursors[i].next();
+                }
+            }
+            if (deleted.get(doc)) {
+                continue;
+            }
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                if (score + upper[i] <= heap.threshold()) {
+                    break;
+                }
+                if (cursors[i].advance(doc) == doc) {
+                    score += termScore(idfs[i], cursors[i].frequency(), norm);
+                }
+            }
+            if (heap.offer(doc, score)) {
+                while (firstEssential < n && upper[firstEssential] <= heap.threshold()) {
+                    firstEssential++;
+                }
+            }
+        }
+        return heap.drain(docProducts);
+    }
+
+    private static double termScore(double idf, int frequency, double norm) {
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    // Min-heap of the best hits so far; the root is the weakest, and of equal scores the later document
+    private static final class HitHeap {
+        private final int[] docs;
+        private final double[] scores;
+        private int size;
+
+        HitHeap(int capacity) {
+            docs = new int[capacity];
+            scores = new double[capacity];
+        }
+
+        // Scores below this cannot enter; zero until the heap is full, since every matching score is positive
+        double threshold() {
+            return size < docs.length ? 0 : scores[0];
+        }
+
+        // Returns true when the threshold may have changed
+        boolean offer(int doc, double score) {
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+                return size == docs.length;
+            }
+            if (score <= scores[0]) {
+                return false;
+            }
+            docs[0] = doc;
+            scores[0] = score;
+            siftDown(0);
+            return true;
+        }
+
+        List<TextHit> drain(Product[] products) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> scores[a] != scores[b] ? Double.compare(scores[b], scores[a]) : Integer.compare(docs[a], docs[b]));
+            List<TextHit> hits = new ArrayList<>(size);
+            for (int i : order) {
+                hits.add(new TextHit(products[docs[i]], scores[i]));
+            }
+            return hits;
+        }
+
+        private boolean weaker(int a, int b) {
+            return scores[a] < scores[b] || (scores[a] == scores[b] && docs[a] > docs[b]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!weaker(i, parent)) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int weakest = i;
+                int left = 2 * i + 1;
+                if (left < size && weaker(left, weakest)) {
+                    weakest = left;
+                }
+                if (left + 1 < size && weaker(left + 1, weakest)) {
+                    weakest = left + 1;
+                }
+                if (weakest == i) {
+                    return;
+                }
+                swap(i, weakest);
+                i = weakest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    // --- Document Bookkeeping ---
+
+    private static Map<String, Integer> termFrequencies(Product product) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        TextTokenizer.tokenize(product.description().value(), term -> frequencies.merge(term, 1, Integer::sum));
+        Set<String> instructions = new HashSet<>();
+        for (Variant variant : product.variants()) {
+            String text = variant.careInstructions().instructions();
+            if (instructions.add(text)) {
+                TextTokenizer.tokenize(text, term -> frequencies.merge(term, 1, Integer::sum));
+            }
+        }
+        return frequencies;
+    }
+
+    private void append(Product product) {
+        Map<String, Integer> frequencies = termFrequencies(product);
+        int doc = nextDoc++;
+        if (doc == docProducts.length) {
+            docProducts = Arrays.copyOf(docProducts, doc * 2);
+            docLengths = Arrays.copyOf(docLengths, doc * 2);
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Term term = terms.computeIfAbsent(entry.getKey(), key -> new Term());
+            term.postings.add(doc, entry.getValue());
+            term.liveDocs++;
+            length += entry.getValue();
+        }
+        docProducts[doc] = product;
+        docLengths[doc] = Math.max(1, length);
+        docByProduct.put(product.id(), doc);
+        liveDocs++;
+        totalLength += docLengths[doc];
+    }
+
+    private void delete(ProductId id) {
+        Integer doc = docByProduct.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String text : termFrequencies(docProducts[doc]).keySet()) {
+            terms.get(text).liveDocs--;
+        }
+        deleted.set(doc);
+        docProducts[doc] = null;
+        liveDocs--;
+        totalLength -= docLengths[doc];
+    }
+
+    // Rewrites the postings without deleted documents once those outnumber the live ones
+    private void rebuildIfSparse() {
+        int deletedDocs = nextDoc - liveDocs;
+        if (deletedDocs < MIN_DELETED_FOR_REBUILD || deletedDocs <= liveDocs) {
+            return;
+        }
+        List<Product> live = new ArrayList<>(liveDocs);
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (docProducts[doc] != null) {
+                live.add(docProducts[doc]);
+            }
+        }
+        terms.clear();
+        docByProduct.clear();
+        deleted.clear();
+        docProducts = new Product[Math.max(64, live.size())];
+        docLengths = new int[docProducts.length];
+        nextDoc = 0;
+        liveDocs = 0;
+        totalLength = 0;
+        live.forEach(this::append);
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.BusinessId;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.repositories.BatchWriteResult;
+import com.github.calhanwynters.repositories.ProductCommandRepository;
+import com.github.calhanwynters.repositories.ProductPage;
+import com.github.calhanwynters.repositories.ProductQueryRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps {@link ProductIndex}es in step with a product store. Every successful
+ * {@link #save} and {@link #deleteById} is applied to each index after the store accepted
+ * it; a write the store rejects leaves the indexes untouched. Bulk writes index the items
+ * that landed and re-read the failed ones from the store, which may have applied part of a batch.
+ * <p>
+ * Writes are serialized, so the indexes always end up holding the version the store kept
+ * last. Products already in the store are indexed when the repository is created.
+ * All queries go straight to the delegate.
+ */
+public final class IndexingProductRepository implements ProductCommandRepository, ProductQueryRepository {
+
+    private final ProductQueryRepository queries;
+    private final ProductCommandRepository commands;
+    private final List<ProductIndex> indexes;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /*** Decorates a store that implements both repository interfaces, such as {@code InMemoryProductRepository}. */
+    public <R extends ProductQueryRepository & ProductCommandRepository> IndexingProductRepository(
+            R repository, ProductIndex... indexes) {
+        this(repository, repository, List.of(indexes));
+    }
+
+    public IndexingProductRepository(ProductQueryRepository queries, ProductCommandRepository commands,
+                                     List<ProductIndex> indexes) {
+        this.queries = Objects.requireNonNull(queries, "queries must not be null");
+        this.commands = Objects.requireNonNull(commands, "commands must not be null");
+        this.indexes = List.copyOf(indexes);
+        writeLock.lock();
+        try {
+            queries.streamAll().forEach(product -> this.indexes.forEach(index -> index.index(product)));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // --- Command Side ---
+
+    @Override
+    public void save(Product product) {
+        Objects.requireNonNull(product, "product must not be null");
+        writeLock.lock();
+        try {
+            commands.save(product);
+            indexes.forEach(index -> index.index(product));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(ProductId id) {
+        Objects.requireNonNull(id, "id must not be null");
+        writeLock.lock();
+        try {
+            commands.deleteById(id);
+            indexes.forEach(index -> index.remove(id));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchWriteResult saveAll(Collection<Product> products) {
+        writeLock.lock();
+        try {
+            BatchWriteResult result = commands.saveAll(products);
+            Set<ProductId> failed = failedIds(result);
+            for (Product product : products) {
+                if (product != null && !failed.contains(product.id())) {
+                    indexes.forEach(index -> index.index(product));
+                }
+            }
+            failed.forEach(this::resync);
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchWriteResult deleteAllById(Collection<ProductId> ids) {
+        writeLock.lock();
+        try {
+            BatchWriteResult result = commands.deleteAllById(ids);
+            Set<ProductId> failed = failedIds(result);
+            for (ProductId id : ids) {
+                if (id != null && !failed.contains(id)) {
+                    indexes.forEach(index -> index.remove(id));
+                }
+            }
+            failed.forEach(this::resync);
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Set<ProductId> failedIds(BatchWriteResult result) {
+        Set<ProductId> failed = new HashSet<>();
+        for (BatchWriteResult.Failure failure : result.failures()) {
+            if (failure.id() != null) {
+                failed.add(failure.id());
+            }
+        }
+        return failed;
+    }
+
+    // Brings the indexes in line with whatever the store holds for an id
+    private void resync(ProductId id) {
+        Optional<Product> stored = queries.findById(id);
+        indexes.forEach(index -> stored.ifPresentOrElse(index::index, () -> index.remove(id)));
+    }
+
+    // --- Query Side ---
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return queries.findById(id);
+    }
+
+    @Override
+    public Collection<Product> findAll() {
+        return queries.findAll();
+    }
+
+    @Override
+    public ProductPage findPage(ProductId after, int limit) {
+        return queries.findPage(after, limit);
+    }
+
+    @Override
+    public Collection<Product> findByBusinessId(BusinessId businessId) {
+        return queries.findByBusinessId(businessId);
+    }
+
+    @Override
+    public Collection<Product> findByCategory(String category) {
+        return queries.findByCategory(category);
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return queries.findBySku(sku);
+    }
+
+    @Override
+    public Collection<Product> findByVariantStatus(VariantStatusEnums status) {
+        return queries.findByVariantStatus(status);
+    }
+}
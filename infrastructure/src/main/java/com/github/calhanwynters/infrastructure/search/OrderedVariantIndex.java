@@ -0,0 +1,139 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Shared machinery of {@link PriceIndex} and {@link WeightIndex}: variants ordered by a
+ * primitive {@code long} key within a partition (a currency, or a single partition for
+ * weights), held in one {@link ConcurrentSkipListSet} per partition.
+ * <p>
+ * Entries order by key, then by ProductId and VariantId, so equal keys scan in a stable
+ * order. Reads never lock. Updates for the same product are serialized by
+ * {@link ConcurrentHashMap#compute} and touch only the entries whose key changed, so
+ * saving a repriced variant moves that one entry. A new entry is added before the old one
+ * is removed: a concurrent scan may see a moving variant at both keys, but never at neither.
+ */
+abstract class OrderedVariantIndex implements ProductIndex {
+
+    private record Entry(long key, ProductId productId, VariantId variantId) {
+    }
+
+    // Sentinels carry null ids, which sort before every real entry with the same key
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::key)
+            .thenComparing(entry -> entry.productId() == null ? null : entry.productId().value(), NULLS_FIRST)
+            .thenComparing(entry -> entry.variantId() == null ? null : entry.variantId().value(), NULLS_FIRST);
+
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Entry>> partitions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ProductId, Map<Entry, String>> entriesByProduct = new ConcurrentHashMap<>();
+
+    /*** The partition a variant's key is ordered in, e.g. its currency code. */
+    abstract String partitionOf(Variant variant);
+
+    abstract long keyOf(Variant variant);
+
+    // --- Updates ---
+
+    @Override
+    public void index(Product product) {
+        Objects.requireNonNull(product, "product must not be null");
+        entriesByProduct.compute(product.id(), (id, previous) -> {
+            Map<Entry, String> current = new HashMap<>();
+            for (Variant variant : product.variants()) {
+                current.put(new Entry(keyOf(variant), id, variant.id()), partitionOf(variant));
+            }
+            current.forEach((entry, partition) -> {
+                if (previous == null || !partition.equals(previous.get(entry))) {
+                    partition(partition).add(entry);
+                }
+            });
+            if (previous != null) {
+                previous.forEach((entry, partition) -> {
+                    if (!partition.equals(current.get(entry))) {
+                        partition(partition).remove(entry);
+                    }
+                });
+            }
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    @Override
+    public void remove(ProductId id) {
+        Objects.requireNonNull(id, "id must not be null");
+        entriesByProduct.computeIfPresent(id, (key, previous) -> {
+            previous.forEach((entry, partition) -> partition(partition).remove(entry));
+            return null;
+        });
+    }
+
+    // --- Scans ---
+
+    /*** Variants with {@code from <= key < to}, in ascending key order, at most {@code limit} of them. */
+    List<VariantRef> scan(String partition, long from, long to, int limit) {
+        checkLimit(limit);
+        ConcurrentSkipListSet<Entry> entries = partitions.get(partition);
+        if (entries == null || from >= to) {
+            return List.of();
+        }
+        return collect(entries.subSet(new Entry(from, null, null), new Entry(to, null, null)), limit);
+    }
+
+    /*** The {@code limit} variants with the lowest keys, lowest first. */
+    List<VariantRef> lowest(String partition, int limit) {
+        checkLimit(limit);
+        ConcurrentSkipListSet<Entry> entries = partitions.get(partition);
+        return entries == null ? List.of() : collect(entries, limit);
+    }
+
+    /*** The {@code limit} variants with the highest keys, highest first. */
+    List<VariantRef> highest(String partition, int limit) {
+        checkLimit(limit);
+        ConcurrentSkipListSet<Entry> entries = partitions.get(partition);
+        return entries == null ? List.of() : collect(entries.descendingSet(), limit);
+    }
+
+    /*** Partitions that hold at least one variant. */
+    Set<String> partitions() {
+        Set<String> names = new TreeSet<>();
+        partitions.forEach((name, entries) -> {
+            if (!entries.isEmpty()) {
+                names.add(name);
+            }
+        });
+        return names;
+    }
+
+    /*** Number of indexed variants. */
+    public int size() {
+        return partitions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private ConcurrentSkipListSet<Entry> partition(String partition) {
+        return partitions.computeIfAbsent(partition, key -> new ConcurrentSkipListSet<>(ORDER));
+    }
+
+    private static List<VariantRef> collect(NavigableSet<Entry> entries, int limit) {
+        List<VariantRef> refs = new ArrayList<>(Math.min(limit, 64));
+        for (Entry entry : entries) {
+            if (refs.size() == limit) {
+                break;
+            }
+            refs.add(new VariantRef(entry.productId(), entry.variantId()));
+        }
+        return refs;
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+    }
+}
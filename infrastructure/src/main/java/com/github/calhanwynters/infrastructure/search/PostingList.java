@@ -0,0 +1,140 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import java.util.Arrays;
+
+/**
+ * An append-only posting list of one term: ascending document ids with their term
+ * frequencies, stored as varint-encoded (doc delta, frequency) pairs.
+ * <p>
+ * Every {@value #BLOCK_SIZE} postings close a block, and the list records each block's
+ * last document id and end offset. A {@link Cursor} uses them to skip whole blocks
+ * without decoding them when it advances to a target document.
+ */
+final class PostingList {
+
+    static final int BLOCK_SIZE = 128;
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    private byte[] data = new byte[16];
+    private int length;
+    private int size;
+    private int lastDoc = -1;
+    private int[] blockLastDocs = new int[2];
+    private int[] blockEnds = new int[2];
+    private int blocks;
+
+    /*** Appends a posting; documents must be added in ascending order. */
+    void add(int doc, int frequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Documents must be added in ascending order");
+        }
+        ensureCapacity(10);
+        writeVarint(doc - lastDoc);
+        writeVarint(frequency);
+        lastDoc = doc;
+        if (++size % BLOCK_SIZE == 0) {
+            if (blocks == blockEnds.length) {
+                blockLastDocs = Arrays.copyOf(blockLastDocs, blocks * 2);
+                blockEnds = Arrays.copyOf(blockEnds, blocks * 2);
+            }
+            blockLastDocs[blocks] = doc;
+            blockEnds[blocks] = length;
+            blocks++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /*** Encoded size in bytes, excluding the block directory. */
+    int byteSize() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(length + extra, data.length * 2));
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Walks the postings in document order. Starts before the first posting; {@link #doc()}
+     * is {@link #NO_MORE_DOCS} once the list is exhausted.
+     */
+    final class Cursor {
+        private final byte[] bytes = data;
+        private final int end = length;
+        private final int blockCount = blocks;
+        private final int[] lastDocs = blockLastDocs;
+        private final int[] ends = blockEnds;
+        private int offset;
+        private int block;
+        private int doc = -1;
+        private int frequency;
+
+        int doc() {
+            return doc;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        int next() {
+            if (offset >= end) {
+                return doc = NO_MORE_DOCS;
+            }
+            doc += readVarint();
+            frequency = readVarint();
+            if (block < blockCount && offset == ends[block]) {
+                block++;
+            }
+            return doc;
+        }
+
+        /*** Moves to the first posting at or after target. */
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            // Skip whole blocks that end before the target
+            if (block < blockCount && lastDocs[block] < target) {
+                while (block + 1 < blockCount && lastDocs[block + 1] < target) {
+                    block++;
+                }
+                offset = ends[block];
+                doc = lastDocs[block];
+                block++;
+            }
+            while (doc < target) {
+                next();
+            }
+            return doc;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The price-range facet of a {@link FacetedSearchIndex}: ascending boundaries in major
+ * currency units, applied to every currency. Bucket {@code i} holds prices in
+ * {@code [boundaries[i - 1], boundaries[i])}; the first bucket is open below and the last
+ * open above, so n boundaries make n + 1 buckets.
+ *
+ * @param boundaries strictly ascending bucket boundaries
+ */
+public record PriceBuckets(List<BigDecimal> boundaries) {
+
+    /*** 0–10, 10–25, 25–50, 50–100, 100–250, 250–500, 500–1000 and 1000 and above. */
+    public static final PriceBuckets DEFAULT = of("10", "25", "50", "100", "250", "500", "1000");
+
+    public PriceBuckets {
+        Objects.requireNonNull(boundaries, "boundaries must not be null");
+        boundaries = List.copyOf(boundaries);
+        for (int i = 1; i < boundaries.size(); i++) {
+            if (boundaries.get(i - 1).compareTo(boundaries.get(i)) >= 0) {
+                throw new IllegalArgumentException("boundaries must be strictly ascending");
+            }
+        }
+    }
+
+    public static PriceBuckets of(String... boundaries) {
+        return new PriceBuckets(Arrays.stream(boundaries).map(BigDecimal::new).toList());
+    }
+
+    public int count() {
+        return boundaries.size() + 1;
+    }
+
+    /*** The bucket holding a price. */
+    public int bucketOf(BigDecimal price) {
+        int low = 0;
+        int high = boundaries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (price.compareTo(boundaries.get(mid)) >= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /*** Inclusive lower bound of a bucket, or null for the first bucket. */
+    public BigDecimal lowerBound(int bucket) {
+        return bucket == 0 ? null : boundaries.get(bucket - 1);
+    }
+
+    /*** Exclusive upper bound of a bucket, or null for the last bucket. */
+    public BigDecimal upperBound(int bucket) {
+        return bucket == boundaries.size() ? null : boundaries.get(bucket);
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.money.MinorUnitMoney;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Variants ordered by current price, one ordering per currency, keyed by the price in
+ * minor units (cents for USD). Answers price-range scans and cheapest/most expensive
+ * top-N queries and follows every saved {@code changeCurrentPrice} or {@code applyDiscount}.
+ * <p>
+ * A price finer than its currency's minor unit is keyed by the minor unit below it, which
+ * keeps range scans exact for any bounds in whole minor units; such prices only order
+ * among themselves by that floored key. Keys saturate at the long range.
+ */
+public final class PriceIndex extends OrderedVariantIndex {
+
+    // --- Queries ---
+
+    /**
+     * Variants priced in {@code [min, max)}, cheapest first, at most {@code limit} of them.
+     * Either bound may be null; at least one must be given to fix the currency.
+     *
+     * @throws ArithmeticException if a bound is finer than the currency's minor unit.
+     */
+    public List<VariantRef> between(MonetaryAmount min, MonetaryAmount max, int limit) {
+        if (min == null && max == null) {
+            throw new IllegalArgumentException("min and max must not both be null");
+        }
+        if (min != null && max != null && !min.getCurrency().equals(max.getCurrency())) {
+            throw new IllegalArgumentException("min and max must be in the same currency");
+        }
+        CurrencyUnit currency = (min != null ? min : max).getCurrency();
+        return betweenMinorUnits(currency, min == null ? Long.MIN_VALUE : MinorUnitMoney.from(min).minorUnits(),
+                max == null ? Long.MAX_VALUE : MinorUnitMoney.from(max).minorUnits(), limit);
+    }
+
+    /*** Variants priced in {@code [fromMinor, toMinor)} minor units of a currency, cheapest first. */
+    public List<VariantRef> betweenMinorUnits(CurrencyUnit currency, long fromMinor, long toMinor, int limit) {
+        Objects.requireNonNull(currency, "currency must not be null");
+        return scan(currency.getCurrencyCode(), fromMinor, toMinor, limit);
+    }
+
+    public List<VariantRef> cheapest(CurrencyUnit currency, int limit) {
+        Objects.requireNonNull(currency, "currency must not be null");
+        return lowest(currency.getCurrencyCode(), limit);
+    }
+
+    public List<VariantRef> mostExpensive(CurrencyUnit currency, int limit) {
+        Objects.requireNonNull(currency, "currency must not be null");
+        return highest(currency.getCurrencyCode(), limit);
+    }
+
+    /*** Currency codes of the indexed prices. */
+    public Set<String> currencies() {
+        return partitions();
+    }
+
+    // --- Keys ---
+
+    @Override
+    String partitionOf(Variant variant) {
+        return variant.currentPrice().getCurrency().getCurrencyCode();
+    }
+
+    @Override
+    long keyOf(Variant variant) {
+        return minorUnitsFloor(variant.currentPrice());
+    }
+
+    static long minorUnitsFloor(MonetaryAmount amount) {
+        int digits = Math.clamp(amount.getCurrency().getDefaultFractionDigits(), 0, MinorUnitMoney.MAX_FRACTION_DIGITS);
+        BigDecimal minor = amount.getNumber().numberValue(BigDecimal.class).movePointRight(digits).setScale(0, RoundingMode.FLOOR);
+        if (minor.unscaledValue().bitLength() > 63) {
+            return minor.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return minor.longValue();
+    }
+}
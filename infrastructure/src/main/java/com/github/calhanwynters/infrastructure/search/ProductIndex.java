@@ -0,0 +1,24 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+
+import java.util.Collection;
+
+/**
+ * A secondary index over products, kept in step with a product store by
+ * {@link IndexingProductRepository}. Implementations must be safe for concurrent
+ * queries while an update is applied.
+ */
+public interface ProductIndex {
+
+    /*** Adds a product, replacing the indexed version with the same ProductId, if any. */
+    void index(Product product);
+
+    /*** Removes a product; unknown ids are ignored, matching {@code ProductCommandRepository.deleteById}. */
+    void remove(ProductId id);
+
+    default void indexAll(Collection<Product> products) {
+        products.forEach(this::index);
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+
+import java.util.Objects;
+
+/**
+ * One ranked result of a {@link FullTextIndex} query.
+ *
+ * @param product the matching product
+ * @param score   its BM25 score; higher is more relevant
+ */
+public record TextHit(Product product, double score) {
+    public TextHit {
+        Objects.requireNonNull(product, "product must not be null");
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+
+import java.util.Objects;
+
+/**
+ * Points at one variant of a stored product, as returned by the ordered variant indexes.
+ *
+ * @param productId the product that owns the variant
+ * @param variantId the variant within it
+ */
+public record VariantRef(ProductId productId, VariantId variantId) {
+    public VariantRef {
+        Objects.requireNonNull(productId, "productId must not be null");
+        Objects.requireNonNull(variantId, "variantId must not be null");
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.valueobjects.WeightVO;
+
+import java.util.List;
+
+/**
+ * Variants ordered by weight, keyed by {@link WeightVO#scaledGrams()}, the canonical gram
+ * amount in units of 10^-4 g, so weights entered in any unit compare exactly as
+ * {@link WeightVO#compareTo} does. Answers weight-range scans and lightest/heaviest top-N queries.
+ */
+public final class WeightIndex extends OrderedVariantIndex {
+
+    private static final String GRAMS = "g";
+
+    // --- Queries ---
+
+    /*** Variants weighing in {@code [min, max)}, lightest first; a null bound leaves that side open. */
+    public List<VariantRef> between(WeightVO min, WeightVO max, int limit) {
+        return betweenScaledGrams(min == null ? Long.MIN_VALUE : key(min), max == null ? Long.MAX_VALUE : key(max), limit);
+    }
+
+    /*** Variants weighing in {@code [from, to)} units of 10^-4 g, lightest first. */
+    public List<VariantRef> betweenScaledGrams(long from, long to, int limit) {
+        return scan(GRAMS, from, to, limit);
+    }
+
+    public List<VariantRef> lightest(int limit) {
+        return lowest(GRAMS, limit);
+    }
+
+    public List<VariantRef> heaviest(int limit) {
+        return highest(GRAMS, limit);
+    }
+
+    // --- Keys ---
+
+    @Override
+    String partitionOf(Variant variant) {
+        return GRAMS;
+    }
+
+    @Override
+    long keyOf(Variant variant) {
+        return key(variant.weight());
+    }
+
+    private static long key(WeightVO weight) {
+        return weight.scaledGrams();
+    }
+}
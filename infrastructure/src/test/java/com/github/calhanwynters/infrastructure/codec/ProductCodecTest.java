@@ -0,0 +1,151 @@
+package com.github.calhanwynters.infrastructure.codec;
+
+import com.github.calhanwynters.infrastructure.persistence.DataStreamProductSerializer;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.money.MinorUnitMoney;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+import org.junit.jupiter.api.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCodecTest {
+
+    private final ProductCodec codec = new ProductCodec();
+
+    @Test
+    void roundTripsProductWithEveryValueObject() {
+        Product product = richProduct(3);
+        Product decoded = codec.decode(ByteBuffer.wrap(codec.encode(product)));
+
+        assertEquals(product, decoded);
+        Variant original = product.findVariantBySku("SKU-0").orElseThrow();
+        Variant copy = decoded.findVariantBySku("SKU-0").orElseThrow();
+        assertEquals(original.features(), copy.features());
+        assertEquals(FastMoney.class, copy.currentPrice().getClass());
+        assertEquals(original.weight(), copy.weight());
+    }
+
+    @Test
+    void decodesFromDirectAndOffsetBuffersWithoutMovingThem() {
+        Product product = richProduct(2);
+        byte[] encoded = codec.encode(product);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length + 7);
+        direct.position(7);
+        direct.put(encoded);
+        direct.position(7);
+        assertEquals(product, codec.decode(direct));
+        assertEquals(7, direct.position());
+
+        ByteBuffer readOnly = ByteBuffer.wrap(encoded).asReadOnlyBuffer();
+        assertEquals(product, codec.decode(readOnly));
+    }
+
+    @Test
+    void repeatedStringsAreStoredOnceAndShared() {
+        Product product = richProduct(50);
+        byte[] compact = codec.encode(product);
+        byte[] dataStream = new DataStreamProductSerializer().serialize(product);
+
+        assertTrue(compact.length * 2 < dataStream.length,
+                "compact=" + compact.length + " bytes, data stream=" + dataStream.length + " bytes");
+
+        Product decoded = codec.decode(ByteBuffer.wrap(compact));
+        List<Variant> variants = new ArrayList<>(decoded.variants());
+        assertSame(variants.get(0).features().getFirst().name(), variants.get(1).features().getFirst().name());
+    }
+
+    @Test
+    void decodedFeaturesAreCanonicalAcrossPayloads() {
+        FeatureRegistry registry = new FeatureRegistry();
+        ProductCodec interning = new ProductCodec(registry);
+        Product first = interning.decode(ByteBuffer.wrap(interning.encode(richProduct(4))));
+        Product second = interning.decode(ByteBuffer.wrap(interning.encode(richProduct(4))));
+
+        Variant a = first.findVariantBySku("SKU-2").orElseThrow();
+        Variant b = second.findVariantBySku("SKU-2").orElseThrow();
+        assertSame(a.features(), b.features());
+        assertSame(a.features().get(1), first.findVariantBySku("SKU-1").orElseThrow().features().get(1));
+        // Labels alternate and maxQuantity is i - 1, so SKU-0..3 share 2 + 1 + 4 distinct features
+        assertEquals(7, registry.internedFeatures());
+        assertEquals(4, registry.internedFeatureLists());
+    }
+
+    @Test
+    void roundTripsDecimalsOfAnySize() {
+        for (String value : List.of("0", "0.05", "1", "0.9999", "1E+3")) {
+            PercentageVO percentage = new PercentageVO(new BigDecimal(value).min(BigDecimal.ONE));
+            assertEquals(percentage, codec.decodePercentage(ByteBuffer.wrap(codec.encodePercentage(percentage))));
+        }
+        MonetaryAmount huge = Money.of(new BigDecimal("123456789012345678901234567890.125"), "USD");
+        MonetaryAmount negative = Money.of(new BigDecimal("-42.5"), "ISK");
+        Variant variant = new Variant(VariantId.generate(), "SKU-HUGE", huge, negative, List.of(),
+                new CareInstructionVO("Keep dry"), WeightVO.ofGrams(new BigDecimal("0.0001")), VariantStatusEnums.DISCONTINUED);
+
+        assertEquals(variant, codec.decodeVariant(ByteBuffer.wrap(codec.encodeVariant(variant))));
+    }
+
+    @Test
+    void amountsKeepTheirImplementationType() {
+        CurrencyUnit usd = Monetary.getCurrency("USD");
+        for (MonetaryAmount amount : List.of(Money.of(new BigDecimal("12.345"), usd), FastMoney.of(7, usd),
+                RoundedMoney.of(new BigDecimal("3.5"), usd), MinorUnitMoney.ofMinor(1234, usd))) {
+            CodecWriter out = new CodecWriter();
+            ProductCodec.writeAmount(out, amount);
+            MonetaryAmount decoded = codec.readAmount(new CodecReader(ByteBuffer.wrap(out.toByteArray(ProductCodec.VERSION)),
+                    ProductCodec.VERSION));
+            assertEquals(amount.getClass(), decoded.getClass());
+            assertEquals(0, amount.getNumber().numberValue(BigDecimal.class)
+                    .compareTo(decoded.getNumber().numberValue(BigDecimal.class)));
+        }
+    }
+
+    @Test
+    void rejectsUnknownAmountTags() {
+        CodecWriter out = new CodecWriter();
+        out.writeByte(4);
+        ByteBuffer payload = ByteBuffer.wrap(out.toByteArray(ProductCodec.VERSION));
+        assertThrows(IllegalStateException.class, () -> codec.readAmount(new CodecReader(payload, ProductCodec.VERSION)));
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] encoded = codec.encode(richProduct(1));
+        encoded[0] = 99;
+        assertThrows(IllegalStateException.class, () -> codec.decode(ByteBuffer.wrap(encoded)));
+    }
+
+    static Product richProduct(int variantCount) {
+        List<Variant> variants = new ArrayList<>();
+        for (int i = 0; i < variantCount; i++) {
+            List<FeatureInterface> features = List.of(
+                    new BasicFeature("Color", "Shell color", i % 2 == 0 ? "Red" : "Blue"),
+                    new FixedPriceFeature("Engraving", "Custom engraving", "Engraved", 4.5),
+                    new ScalingPriceFeature("Length", "Cable length", "Per metre", i % 2 == 0 ? "m" : null, 1.25, 0.75, i - 1));
+            MonetaryAmount base = Money.of(new BigDecimal("19.99").add(BigDecimal.valueOf(i)), "EUR");
+            MonetaryAmount current = FastMoney.of(new BigDecimal("17.49"), "EUR");
+            variants.add(new Variant(VariantId.generate(), "SKU-" + i, base, current, features,
+                    new CareInstructionVO("Hand wash only – do not tumble dry ✓"),
+                    WeightVO.ofPounds(new BigDecimal("1.375")), VariantStatusEnums.values()[i % VariantStatusEnums.values().length]));
+        }
+        GalleryVO gallery = new GalleryVO(Set.of(
+                new ImageUrlVO("https://example.com/front.jpg"),
+                new ImageUrlVO("https://example.com/back.jpg")));
+        return Product.create(BusinessId.generate(), "Électronique",
+                new DescriptionVO("Headphones with a detachable cable and a hard case."), gallery, Set.copyOf(variants));
+    }
+}
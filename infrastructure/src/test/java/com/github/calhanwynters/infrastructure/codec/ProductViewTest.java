@@ -0,0 +1,65 @@
+package com.github.calhanwynters.infrastructure.codec;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductViewTest {
+
+    private final ProductCodec codec = new ProductCodec();
+
+    @Test
+    void readsListingFieldsWithoutFullDecode() {
+        Product product = ProductCodecTest.richProduct(8);
+        ProductView view = codec.newView().wrap(ByteBuffer.wrap(codec.encode(product)));
+
+        assertEquals(product.id(), view.id());
+        assertEquals(product.businessId(), view.businessId());
+        assertEquals(product.category(), view.category());
+        assertEquals(product.description(), view.description());
+        assertEquals(product.gallery().getPrimaryImage(), view.primaryImage());
+        assertEquals(2, view.imageCount());
+        assertEquals(8, view.variantCount());
+
+        for (int i = 0; i < view.variantCount(); i++) {
+            Variant variant = product.findVariantBySku(view.sku(i)).orElseThrow();
+            assertEquals(variant.status(), view.status(i));
+            assertEquals(variant.isActive(), view.isActive(i));
+            assertEquals(variant.currentPrice(), view.currentPrice(i));
+            assertEquals(variant, view.variant(i));
+        }
+        assertEquals(product, view.toProduct());
+    }
+
+    @Test
+    void viewIsReusableAcrossPayloads() {
+        ProductView view = codec.newView();
+        Set<Product> seen = new HashSet<>();
+        Product small = ProductCodecTest.richProduct(1);
+        Product large = ProductCodecTest.richProduct(40);
+        for (Product product : new Product[]{large, small, large}) {
+            byte[] encoded = codec.encode(product);
+            ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length);
+            direct.put(encoded).flip();
+            view.wrap(direct);
+            assertEquals(product.id(), view.id());
+            assertEquals(product.variants().size(), view.variantCount());
+            seen.add(view.toProduct());
+        }
+        assertEquals(Set.of(small, large), seen);
+    }
+
+    @Test
+    void rejectsUseBeforeWrapAndBadIndexes() {
+        ProductView view = codec.newView();
+        assertThrows(IllegalStateException.class, view::id);
+        view.wrap(ByteBuffer.wrap(codec.encode(ProductCodecTest.richProduct(2))));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.sku(2));
+    }
+}
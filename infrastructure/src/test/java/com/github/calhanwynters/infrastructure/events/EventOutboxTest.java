@@ -0,0 +1,156 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventOutboxTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackAppendedRecordsAcrossSegments() {
+        try (EventOutbox outbox = new EventOutbox(directory, 1024)) {
+            for (int i = 1; i <= 100; i++) {
+                assertEquals(i, outbox.append(List.of(payload(i)), 1_000 + i));
+            }
+            assertTrue(outbox.segmentCount() > 1);
+
+            EventOutbox.Cursor cursor = outbox.cursorAfter(0);
+            List<EventOutbox.StoredEvent> first = outbox.read(cursor, 60);
+            List<EventOutbox.StoredEvent> rest = outbox.read(cursor, 60);
+            assertEquals(60, first.size());
+            assertEquals(40, rest.size());
+            assertEquals(1, first.getFirst().sequence());
+            assertEquals(1_001, first.getFirst().publishedAt());
+            assertEquals("event-100", new String(rest.getLast().payload(), StandardCharsets.UTF_8));
+            assertTrue(outbox.read(cursor, 10).isEmpty());
+
+            // A cursor may start in the middle of a segment
+            assertEquals(57, outbox.read(outbox.cursorAfter(56), 1).getFirst().sequence());
+        }
+    }
+
+    @Test
+    void reopeningTruncatesATornAppendAndContinuesTheSequence() throws IOException {
+        try (EventOutbox outbox = new EventOutbox(directory, 1 << 20)) {
+            outbox.append(List.of(payload(1), payload(2), payload(3)), 1);
+        }
+        Path segment = segments().getFirst();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        try (EventOutbox reopened = new EventOutbox(directory, 1 << 20)) {
+            assertEquals(2, reopened.lastSequence());
+            assertEquals(3, reopened.append(List.of(payload(4)), 2));
+            List<EventOutbox.StoredEvent> events = reopened.read(reopened.cursorAfter(0), 10);
+            assertEquals(List.of(1L, 2L, 3L), events.stream().map(EventOutbox.StoredEvent::sequence).toList());
+            assertEquals("event-4", new String(events.getLast().payload(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void rollsBeforeABatchThatDoesNotFitInsteadOfSplittingIt() throws IOException {
+        try (EventOutbox outbox = new EventOutbox(directory, 1024)) {
+            for (int i = 1; i <= 20; i++) {
+                outbox.append(List.of(payload(i)), i);
+            }
+            int before = outbox.segmentCount();
+            List<byte[]> batch = new ArrayList<>();
+            for (int i = 21; i <= 40; i++) {
+                batch.add(payload(i));
+            }
+            assertEquals(40, outbox.append(batch, 21));
+
+            // The whole batch went to a new segment named after its first record
+            assertEquals(before + 1, outbox.segmentCount());
+            assertTrue(segments().getLast().getFileName().toString().endsWith(String.format("%019d", 21) + ".log"));
+            assertEquals(21, outbox.read(outbox.cursorAfter(20), 1).getFirst().sequence());
+        }
+    }
+
+    @Test
+    void aFailedBatchThatWouldRollLeavesNothingReadable() throws IOException {
+        try (EventOutbox outbox = new EventOutbox(directory, 1024)) {
+            for (int i = 1; i <= 20; i++) {
+                outbox.append(List.of(payload(i)), i);
+            }
+            int before = outbox.segmentCount();
+            List<byte[]> batch = new ArrayList<>();
+            for (int i = 21; i <= 40; i++) {
+                batch.add(payload(i));
+            }
+            batch.add(null);
+            assertThrows(NullPointerException.class, () -> outbox.append(batch, 21));
+
+            assertEquals(20, outbox.lastSequence());
+            assertEquals(before, outbox.segmentCount());
+            assertTrue(outbox.read(outbox.cursorAfter(20), 10).isEmpty());
+            assertEquals(21, outbox.append(List.of(payload(41)), 22));
+        }
+        try (EventOutbox reopened = new EventOutbox(directory, 1024)) {
+            assertEquals(21, reopened.lastSequence());
+            List<EventOutbox.StoredEvent> events = reopened.read(reopened.cursorAfter(20), 10);
+            assertEquals(1, events.size());
+            assertEquals("event-41", new String(events.getFirst().payload(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void releasesOnlySegmentsEveryListenerCompleted() throws IOException {
+        try (EventOutbox outbox = new EventOutbox(directory, 1024)) {
+            for (int i = 1; i <= 100; i++) {
+                outbox.append(List.of(payload(i)), i);
+            }
+            int before = outbox.segmentCount();
+            outbox.release(0);
+            assertEquals(before, outbox.segmentCount());
+
+            outbox.release(50);
+            assertTrue(outbox.segmentCount() < before);
+            assertEquals(outbox.segmentCount(), segments().size());
+            assertEquals(51, outbox.read(outbox.cursorAfter(50), 1).getFirst().sequence());
+
+            // The active segment is kept even when everything was completed
+            outbox.release(100);
+            assertEquals(1, outbox.segmentCount());
+        }
+        try (EventOutbox reopened = new EventOutbox(directory, 1024)) {
+            assertEquals(100, reopened.lastSequence());
+        }
+    }
+
+    @Test
+    void checkpointsSurviveReopening() {
+        try (EventOutbox outbox = new EventOutbox(directory, 1024)) {
+            assertEquals(-1, outbox.checkpoint("search"));
+            outbox.saveCheckpoint("search", 41);
+            outbox.saveCheckpoint("search", 42);
+        }
+        try (EventOutbox reopened = new EventOutbox(directory, 1024)) {
+            assertEquals(42, reopened.checkpoint("search"));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static byte[] payload(int i) {
+        return ("event-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
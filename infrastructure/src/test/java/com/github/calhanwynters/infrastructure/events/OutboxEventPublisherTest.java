@@ -0,0 +1,266 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import com.github.calhanwynters.infrastructure.persistence.InMemoryProductRepository;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.events.*;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxEventPublisherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void deliversEveryEventTypeInOrderToEachListener() throws Exception {
+        List<ProductEvent> search = new CopyOnWriteArrayList<>();
+        List<ProductEvent> cache = new CopyOnWriteArrayList<>();
+        List<ProductEvent> events = allEventTypes();
+        try (OutboxEventPublisher publisher = OutboxEventPublisher.builder(directory)
+                .listener("search", search::addAll)
+                .listener("cache", cache::addAll)
+                .build()) {
+            publisher.publishAll(events);
+            publisher.publishEvent(events.getFirst());
+
+            assertTrue(publisher.awaitDelivery(TIMEOUT));
+            List<ProductEvent> expected = new ArrayList<>(events);
+            expected.add(events.getFirst());
+            assertEquals(expected, search);
+            assertEquals(expected, cache);
+            assertThrows(IllegalArgumentException.class, () -> publisher.publishEvent("not a product event"));
+        }
+    }
+
+    @Test
+    void handsListenersBatchesOfAtMostTheBatchSize() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        try (OutboxEventPublisher publisher = OutboxEventPublisher.builder(directory)
+                .batchSize(100)
+                .listener("slow", batch -> {
+                    release.await();
+                    batchSizes.add(batch.size());
+                })
+                .build()) {
+            ProductId id = ProductId.generate();
+            for (int i = 0; i < 250; i++) {
+                publisher.publishEvent(new VariantAttributesChanged(id, VariantId.generate()));
+            }
+            release.countDown();
+
+            assertTrue(publisher.awaitDelivery(TIMEOUT));
+            assertEquals(250, batchSizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 100));
+            // The listener was blocked on its first batch, so everything after it arrived in full batches
+            List<Integer> after = batchSizes.subList(1, batchSizes.size());
+            assertTrue(after.subList(0, after.size() - 1).stream().allMatch(size -> size == 100));
+        }
+    }
+
+    @Test
+    void retriesAFailingListenerWithoutHoldingUpTheOthers() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        List<ProductEvent> flaky = new CopyOnWriteArrayList<>();
+        List<ProductEvent> healthy = new CopyOnWriteArrayList<>();
+        try (OutboxEventPublisher publisher = OutboxEventPublisher.builder(directory)
+                .retryDelay(Duration.ofMillis(5))
+                .listener("flaky", batch -> {
+                    if (attempts.incrementAndGet() <= 3) {
+                        throw new IllegalStateException("downstream unavailable");
+                    }
+                    flaky.addAll(batch);
+                })
+                .listener("healthy", healthy::addAll)
+                .build()) {
+            ProductEvent event = new VariantAttributesChanged(ProductId.generate(), VariantId.generate());
+            publisher.publishEvent(event);
+
+            assertTrue(publisher.awaitDelivery(TIMEOUT));
+            assertEquals(List.of(event), flaky);
+            assertEquals(List.of(event), healthy);
+            ListenerMetrics metrics = publisher.metrics().getFirst();
+            assertEquals("flaky", metrics.listener());
+            assertEquals(3, metrics.failedAttempts());
+            assertEquals(1, metrics.deliveredEvents());
+            assertEquals(0, metrics.lag());
+            assertEquals(Duration.ZERO, metrics.lagAge());
+        }
+    }
+
+    @Test
+    void redeliversUncompletedEventsAfterARestart() throws Exception {
+        ProductId id = ProductId.generate();
+        List<ProductEvent> first = List.of(new VariantAttributesChanged(id, VariantId.generate()));
+        List<ProductEvent> second = List.of(new VariantAttributesChanged(id, VariantId.generate()));
+        try (OutboxEventPublisher publisher = OutboxEventPublisher.builder(directory)
+                .listener("index", batch -> { })
+                .build()) {
+            publisher.publishAll(first);
+            assertTrue(publisher.awaitDelivery(TIMEOUT));
+        }
+        // The listener is down while the second change is published
+        try (OutboxEventPublisher publisher = OutboxEventPublisher.builder(directory)
+                .maxRetryDelay(Duration.ofMinutes(1))
+                .retryDelay(Duration.ofMinutes(1))
+                .listener("index", batch -> {
+                    throw new IllegalStateException("index offline");
+                })
+                .build()) {
+            publisher.publishAll(second);
+            assertFalse(publisher.awaitDelivery(Duration.ofMillis(100)));
+            ListenerMetrics metrics = publisher.metrics().getFirst();
+            assertEquals(1, metrics.lag());
+            assertTrue(metrics.lagAge().compareTo(Duration.ZERO) > 0);
+        }
+
+        List<ProductEvent> received = new CopyOnWriteArrayList<>();
+        try (OutboxEventPublisher publisher = OutboxEventPublisher.builder(directory)
+                .listener("index", received::addAll)
+                .listener("audit", batch -> { })
+                .build()) {
+            assertTrue(publisher.awaitDelivery(TIMEOUT));
+            assertEquals(second, received);
+            assertEquals(2, publisher.lastSequence());
+            // A listener seen for the first time starts after the events already stored
+            assertEquals(2, publisher.metrics().get(1).deliveredSequence());
+            assertEquals(0, publisher.metrics().get(1).deliveredEvents());
+        }
+    }
+
+    @Test
+    void skipsRecordsThatCannotBeDecodedInsteadOfRetryingThem() throws Exception {
+        try (OutboxEventPublisher publisher = OutboxEventPublisher.builder(directory)
+                .listener("index", batch -> { })
+                .build()) {
+            assertEquals(0, publisher.lastSequence());
+        }
+        // A record from an encoder this codec does not know, between two it does
+        ProductEventCodec codec = new ProductEventCodec();
+        List<ProductEvent> events = allEventTypes();
+        try (EventOutbox outbox = new EventOutbox(directory, 1 << 20)) {
+            outbox.append(List.of(codec.encode(events.getFirst()), new byte[]{99}, codec.encode(events.getLast())),
+                    System.currentTimeMillis());
+        }
+
+        List<ProductEvent> received = new CopyOnWriteArrayList<>();
+        try (OutboxEventPublisher publisher = OutboxEventPublisher.builder(directory)
+                .retryDelay(Duration.ofMinutes(1))
+                .maxRetryDelay(Duration.ofMinutes(1))
+                .listener("index", received::addAll)
+                .build()) {
+            assertTrue(publisher.awaitDelivery(TIMEOUT));
+            assertEquals(List.of(events.getFirst(), events.getLast()), received);
+            ListenerMetrics metrics = publisher.metrics().getFirst();
+            assertEquals(3, metrics.deliveredSequence());
+            assertEquals(2, metrics.deliveredEvents());
+            assertEquals(1, metrics.undecodableEvents());
+            assertEquals(0, metrics.failedAttempts());
+        }
+    }
+
+    @Test
+    void groupCommitsConcurrentPublishersAndReleasesCompletedSegments() throws Exception {
+        AtomicInteger received = new AtomicInteger();
+        try (OutboxEventPublisher publisher = OutboxEventPublisher.builder(directory)
+                .segmentSize(4096)
+                .listener("counter", batch -> received.addAndGet(batch.size()))
+                .build()) {
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    ProductId id = ProductId.generate();
+                    for (int i = 0; i < 200; i++) {
+                        publisher.publishEvent(new VariantAttributesChanged(id, VariantId.generate()));
+                    }
+                    return null;
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            assertTrue(publisher.awaitDelivery(TIMEOUT));
+            assertEquals(1_600, received.get());
+            assertEquals(1_600, publisher.lastSequence());
+            assertEquals(1, publisher.segmentCount());
+            assertTrue(publisher.metrics().getFirst().eventsPerSecond() > 0);
+        }
+    }
+
+    @Test
+    void productChangesReachTheOutboxInOneAppend() throws Exception {
+        List<List<ProductEvent>> batches = new CopyOnWriteArrayList<>();
+        try (OutboxEventPublisher outbox = OutboxEventPublisher.builder(directory)
+                .listener("batches", batch -> batches.add(List.copyOf(batch)))
+                .build()) {
+            ProductEventPublisher publisher = new ProductEventPublisher(outbox);
+            InMemoryProductRepository repository = new InMemoryProductRepository();
+            Product product = publisher.saveChange(repository, () -> product(variant(), variant()));
+            publisher.saveChange(repository, () -> product.replaceVariants(Variant::activate));
+
+            assertTrue(outbox.awaitDelivery(TIMEOUT));
+            assertEquals(3, outbox.lastSequence());
+            List<ProductEvent> events = batches.stream().flatMap(List::stream).toList();
+            assertInstanceOf(ProductCreated.class, events.getFirst());
+            assertTrue(events.subList(1, 3).stream().allMatch(StatusChanged.class::isInstance));
+        }
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        OutboxEventPublisher.Builder builder = OutboxEventPublisher.builder(directory).listener("search", batch -> { });
+        assertThrows(IllegalArgumentException.class, () -> builder.listener("search", batch -> { }));
+        assertThrows(IllegalArgumentException.class, () -> builder.listener("../escape", batch -> { }));
+        assertThrows(IllegalArgumentException.class, () -> builder.batchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.retryDelay(Duration.ZERO));
+        OutboxEventPublisher closed = builder.build();
+        closed.close();
+        assertThrows(IllegalStateException.class, () -> closed.publishAll(allEventTypes()));
+    }
+
+    private static List<ProductEvent> allEventTypes() {
+        ProductId productId = ProductId.generate();
+        VariantId variantId = VariantId.generate();
+        return List.of(
+                new ProductCreated(productId, BusinessId.generate(), "Outdoor", 2),
+                new DescriptionChanged(productId, new DescriptionVO("A waterproof shell jacket.")),
+                new ImageAdded(productId, new ImageUrlVO("https://example.com/jacket.jpg")),
+                new VariantAdded(productId, variantId, "JACKET-RED-M"),
+                new PriceChanged(productId, variantId, usd("100"), usd("100"), usd("100"), usd("79.99")),
+                new StatusChanged(productId, variantId, VariantStatusEnums.DRAFT, VariantStatusEnums.ACTIVE),
+                new VariantAttributesChanged(productId, variantId));
+    }
+
+    private static Product product(Variant... variants) {
+        return Product.create(BusinessId.generate(), "Outdoor", new DescriptionVO("A product used by outbox tests."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))), Set.of(variants));
+    }
+
+    private static Variant variant() {
+        return Variant.createDraft(usd("10"), WeightVO.ofGrams(BigDecimal.TEN), new CareInstructionVO("Wipe clean"), List.of());
+    }
+
+    private static MonetaryAmount usd(String amount) {
+        return Monetary.getDefaultAmountFactory().setCurrency("USD").setNumber(new BigDecimal(amount)).create();
+    }
+}
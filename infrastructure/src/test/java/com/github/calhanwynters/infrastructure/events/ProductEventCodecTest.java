@@ -0,0 +1,56 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import com.github.calhanwynters.model.shared.events.PriceChanged;
+import com.github.calhanwynters.model.shared.money.MinorUnitMoney;
+import com.github.calhanwynters.model.shared.valueobjects.ProductId;
+import com.github.calhanwynters.model.shared.valueobjects.VariantId;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+import org.junit.jupiter.api.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductEventCodecTest {
+
+    private static final CurrencyUnit EUR = Monetary.getCurrency("EUR");
+
+    private final ProductEventCodec codec = new ProductEventCodec();
+
+    @Test
+    void priceChangesKeepEveryAmountType() {
+        PriceChanged changed = new PriceChanged(ProductId.generate(), VariantId.generate(),
+                MinorUnitMoney.of(new BigDecimal("12.50"), EUR),
+                FastMoney.of(new BigDecimal("13.75"), EUR),
+                RoundedMoney.of(new BigDecimal("11.25"), EUR),
+                Money.of(new BigDecimal("10.99"), EUR));
+
+        PriceChanged decoded = (PriceChanged) codec.decode(codec.encode(changed));
+
+        assertEquals(changed, decoded);
+        List<MonetaryAmount> amounts = List.of(decoded.previousBasePrice(), decoded.basePrice(),
+                decoded.previousCurrentPrice(), decoded.currentPrice());
+        assertEquals(List.of(MinorUnitMoney.class, FastMoney.class, RoundedMoney.class, Money.class),
+                amounts.stream().map(Object::getClass).toList());
+    }
+
+    @Test
+    void rejectsUnknownTags() {
+        assertThrows(IllegalStateException.class, () -> codec.decode(new byte[]{99}));
+
+        ProductId productId = ProductId.generate();
+        VariantId variantId = VariantId.generate();
+        byte[] payload = codec.encode(new PriceChanged(productId, variantId,
+                Money.of(1, EUR), Money.of(2, EUR), Money.of(1, EUR), Money.of(2, EUR)));
+        // The first amount tag follows the event tag and the two length-prefixed ids
+        int amountTag = 1 + 2 + productId.value().length() + 2 + variantId.value().length();
+        payload[amountTag] = 42;
+        assertThrows(IllegalStateException.class, () -> codec.decode(payload));
+    }
+}
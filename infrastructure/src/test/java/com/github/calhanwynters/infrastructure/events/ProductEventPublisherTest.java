@@ -0,0 +1,98 @@
+package com.github.calhanwynters.infrastructure.events;
+
+import com.github.calhanwynters.infrastructure.persistence.InMemoryProductRepository;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.events.ProductEvent;
+import com.github.calhanwynters.model.shared.events.StatusChanged;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import com.github.calhanwynters.repositories.ProductCommandRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.money.Monetary;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductEventPublisherTest {
+
+    private static final ProductCommandRepository FAILING = new ProductCommandRepository() {
+        @Override
+        public void save(Product product) {
+            throw new IllegalStateException("store unavailable");
+        }
+
+        @Override
+        public void deleteById(ProductId id) {
+        }
+    };
+
+    private final List<Object> published = new ArrayList<>();
+    private final ProductEventPublisher publisher = new ProductEventPublisher(published::add);
+
+    @Test
+    void publishesTheEventsOfASavedChange() {
+        InMemoryProductRepository repository = new InMemoryProductRepository();
+        Product product = product();
+        Variant variant = product.variants().iterator().next();
+
+        Product saved = publisher.saveChange(repository, () -> product.replaceVariants(Variant::activate));
+
+        assertEquals(saved, repository.findById(product.id()).orElseThrow());
+        assertEquals(List.of(new StatusChanged(product.id(), variant.id(), VariantStatusEnums.DRAFT,
+                VariantStatusEnums.ACTIVE)), published);
+    }
+
+    @Test
+    void aRejectedSavePublishesNothing() {
+        Product product = product();
+
+        assertThrows(IllegalStateException.class,
+                () -> publisher.saveChange(FAILING, () -> product.replaceVariants(Variant::activate)));
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void theOutboxStoresEventsBeforeTheSaveAndKeepsThemIfItFails(@TempDir Path directory) throws InterruptedException {
+        List<ProductEvent> delivered = new CopyOnWriteArrayList<>();
+        try (OutboxEventPublisher outbox = OutboxEventPublisher.builder(directory)
+                .listener("search", delivered::addAll)
+                .build()) {
+            ProductEventPublisher durable = new ProductEventPublisher(outbox);
+            Product product = product();
+            List<Long> sequencesAtSave = new ArrayList<>();
+            InMemoryProductRepository repository = new InMemoryProductRepository() {
+                @Override
+                public void save(Product saved) {
+                    sequencesAtSave.add(outbox.lastSequence());
+                    super.save(saved);
+                }
+            };
+
+            durable.saveChange(repository, () -> product.replaceVariants(Variant::activate));
+            assertEquals(List.of(1L), sequencesAtSave);
+
+            // A failed save leaves a phantom event for a change that was never stored
+            Product other = product();
+            assertThrows(IllegalStateException.class,
+                    () -> durable.saveChange(FAILING, () -> other.replaceVariants(Variant::activate)));
+            assertTrue(outbox.awaitDelivery(Duration.ofSeconds(10)));
+            assertEquals(List.of(product.id(), other.id()), delivered.stream().map(ProductEvent::productId).toList());
+        }
+    }
+
+    private static Product product() {
+        Variant variant = Variant.createDraft(Monetary.getDefaultAmountFactory().setCurrency("USD").setNumber(10).create(),
+                WeightVO.ofGrams(BigDecimal.TEN), new CareInstructionVO("Wipe clean"), List.of());
+        return Product.create(BusinessId.generate(), "Catalog", new DescriptionVO("A product used by event tests."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))), Set.of(variant));
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.junit.jupiter.api.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingProductRepositoryTest {
+
+    // Backing store that counts the lookups reaching it
+    private static final class CountingRepository extends InMemoryProductRepository {
+        final AtomicInteger lookups = new AtomicInteger();
+        // Runs after the store has read the product but before the cache receives it
+        volatile Runnable afterRead = () -> { };
+
+        @Override
+        public Optional<Product> findById(ProductId id) {
+            lookups.incrementAndGet();
+            Optional<Product> found = super.findById(id);
+            Runnable hook = afterRead;
+            afterRead = () -> { };
+            hook.run();
+            return found;
+        }
+    }
+
+    private final CountingRepository store = new CountingRepository();
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        CachingProductRepository cache = CachingProductRepository.builder(store).build();
+        Product product = product("Electronics");
+        store.save(product);
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(product, cache.findById(product.id()).orElseThrow());
+        }
+
+        assertEquals(1, store.lookups.get());
+        assertEquals(new CachingProductRepository.Stats(9, 1, 0, 0), cache.stats());
+        assertEquals(0.9, cache.stats().hitRate(), 1e-9);
+        // One variant plus one image
+        assertEquals(2, cache.weightedSize());
+    }
+
+    @Test
+    void missingProductsAreNotCached() {
+        CachingProductRepository cache = CachingProductRepository.builder(store).build();
+        ProductId id = ProductId.generate();
+        assertTrue(cache.findById(id).isEmpty());
+        assertTrue(cache.findById(id).isEmpty());
+        assertEquals(2, store.lookups.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void saveAndDeleteInvalidate() {
+        CachingProductRepository cache = CachingProductRepository.builder(store).build();
+        Product product = product("Electronics");
+        cache.save(product);
+        cache.findById(product.id());
+
+        Product moved = new Product(product.id(), product.businessId(), "Computers",
+                product.description(), product.gallery(), product.variants());
+        cache.save(moved);
+        assertEquals("Computers", cache.findById(product.id()).orElseThrow().category());
+
+        cache.deleteById(product.id());
+        assertTrue(cache.findById(product.id()).isEmpty());
+
+        cache.saveAll(List.of(product));
+        assertEquals("Electronics", cache.findById(product.id()).orElseThrow().category());
+    }
+
+    @Test
+    void onlyAWriteToTheSameProductDiscardsARacingLoad() {
+        CachingProductRepository cache = CachingProductRepository.builder(store).build();
+        Product product = product("Electronics");
+        Product other = product("Garden");
+        store.save(product);
+
+        store.afterRead = () -> cache.save(other);
+        cache.findById(product.id());
+        assertEquals(1, cache.size());
+
+        Product moved = new Product(product.id(), product.businessId(), "Computers",
+                product.description(), product.gallery(), product.variants());
+        cache.invalidate(product.id());
+        store.afterRead = () -> cache.save(moved);
+        assertEquals("Electronics", cache.findById(product.id()).orElseThrow().category());
+        assertEquals(0, cache.size());
+        assertEquals("Computers", cache.findById(product.id()).orElseThrow().category());
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        CachingProductRepository cache = CachingProductRepository.builder(store)
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .ticker(now::get)
+                .build();
+        Product product = product("Electronics");
+        store.save(product);
+
+        cache.findById(product.id());
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        cache.findById(product.id());
+        assertEquals(1, store.lookups.get());
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        cache.findById(product.id());
+        assertEquals(2, store.lookups.get());
+        assertEquals(1, cache.stats().expirations());
+    }
+
+    @Test
+    void weightStaysWithinMaximum() {
+        CachingProductRepository cache = CachingProductRepository.builder(store).maximumWeight(100).build();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Product product = product("Bulk");
+            store.save(product);
+            products.add(product);
+        }
+        for (Product product : products) {
+            cache.findById(product.id());
+        }
+
+        assertTrue(cache.weightedSize() <= 100);
+        assertEquals(cache.size() * 2L, cache.weightedSize());
+        assertTrue(cache.stats().evictions() > 0);
+    }
+
+    @Test
+    void frequentlyReadProductsSurviveAScan() {
+        CachingProductRepository cache = CachingProductRepository.builder(store).maximumWeight(200).build();
+        List<Product> hot = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Product product = product("Hot");
+            store.save(product);
+            hot.add(product);
+        }
+        for (int round = 0; round < 5; round++) {
+            hot.forEach(product -> cache.findById(product.id()));
+        }
+
+        // A one-off scan over many cold products must not flush the popular ones
+        for (int i = 0; i < 1_000; i++) {
+            Product cold = product("Cold");
+            store.save(cold);
+            cache.findById(cold.id());
+        }
+
+        int before = store.lookups.get();
+        hot.forEach(product -> cache.findById(product.id()));
+        assertEquals(before, store.lookups.get());
+    }
+
+    private static Product product(String category) {
+        MonetaryAmount price = Monetary.getDefaultAmountFactory().setCurrency("USD").setNumber(25).create();
+        Variant variant = new Variant(VariantId.generate(), "SKU-" + VariantId.generate().value(), price, price,
+                Collections.emptyList(), new CareInstructionVO("Wipe clean"),
+                WeightVO.ofGrams(new BigDecimal("250")), VariantStatusEnums.DRAFT);
+        return Product.create(
+                BusinessId.generate(),
+                category,
+                new DescriptionVO("A product used by caching tests."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))),
+                Set.of(variant)
+        );
+    }
+}
@@ -0,0 +1,248 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import com.github.calhanwynters.repositories.BatchWriteResult;
+import com.github.calhanwynters.repositories.ProductPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryProductRepositoryTest {
+
+    private final BusinessId businessId = BusinessId.generate();
+    private InMemoryProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryProductRepository();
+    }
+
+    @Test
+    void saveAndFindById() {
+        Product product = product("Electronics", variant("SKU-1"));
+        repository.save(product);
+
+        assertEquals(product, repository.findById(product.id()).orElseThrow());
+        assertEquals(List.of(product), List.copyOf(repository.findAll()));
+        assertTrue(repository.findById(ProductId.generate()).isEmpty());
+    }
+
+    @Test
+    void secondaryIndexesResolveProducts() {
+        Product phone = product("Electronics", variant("SKU-PHONE").activate());
+        Product shirt = product("Apparel", variant("SKU-SHIRT"));
+        repository.save(phone);
+        repository.save(shirt);
+
+        assertEquals(Set.of(phone, shirt), Set.copyOf(repository.findByBusinessId(businessId)));
+        assertEquals(List.of(shirt), List.copyOf(repository.findByCategory("Apparel")));
+        assertEquals(phone, repository.findBySku("SKU-PHONE").orElseThrow());
+        assertEquals(List.of(phone), List.copyOf(repository.findByVariantStatus(VariantStatusEnums.ACTIVE)));
+        assertEquals(List.of(shirt), List.copyOf(repository.findByVariantStatus(VariantStatusEnums.DRAFT)));
+        assertTrue(repository.findByCategory("Toys").isEmpty());
+    }
+
+    @Test
+    void saveReplacesIndexEntriesOfPreviousVersion() {
+        Product original = product("Electronics", variant("SKU-OLD"));
+        repository.save(original);
+
+        Product moved = new Product(original.id(), original.businessId(), "Computers",
+                original.description(), original.gallery(), Set.of(variant("SKU-NEW").activate()));
+        repository.save(moved);
+
+        assertEquals(1, repository.count());
+        assertTrue(repository.findByCategory("Electronics").isEmpty());
+        assertTrue(repository.findBySku("SKU-OLD").isEmpty());
+        assertTrue(repository.findByVariantStatus(VariantStatusEnums.DRAFT).isEmpty());
+        assertEquals(List.of(moved), List.copyOf(repository.findByCategory("Computers")));
+        assertEquals(moved, repository.findBySku("SKU-NEW").orElseThrow());
+    }
+
+    @Test
+    void deleteRemovesProductAndIndexEntries() {
+        Product product = product("Electronics", variant("SKU-1"));
+        repository.save(product);
+        repository.deleteById(product.id());
+        repository.deleteById(product.id());
+
+        assertTrue(repository.findById(product.id()).isEmpty());
+        assertTrue(repository.findByCategory("Electronics").isEmpty());
+        assertTrue(repository.findBySku("SKU-1").isEmpty());
+        assertTrue(repository.findByBusinessId(businessId).isEmpty());
+    }
+
+    @Test
+    void concurrentWritersKeepIndexesConsistent() throws Exception {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            products.add(product(i % 2 == 0 ? "Even" : "Odd", variant("SKU-" + i)));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Product product : products) {
+                futures.add(executor.submit(() -> {
+                    repository.save(product);
+                    repository.save(product.addVariant(variant("EXTRA-" + product.id())));
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(200, repository.count());
+        assertEquals(100, repository.findByCategory("Even").size());
+        assertEquals(100, repository.findByCategory("Odd").size());
+        for (Product product : products) {
+            assertEquals(2, repository.findById(product.id()).orElseThrow().variants().size());
+            assertTrue(repository.findBySku("EXTRA-" + product.id()).isPresent());
+        }
+    }
+
+    @Test
+    void findPageWalksAllProductsInKeyOrder() {
+        List<Product> saved = new ArrayList<>();
+        for (int i = 0; i < 1_050; i++) {
+            Product product = product("Paged", variant("SKU-" + i));
+            repository.save(product);
+            saved.add(product);
+        }
+
+        List<Product> seen = new ArrayList<>();
+        ProductPage page = repository.findPage(null, 100);
+        int pages = 1;
+        seen.addAll(page.products());
+        while (page.hasNext()) {
+            page = repository.findPage(page.nextCursor(), 100);
+            seen.addAll(page.products());
+            pages++;
+        }
+
+        assertEquals(11, pages);
+        assertEquals(50, page.products().size());
+        saved.sort(Comparator.comparing(p -> p.id().value()));
+        assertEquals(saved, seen);
+    }
+
+    @Test
+    void findPageOfExactMultipleEndsWithoutCursor() {
+        for (int i = 0; i < 4; i++) {
+            repository.save(product("Paged", variant("SKU-" + i)));
+        }
+        ProductPage first = repository.findPage(null, 2);
+        ProductPage second = repository.findPage(first.nextCursor(), 2);
+        assertTrue(first.hasNext());
+        assertEquals(2, second.products().size());
+        // The cursor is only handed out while products remain
+        assertFalse(second.hasNext());
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(null, 0));
+    }
+
+    @Test
+    void streamAllVisitsEveryProductOnce() {
+        Set<ProductId> ids = new HashSet<>();
+        for (int i = 0; i < 300; i++) {
+            Product product = product("Streamed", variant("SKU-" + i));
+            repository.save(product);
+            ids.add(product.id());
+        }
+
+        List<ProductId> streamed = repository.streamAll(64).map(Product::id).toList();
+        assertEquals(300, streamed.size());
+        assertEquals(ids, Set.copyOf(streamed));
+        assertEquals(5, repository.streamAll(64).limit(5).count());
+    }
+
+    @Test
+    void streamAllToleratesDeletesWhileStreaming() {
+        List<Product> saved = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Product product = product("Streamed", variant("SKU-" + i));
+            repository.save(product);
+            saved.add(product);
+        }
+        saved.sort(Comparator.comparing(p -> p.id().value()));
+
+        long count = repository.streamAll(10)
+                .peek(p -> {
+                    if (p.equals(saved.get(0))) {
+                        repository.deleteById(saved.get(99).id());
+                    }
+                })
+                .count();
+        assertEquals(99, count);
+    }
+
+    @Test
+    void saveAllAndDeleteAllByIdWorkInBatches() {
+        repository = new InMemoryProductRepository(100);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            products.add(product("Bulk", variant("SKU-" + i)));
+        }
+
+        BatchWriteResult saved = repository.saveAll(products);
+        assertTrue(saved.isSuccess());
+        assertEquals(3, saved.batches());
+        assertEquals(250, repository.count());
+        assertEquals(250, repository.findByCategory("Bulk").size());
+
+        BatchWriteResult deleted = repository.deleteAllById(products.subList(0, 200).stream().map(Product::id).toList());
+        assertEquals(200, deleted.succeeded());
+        assertEquals(2, deleted.batches());
+        assertEquals(50, repository.count());
+        assertTrue(repository.findBySku("SKU-0").isEmpty());
+    }
+
+    @Test
+    void saveAllReportsFailedItemsAndKeepsTheRest() {
+        repository = new InMemoryProductRepository(10);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            products.add(product("Bulk", variant("SKU-" + i)));
+        }
+        products.add(12, null);
+
+        BatchWriteResult result = repository.saveAll(products);
+
+        assertEquals(26, result.attempted());
+        assertEquals(25, result.succeeded());
+        assertEquals(1, result.failures().size());
+        assertNull(result.failures().getFirst().id());
+        assertEquals(25, repository.count());
+    }
+
+    private Product product(String category, Variant variant) {
+        return Product.create(
+                businessId,
+                category,
+                new DescriptionVO("A product used by repository tests."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))),
+                Set.of(variant)
+        );
+    }
+
+    private static Variant variant(String sku) {
+        MonetaryAmount price = Monetary.getDefaultAmountFactory().setCurrency("USD").setNumber(25).create();
+        return new Variant(VariantId.generate(), sku, price, price, Collections.emptyList(),
+                new CareInstructionVO("Wipe clean"), WeightVO.ofGrams(new BigDecimal("250")), VariantStatusEnums.DRAFT);
+    }
+}
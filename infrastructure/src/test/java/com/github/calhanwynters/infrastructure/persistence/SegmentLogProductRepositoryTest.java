@@ -0,0 +1,311 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.money.MinorUnitMoney;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import com.github.calhanwynters.repositories.BatchWriteResult;
+import com.github.calhanwynters.repositories.ProductPage;
+import org.javamoney.moneta.RoundedMoney;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentLogProductRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void saveAndFindRoundTripsEveryField() {
+        SegmentLogProductRepository repository = SegmentLogProductRepository.builder(directory).build();
+        Product product = richProduct();
+        repository.save(product);
+
+        Product loaded = repository.findById(product.id()).orElseThrow();
+        assertEquals(product, loaded);
+        assertEquals(product.variants(), loaded.variants());
+        assertTrue(repository.findById(ProductId.generate()).isEmpty());
+    }
+
+    @Test
+    void reopeningRecoversLatestVersions() {
+        SegmentLogProductRepository repository = SegmentLogProductRepository.builder(directory).build();
+        Product kept = product("Kept");
+        Product deleted = product("Deleted");
+        repository.save(kept);
+        repository.save(deleted);
+        Product updated = recategorize(kept, "Updated");
+        repository.save(updated);
+        repository.deleteById(deleted.id());
+
+        SegmentLogProductRepository reopened = SegmentLogProductRepository.builder(directory).build();
+        assertEquals(1, reopened.count());
+        assertEquals(updated, reopened.findById(kept.id()).orElseThrow());
+        assertTrue(reopened.findById(deleted.id()).isEmpty());
+
+        // The reopened store keeps appending after the recovered records
+        Product later = product("Later");
+        reopened.save(later);
+        assertEquals(later, SegmentLogProductRepository.builder(directory).build().findById(later.id()).orElseThrow());
+    }
+
+    @Test
+    void compactionReclaimsSupersededVersions() {
+        SegmentLogProductRepository repository = SegmentLogProductRepository.builder(directory)
+                .segmentSize(2 * 1024)
+                .build();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            products.add(product("Original"));
+        }
+        repository.saveAll(products);
+        for (int round = 0; round < 10; round++) {
+            for (Product product : products) {
+                repository.save(recategorize(product, "Round-" + round));
+            }
+        }
+        repository.deleteById(products.getFirst().id());
+
+        int segmentsBefore = repository.segmentCount();
+        assertTrue(segmentsBefore > 3, "Small segments should have rolled over");
+        assertTrue(repository.garbageRatio() > 0.8);
+
+        long reclaimed = repository.compact();
+
+        assertTrue(reclaimed > 0);
+        assertTrue(repository.segmentCount() < segmentsBefore);
+        assertTrue(repository.garbageRatio() < 0.5);
+        assertEquals(9, repository.count());
+        for (Product product : products.subList(1, 10)) {
+            assertEquals("Round-9", repository.findById(product.id()).orElseThrow().category());
+        }
+
+        SegmentLogProductRepository reopened = SegmentLogProductRepository.builder(directory).segmentSize(2 * 1024).build();
+        assertEquals(9, reopened.count());
+        assertTrue(reopened.findById(products.getFirst().id()).isEmpty());
+        assertEquals("Round-9", reopened.findById(products.get(5).id()).orElseThrow().category());
+    }
+
+    @Test
+    void recoveryStopsAtTornRecord() throws IOException {
+        SegmentLogProductRepository repository = SegmentLogProductRepository.builder(directory).segmentSize(64 * 1024).build();
+        Product first = product("First");
+        Product second = product("Second");
+        repository.save(first);
+        repository.save(second);
+
+        // Corrupt one byte inside the second record, as an interrupted append would
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        int secondRecordOffset = findRecordEnd(segment, 0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(secondRecordOffset + 20);
+            byte original = file.readByte();
+            file.seek(secondRecordOffset + 20);
+            file.writeByte(original ^ 0x5a);
+        }
+
+        SegmentLogProductRepository reopened = SegmentLogProductRepository.builder(directory).segmentSize(64 * 1024).build();
+        assertEquals(first, reopened.findById(first.id()).orElseThrow());
+        assertTrue(reopened.findById(second.id()).isEmpty());
+
+        Product third = product("Third");
+        reopened.save(third);
+        SegmentLogProductRepository again = SegmentLogProductRepository.builder(directory).segmentSize(64 * 1024).build();
+        assertEquals(2, again.count());
+        assertEquals(third, again.findById(third.id()).orElseThrow());
+    }
+
+    @Test
+    void saveAllWritesBatchesAndPagesInKeyOrder() {
+        SegmentLogProductRepository repository = SegmentLogProductRepository.builder(directory).batchSize(50).build();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            products.add(product("Bulk"));
+        }
+
+        BatchWriteResult result = repository.saveAll(products);
+        assertTrue(result.isSuccess());
+        assertEquals(3, result.batches());
+
+        List<Product> paged = new ArrayList<>();
+        ProductPage page = repository.findPage(null, 25);
+        paged.addAll(page.products());
+        while (page.hasNext()) {
+            page = repository.findPage(page.nextCursor(), 25);
+            paged.addAll(page.products());
+        }
+        products.sort(Comparator.comparing(p -> p.id().value()));
+        assertEquals(products, paged);
+        assertEquals(Set.copyOf(products), Set.copyOf(repository.findByCategory("Bulk")));
+
+        BatchWriteResult deleted = repository.deleteAllById(products.subList(0, 60).stream().map(Product::id).toList());
+        assertTrue(deleted.isSuccess());
+        assertEquals(60, repository.count());
+    }
+
+    @Test
+    void readsRecordsWrittenInTheOlderFormat() {
+        SegmentLogProductRepository legacy = SegmentLogProductRepository.builder(directory)
+                .serializer(new DataStreamProductSerializer())
+                .build();
+        Product old = richProduct();
+        legacy.save(old);
+
+        SegmentLogProductRepository current = SegmentLogProductRepository.builder(directory).build();
+        Product recent = product("Recent");
+        current.save(recent);
+
+        assertEquals(old, current.findById(old.id()).orElseThrow());
+        assertEquals(recent, current.findById(recent.id()).orElseThrow());
+    }
+
+    @Test
+    void dataStreamRecordsKeepEveryAmountTypeAndReadLegacyTypeNames() throws IOException {
+        DataStreamProductSerializer serializer = new DataStreamProductSerializer();
+        Product product = richProduct();
+        Product decoded = serializer.deserialize(ByteBuffer.wrap(serializer.serialize(product)));
+        assertEquals(product, decoded);
+        Variant minor = decoded.findVariantBySku("SKU-MINOR").orElseThrow();
+        assertEquals(MinorUnitMoney.class, minor.basePrice().getClass());
+        assertEquals(RoundedMoney.class, minor.currentPrice().getClass());
+
+        // Records written before the amount tag stored the class name of each amount
+        MonetaryAmount legacy = serializer.deserialize(legacyPayload(MinorUnitMoney.class.getName()))
+                .findVariantBySku("SKU-LEGACY").orElseThrow().currentPrice();
+        assertEquals(MinorUnitMoney.of(new BigDecimal("9.99"), Monetary.getCurrency("USD")), legacy);
+        ByteBuffer unknownType = legacyPayload("java.lang.Thread");
+        assertThrows(IllegalStateException.class, () -> serializer.deserialize(unknownType));
+    }
+
+    @Test
+    void forEachViewListsProductsInKeyOrder() {
+        SegmentLogProductRepository legacy = SegmentLogProductRepository.builder(directory)
+                .serializer(new DataStreamProductSerializer())
+                .build();
+        List<Product> products = new ArrayList<>();
+        products.add(richProduct());
+        legacy.save(products.getFirst());
+        SegmentLogProductRepository repository = SegmentLogProductRepository.builder(directory).build();
+        for (int i = 0; i < 20; i++) {
+            Product product = product("Listed");
+            repository.save(product);
+            products.add(product);
+        }
+
+        List<ProductId> ids = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        repository.forEachView(view -> {
+            ids.add(view.id());
+            categories.add(view.category());
+        });
+
+        products.sort(Comparator.comparing(p -> p.id().value()));
+        assertEquals(products.stream().map(Product::id).toList(), ids);
+        assertEquals(products.stream().map(Product::category).toList(), categories);
+    }
+
+    @Test
+    void rejectsRecordsLargerThanASegment() {
+        SegmentLogProductRepository repository = SegmentLogProductRepository.builder(directory).segmentSize(1024).build();
+        Product large = new Product(ProductId.generate(), BusinessId.generate(), "Large",
+                new DescriptionVO("x".repeat(1500)), gallery(), Set.of());
+        assertThrows(IllegalArgumentException.class, () -> repository.save(large));
+    }
+
+    // A DataStreamProductSerializer payload in the layout that named each amount's class
+    private static ByteBuffer legacyPayload(String amountType) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(ProductId.generate().value());
+            out.writeUTF(BusinessId.generate().value());
+            out.writeUTF("Legacy");
+            out.writeUTF("A product stored before amounts were tagged.");
+            out.writeInt(1);
+            out.writeUTF("https://example.com/image.jpg");
+            out.writeInt(1);
+            out.writeUTF(VariantId.generate().value());
+            out.writeUTF("SKU-LEGACY");
+            for (int i = 0; i < 2; i++) {
+                out.writeUTF(amountType);
+                out.writeUTF("USD");
+                out.writeUTF("9.99");
+            }
+            out.writeInt(0);
+            out.writeUTF("Wipe clean");
+            out.writeUTF("250");
+            out.writeUTF("GRAM");
+            out.writeUTF("DRAFT");
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    // Returns the offset just past the record that starts at the given offset
+    private static int findRecordEnd(Path segment, int offset) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            file.seek(offset);
+            return offset + 8 + file.readInt();
+        }
+    }
+
+    private static Product recategorize(Product product, String category) {
+        return new Product(product.id(), product.businessId(), category,
+                product.description(), product.gallery(), product.variants());
+    }
+
+    private static GalleryVO gallery() {
+        return new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg")));
+    }
+
+    private static Product product(String category) {
+        return Product.create(BusinessId.generate(), category,
+                new DescriptionVO("A product used by segment log tests."), gallery(), Set.of(variant("SKU-" + UUID.randomUUID())));
+    }
+
+    private static Variant variant(String sku) {
+        MonetaryAmount price = Monetary.getDefaultAmountFactory().setCurrency("USD").setNumber(25).create();
+        return new Variant(VariantId.generate(), sku, price, price, Collections.emptyList(),
+                new CareInstructionVO("Wipe clean"), WeightVO.ofGrams(new BigDecimal("250")), VariantStatusEnums.DRAFT);
+    }
+
+    private static Product richProduct() {
+        MonetaryAmount base = Monetary.getDefaultAmountFactory().setCurrency("EUR").setNumber(new BigDecimal("19.99")).create();
+        MonetaryAmount current = Monetary.getAmountFactory(org.javamoney.moneta.FastMoney.class)
+                .setCurrency("EUR").setNumber(new BigDecimal("17.49")).create();
+        List<FeatureInterface> features = List.of(
+                new BasicFeature("Color", "Shell color", "Red"),
+                new FixedPriceFeature("Engraving", "Custom engraving", "Engraved", 4.5),
+                new ScalingPriceFeature("Length", "Cable length", "Per metre", null, 1.25, 0.75, -1));
+        Variant rich = new Variant(VariantId.generate(), "SKU-RICH", base, current, features,
+                new CareInstructionVO("Hand wash only – do not tumble dry ✓"),
+                WeightVO.ofPounds(new BigDecimal("1.375")), VariantStatusEnums.ACTIVE);
+        Variant plain = variant("SKU-PLAIN");
+        MonetaryAmount minorBase = MinorUnitMoney.of(new BigDecimal("12.50"), Monetary.getCurrency("EUR"));
+        MonetaryAmount rounded = RoundedMoney.of(new BigDecimal("11.25"), Monetary.getCurrency("EUR"));
+        Variant minor = new Variant(VariantId.generate(), "SKU-MINOR", minorBase, rounded, List.of(),
+                new CareInstructionVO("Wipe clean"), WeightVO.ofGrams(new BigDecimal("90")), VariantStatusEnums.ACTIVE);
+        GalleryVO gallery = new GalleryVO(Set.of(
+                new ImageUrlVO("https://example.com/front.jpg"),
+                new ImageUrlVO("https://example.com/back.jpg")));
+        return Product.create(BusinessId.generate(), "Électronique",
+                new DescriptionVO("Headphones with a detachable cable and a hard case."), gallery, Set.of(rich, plain, minor));
+    }
+}
@@ -0,0 +1,245 @@
+package com.github.calhanwynters.infrastructure.persistence;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import com.github.calhanwynters.repositories.BatchWriteResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindProductRepositoryTest {
+
+    // Backing store that counts the batch calls it receives
+    private static final class CountingRepository extends InMemoryProductRepository {
+        final AtomicInteger saveAllCalls = new AtomicInteger();
+        final AtomicInteger savedItems = new AtomicInteger();
+
+        @Override
+        public BatchWriteResult saveAll(Collection<Product> products) {
+            saveAllCalls.incrementAndGet();
+            savedItems.addAndGet(products.size());
+            return super.saveAll(products);
+        }
+    }
+
+    private final CountingRepository store = new CountingRepository();
+    private WriteBehindProductRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void repeatedSavesOfOneProductCoalesceIntoOneWrite() {
+        repository = WriteBehindProductRepository.builder(store).window(Duration.ofHours(1)).build();
+        Product product = product();
+        for (int i = 0; i < 500; i++) {
+            product = withCategory(product, "Category-" + i);
+            repository.save(product);
+        }
+
+        assertEquals(1, repository.pendingCount());
+        assertTrue(store.findById(product.id()).isEmpty(), "Writes stay buffered until flushed");
+
+        BatchWriteResult result = repository.flush();
+        assertTrue(result.isSuccess());
+        assertEquals(1, store.savedItems.get());
+        assertEquals("Category-499", store.findById(product.id()).orElseThrow().category());
+        assertEquals(500, repository.receivedCount());
+        assertEquals(499, repository.coalescedCount());
+        assertEquals(1, repository.flushedCount());
+    }
+
+    @Test
+    void deleteReplacesBufferedSave() {
+        Product product = product();
+        store.save(product);
+        repository = WriteBehindProductRepository.builder(store).window(Duration.ofHours(1)).build();
+
+        repository.save(withCategory(product, "Other"));
+        repository.deleteById(product.id());
+        repository.flush();
+
+        assertTrue(store.findById(product.id()).isEmpty());
+        assertEquals(0, store.saveAllCalls.get());
+    }
+
+    @Test
+    void scheduledFlushWritesWithinTheWindow() throws InterruptedException {
+        List<BatchWriteResult> flushes = new CopyOnWriteArrayList<>();
+        repository = WriteBehindProductRepository.builder(store)
+                .window(Duration.ofMillis(20))
+                .onFlush(flushes::add)
+                .build();
+        Product product = product();
+        repository.save(product);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (store.findById(product.id()).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(store.findById(product.id()).isPresent());
+        assertEquals(1, flushes.size());
+        assertEquals(0, repository.pendingCount());
+    }
+
+    @Test
+    void rejectPolicyFailsWritesWhenBufferIsFull() {
+        repository = WriteBehindProductRepository.builder(store)
+                .window(Duration.ofHours(1))
+                .maxPending(2)
+                .overflowPolicy(WriteBehindProductRepository.OverflowPolicy.REJECT)
+                .build();
+        Product first = product();
+        repository.save(first);
+        repository.save(product());
+
+        assertThrows(IllegalStateException.class, () -> repository.save(product()));
+        // Products already buffered can still be updated
+        repository.save(withCategory(first, "Updated"));
+
+        repository.flush();
+        repository.save(product());
+        assertEquals(1, repository.pendingCount());
+    }
+
+    @Test
+    void callerRunsPolicyFlushesInlineWhenBufferIsFull() {
+        repository = WriteBehindProductRepository.builder(store)
+                .window(Duration.ofHours(1))
+                .maxPending(10)
+                .overflowPolicy(WriteBehindProductRepository.OverflowPolicy.CALLER_RUNS)
+                .build();
+        for (int i = 0; i < 25; i++) {
+            repository.save(product());
+        }
+
+        assertEquals(2, store.saveAllCalls.get());
+        assertEquals(20, store.count());
+        assertEquals(5, repository.pendingCount());
+    }
+
+    @Test
+    void blockPolicyWaitsForBackgroundFlush() {
+        repository = WriteBehindProductRepository.builder(store)
+                .window(Duration.ofHours(1))
+                .maxPending(10)
+                .build();
+        for (int i = 0; i < 25; i++) {
+            repository.save(product());
+        }
+        repository.flush();
+        assertEquals(25, store.count());
+    }
+
+    @Test
+    void closeFlushesAndRejectsFurtherWrites() {
+        repository = WriteBehindProductRepository.builder(store).window(Duration.ofHours(1)).build();
+        Product product = product();
+        repository.save(product);
+        repository.close();
+
+        assertTrue(store.findById(product.id()).isPresent());
+        assertThrows(IllegalStateException.class, () -> repository.save(product));
+    }
+
+    @Test
+    void backgroundFlushFailuresAreCountedAndTheSchedulerKeepsRunning() throws InterruptedException {
+        AtomicInteger flushes = new AtomicInteger();
+        repository = WriteBehindProductRepository.builder(store)
+                .window(Duration.ofMillis(10))
+                .onFlush(result -> {
+                    if (flushes.incrementAndGet() == 1) {
+                        throw new IllegalStateException("listener failure");
+                    }
+                })
+                .build();
+        repository.save(product());
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (repository.flushErrorCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, repository.flushErrorCount());
+
+        repository.save(product());
+        while (store.count() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, store.count());
+    }
+
+    @Test
+    void closeFlushesEveryWriteAcceptedByConcurrentWriters() throws Exception {
+        repository = WriteBehindProductRepository.builder(store)
+                .window(Duration.ofHours(1))
+                .maxPending(8)
+                .build();
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new java.util.ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                futures.add(writers.submit(() -> {
+                    while (true) {
+                        try {
+                            repository.save(product());
+                        } catch (IllegalStateException closed) {
+                            return;
+                        }
+                        accepted.incrementAndGet();
+                    }
+                }));
+            }
+            Thread.sleep(50);
+            repository.close();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        assertEquals(accepted.get(), store.count());
+        assertEquals(0, repository.pendingCount());
+    }
+
+    private static Product withCategory(Product product, String category) {
+        return new Product(product.id(), product.businessId(), category,
+                product.description(), product.gallery(), product.variants());
+    }
+
+    private static Product product() {
+        MonetaryAmount price = Monetary.getDefaultAmountFactory().setCurrency("USD").setNumber(25).create();
+        Variant variant = new Variant(VariantId.generate(), "SKU-" + VariantId.generate().value(), price, price,
+                Collections.emptyList(), new CareInstructionVO("Wipe clean"),
+                WeightVO.ofGrams(new BigDecimal("250")), VariantStatusEnums.DRAFT);
+        return Product.create(
+                BusinessId.generate(),
+                "Electronics",
+                new DescriptionVO("A product used by write-behind tests."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))),
+                Set.of(variant)
+        );
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.infrastructure.search.FacetCounts.PriceBucketCount;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetedSearchIndexTest {
+
+    private FacetedSearchIndex index;
+    private Product shirt;
+    private Product mug;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetedSearchIndex(PriceBuckets.of("10", "50"));
+        shirt = product("Apparel",
+                variant("SHIRT-RED", "EUR", "19.99", VariantStatusEnums.ACTIVE, color("Red"), size("M")),
+                variant("SHIRT-BLUE", "EUR", "24.50", VariantStatusEnums.DRAFT, color("Blue"), size("L")));
+        mug = product("Kitchen",
+                variant("MUG-RED", "EUR", "9.00", VariantStatusEnums.ACTIVE, color("Red")),
+                variant("MUG-XL", "USD", "60", VariantStatusEnums.ACTIVE));
+        index.index(shirt);
+        index.index(mug);
+    }
+
+    @Test
+    void andRequiresEveryTermOnTheSameVariant() {
+        FacetQuery redAndActive = FacetQuery.feature("Color", "Red").and(FacetQuery.status(VariantStatusEnums.ACTIVE));
+        FacetQuery blueAndActive = FacetQuery.feature("Color", "Blue").and(FacetQuery.status(VariantStatusEnums.ACTIVE));
+
+        assertEquals(Set.of(shirt, mug), Set.copyOf(index.search(redAndActive)));
+        assertTrue(index.search(blueAndActive).isEmpty());
+        assertEquals(List.of(shirt), index.search(FacetQuery.category("Apparel").and(FacetQuery.hasFeature("Size"))));
+        assertEquals(0, index.count(FacetQuery.category("Toys")));
+    }
+
+    @Test
+    void orUnitesFacetValues() {
+        FacetQuery redOrBlue = FacetQuery.anyOf(FacetQuery.feature("Color", "Red"), FacetQuery.feature("Color", "Blue"));
+
+        assertEquals(3, index.count(redOrBlue));
+        assertEquals(Set.of("SHIRT-RED", "SHIRT-BLUE"), skus(index.searchVariants(redOrBlue.and(FacetQuery.category("Apparel")))));
+        assertEquals(4, index.count(FacetQuery.allOf()));
+        assertEquals(0, index.count(FacetQuery.anyOf()));
+    }
+
+    @Test
+    void priceRangesCheckExactPricesOnlyInCutBuckets() {
+        assertEquals(Set.of("SHIRT-RED", "SHIRT-BLUE"),
+                skus(index.searchVariants(FacetQuery.price("EUR", new BigDecimal("10"), new BigDecimal("50")))));
+        assertEquals(Set.of("SHIRT-RED"),
+                skus(index.searchVariants(FacetQuery.price("EUR", new BigDecimal("15"), new BigDecimal("20")))));
+        assertEquals(Set.of("MUG-RED", "SHIRT-RED"),
+                skus(index.searchVariants(FacetQuery.price("EUR", null, new BigDecimal("24.50")))));
+        assertEquals(Set.of("MUG-XL"), skus(index.searchVariants(FacetQuery.price("USD", new BigDecimal("50"), null))));
+        assertEquals(0, index.count(FacetQuery.price("USD", null, new BigDecimal("50"))));
+        assertEquals(0, index.count(FacetQuery.price("GBP", null, null)));
+    }
+
+    @Test
+    void facetCountsFollowTheQuery() {
+        FacetCounts all = index.facetCounts(FacetQuery.all());
+        assertEquals(4, all.total());
+        assertEquals(Map.of("Apparel", 2, "Kitchen", 2), all.categories());
+        assertEquals(Map.of("Color", Map.of("Red", 2, "Blue", 1), "Size", Map.of("M", 1, "L", 1)), all.features());
+        assertEquals(Map.of(VariantStatusEnums.ACTIVE, 3, VariantStatusEnums.DRAFT, 1), all.statuses());
+        BigDecimal ten = new BigDecimal("10");
+        BigDecimal fifty = new BigDecimal("50");
+        assertEquals(List.of(new PriceBucketCount(null, ten, 1), new PriceBucketCount(ten, fifty, 2)), all.prices().get("EUR"));
+        assertEquals(List.of(new PriceBucketCount(fifty, null, 1)), all.prices().get("USD"));
+
+        FacetCounts red = index.facetCounts(FacetQuery.feature("Color", "Red"));
+        assertEquals(2, red.total());
+        assertEquals(Map.of("Color", Map.of("Red", 2), "Size", Map.of("M", 1)), red.features());
+        assertFalse(red.prices().containsKey("USD"));
+    }
+
+    @Test
+    void reindexingAndRemovalUpdateBitmapsIncrementally() {
+        Product recolored = shirt.replaceVariants(v -> v.sku().equals("SHIRT-RED")
+                ? new Variant(v.id(), v.sku(), v.basePrice(), v.currentPrice(), List.of(color("Green")),
+                v.careInstructions(), v.weight(), v.status())
+                : v);
+        index.index(recolored);
+
+        assertEquals(1, index.count(FacetQuery.feature("Color", "Red")));
+        assertEquals(List.of(recolored), index.search(FacetQuery.feature("Color", "Green")));
+        assertEquals(4, index.variantCount());
+
+        index.remove(mug.id());
+        index.remove(ProductId.generate());
+        FacetCounts counts = index.facetCounts(FacetQuery.all());
+        assertEquals(2, counts.total());
+        assertFalse(counts.features().get("Color").containsKey("Red"));
+        assertFalse(counts.categories().containsKey("Kitchen"));
+        assertFalse(counts.prices().containsKey("USD"));
+        assertEquals(1, index.size());
+
+        // Freed document ids are reused rather than growing the id space
+        index.index(mug);
+        assertEquals(4, index.count(FacetQuery.all()));
+        assertEquals(Set.of(recolored, mug), Set.copyOf(index.search(FacetQuery.all())));
+    }
+
+    @Test
+    void manyProductsMatchAStreamFilter() {
+        FacetedSearchIndex large = new FacetedSearchIndex();
+        String[] colors = {"Red", "Blue", "Green"};
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            products.add(product("Category-" + (i % 7),
+                    variant("SKU-" + i, "USD", String.valueOf(i % 300), VariantStatusEnums.values()[i % 3], color(colors[i % 3]))));
+        }
+        large.indexAll(products);
+        FacetQuery query = FacetQuery.category("Category-3").and(FacetQuery.feature("Color", "Blue")
+                .or(FacetQuery.price("USD", new BigDecimal("20"), new BigDecimal("30"))));
+
+        long expected = products.stream()
+                .filter(p -> p.category().equals("Category-3"))
+                .flatMap(p -> p.variants().stream())
+                .filter(v -> v.features().contains(color("Blue"))
+                        || (v.currentPrice().getNumber().intValue() >= 20 && v.currentPrice().getNumber().intValue() < 30))
+                .count();
+        assertEquals(expected, large.count(query));
+    }
+
+    private static Set<String> skus(List<Variant> variants) {
+        return variants.stream().map(Variant::sku).collect(Collectors.toSet());
+    }
+
+    private static FeatureInterface color(String label) {
+        return new BasicFeature("Color", "Shell color", label);
+    }
+
+    private static FeatureInterface size(String label) {
+        return new BasicFeature("Size", "Garment size", label);
+    }
+
+    private static Product product(String category, Variant... variants) {
+        return Product.create(BusinessId.generate(), category, new DescriptionVO("A product used by search tests."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))), Set.of(variants));
+    }
+
+    static Variant variant(String sku, String currency, String price, VariantStatusEnums status, FeatureInterface... features) {
+        MonetaryAmount amount = Monetary.getDefaultAmountFactory().setCurrency(currency).setNumber(new BigDecimal(price)).create();
+        return new Variant(VariantId.generate(), sku, amount, amount, List.of(features),
+                new CareInstructionVO("Wipe clean"), WeightVO.ofGrams(new BigDecimal("250")), status);
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.junit.jupiter.api.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullTextIndexTest {
+
+    @Test
+    void tokenizerFoldsCaseAndAccents() {
+        assertEquals(List.of("electronique", "a", "cafe", "100", "cotton"),
+                TextTokenizer.tokenize("Électronique à CAFÉ: 100% cotton!"));
+        assertTrue(TextTokenizer.tokenize(" -- ").isEmpty());
+    }
+
+    @Test
+    void ranksByBm25AcrossDescriptionAndCareInstructions() {
+        FullTextIndex index = new FullTextIndex();
+        Product headphones = product("Wireless headphones with a detachable cable.", "Wipe clean");
+        Product cable = product("A braided cable, the cable for every cable drawer.", "Wipe clean");
+        Product shirt = product("Organic cotton shirt in a relaxed fit.", "Machine wash cold, tumble dry low");
+        index.indexAll(List.of(headphones, cable, shirt));
+
+        List<TextHit> hits = index.search("Cable", 10);
+        assertEquals(List.of(cable, headphones), hits.stream().map(TextHit::product).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+
+        assertEquals(List.of(shirt), products(index.search("tumble", 10)));
+        assertEquals(List.of(headphones), products(index.search("wireless cable", 1)));
+        assertTrue(index.search("submarine", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.search("cable", 0));
+    }
+
+    @Test
+    void updatesAreIncremental() {
+        FullTextIndex index = new FullTextIndex();
+        Product product = product("A ceramic mug for coffee lovers.", "Dishwasher safe");
+        index.index(product);
+        Product renamed = product.changeDescription(new DescriptionVO("A ceramic teapot for tea lovers."));
+        index.index(renamed);
+
+        assertTrue(index.search("coffee mug", 5).isEmpty());
+        assertEquals(List.of(renamed), products(index.search("teapot", 5)));
+        assertEquals(1, index.size());
+
+        index.remove(product.id());
+        assertTrue(index.search("ceramic", 5).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void topHitsMatchExhaustiveScoringThroughRebuilds() {
+        Random random = new Random(11);
+        String[] vocabulary = new String[300];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "word" + i;
+        }
+        FullTextIndex index = new FullTextIndex();
+        Map<ProductId, Product> live = new LinkedHashMap<>();
+        List<Product> all = new ArrayList<>();
+        for (int i = 0; i < 4_000; i++) {
+            Product product = product(randomText(random, vocabulary), "Care " + vocabulary[random.nextInt(20)]);
+            index.index(product);
+            all.add(product);
+            live.put(product.id(), product);
+        }
+        // Delete and re-index enough products to force a rebuild of the postings
+        for (int i = 0; i < 5_000; i++) {
+            Product victim = all.get(random.nextInt(all.size()));
+            if (random.nextBoolean()) {
+                index.remove(victim.id());
+                live.remove(victim.id());
+            } else {
+                Product changed = victim.changeDescription(new DescriptionVO(randomText(random, vocabulary)));
+                index.index(changed);
+                live.put(changed.id(), changed);
+            }
+        }
+        assertEquals(live.size(), index.size());
+
+        for (String query : List.of("word1", "word2 word150", "word0 word1 word299 word42", "care word3")) {
+            List<TextHit> expected = exhaustive(List.copyOf(live.values()), query, 10);
+            List<TextHit> actual = index.search(query, 10);
+            assertEquals(expected.size(), actual.size(), query);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).score(), actual.get(i).score(), 1e-9, query);
+            }
+        }
+    }
+
+    // Scores every live product; the order of equal scores is not compared
+    private static List<TextHit> exhaustive(List<Product> products, String query, int limit) {
+        Map<Product, Map<String, Integer>> frequencies = new HashMap<>();
+        long totalLength = 0;
+        for (Product product : products) {
+            Map<String, Integer> counts = new HashMap<>();
+            TextTokenizer.tokenize(product.description().value()).forEach(t -> counts.merge(t, 1, Integer::sum));
+            Set<String> care = new HashSet<>();
+            product.variants().forEach(v -> {
+                if (care.add(v.careInstructions().instructions())) {
+                    TextTokenizer.tokenize(v.careInstructions().instructions()).forEach(t -> counts.merge(t, 1, Integer::sum));
+                }
+            });
+            frequencies.put(product, counts);
+            totalLength += Math.max(1, counts.values().stream().mapToInt(Integer::intValue).sum());
+        }
+        double averageLength = (double) totalLength / products.size();
+        List<TextHit> hits = new ArrayList<>();
+        for (Product product : products) {
+            Map<String, Integer> counts = frequencies.get(product);
+            int length = Math.max(1, counts.values().stream().mapToInt(Integer::intValue).sum());
+            double score = 0;
+            for (String term : new LinkedHashSet<>(TextTokenizer.tokenize(query))) {
+                int frequency = counts.getOrDefault(term, 0);
+                if (frequency == 0) {
+                    continue;
+                }
+                long df = frequencies.values().stream().filter(c -> c.containsKey(term)).count();
+                double idf = Math.log(1 + (products.size() - df + 0.5) / (df + 0.5));
+                double norm = FullTextIndex.K1 * (1 - FullTextIndex.B + FullTextIndex.B * length / averageLength);
+                score += idf * frequency * (FullTextIndex.K1 + 1) / (frequency + norm);
+            }
+            if (score > 0) {
+                hits.add(new TextHit(product, score));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(TextHit::score).reversed());
+        return hits.subList(0, Math.min(limit, hits.size()));
+    }
+
+    private static String randomText(Random random, String[] vocabulary) {
+        StringBuilder text = new StringBuilder("Product");
+        int words = 5 + random.nextInt(30);
+        for (int i = 0; i < words; i++) {
+            // Skewed towards the first words, like natural text
+            int rank = (int) Math.min(vocabulary.length - 1, Math.abs(random.nextGaussian()) * 40);
+            text.append(' ').append(vocabulary[rank]);
+        }
+        return text.toString();
+    }
+
+    private static List<Product> products(List<TextHit> hits) {
+        return hits.stream().map(TextHit::product).toList();
+    }
+
+    private static Product product(String description, String careInstructions) {
+        MonetaryAmount price = Monetary.getDefaultAmountFactory().setCurrency("USD").setNumber(10).create();
+        Variant variant = new Variant(VariantId.generate(), "SKU-" + UUID.randomUUID(), price, price, List.of(),
+                new CareInstructionVO(careInstructions), WeightVO.ofGrams(new BigDecimal("100")), VariantStatusEnums.DRAFT);
+        return Product.create(BusinessId.generate(), "Catalog", new DescriptionVO(description),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))), Set.of(variant));
+    }
+}
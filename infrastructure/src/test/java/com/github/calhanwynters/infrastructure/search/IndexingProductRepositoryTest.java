@@ -0,0 +1,78 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.infrastructure.persistence.InMemoryProductRepository;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import com.github.calhanwynters.repositories.BatchWriteResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexingProductRepositoryTest {
+
+    @Test
+    void indexesExistingProductsAndFollowsWrites() {
+        InMemoryProductRepository store = new InMemoryProductRepository();
+        Product existing = product("Apparel", "SKU-1");
+        store.save(existing);
+        FacetedSearchIndex index = new FacetedSearchIndex();
+        IndexingProductRepository repository = new IndexingProductRepository(store, index);
+        assertEquals(List.of(existing), index.search(FacetQuery.category("Apparel")));
+
+        Product moved = new Product(existing.id(), existing.businessId(), "Outdoor", existing.description(),
+                existing.gallery(), existing.variants());
+        repository.save(moved);
+        assertTrue(index.search(FacetQuery.category("Apparel")).isEmpty());
+        assertEquals(List.of(moved), index.search(FacetQuery.category("Outdoor")));
+        assertEquals(moved, repository.findById(existing.id()).orElseThrow());
+
+        repository.deleteById(existing.id());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void bulkWritesIndexOnlyWhatTheStoreKept() {
+        InMemoryProductRepository store = new InMemoryProductRepository(2);
+        FacetedSearchIndex index = new FacetedSearchIndex();
+        IndexingProductRepository repository = new IndexingProductRepository(store, index);
+        Product first = product("Apparel", "SKU-1");
+        Product second = product("Apparel", "SKU-2");
+        Product third = product("Kitchen", "SKU-3");
+
+        BatchWriteResult saved = repository.saveAll(Arrays.asList(first, null, second, third));
+        assertEquals(1, saved.failures().size());
+        assertEquals(Set.of(first, second, third), Set.copyOf(index.search(FacetQuery.all())));
+
+        repository.deleteAllById(List.of(first.id(), third.id()));
+        assertEquals(List.of(second), index.search(FacetQuery.all()));
+    }
+
+    @Test
+    void rejectedWritesLeaveTheIndexUntouched() {
+        InMemoryProductRepository store = new InMemoryProductRepository() {
+            @Override
+            public void save(Product product) {
+                if (product.category().equals("Forbidden")) {
+                    throw new IllegalStateException("rejected");
+                }
+                super.save(product);
+            }
+        };
+        FacetedSearchIndex index = new FacetedSearchIndex();
+        IndexingProductRepository repository = new IndexingProductRepository(store, index);
+
+        assertThrows(IllegalStateException.class, () -> repository.save(product("Forbidden", "SKU-X")));
+        assertEquals(0, index.size());
+    }
+
+    private static Product product(String category, String sku) {
+        return Product.create(BusinessId.generate(), category, new DescriptionVO("A product used by search tests."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))),
+                Set.of(FacetedSearchIndexTest.variant(sku, "USD", "25", VariantStatusEnums.DRAFT)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    @Test
+    void iteratesPostingsInOrderWithFrequencies() {
+        PostingList postings = new PostingList();
+        postings.add(3, 1);
+        postings.add(4, 7);
+        postings.add(1_000_000, 300);
+
+        PostingList.Cursor cursor = postings.cursor();
+        assertEquals(3, cursor.next());
+        assertEquals(1, cursor.frequency());
+        assertEquals(4, cursor.next());
+        assertEquals(7, cursor.frequency());
+        assertEquals(1_000_000, cursor.next());
+        assertEquals(300, cursor.frequency());
+        assertEquals(PostingList.NO_MORE_DOCS, cursor.next());
+        assertThrows(IllegalArgumentException.class, () -> postings.add(4, 1));
+    }
+
+    @Test
+    void deltasKeepDensePostingsSmall() {
+        PostingList postings = new PostingList();
+        for (int doc = 0; doc < 10_000; doc++) {
+            postings.add(doc * 3, 1);
+        }
+        // One byte for the delta and one for the frequency
+        assertEquals(20_000, postings.byteSize());
+        assertEquals(10_000, postings.size());
+    }
+
+    @Test
+    void advanceSkipsBlocksAndMatchesALinearScan() {
+        Random random = new Random(7);
+        PostingList postings = new PostingList();
+        List<Integer> docs = new ArrayList<>();
+        int doc = -1;
+        for (int i = 0; i < 5_000; i++) {
+            doc += 1 + random.nextInt(50);
+            docs.add(doc);
+            postings.add(doc, 1 + i % 5);
+        }
+
+        PostingList.Cursor cursor = postings.cursor();
+        int position = 0;
+        int target = 0;
+        while (true) {
+            target += random.nextInt(2_000);
+            while (position < docs.size() && docs.get(position) < target) {
+                position++;
+            }
+            int expected = position < docs.size() ? docs.get(position) : PostingList.NO_MORE_DOCS;
+            assertEquals(expected, cursor.advance(target));
+            if (expected == PostingList.NO_MORE_DOCS) {
+                break;
+            }
+            assertEquals(1 + position % 5, cursor.frequency());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.infrastructure.persistence.InMemoryProductRepository;
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.enums.VariantStatusEnums;
+import com.github.calhanwynters.model.shared.valueobjects.*;
+import org.junit.jupiter.api.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceIndexTest {
+
+    @Test
+    void scansRangesAndTopNPerCurrency() {
+        PriceIndex index = new PriceIndex();
+        Product product = product(
+                variant("A", usd("19.99"), "500"),
+                variant("B", usd("20.00"), "500"),
+                variant("C", usd("49.99"), "500"),
+                variant("D", usd("50.00"), "500"),
+                variant("E", money("35", "EUR"), "500"));
+        index.index(product);
+
+        assertEquals(skus(product, "B", "C"), index.between(usd("20"), usd("50"), 10));
+        assertEquals(skus(product, "A", "B"), index.between(null, usd("49.99"), 10));
+        assertEquals(skus(product, "D"), index.between(usd("50"), null, 10));
+        assertEquals(skus(product, "A", "B"), index.cheapest(Monetary.getCurrency("USD"), 2));
+        assertEquals(skus(product, "D", "C"), index.mostExpensive(Monetary.getCurrency("USD"), 2));
+        assertEquals(skus(product, "E"), index.cheapest(Monetary.getCurrency("EUR"), 5));
+        assertTrue(index.cheapest(Monetary.getCurrency("GBP"), 5).isEmpty());
+        assertEquals(Set.of("EUR", "USD"), index.currencies());
+        assertThrows(IllegalArgumentException.class, () -> index.between(usd("1"), money("2", "EUR"), 10));
+    }
+
+    @Test
+    void pricesFinerThanTheMinorUnitStayExactAtWholeCentBounds() {
+        PriceIndex index = new PriceIndex();
+        Product product = product(variant("A", usd("19.995"), "500"), variant("B", usd("20.001"), "500"));
+        index.index(product);
+
+        assertEquals(skus(product, "A"), index.between(usd("19.99"), usd("20.00"), 10));
+        assertEquals(skus(product, "B"), index.between(usd("20.00"), usd("20.01"), 10));
+        assertEquals(1999, PriceIndex.minorUnitsFloor(usd("19.995")));
+        assertEquals(-2000, PriceIndex.minorUnitsFloor(usd("-19.995")));
+    }
+
+    @Test
+    void savedRepricingMovesOnlyTheChangedVariant() {
+        InMemoryProductRepository store = new InMemoryProductRepository();
+        PriceIndex prices = new PriceIndex();
+        IndexingProductRepository repository = new IndexingProductRepository(store, prices);
+        Product product = product(variant("A", usd("30"), "500"), variant("B", usd("40"), "500"));
+        repository.save(product);
+
+        Product discounted = product.replaceVariants(v -> v.sku().equals("B")
+                ? v.applyDiscount(new PercentageVO(new BigDecimal("0.5"))) : v);
+        repository.save(discounted);
+        assertEquals(skus(product, "B", "A"), prices.cheapest(Monetary.getCurrency("USD"), 10));
+        assertEquals(2, prices.size());
+
+        Product repriced = discounted.replaceVariants(v -> v.changeCurrentPrice(usd("99")));
+        repository.save(repriced);
+        assertTrue(prices.between(null, usd("99"), 10).isEmpty());
+
+        repository.deleteById(product.id());
+        assertEquals(0, prices.size());
+    }
+
+    @Test
+    void combinesWithTheOtherIndexes() {
+        InMemoryProductRepository store = new InMemoryProductRepository();
+        PriceIndex prices = new PriceIndex();
+        WeightIndex weights = new WeightIndex();
+        FacetedSearchIndex facets = new FacetedSearchIndex();
+        IndexingProductRepository repository = new IndexingProductRepository(store, prices, weights, facets);
+        Product product = product(
+                variant("LIGHT", usd("25"), "1500").activate(),
+                variant("HEAVY", usd("30"), "2500").activate(),
+                variant("DRAFT", usd("35"), "1000"),
+                variant("PRICEY", usd("80"), "100").activate());
+        repository.save(product);
+
+        // Active variants between $20 and $50 under 2 kg
+        Set<VariantRef> matches = new HashSet<>(prices.between(usd("20"), usd("50"), 1_000));
+        matches.retainAll(weights.between(null, WeightVO.ofKilograms(new BigDecimal("2")), 1_000));
+        Set<VariantRef> active = new HashSet<>();
+        facets.searchVariants(FacetQuery.status(VariantStatusEnums.ACTIVE))
+                .forEach(v -> active.add(new VariantRef(product.id(), v.id())));
+        matches.retainAll(active);
+
+        assertEquals(Set.copyOf(skus(product, "LIGHT")), matches);
+    }
+
+    @Test
+    void concurrentRepricingKeepsOneEntryPerVariant() throws Exception {
+        PriceIndex index = new PriceIndex();
+        List<Product> products = new java.util.ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            products.add(product(variant("V" + i, usd("10"), "500")));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new java.util.ArrayList<>();
+            for (Product product : products) {
+                futures.add(executor.submit(() -> {
+                    for (int price = 1; price <= 200; price++) {
+                        String amount = String.valueOf(price);
+                        index.index(product.replaceVariants(v -> v.changeCurrentPrice(usd(amount))));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(8, index.size());
+        assertEquals(8, index.between(usd("200"), usd("201"), 100).size());
+    }
+
+    static List<VariantRef> skus(Product product, String... skus) {
+        return java.util.Arrays.stream(skus)
+                .map(sku -> new VariantRef(product.id(), product.findVariantBySku(sku).orElseThrow().id()))
+                .toList();
+    }
+
+    static Product product(Variant... variants) {
+        return Product.create(BusinessId.generate(), "Catalog", new DescriptionVO("A product used by index tests."),
+                new GalleryVO(Set.of(new ImageUrlVO("https://example.com/image.jpg"))), Set.of(variants));
+    }
+
+    static Variant variant(String sku, MonetaryAmount price, String grams) {
+        return new Variant(VariantId.generate(), sku, price, price, List.of(), new CareInstructionVO("Wipe clean"),
+                WeightVO.ofGrams(new BigDecimal(grams)), VariantStatusEnums.DRAFT);
+    }
+
+    static MonetaryAmount usd(String amount) {
+        return money(amount, "USD");
+    }
+
+    private static MonetaryAmount money(String amount, String currency) {
+        return Monetary.getDefaultAmountFactory().setCurrency(currency).setNumber(new BigDecimal(amount)).create();
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapTest {
+
+    @Test
+    void addRemoveAndContainsAcrossChunks() {
+        RoaringBitmap bitmap = RoaringBitmap.of(3, 70_000, 1, 3);
+
+        assertArrayEquals(new int[]{1, 3, 70_000}, bitmap.toArray());
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(2));
+        assertFalse(bitmap.add(1));
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+        assertArrayEquals(new int[]{1, 3}, bitmap.toArray());
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    void denseChunksConvertToBitsetsAndBack() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i * 2);
+        }
+        assertEquals(10_000, bitmap.cardinality());
+        for (int i = 0; i < 9_000; i++) {
+            bitmap.remove(i * 2);
+        }
+        assertEquals(1_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(19_998));
+        assertFalse(bitmap.contains(17_998));
+
+        for (int i = 0; i < 1_000; i++) {
+            bitmap.remove(18_000 + i * 2);
+        }
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void setOperationsMatchBitSet() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            // Mix sparse and dense chunks so every container pairing is exercised
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            RoaringBitmap a = new RoaringBitmap();
+            RoaringBitmap b = new RoaringBitmap();
+            fill(random, a, expectedA, round % 2 == 0 ? 20_000 : 500);
+            fill(random, b, expectedB, round % 3 == 0 ? 30_000 : 2_000);
+
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+
+            assertArrayEquals(and.stream().toArray(), RoaringBitmap.and(a, b).toArray());
+            assertArrayEquals(or.stream().toArray(), RoaringBitmap.or(a, b).toArray());
+            assertEquals(and.cardinality(), RoaringBitmap.andCardinality(a, b));
+            assertEquals(expectedA.cardinality(), a.cardinality());
+        }
+    }
+
+    @Test
+    void resultsAndCopiesAreIndependent() {
+        RoaringBitmap a = RoaringBitmap.of(1, 2, 3);
+        RoaringBitmap b = RoaringBitmap.of(3, 4);
+        RoaringBitmap union = RoaringBitmap.or(a, b);
+        RoaringBitmap copy = a.copy();
+
+        union.add(5);
+        copy.remove(1);
+        RoaringBitmap.and(a, b).add(9);
+
+        assertArrayEquals(new int[]{1, 2, 3}, a.toArray());
+        assertArrayEquals(new int[]{3, 4}, b.toArray());
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, union.toArray());
+        assertArrayEquals(new int[]{2, 3}, copy.toArray());
+    }
+
+    private static void fill(Random random, RoaringBitmap bitmap, BitSet expected, int count) {
+        for (int i = 0; i < count; i++) {
+            int value = random.nextInt(200_000);
+            assertEquals(!expected.get(value), bitmap.add(value));
+            expected.set(value);
+        }
+    }
+}
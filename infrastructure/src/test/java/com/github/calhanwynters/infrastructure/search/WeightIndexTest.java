@@ -0,0 +1,50 @@
+package com.github.calhanwynters.infrastructure.search;
+
+import com.github.calhanwynters.model.shared.aggregates.Product;
+import com.github.calhanwynters.model.shared.entities.Variant;
+import com.github.calhanwynters.model.shared.valueobjects.WeightVO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static com.github.calhanwynters.infrastructure.search.PriceIndexTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightIndexTest {
+
+    @Test
+    void ordersWeightsEnteredInAnyUnit() {
+        WeightIndex index = new WeightIndex();
+        Variant pound = withWeight(variant("POUND", usd("1"), "1"), WeightVO.ofPounds(BigDecimal.ONE));
+        Variant halfKilo = withWeight(variant("HALF-KILO", usd("1"), "1"), WeightVO.ofKilograms(new BigDecimal("0.5")));
+        Variant ounce = withWeight(variant("OUNCE", usd("1"), "1"), WeightVO.ofOunces(BigDecimal.ONE));
+        Product product = product(pound, halfKilo, ounce);
+        index.index(product);
+
+        assertEquals(skus(product, "OUNCE", "POUND", "HALF-KILO"), index.lightest(10));
+        assertEquals(skus(product, "HALF-KILO"), index.heaviest(1));
+        // One pound is 453.59237 g
+        assertEquals(skus(product, "POUND"), index.between(WeightVO.ofGrams(new BigDecimal("453.5924")),
+                WeightVO.ofGrams(new BigDecimal("500")), 10));
+        assertEquals(skus(product, "OUNCE"), index.betweenScaledGrams(0, 4_535_924, 10));
+        assertEquals(skus(product, "OUNCE", "POUND"), index.between(null, WeightVO.ofGrams(new BigDecimal("500")), 10));
+    }
+
+    @Test
+    void followsSavedWeightChangesAndRemovals() {
+        WeightIndex index = new WeightIndex();
+        Product product = product(variant("A", usd("1"), "100"), variant("B", usd("1"), "200"));
+        index.index(product);
+        index.index(product.replaceVariants(v -> v.sku().equals("A") ? withWeight(v, WeightVO.ofGrams(new BigDecimal("300"))) : v));
+
+        assertEquals(skus(product, "B", "A"), index.lightest(10));
+        assertThrows(IllegalArgumentException.class, () -> index.lightest(0));
+        index.remove(product.id());
+        assertTrue(index.heaviest(10).isEmpty());
+    }
+
+    private static Variant withWeight(Variant variant, WeightVO weight) {
+        return new Variant(variant.id(), variant.sku(), variant.basePrice(), variant.currentPrice(), variant.features(),
+                variant.careInstructions(), weight, variant.status());
+    }
+}